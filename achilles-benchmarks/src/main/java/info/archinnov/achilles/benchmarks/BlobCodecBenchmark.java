@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import info.archinnov.achilles.internals.codec.ByteArrayCodec;
+import info.archinnov.achilles.internals.codec.ByteArrayPrimitiveCodec;
+import info.archinnov.achilles.internals.codec.ReadOnlyByteBufferCodec;
+import info.archinnov.achilles.internals.codec.ZeroCopyByteArrayCodec;
+
+/**
+ * Cost of encoding and decoding a blob column with the default codecs
+ * (<em>ByteArrayCodec</em> for Byte[], <em>ByteArrayPrimitiveCodec</em> for byte[])
+ * versus the zero-copy ones (<em>ZeroCopyByteArrayCodec</em>, <em>ReadOnlyByteBufferCodec</em>).
+ * <br/>
+ * Decoding starts from a heap buffer covering a whole array, which is what the driver hands to the codecs
+ * for a blob value of a row. Each decode works on a duplicate of this buffer since the default byte[] codec
+ * consumes it, the duplicate costs the same for all codecs.
+ * <br/>
+ * Allocations and copies are best compared with the GC profiler
+ * <pre class="code"><code class="java">
+ * java -jar achilles-benchmarks/target/benchmarks.jar BlobCodecBenchmark -prof gc
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BlobCodecBenchmark {
+
+    @Param({"128", "16384", "1048576"})
+    public int blobSize;
+
+    private final ByteArrayCodec byteArrayCodec = new ByteArrayCodec();
+    private final ByteArrayPrimitiveCodec byteArrayPrimitiveCodec = new ByteArrayPrimitiveCodec();
+    private final ZeroCopyByteArrayCodec zeroCopyByteArrayCodec = new ZeroCopyByteArrayCodec();
+    private final ReadOnlyByteBufferCodec readOnlyByteBufferCodec = new ReadOnlyByteBufferCodec();
+
+    private byte[] bytes;
+    private Byte[] boxedBytes;
+    private ByteBuffer buffer;
+    private ByteBuffer driverValue;
+
+    @Setup
+    public void setUp() {
+        bytes = new byte[blobSize];
+        new Random(blobSize).nextBytes(bytes);
+        boxedBytes = new Byte[blobSize];
+        for (int i = 0; i < blobSize; i++) boxedBytes[i] = bytes[i];
+        buffer = ByteBuffer.wrap(bytes);
+        driverValue = ByteBuffer.wrap(bytes.clone());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeByteArray() {
+        return byteArrayCodec.encode(boxedBytes);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeByteArrayPrimitive() {
+        return byteArrayPrimitiveCodec.encode(bytes);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeZeroCopyByteArray() {
+        return zeroCopyByteArrayCodec.encode(bytes);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeReadOnlyByteBuffer() {
+        return readOnlyByteBufferCodec.encode(buffer);
+    }
+
+    @Benchmark
+    public Byte[] decodeByteArray() {
+        return byteArrayCodec.decode(driverValue.duplicate());
+    }
+
+    @Benchmark
+    public byte[] decodeByteArrayPrimitive() {
+        return byteArrayPrimitiveCodec.decode(driverValue.duplicate());
+    }
+
+    @Benchmark
+    public byte[] decodeZeroCopyByteArray() {
+        return zeroCopyByteArrayCodec.decode(driverValue.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer decodeReadOnlyByteBuffer() {
+        return readOnlyByteBufferCodec.decode(driverValue.duplicate());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.benchmarks;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.EXECUTOR_STRATEGY;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import info.archinnov.achilles.async.ExecutorStrategy;
+import info.archinnov.achilles.async.VirtualThreads;
+import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.internals.types.ConfigMap;
+
+/**
+ * Throughput of the executor service built by Achilles for asynchronous callbacks,
+ * virtual threads versus the default platform thread pool.
+ * <br/>
+ * Each invocation submits {@link #TASKS} callbacks and waits for all of them. A callback either only burns
+ * some CPU or also blocks <em>blockingMicros</em>, like a synchronous Achilles call made from an async callback.
+ * <br/>
+ * <em>VIRTUAL_THREADS</em> requires JDK 21+: on older JDKs this parameter fails instead of silently measuring
+ * the thread pool fallback
+ * <pre class="code"><code class="java">
+ * java -jar achilles-benchmarks/target/benchmarks.jar ExecutorStrategyBenchmark
+ * </code></pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ExecutorStrategyBenchmark {
+
+    // Below the default DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE so that the thread pool never rejects a task
+    static final int TASKS = 1000;
+    private static final long CALLBACK_CPU_TOKENS = 100L;
+
+    @Param({"THREAD_POOL", "VIRTUAL_THREADS"})
+    public ExecutorStrategy strategy;
+
+    @Param({"0", "100", "1000"})
+    public long blockingMicros;
+
+    private ExecutorService executorService;
+
+    @Setup
+    public void setUp() {
+        if (strategy == ExecutorStrategy.VIRTUAL_THREADS && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("ExecutorStrategy.VIRTUAL_THREADS requires JDK 21+, running on Java "
+                    + System.getProperty("java.version"));
+        }
+        final ConfigMap configMap = new ConfigMap();
+        configMap.put(EXECUTOR_STRATEGY, strategy);
+        executorService = ArgumentExtractor.initExecutorService(configMap);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void callbacks() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(TASKS);
+        final long blockingNanos = TimeUnit.MICROSECONDS.toNanos(blockingMicros);
+        for (int i = 0; i < TASKS; i++) {
+            executorService.execute(() -> {
+                Blackhole.consumeCPU(CALLBACK_CPU_TOKENS);
+                if (blockingNanos > 0) {
+                    LockSupport.parkNanos(blockingNanos);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
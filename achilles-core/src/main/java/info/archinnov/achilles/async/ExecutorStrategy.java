@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+/**
+ * Define the kind of executor service built by <strong>Achilles</strong> for its internal asynchronous operations
+ * when no executor service is provided. Available values are :
+ * <ul>
+ * <li>{@code THREAD_POOL}: a {@link java.util.concurrent.ThreadPoolExecutor} with a single bounded queue</li>
+ * <li>{@code WORK_STEALING}: a {@link java.util.concurrent.ForkJoinPool} in async mode, one queue per worker thread</li>
+ * <li>{@code STRIPED}: one single-thread executor per available core, tasks being dispatched in round robin</li>
+ * <li>{@code VIRTUAL_THREADS}: one new virtual thread per task on JDK 21+, the number of pending tasks
+ * being unbounded. On older JDKs, Achilles logs a warning and falls back to {@code THREAD_POOL}</li>
+ * </ul>
+ * <br/>
+ * Default value = {@code THREAD_POOL}
+ */
+public enum ExecutorStrategy {
+    THREAD_POOL, WORK_STEALING, STRIPED, VIRTUAL_THREADS;
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor service wrapper bounding the number of queued and running tasks, applying the
+ * configured {@link info.archinnov.achilles.async.SaturationPolicy} when the bound is reached.
+ * With {@link #UNBOUNDED}, every task is admitted and the saturation policy never applies.
+ * <br/>
+ * With {@link SaturationPolicy#BLOCK}, the submitting thread waits at most <em>blockTimeoutInMs</em> for a slot.
+ * Java driver I/O threads and threads running a task of a monitored executor never wait, they run the task themselves
+ * <br/>
+ * It also exposes queue depth, active tasks and saturation counters
+ */
+public class MonitoredExecutorService extends AbstractExecutorService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonitoredExecutorService.class);
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+    public static final long DEFAULT_BLOCK_TIMEOUT_IN_MS = 1000L;
+
+    // Thread names given by the Java driver to its Netty event loop threads: <cluster name>-nio-worker-<index>
+    private static final String DRIVER_IO_THREAD_MARKER = "-nio-worker-";
+    private static final ThreadLocal<Boolean> RUNNING_MONITORED_TASK = new ThreadLocal<>();
+
+    private final ExecutorService delegate;
+    private final SaturationPolicy saturationPolicy;
+    private final int maxPendingTasks;
+    private final long blockTimeoutInMs;
+    private final Semaphore admissions;
+    private final AtomicLong queuedTasks = new AtomicLong(0);
+    private final AtomicLong activeTasks = new AtomicLong(0);
+    private final AtomicLong completedTasks = new AtomicLong(0);
+    private final AtomicLong rejectedTasks = new AtomicLong(0);
+    private final AtomicLong callerRunsTasks = new AtomicLong(0);
+    private final AtomicLong blockedAdmissions = new AtomicLong(0);
+
+    public MonitoredExecutorService(ExecutorService delegate, SaturationPolicy saturationPolicy, int maxPendingTasks) {
+        this(delegate, saturationPolicy, maxPendingTasks, DEFAULT_BLOCK_TIMEOUT_IN_MS);
+    }
+
+    public MonitoredExecutorService(ExecutorService delegate, SaturationPolicy saturationPolicy, int maxPendingTasks,
+                                    long blockTimeoutInMs) {
+        this.delegate = delegate;
+        this.saturationPolicy = saturationPolicy;
+        this.maxPendingTasks = maxPendingTasks;
+        this.blockTimeoutInMs = blockTimeoutInMs;
+        this.admissions = new Semaphore(maxPendingTasks);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (maxPendingTasks != UNBOUNDED && !admissions.tryAcquire()) {
+            switch (saturationPolicy) {
+                case CALLER_RUNS:
+                    callerRunsTasks.incrementAndGet();
+                    task.run();
+                    return;
+                case BLOCK:
+                    if (!mayBlockCurrentThread()) {
+                        callerRunsTasks.incrementAndGet();
+                        task.run();
+                        return;
+                    }
+                    blockedAdmissions.incrementAndGet();
+                    awaitAdmission();
+                    break;
+                default:
+                    rejectedTasks.incrementAndGet();
+                    throw new RejectedExecutionException(format("Executor service saturated, %s tasks already pending", maxPendingTasks));
+            }
+        }
+
+        queuedTasks.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                RUNNING_MONITORED_TASK.set(Boolean.TRUE);
+                try {
+                    task.run();
+                } finally {
+                    RUNNING_MONITORED_TASK.remove();
+                    activeTasks.decrementAndGet();
+                    completedTasks.incrementAndGet();
+                    releaseAdmission();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            releaseAdmission();
+            rejectedTasks.incrementAndGet();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Task rejected by underlying executor service %s", delegate));
+            }
+            throw e;
+        }
+    }
+
+    private void awaitAdmission() {
+        try {
+            if (!admissions.tryAcquire(blockTimeoutInMs, TimeUnit.MILLISECONDS)) {
+                rejectedTasks.incrementAndGet();
+                throw new RejectedExecutionException(format("Executor service saturated, no slot freed within %s ms among %s pending tasks",
+                        blockTimeoutInMs, maxPendingTasks));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedTasks.incrementAndGet();
+            throw new RejectedExecutionException("Interrupted while waiting for an execution slot", e);
+        }
+    }
+
+    /**
+     * Never block the Java driver I/O threads nor the threads executing tasks, they are the ones freeing slots
+     */
+    static boolean mayBlockCurrentThread() {
+        if (RUNNING_MONITORED_TASK.get() != null) {
+            return false;
+        }
+        final String threadName = Thread.currentThread().getName();
+        return threadName == null || !threadName.contains(DRIVER_IO_THREAD_MARKER);
+    }
+
+    private void releaseAdmission() {
+        if (maxPendingTasks != UNBOUNDED) {
+            admissions.release();
+        }
+    }
+
+    /**
+     * @return number of tasks submitted but not started yet
+     */
+    public long getQueueDepth() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return number of tasks currently running
+     */
+    public long getActiveCount() {
+        return activeTasks.get();
+    }
+
+    public long getCompletedCount() {
+        return completedTasks.get();
+    }
+
+    /**
+     * @return number of tasks rejected with a {@link java.util.concurrent.RejectedExecutionException}
+     */
+    public long getRejectedCount() {
+        return rejectedTasks.get();
+    }
+
+    /**
+     * @return number of tasks executed by the submitting thread because of saturation
+     */
+    public long getCallerRunsCount() {
+        return callerRunsTasks.get();
+    }
+
+    /**
+     * @return number of submissions which had to wait for an execution slot because of saturation
+     */
+    public long getBlockedAdmissionsCount() {
+        return blockedAdmissions.get();
+    }
+
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return format("MonitoredExecutorService{saturationPolicy=%s, maxPendingTasks=%s, blockTimeoutInMs=%s, delegate=%s}",
+                saturationPolicy, maxPendingTasks, blockTimeoutInMs, delegate);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+/**
+ * Define what happens when a task is submitted to the executor service built by <strong>Achilles</strong>
+ * while the maximum number of queued and running tasks is reached. Available values are :
+ * <ul>
+ * <li>{@code FAIL_FAST}: the task is rejected with a {@link java.util.concurrent.RejectedExecutionException}</li>
+ * <li>{@code CALLER_RUNS}: the task is executed by the submitting thread</li>
+ * <li>{@code BLOCK}: the submitting thread waits for a slot, at most EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS,
+ * then the task is rejected with a {@link java.util.concurrent.RejectedExecutionException}</li>
+ * </ul>
+ * <br/>
+ * Blocking a Java driver I/O thread would stall every connection it serves and blocking an executor thread
+ * deadlocks as soon as all of them wait for a slot. With {@code BLOCK}, tasks submitted by those threads
+ * are therefore executed by the submitting thread, as with {@code CALLER_RUNS}
+ * <br/>
+ * Default value = {@code FAIL_FAST}
+ */
+public enum SaturationPolicy {
+    FAIL_FAST, CALLER_RUNS, BLOCK;
+}
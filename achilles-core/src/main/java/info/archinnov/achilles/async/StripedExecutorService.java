@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor service made of several single-thread executors, each one having its own queue.
+ * Tasks are dispatched in round robin, so that submitting threads do not contend on a single queue lock
+ */
+public class StripedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService[] stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger(0);
+
+    public StripedExecutorService(int stripesCount, ThreadFactory threadFactory) {
+        this.stripes = new ExecutorService[stripesCount];
+        for (int i = 0; i < stripesCount; i++) {
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        stripes[Math.floorMod(nextStripe.getAndIncrement(), stripes.length)].execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pendingTasks = new ArrayList<>();
+        for (ExecutorService stripe : stripes) {
+            pendingTasks.addAll(stripe.shutdownNow());
+        }
+        return pendingTasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (ExecutorService stripe : stripes) {
+            if (!stripe.isShutdown()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (ExecutorService stripe : stripes) {
+            if (!stripe.isTerminated()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ExecutorService stripe : stripes) {
+            if (!stripe.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) return false;
+        }
+        return true;
+    }
+}
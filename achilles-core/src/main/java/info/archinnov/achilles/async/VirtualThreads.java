@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import static java.lang.String.format;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access to virtual threads (JDK 21+) without requiring them at compile time.
+ * <br/>
+ * Support is decided by the running Java version. On JDK 21+, the virtual thread API is linked once
+ * with method handles. On older JDKs, {@link #isSupported()} returns false and no executor is created
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class);
+
+    static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private static final int JAVA_VERSION = javaFeatureVersion(System.getProperty("java.specification.version", "1.8"));
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return JAVA_VERSION >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+
+    /**
+     * Create an executor service starting one new virtual thread per task
+     *
+     * @param threadNamePrefix prefix of the virtual threads name, followed by a counter
+     * @return the executor service or Optional.empty() if virtual threads are not supported by the running JDK
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        if (!isSupported()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Jdk21.newVirtualThreadPerTaskExecutor(threadNamePrefix));
+        } catch (Throwable throwable) {
+            LOGGER.warn(format("Cannot create virtual thread executor : %s", throwable.getMessage()), throwable);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Parse the feature version out of <em>java.specification.version</em>, either "1.8" or "21" like
+     */
+    static int javaFeatureVersion(String specificationVersion) {
+        final String version = specificationVersion.startsWith("1.") ? specificationVersion.substring(2) : specificationVersion;
+        final int dot = version.indexOf('.');
+        try {
+            return Integer.parseInt(dot < 0 ? version : version.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Only loaded, hence linked, once the version check passed
+     */
+    private static final class Jdk21 {
+
+        private static final MethodHandle OF_VIRTUAL;
+        private static final MethodHandle NAME;
+        private static final MethodHandle FACTORY;
+        private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+        static {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                final Class<?> ofVirtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+                OF_VIRTUAL = lookup.findStatic(Thread.class, "ofVirtual", methodType(ofVirtualType));
+                NAME = lookup.findVirtual(ofVirtualType, "name", methodType(ofVirtualType, String.class, long.class));
+                FACTORY = lookup.findVirtual(builderType, "factory", methodType(ThreadFactory.class));
+                NEW_THREAD_PER_TASK_EXECUTOR = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                        methodType(ExecutorService.class, ThreadFactory.class));
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) throws Throwable {
+            final Object namedBuilder = NAME.invoke(OF_VIRTUAL.invoke(), threadNamePrefix, 0L);
+            final ThreadFactory factory = (ThreadFactory) FACTORY.invoke(namedBuilder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        }
+    }
+}
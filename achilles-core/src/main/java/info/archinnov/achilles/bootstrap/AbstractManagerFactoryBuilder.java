@@ -30,6 +30,8 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import info.archinnov.achilles.async.ExecutorStrategy;
+import info.archinnov.achilles.async.SaturationPolicy;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.internals.cache.StatementsCache;
@@ -41,7 +43,10 @@ import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+import info.archinnov.achilles.type.quota.RateLimitQuota;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
+import info.archinnov.achilles.type.strategy.WriteOrderingStrategy;
 import info.archinnov.achilles.validation.Validator;
 
 public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFactoryBuilder<T>> {
@@ -412,6 +417,45 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Define the kind of executor service built by Achilles for its internal asynchronous operations.
+     * Default value = ExecutorStrategy.THREAD_POOL
+     *
+     * @param executorStrategy the executor strategy
+     * @return ManagerFactoryBuilder
+     * @see info.archinnov.achilles.async.ExecutorStrategy
+     */
+    public T withExecutorStrategy(ExecutorStrategy executorStrategy) {
+        configMap.put(EXECUTOR_STRATEGY, executorStrategy);
+        return getThis();
+    }
+
+    /**
+     * Define what happens when a task is submitted to the executor service built by Achilles
+     * while its queue is full. Default value = SaturationPolicy.FAIL_FAST
+     *
+     * @param saturationPolicy the saturation policy
+     * @return ManagerFactoryBuilder
+     * @see info.archinnov.achilles.async.SaturationPolicy
+     */
+    public T withExecutorSaturationPolicy(SaturationPolicy saturationPolicy) {
+        configMap.put(EXECUTOR_SATURATION_POLICY, saturationPolicy);
+        return getThis();
+    }
+
+    /**
+     * With SaturationPolicy.BLOCK, define the maximum time the submitting thread waits for a slot
+     * before the task is rejected. Default value = 1000 ms
+     *
+     * @param blockTimeoutInMs maximum wait for a slot, in milliseconds
+     * @return ManagerFactoryBuilder
+     * @see info.archinnov.achilles.async.SaturationPolicy
+     */
+    public T withExecutorSaturationBlockTimeoutInMs(long blockTimeoutInMs) {
+        configMap.put(EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS, blockTimeoutInMs);
+        return getThis();
+    }
+
     /**
      * Define a list of entities to be managed by <strong>Achilles</strong>.
      * Specifically, schema validation will be performed at bootstrap for those entities
@@ -436,6 +480,429 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Enable read coalescing for the given entities. Concurrent <em>findById</em> calls
+     * on the same primary key and consistency level will share a single in-flight CQL read.
+     * <br/>
+     * There is no caching involved, once the in-flight read completes, the next call triggers a new read
+     *
+     * @param entityClasses entities for which read coalescing is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withReadCoalescingForEntities(List<Class<?>> entityClasses) {
+        configMap.put(READ_COALESCING_ENTITIES, entityClasses);
+        return getThis();
+    }
+
+    /**
+     * Enable read coalescing for the given entities. Concurrent <em>findById</em> calls
+     * on the same primary key and consistency level will share a single in-flight CQL read.
+     * <br/>
+     * There is no caching involved, once the in-flight read completes, the next call triggers a new read
+     *
+     * @param entityClasses entities for which read coalescing is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withReadCoalescingForEntities(Class<?>... entityClasses) {
+        configMap.put(READ_COALESCING_ENTITIES, Arrays.asList(entityClasses));
+        return getThis();
+    }
+
+    /**
+     * Define the maximum number of primary keys collected by a <em>findById</em> batch loader
+     * before the batch is dispatched. Default value = 100
+     *
+     * @param batchLoaderMaxSize maximum batch size
+     * @return ManagerFactoryBuilder
+     */
+    public T withBatchLoaderMaxSize(int batchLoaderMaxSize) {
+        configMap.put(BATCH_LOADER_MAX_SIZE, batchLoaderMaxSize);
+        return getThis();
+    }
+
+    /**
+     * Define the time window in milliseconds a <em>findById</em> batch loader waits, once the first
+     * primary key is collected, before dispatching the batch. Default value = 2 ms
+     *
+     * @param batchLoaderWindowInMs time window in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withBatchLoaderWindowInMs(long batchLoaderWindowInMs) {
+        configMap.put(BATCH_LOADER_WINDOW_IN_MS, batchLoaderWindowInMs);
+        return getThis();
+    }
+
+    /**
+     * Enable automatic batching of writes. INSERT, UPDATE and DELETE statements targeting the same partition
+     * within the batching window are sent as a single-partition UNLOGGED batch. Default value = false
+     *
+     * @param enableAutoBatching whether to enable automatic batching of writes
+     * @return ManagerFactoryBuilder
+     */
+    public T withAutoBatching(boolean enableAutoBatching) {
+        configMap.put(AUTO_BATCHING_ENABLE, enableAutoBatching);
+        return getThis();
+    }
+
+    /**
+     * Define the maximum number of statements in an automatic batch. Default value = 50
+     *
+     * @param autoBatchingMaxSize maximum batch size
+     * @return ManagerFactoryBuilder
+     */
+    public T withAutoBatchingMaxSize(int autoBatchingMaxSize) {
+        configMap.put(AUTO_BATCHING_MAX_SIZE, autoBatchingMaxSize);
+        return getThis();
+    }
+
+    /**
+     * Define the time window in milliseconds a write is buffered before its automatic batch is sent. Default value = 1 ms
+     *
+     * @param autoBatchingWindowInMs time window in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withAutoBatchingWindowInMs(long autoBatchingWindowInMs) {
+        configMap.put(AUTO_BATCHING_WINDOW_IN_MS, autoBatchingWindowInMs);
+        return getThis();
+    }
+
+    /**
+     * Define the ordering guarantee of asynchronous writes. With <strong>PARTITION_KEY</strong> or <strong>PRIMARY_KEY</strong>,
+     * a write is sent only once the previous write on the same key has completed. Writes on distinct keys are sent in parallel.
+     * Default value = WriteOrderingStrategy.NONE
+     *
+     * @param writeOrderingStrategy write ordering strategy
+     * @return ManagerFactoryBuilder
+     */
+    public T withWriteOrderingStrategy(WriteOrderingStrategy writeOrderingStrategy) {
+        configMap.put(WRITE_ORDERING_STRATEGY, writeOrderingStrategy);
+        return getThis();
+    }
+
+    /**
+     * Enable the adaptive concurrency limiter. In-flight statements are capped globally and per entity,
+     * the limits adapting to the observed latency (AIMD). Statements above the limit are queued, then shed with an
+     * {@link info.archinnov.achilles.exception.AchillesConcurrencyLimitException} once the queue is full
+     *
+     * @param initialLimit initial limit of in-flight statements
+     * @param minLimit minimum limit
+     * @param maxLimit maximum limit
+     * @param latencyThresholdInMs statements slower than this threshold reduce the limit
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdInMs) {
+        configMap.put(CONCURRENCY_LIMITER_ENABLE, true);
+        configMap.put(CONCURRENCY_LIMITER_INITIAL_LIMIT, initialLimit);
+        configMap.put(CONCURRENCY_LIMITER_MIN_LIMIT, minLimit);
+        configMap.put(CONCURRENCY_LIMITER_MAX_LIMIT, maxLimit);
+        configMap.put(CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS, latencyThresholdInMs);
+        return getThis();
+    }
+
+    /**
+     * Define the number of statements waiting for the adaptive concurrency limit before new statements are shed.
+     * Default value = 1000
+     *
+     * @param maxQueueSize maximum number of waiting statements
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveConcurrencyLimitQueueSize(int maxQueueSize) {
+        configMap.put(CONCURRENCY_LIMITER_MAX_QUEUE_SIZE, maxQueueSize);
+        return getThis();
+    }
+
+    /**
+     * Define token bucket quotas per entity, operation and/or tenant keyspace.
+     * Statements exceeding a quota are delayed asynchronously until a permit is available,
+     * or rejected if they would wait longer than the quota max wait
+     *
+     * @param rateLimitQuotas quotas to enforce
+     * @return ManagerFactoryBuilder
+     */
+    public T withRateLimitQuotas(List<RateLimitQuota> rateLimitQuotas) {
+        configMap.put(RATE_LIMIT_QUOTAS, rateLimitQuotas);
+        return getThis();
+    }
+
+    /**
+     * Define token bucket quotas per entity, operation and/or tenant keyspace.
+     * Statements exceeding a quota are delayed asynchronously until a permit is available,
+     * or rejected if they would wait longer than the quota max wait
+     *
+     * @param rateLimitQuotas quotas to enforce
+     * @return ManagerFactoryBuilder
+     */
+    public T withRateLimitQuotas(RateLimitQuota... rateLimitQuotas) {
+        configMap.put(RATE_LIMIT_QUOTAS, Arrays.asList(rateLimitQuotas));
+        return getThis();
+    }
+
+    /**
+     * Enable adaptive fetch size for SELECT statements without explicit fetch size.
+     * The fetch size is tuned per query shape from the sampled average row size. Default value = false
+     *
+     * @param adaptiveFetchSize whether adaptive fetch size is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_ENABLE, adaptiveFetchSize);
+        return getThis();
+    }
+
+    /**
+     * Define the target size of a page, in bytes, for adaptive fetch size. Default value = 1Mb
+     *
+     * @param targetPageBytes target page size in bytes
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeTargetPageBytes(int targetPageBytes) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES, targetPageBytes);
+        return getThis();
+    }
+
+    /**
+     * Define the bounds of the fetch size chosen by adaptive fetch size. Default values = 100 and 5000
+     *
+     * @param minFetchSize minimum fetch size
+     * @param maxFetchSize maximum fetch size
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeBounds(int minFetchSize, int maxFetchSize) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_MIN, minFetchSize);
+        configMap.put(ADAPTIVE_FETCH_SIZE_MAX, maxFetchSize);
+        return getThis();
+    }
+
+    /**
+     * Define the probability, between 0 and 1, to trace a statement.
+     * Traced executions are aggregated into the slow query report
+     *
+     * @param sampleRate default tracing sample rate
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingSampleRate(double sampleRate) {
+        configMap.put(TRACING_SAMPLE_RATE, sampleRate);
+        return getThis();
+    }
+
+    /**
+     * Define the probability, between 0 and 1, to trace a statement of the given entity.
+     * It takes precedence over the operation and default sample rates
+     *
+     * @param entityClass entity class
+     * @param sampleRate tracing sample rate for this entity
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingSampleRate(Class<?> entityClass, double sampleRate) {
+        final Map<Class<?>, Double> sampleRates = configMap.getTypedOr(TRACING_ENTITY_SAMPLE_RATES, new HashMap<>());
+        sampleRates.put(entityClass, sampleRate);
+        configMap.put(TRACING_ENTITY_SAMPLE_RATES, sampleRates);
+        return getThis();
+    }
+
+    /**
+     * Define the probability, between 0 and 1, to trace a statement of the given operation.
+     * It takes precedence over the default sample rate
+     *
+     * @param operation operation category
+     * @param sampleRate tracing sample rate for this operation
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingSampleRate(QuotaOperation operation, double sampleRate) {
+        final Map<QuotaOperation, Double> sampleRates = configMap.getTypedOr(TRACING_OPERATION_SAMPLE_RATES, new HashMap<>());
+        sampleRates.put(operation, sampleRate);
+        configMap.put(TRACING_OPERATION_SAMPLE_RATES, sampleRates);
+        return getThis();
+    }
+
+    /**
+     * Trace the next executions of a statement once it exceeded the latency threshold
+     *
+     * @param latencyThresholdInMs latency threshold, in milliseconds
+     * @param tracedExecutions number of executions to trace afterwards. Default = 10
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryTracing(long latencyThresholdInMs, int tracedExecutions) {
+        configMap.put(TRACING_LATENCY_THRESHOLD_IN_MS, latencyThresholdInMs);
+        configMap.put(TRACING_TRIGGERED_EXECUTIONS, tracedExecutions);
+        return getThis();
+    }
+
+    /**
+     * Define how many of the slowest traced executions are kept in the slow query report
+     *
+     * @param reportSize slow query report size. Default = 100
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryReportSize(int reportSize) {
+        configMap.put(SLOW_QUERY_REPORT_SIZE, reportSize);
+        return getThis();
+    }
+
+    /**
+     * Write statement executions slower than the threshold to the slow query log,
+     * as JSON lines with query, bound values, consistency level, rows returned and coordinator
+     *
+     * @param thresholdInMs default latency threshold, in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLog(long thresholdInMs) {
+        configMap.put(SLOW_QUERY_LOG_THRESHOLD_IN_MS, thresholdInMs);
+        return getThis();
+    }
+
+    /**
+     * Define the slow query log threshold of the given entity.
+     * It takes precedence over the operation and default thresholds
+     *
+     * @param entityClass entity class
+     * @param thresholdInMs latency threshold for this entity, in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLogThreshold(Class<?> entityClass, long thresholdInMs) {
+        final Map<Class<?>, Long> thresholds = configMap.getTypedOr(SLOW_QUERY_LOG_ENTITY_THRESHOLDS_IN_MS, new HashMap<>());
+        thresholds.put(entityClass, thresholdInMs);
+        configMap.put(SLOW_QUERY_LOG_ENTITY_THRESHOLDS_IN_MS, thresholds);
+        return getThis();
+    }
+
+    /**
+     * Define the slow query log threshold of the given operation.
+     * It takes precedence over the default threshold
+     *
+     * @param operation operation category
+     * @param thresholdInMs latency threshold for this operation, in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLogThreshold(QuotaOperation operation, long thresholdInMs) {
+        final Map<QuotaOperation, Long> thresholds = configMap.getTypedOr(SLOW_QUERY_LOG_OPERATION_THRESHOLDS_IN_MS, new HashMap<>());
+        thresholds.put(operation, thresholdInMs);
+        configMap.put(SLOW_QUERY_LOG_OPERATION_THRESHOLDS_IN_MS, thresholds);
+        return getThis();
+    }
+
+    /**
+     * Define the slow query log file and its rolling policy
+     *
+     * @param file path of the log file. Default = achilles-slow-queries.log
+     * @param maxFileSizeInBytes size above which the file is rolled. Default = 10Mb
+     * @param maxFiles number of rolled files to keep. Default = 5
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLogFile(String file, long maxFileSizeInBytes, int maxFiles) {
+        configMap.put(SLOW_QUERY_LOG_FILE, file);
+        configMap.put(SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES, maxFileSizeInBytes);
+        configMap.put(SLOW_QUERY_LOG_MAX_FILES, maxFiles);
+        return getThis();
+    }
+
+    /**
+     * Define how many slow query records can wait for the background writer.
+     * Records are dropped when the buffer is full
+     *
+     * @param bufferSize slow query log buffer size. Default = 1024
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryLogBufferSize(int bufferSize) {
+        configMap.put(SLOW_QUERY_LOG_BUFFER_SIZE, bufferSize);
+        return getThis();
+    }
+
+    /**
+     * Split SELECT statements with an <em>IN</em> clause on the partition key into parallel single-partition
+     * queries for the given entities, instead of letting one coordinator gather all the partitions.
+     * Results are returned in the <em>IN</em> values order. It can be overridden per query
+     *
+     * @param entityClasses entities for which partition key IN split is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withPartitionKeyInSplitForEntities(List<Class<?>> entityClasses) {
+        configMap.put(PARTITION_KEY_IN_SPLIT_ENTITIES, entityClasses);
+        return getThis();
+    }
+
+    /**
+     * Split SELECT statements with an <em>IN</em> clause on the partition key into parallel single-partition
+     * queries for the given entities, instead of letting one coordinator gather all the partitions.
+     * Results are returned in the <em>IN</em> values order. It can be overridden per query
+     *
+     * @param entityClasses entities for which partition key IN split is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withPartitionKeyInSplitForEntities(Class<?>... entityClasses) {
+        configMap.put(PARTITION_KEY_IN_SPLIT_ENTITIES, Arrays.asList(entityClasses));
+        return getThis();
+    }
+
+    /**
+     * Define the max number of single-partition queries in flight for a split statement
+     *
+     * @param maxConcurrency max concurrency. Default = 8
+     * @return ManagerFactoryBuilder
+     */
+    public T withPartitionKeyInSplitMaxConcurrency(int maxConcurrency) {
+        configMap.put(PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY, maxConcurrency);
+        return getThis();
+    }
+
+    /**
+     * Track the instances of the given entities loaded by Achilles so that <em>crud().update(entity)</em>
+     * only writes the columns changed since the instance was loaded or inserted
+     *
+     * @param entityClasses entities for which dirty tracking is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withDirtyTrackingForEntities(List<Class<?>> entityClasses) {
+        configMap.put(DIRTY_TRACKING_ENTITIES, entityClasses);
+        return getThis();
+    }
+
+    /**
+     * Track the instances of the given entities loaded by Achilles so that <em>crud().update(entity)</em>
+     * only writes the columns changed since the instance was loaded or inserted
+     *
+     * @param entityClasses entities for which dirty tracking is enabled
+     * @return ManagerFactoryBuilder
+     */
+    public T withDirtyTrackingForEntities(Class<?>... entityClasses) {
+        configMap.put(DIRTY_TRACKING_ENTITIES, Arrays.asList(entityClasses));
+        return getThis();
+    }
+
+    /**
+     * Define the size of the chunks a large object is split into by the chunked blob stores
+     *
+     * @param chunkSizeInBytes chunk size in bytes. Default = 262144 (256kb)
+     * @return ManagerFactoryBuilder
+     */
+    public T withChunkedBlobChunkSizeInBytes(int chunkSizeInBytes) {
+        configMap.put(CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES, chunkSizeInBytes);
+        return getThis();
+    }
+
+    /**
+     * Define the max number of chunks written in parallel for a single object by the chunked blob stores
+     *
+     * @param writeConcurrency write concurrency. Default = 4
+     * @return ManagerFactoryBuilder
+     */
+    public T withChunkedBlobWriteConcurrency(int writeConcurrency) {
+        configMap.put(CHUNKED_BLOB_WRITE_CONCURRENCY, writeConcurrency);
+        return getThis();
+    }
+
+    /**
+     * Define the number of chunks fetched ahead of the one being read when streaming an object
+     * from a chunked blob store
+     *
+     * @param readAheadChunks read ahead chunks. Default = 4
+     * @return ManagerFactoryBuilder
+     */
+    public T withChunkedBlobReadAheadChunks(int readAheadChunks) {
+        configMap.put(CHUNKED_BLOB_READ_AHEAD_CHUNKS, readAheadChunks);
+        return getThis();
+    }
+
     /**
      * Define the statements cache object to be used for prepared statements. This object is an instance of
      * {@link info.archinnov.achilles.internals.cache.StatementsCache}
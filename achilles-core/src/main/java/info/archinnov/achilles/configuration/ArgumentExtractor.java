@@ -33,7 +33,7 @@ import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
-import info.archinnov.achilles.async.DefaultExecutorThreadFactory;
+import info.archinnov.achilles.async.*;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
@@ -46,8 +46,11 @@ import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+import info.archinnov.achilles.type.quota.RateLimitQuota;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
+import info.archinnov.achilles.type.strategy.WriteOrderingStrategy;
 
 /**
  * Extract bootstrap argument and create a configuration context
@@ -57,11 +60,43 @@ public class ArgumentExtractor {
     static final int DEFAULT_LRU_CACHE_SIZE = 10000;
     static final boolean DEFAULT_ENABLE_PRE_MUTATE_BEAN_VALIDATION = false;
     static final boolean DEFAULT_ENABLE_POST_LOAD_BEAN_VALIDATION = false;
+    static final int DEFAULT_BATCH_LOADER_MAX_SIZE = 100;
+    static final long DEFAULT_BATCH_LOADER_WINDOW_IN_MS = 2L;
+    static final boolean DEFAULT_AUTO_BATCHING_ENABLE = false;
+    static final int DEFAULT_AUTO_BATCHING_MAX_SIZE = 50;
+    static final long DEFAULT_AUTO_BATCHING_WINDOW_IN_MS = 1L;
+    static final WriteOrderingStrategy DEFAULT_WRITE_ORDERING_STRATEGY = WriteOrderingStrategy.NONE;
+    static final boolean DEFAULT_CONCURRENCY_LIMITER_ENABLE = false;
+    static final int DEFAULT_CONCURRENCY_LIMITER_INITIAL_LIMIT = 100;
+    static final int DEFAULT_CONCURRENCY_LIMITER_MIN_LIMIT = 10;
+    static final int DEFAULT_CONCURRENCY_LIMITER_MAX_LIMIT = 1000;
+    static final long DEFAULT_CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS = 100L;
+    static final int DEFAULT_CONCURRENCY_LIMITER_MAX_QUEUE_SIZE = 1000;
+    static final boolean DEFAULT_ADAPTIVE_FETCH_SIZE_ENABLE = false;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES = 1024 * 1024;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MIN = 100;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MAX = 5000;
+    static final double DEFAULT_TRACING_SAMPLE_RATE = 0.0d;
+    static final long DEFAULT_TRACING_LATENCY_THRESHOLD_IN_MS = 0L;
+    static final int DEFAULT_TRACING_TRIGGERED_EXECUTIONS = 10;
+    static final int DEFAULT_SLOW_QUERY_REPORT_SIZE = 100;
+    static final long DEFAULT_SLOW_QUERY_LOG_THRESHOLD_IN_MS = 0L;
+    static final String DEFAULT_SLOW_QUERY_LOG_FILE = "achilles-slow-queries.log";
+    static final long DEFAULT_SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES = 10L * 1024 * 1024;
+    static final int DEFAULT_SLOW_QUERY_LOG_MAX_FILES = 5;
+    static final int DEFAULT_SLOW_QUERY_LOG_BUFFER_SIZE = 1024;
+    static final int DEFAULT_PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY = 8;
+    static final int DEFAULT_CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES = 256 * 1024;
+    static final int DEFAULT_CHUNKED_BLOB_WRITE_CONCURRENCY = 4;
+    static final int DEFAULT_CHUNKED_BLOB_READ_AHEAD_CHUNKS = 4;
     static final int DEFAULT_THREAD_POOL_MIN_THREAD_COUNT = 10;
     static final int DEFAULT_THREAD_POOL_MAX_THREAD_COUNT = 10;
     static final long DEFAULT_THREAD_POOL_THREAD_TTL = 60L;
     static final int DEFAULT_THREAD_POOL_QUEUE_SIZE = 1000;
     static final ThreadFactory DEFAULT_THREAD_POOL_THREAD_FACTORY = new DefaultExecutorThreadFactory();
+    static final ExecutorStrategy DEFAULT_EXECUTOR_STRATEGY = ExecutorStrategy.THREAD_POOL;
+    static final SaturationPolicy DEFAULT_EXECUTOR_SATURATION_POLICY = SaturationPolicy.FAIL_FAST;
+    static final long DEFAULT_EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS = MonitoredExecutorService.DEFAULT_BLOCK_TIMEOUT_IN_MS;
     static final InsertStrategy DEFAULT_INSERT_STRATEGY = InsertStrategy.ALL_FIELDS;
     static final NamingStrategy DEFAULT_GLOBAL_NAMING_STRATEGY = NamingStrategy.LOWER_CASE;
     static final BeanFactory DEFAULT_BEAN_FACTORY = new DefaultBeanFactory();
@@ -91,10 +126,48 @@ public class ArgumentExtractor {
         configContext.setExecutorService(initExecutorService(configurationMap));
         configContext.setProvidedExecutorService(initProvidedExecutorService(configurationMap));
         configContext.setDefaultBeanFactory(initDefaultBeanFactory(configurationMap));
+        configContext.setProvidedBeanFactory(initProvidedBeanFactory(configurationMap));
         configContext.setSession(initSession(cluster, configurationMap));
         configContext.setProvidedSession(initProvidedSession(configurationMap));
         configContext.setStatementsCache(initStatementCache(configurationMap));
         configContext.setRuntimeCodecs(initRuntimeCodecs(configurationMap));
+        configContext.setReadCoalescingEntities(initReadCoalescingEntities(configurationMap));
+        configContext.setBatchLoaderMaxSize(initBatchLoaderMaxSize(configurationMap));
+        configContext.setBatchLoaderWindowInMs(initBatchLoaderWindowInMs(configurationMap));
+        configContext.setAutoBatchingEnabled(initAutoBatchingEnabled(configurationMap));
+        configContext.setAutoBatchingMaxSize(initAutoBatchingMaxSize(configurationMap));
+        configContext.setAutoBatchingWindowInMs(initAutoBatchingWindowInMs(configurationMap));
+        configContext.setWriteOrderingStrategy(initWriteOrderingStrategy(configurationMap));
+        configContext.setConcurrencyLimiterEnabled(initConcurrencyLimiterEnabled(configurationMap));
+        configContext.setConcurrencyLimiterInitialLimit(initConcurrencyLimiterInitialLimit(configurationMap));
+        configContext.setConcurrencyLimiterMinLimit(initConcurrencyLimiterMinLimit(configurationMap));
+        configContext.setConcurrencyLimiterMaxLimit(initConcurrencyLimiterMaxLimit(configurationMap));
+        configContext.setConcurrencyLimiterLatencyThresholdInMs(initConcurrencyLimiterLatencyThresholdInMs(configurationMap));
+        configContext.setConcurrencyLimiterMaxQueueSize(initConcurrencyLimiterMaxQueueSize(configurationMap));
+        configContext.setRateLimitQuotas(initRateLimitQuotas(configurationMap));
+        configContext.setAdaptiveFetchSizeEnabled(initAdaptiveFetchSizeEnabled(configurationMap));
+        configContext.setAdaptiveFetchSizeTargetPageBytes(initAdaptiveFetchSizeTargetPageBytes(configurationMap));
+        configContext.setAdaptiveFetchSizeMin(initAdaptiveFetchSizeMin(configurationMap));
+        configContext.setAdaptiveFetchSizeMax(initAdaptiveFetchSizeMax(configurationMap));
+        configContext.setTracingSampleRate(initTracingSampleRate(configurationMap));
+        configContext.setTracingEntitySampleRates(initTracingEntitySampleRates(configurationMap));
+        configContext.setTracingOperationSampleRates(initTracingOperationSampleRates(configurationMap));
+        configContext.setTracingLatencyThresholdInMs(initTracingLatencyThresholdInMs(configurationMap));
+        configContext.setTracingTriggeredExecutions(initTracingTriggeredExecutions(configurationMap));
+        configContext.setSlowQueryReportSize(initSlowQueryReportSize(configurationMap));
+        configContext.setSlowQueryLogThresholdInMs(initSlowQueryLogThresholdInMs(configurationMap));
+        configContext.setSlowQueryLogEntityThresholdsInMs(initSlowQueryLogEntityThresholdsInMs(configurationMap));
+        configContext.setSlowQueryLogOperationThresholdsInMs(initSlowQueryLogOperationThresholdsInMs(configurationMap));
+        configContext.setSlowQueryLogFile(initSlowQueryLogFile(configurationMap));
+        configContext.setSlowQueryLogMaxFileSizeInBytes(initSlowQueryLogMaxFileSizeInBytes(configurationMap));
+        configContext.setSlowQueryLogMaxFiles(initSlowQueryLogMaxFiles(configurationMap));
+        configContext.setSlowQueryLogBufferSize(initSlowQueryLogBufferSize(configurationMap));
+        configContext.setPartitionKeyInSplitEntities(initPartitionKeyInSplitEntities(configurationMap));
+        configContext.setPartitionKeyInSplitMaxConcurrency(initPartitionKeyInSplitMaxConcurrency(configurationMap));
+        configContext.setDirtyTrackingEntities(initDirtyTrackingEntities(configurationMap));
+        configContext.setChunkedBlobChunkSizeInBytes(initChunkedBlobChunkSizeInBytes(configurationMap));
+        configContext.setChunkedBlobWriteConcurrency(initChunkedBlobWriteConcurrency(configurationMap));
+        configContext.setChunkedBlobReadAheadChunks(initChunkedBlobReadAheadChunks(configurationMap));
         return configContext;
     }
 
@@ -104,6 +177,191 @@ public class ArgumentExtractor {
     }
 
 
+    static public List<Class<?>> initReadCoalescingEntities(ConfigMap configMap) {
+        LOGGER.trace("Extract entities with read coalescing from configuration map");
+        return configMap.getTypedOr(READ_COALESCING_ENTITIES, new ArrayList<>());
+    }
+
+    static public Integer initBatchLoaderMaxSize(ConfigMap configMap) {
+        LOGGER.trace("Extract batch loader max size from configuration map");
+        return configMap.getTypedOr(BATCH_LOADER_MAX_SIZE, DEFAULT_BATCH_LOADER_MAX_SIZE);
+    }
+
+    static public Long initBatchLoaderWindowInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract batch loader window from configuration map");
+        return configMap.getTypedOr(BATCH_LOADER_WINDOW_IN_MS, DEFAULT_BATCH_LOADER_WINDOW_IN_MS);
+    }
+
+    static public Boolean initAutoBatchingEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract automatic batching enabling from configuration map");
+        return configMap.getTypedOr(AUTO_BATCHING_ENABLE, DEFAULT_AUTO_BATCHING_ENABLE);
+    }
+
+    static public Integer initAutoBatchingMaxSize(ConfigMap configMap) {
+        LOGGER.trace("Extract automatic batching max size from configuration map");
+        return configMap.getTypedOr(AUTO_BATCHING_MAX_SIZE, DEFAULT_AUTO_BATCHING_MAX_SIZE);
+    }
+
+    static public Long initAutoBatchingWindowInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract automatic batching window from configuration map");
+        return configMap.getTypedOr(AUTO_BATCHING_WINDOW_IN_MS, DEFAULT_AUTO_BATCHING_WINDOW_IN_MS);
+    }
+
+    static public WriteOrderingStrategy initWriteOrderingStrategy(ConfigMap configMap) {
+        LOGGER.trace("Extract write ordering strategy from configuration map");
+        return configMap.getTypedOr(WRITE_ORDERING_STRATEGY, DEFAULT_WRITE_ORDERING_STRATEGY);
+    }
+
+    static public Boolean initConcurrencyLimiterEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter enabling from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_ENABLE, DEFAULT_CONCURRENCY_LIMITER_ENABLE);
+    }
+
+    static public Integer initConcurrencyLimiterInitialLimit(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter initial limit from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_INITIAL_LIMIT, DEFAULT_CONCURRENCY_LIMITER_INITIAL_LIMIT);
+    }
+
+    static public Integer initConcurrencyLimiterMinLimit(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter min limit from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_MIN_LIMIT, DEFAULT_CONCURRENCY_LIMITER_MIN_LIMIT);
+    }
+
+    static public Integer initConcurrencyLimiterMaxLimit(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter max limit from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_MAX_LIMIT, DEFAULT_CONCURRENCY_LIMITER_MAX_LIMIT);
+    }
+
+    static public Long initConcurrencyLimiterLatencyThresholdInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter latency threshold from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS, DEFAULT_CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS);
+    }
+
+    static public Integer initConcurrencyLimiterMaxQueueSize(ConfigMap configMap) {
+        LOGGER.trace("Extract concurrency limiter max queue size from configuration map");
+        return configMap.getTypedOr(CONCURRENCY_LIMITER_MAX_QUEUE_SIZE, DEFAULT_CONCURRENCY_LIMITER_MAX_QUEUE_SIZE);
+    }
+
+    static public List<RateLimitQuota> initRateLimitQuotas(ConfigMap configMap) {
+        LOGGER.trace("Extract rate limit quotas from configuration map");
+        return configMap.getTypedOr(RATE_LIMIT_QUOTAS, new ArrayList<>());
+    }
+
+    static public Boolean initAdaptiveFetchSizeEnabled(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size enabling from configuration map");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_ENABLE, DEFAULT_ADAPTIVE_FETCH_SIZE_ENABLE);
+    }
+
+    static public Integer initAdaptiveFetchSizeTargetPageBytes(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size target page bytes from configuration map");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES, DEFAULT_ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES);
+    }
+
+    static public Integer initAdaptiveFetchSizeMin(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size min from configuration map");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MIN, DEFAULT_ADAPTIVE_FETCH_SIZE_MIN);
+    }
+
+    static public Integer initAdaptiveFetchSizeMax(ConfigMap configMap) {
+        LOGGER.trace("Extract adaptive fetch size max from configuration map");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MAX, DEFAULT_ADAPTIVE_FETCH_SIZE_MAX);
+    }
+
+    static public Double initTracingSampleRate(ConfigMap configMap) {
+        LOGGER.trace("Extract tracing sample rate from configuration map");
+        return configMap.getTypedOr(TRACING_SAMPLE_RATE, DEFAULT_TRACING_SAMPLE_RATE);
+    }
+
+    static public Map<Class<?>, Double> initTracingEntitySampleRates(ConfigMap configMap) {
+        LOGGER.trace("Extract tracing sample rates per entity from configuration map");
+        return configMap.getTypedOr(TRACING_ENTITY_SAMPLE_RATES, new HashMap<>());
+    }
+
+    static public Map<QuotaOperation, Double> initTracingOperationSampleRates(ConfigMap configMap) {
+        LOGGER.trace("Extract tracing sample rates per operation from configuration map");
+        return configMap.getTypedOr(TRACING_OPERATION_SAMPLE_RATES, new HashMap<>());
+    }
+
+    static public Long initTracingLatencyThresholdInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract tracing latency threshold from configuration map");
+        return configMap.getTypedOr(TRACING_LATENCY_THRESHOLD_IN_MS, DEFAULT_TRACING_LATENCY_THRESHOLD_IN_MS);
+    }
+
+    static public Integer initTracingTriggeredExecutions(ConfigMap configMap) {
+        LOGGER.trace("Extract number of traced executions after a slow one from configuration map");
+        return configMap.getTypedOr(TRACING_TRIGGERED_EXECUTIONS, DEFAULT_TRACING_TRIGGERED_EXECUTIONS);
+    }
+
+    static public Integer initSlowQueryReportSize(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query report size from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_REPORT_SIZE, DEFAULT_SLOW_QUERY_REPORT_SIZE);
+    }
+
+    static public Long initSlowQueryLogThresholdInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log threshold from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_THRESHOLD_IN_MS, DEFAULT_SLOW_QUERY_LOG_THRESHOLD_IN_MS);
+    }
+
+    static public Map<Class<?>, Long> initSlowQueryLogEntityThresholdsInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log thresholds per entity from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_ENTITY_THRESHOLDS_IN_MS, new HashMap<>());
+    }
+
+    static public Map<QuotaOperation, Long> initSlowQueryLogOperationThresholdsInMs(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log thresholds per operation from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_OPERATION_THRESHOLDS_IN_MS, new HashMap<>());
+    }
+
+    static public String initSlowQueryLogFile(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log file from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_FILE, DEFAULT_SLOW_QUERY_LOG_FILE);
+    }
+
+    static public Long initSlowQueryLogMaxFileSizeInBytes(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log max file size from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES, DEFAULT_SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES);
+    }
+
+    static public Integer initSlowQueryLogMaxFiles(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log max rolled files from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_MAX_FILES, DEFAULT_SLOW_QUERY_LOG_MAX_FILES);
+    }
+
+    static public Integer initSlowQueryLogBufferSize(ConfigMap configMap) {
+        LOGGER.trace("Extract slow query log buffer size from configuration map");
+        return configMap.getTypedOr(SLOW_QUERY_LOG_BUFFER_SIZE, DEFAULT_SLOW_QUERY_LOG_BUFFER_SIZE);
+    }
+
+    static public List<Class<?>> initPartitionKeyInSplitEntities(ConfigMap configMap) {
+        LOGGER.trace("Extract partition key IN split entities from configuration map");
+        return configMap.getTypedOr(PARTITION_KEY_IN_SPLIT_ENTITIES, new ArrayList<>());
+    }
+
+    static public Integer initPartitionKeyInSplitMaxConcurrency(ConfigMap configMap) {
+        LOGGER.trace("Extract partition key IN split max concurrency from configuration map");
+        return configMap.getTypedOr(PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY, DEFAULT_PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY);
+    }
+
+    static public List<Class<?>> initDirtyTrackingEntities(ConfigMap configMap) {
+        LOGGER.trace("Extract dirty tracking entities from configuration map");
+        return configMap.getTypedOr(DIRTY_TRACKING_ENTITIES, new ArrayList<>());
+    }
+
+    static public Integer initChunkedBlobChunkSizeInBytes(ConfigMap configMap) {
+        LOGGER.trace("Extract chunked blob chunk size from configuration map");
+        return configMap.getTypedOr(CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES, DEFAULT_CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES);
+    }
+
+    static public Integer initChunkedBlobWriteConcurrency(ConfigMap configMap) {
+        LOGGER.trace("Extract chunked blob write concurrency from configuration map");
+        return configMap.getTypedOr(CHUNKED_BLOB_WRITE_CONCURRENCY, DEFAULT_CHUNKED_BLOB_WRITE_CONCURRENCY);
+    }
+
+    static public Integer initChunkedBlobReadAheadChunks(ConfigMap configMap) {
+        LOGGER.trace("Extract chunked blob read ahead chunks from configuration map");
+        return configMap.getTypedOr(CHUNKED_BLOB_READ_AHEAD_CHUNKS, DEFAULT_CHUNKED_BLOB_READ_AHEAD_CHUNKS);
+    }
+
     static public List<Class<?>> initManagedEntities(ConfigMap configMap) {
         LOGGER.trace("Extract managed entity classes from configuration map");
         return configMap.getTypedOr(MANAGED_ENTITIES, new ArrayList<>());
@@ -251,12 +509,54 @@ public class ArgumentExtractor {
             long threadKeepAlive = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE, DEFAULT_THREAD_POOL_THREAD_TTL);
             int queueSize = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE, DEFAULT_THREAD_POOL_QUEUE_SIZE);
             ThreadFactory threadFactory = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY, DEFAULT_THREAD_POOL_THREAD_FACTORY);
-
-            return new ThreadPoolExecutor(minThreads, maxThreads, threadKeepAlive, TimeUnit.SECONDS,
-                    new LinkedBlockingQueue<>(queueSize), threadFactory);
+            ExecutorStrategy executorStrategy = configMap.getTypedOr(EXECUTOR_STRATEGY, DEFAULT_EXECUTOR_STRATEGY);
+            SaturationPolicy saturationPolicy = configMap.getTypedOr(EXECUTOR_SATURATION_POLICY, DEFAULT_EXECUTOR_SATURATION_POLICY);
+            long blockTimeoutInMs = configMap.getTypedOr(EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS, DEFAULT_EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS);
+
+            final ExecutorService executorService;
+            final int maxPendingTasks;
+            switch (executorStrategy) {
+                case VIRTUAL_THREADS:
+                    final Optional<ExecutorService> virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor("achilles-virtual-executor-");
+                    if (virtualThreadExecutor.isPresent()) {
+                        executorService = virtualThreadExecutor.get();
+                        // Virtual threads are cheap, capping them at a thread pool size would only reject tasks early
+                        maxPendingTasks = MonitoredExecutorService.UNBOUNDED;
+                        break;
+                    }
+                    LOGGER.warn("Virtual threads are not available on Java {}, falling back to executor strategy THREAD_POOL",
+                            System.getProperty("java.version"));
+                    executorService = new ThreadPoolExecutor(minThreads, maxThreads, threadKeepAlive, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(queueSize), threadFactory);
+                    maxPendingTasks = queueSize + maxThreads;
+                    break;
+                case WORK_STEALING:
+                    executorService = new ForkJoinPool(maxThreads, pool -> {
+                        final ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        worker.setName("achilles-work-stealing-executor-" + worker.getPoolIndex());
+                        return worker;
+                    }, null, true);
+                    maxPendingTasks = queueSize + maxThreads;
+                    break;
+                case STRIPED:
+                    final int stripesCount = Runtime.getRuntime().availableProcessors();
+                    executorService = new StripedExecutorService(stripesCount, threadFactory);
+                    maxPendingTasks = queueSize + stripesCount;
+                    break;
+                default:
+                    executorService = new ThreadPoolExecutor(minThreads, maxThreads, threadKeepAlive, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(queueSize), threadFactory);
+                    maxPendingTasks = queueSize + maxThreads;
+            }
+            return new MonitoredExecutorService(executorService, saturationPolicy, maxPendingTasks, blockTimeoutInMs);
         };
     }
 
+    public static boolean initProvidedBeanFactory(ConfigMap configMap) {
+        LOGGER.trace("Is bean factory provided or generated ? ");
+        return Optional.ofNullable(configMap.<BeanFactory>getTyped(ConfigurationParameters.DEFAULT_BEAN_FACTORY)).isPresent();
+    }
+
     private static BeanFactory initDefaultBeanFactory(final ConfigMap configMap) {
         LOGGER.trace("Extract or init default bean factory");
         if (configMap.containsKey(ConfigurationParameters.DEFAULT_BEAN_FACTORY)) {
@@ -158,17 +158,20 @@ package info.archinnov.achilles.configuration;
  * <li>
  * <strong>DEFAULT_BEAN_FACTORY</strong> (OPTIONAL): inject the default bean factory to instantiate new entities and UDT classes.
  * The implementation class should implement the interface {@link info.archinnov.achilles.type.factory.BeanFactory}
- * The default implementation is straightforward
+ * whose <em>newInstance(Class&lt;T&gt; clazz)</em> method must return a new, empty instance of the given entity or UDT class,
+ * for any class managed by Achilles
  * <pre class="code"><code class="java">
  * {@literal @}Override
  * public <T> T newInstance(Class<T> clazz) {
- * try{
- * return clazz.newInstance();
- * } catch (InstantiationException | IllegalAccessException e) {
- * ....
+ * if (clazz == MyEntity.class) {
+ * return clazz.cast(new MyEntity());
  * }
+ * ....
  * }
  * </code></pre>
+ * When no bean factory is provided, Achilles uses the <strong>info.archinnov.achilles.generated.GeneratedBeanFactory</strong>
+ * class generated by the annotation processor. It instantiates all entity and UDT classes with direct constructor references
+ * so that no reflection is involved at runtime
  * </li>
  * </ul>
  * <br/>
@@ -237,8 +240,237 @@ package info.archinnov.achilles.configuration;
  * DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY)
  * </code></pre>
  * </li>
+ * <li>
+ * <strong>EXECUTOR_STRATEGY</strong> (OPTIONAL): define the kind of executor service built by <strong>Achilles</strong>, see {@link info.archinnov.achilles.async.ExecutorStrategy}.
+ * <code>THREAD_POOL</code> is the thread pool described above, <code>WORK_STEALING</code> is a <code>ForkJoinPool</code> in async mode
+ * with DEFAULT_EXECUTOR_SERVICE_MAX_THREAD as parallelism, <code>STRIPED</code> uses one single-thread executor per available core
+ * and <code>VIRTUAL_THREADS</code> starts one virtual thread per task on JDK 21+, without bounding pending tasks (falling back to <code>THREAD_POOL</code> on older JDKs).
+ * <strong>Default = ExecutorStrategy.THREAD_POOL</strong>
+ * </li>
+ * <li>
+ * <strong>EXECUTOR_SATURATION_POLICY</strong> (OPTIONAL): define what happens when DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE tasks are already queued,
+ * see {@link info.archinnov.achilles.async.SaturationPolicy}: reject the task (<code>FAIL_FAST</code>), run it in the submitting
+ * thread (<code>CALLER_RUNS</code>) or make the submitting thread wait for a slot (<code>BLOCK</code>). Driver I/O threads and executor
+ * threads never wait, they run the task themselves. Queue depth, rejected tasks and saturation counters are published as gauges
+ * in the Java driver metrics registry.
+ * <strong>Default = SaturationPolicy.FAIL_FAST</strong>
+ * </li>
+ * <li>
+ * <strong>EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS</strong> (OPTIONAL): with <code>SaturationPolicy.BLOCK</code>, maximum time
+ * the submitting thread waits for a slot before the task is rejected.
+ * <strong>Default = 1000 ms</strong>
+ * </li>
  * </ul>
  For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a></strong></p>
+ * <br/>
+ * <br/>
+ * <h4>Read Coalescing</h4>
+ * <ul>
+ * <li>
+ * <strong>READ_COALESCING_ENTITIES</strong> (OPTIONAL): list of entity classes for which concurrent <em>findById</em> calls
+ * on the same primary key and consistency level share a single in-flight CQL read. The read is not cached,
+ * a call issued after the completion of the in-flight read triggers a new read.
+ * Reads using async listeners, tracing, paging state, outgoing payload, retry policy, schema name provider,
+ * timeout or deadline are never coalesced.
+ * <strong>Default = empty list (no coalescing)</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Find By Id Batch Loader</h4>
+ * <ul>
+ * <li>
+ * <strong>BATCH_LOADER_MAX_SIZE</strong> (OPTIONAL): maximum number of primary keys collected by a batch loader
+ * before the batch is dispatched. <strong>Default = 100</strong>
+ * </li>
+ * <li>
+ * <strong>BATCH_LOADER_WINDOW_IN_MS</strong> (OPTIONAL): maximum time in milliseconds a batch loader waits, after the first
+ * primary key has been collected, before dispatching the batch. <strong>Default = 2</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Automatic Batching of Writes</h4>
+ * <ul>
+ * <li>
+ * <strong>AUTO_BATCHING_ENABLE</strong> (OPTIONAL): buffer INSERT, UPDATE and DELETE statements targeting the same partition
+ * and send them as a single-partition UNLOGGED batch. LWT statements and statements using tracing, outgoing payload,
+ * retry policy or default timestamp are never buffered. <strong>Default = false</strong>
+ * </li>
+ * <li>
+ * <strong>AUTO_BATCHING_MAX_SIZE</strong> (OPTIONAL): maximum number of statements in an automatic batch. <strong>Default = 50</strong>
+ * </li>
+ * <li>
+ * <strong>AUTO_BATCHING_WINDOW_IN_MS</strong> (OPTIONAL): maximum time in milliseconds a statement is buffered
+ * before its batch is sent. <strong>Default = 1</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Write Ordering</h4>
+ * <ul>
+ * <li>
+ * <strong>WRITE_ORDERING_STRATEGY</strong> (OPTIONAL): guarantee that asynchronous writes on the same partition
+ * (<code>WriteOrderingStrategy.PARTITION_KEY</code>) or on the same primary key (<code>WriteOrderingStrategy.PRIMARY_KEY</code>)
+ * are sent in execution order, a write being sent only once the previous write on the same key has completed.
+ * Writes on distinct keys are still sent in parallel.
+ * <strong>Default = WriteOrderingStrategy.NONE</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Adaptive Concurrency Limit</h4>
+ * <ul>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_ENABLE</strong> (OPTIONAL): cap the number of in-flight statements, globally and per entity.
+ * The limits adapt to the observed latency with an AIMD algorithm: they grow slowly while statements complete under the latency threshold
+ * and shrink on slow statements, timeouts and overloaded errors. <strong>Default = false</strong>
+ * </li>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_INITIAL_LIMIT</strong> (OPTIONAL): initial limit of in-flight statements. <strong>Default = 100</strong>
+ * </li>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_MIN_LIMIT</strong> (OPTIONAL): the limit never goes below this value. <strong>Default = 10</strong>
+ * </li>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_MAX_LIMIT</strong> (OPTIONAL): the limit never goes above this value. <strong>Default = 1000</strong>
+ * </li>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS</strong> (OPTIONAL): statements slower than this threshold reduce the limit. <strong>Default = 100</strong>
+ * </li>
+ * <li>
+ * <strong>CONCURRENCY_LIMITER_MAX_QUEUE_SIZE</strong> (OPTIONAL): number of statements waiting for the limit before new statements are shed
+ * with an <code>AchillesConcurrencyLimitException</code>. <strong>Default = 1000</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Rate Limit Quotas</h4>
+ * <ul>
+ * <li>
+ * <strong>RATE_LIMIT_QUOTAS</strong> (OPTIONAL): list of <em>info.archinnov.achilles.type.quota.RateLimitQuota</em>.
+ * Each quota is a token bucket restricted to an entity class, an operation category (READ, WRITE, LWT, SCAN) and/or a tenant keyspace.
+ * Statements exceeding a quota are delayed asynchronously until a permit is available, no thread is blocked.
+ * A statement that would wait longer than the max wait of a quota (1 second by default) is rejected with an <code>AchillesRateLimitException</code>.
+ * <strong>Default = empty list (no quota)</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Adaptive Fetch Size</h4>
+ * <ul>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_ENABLE</strong> (OPTIONAL): tune the fetch size of SELECT statements without explicit fetch size.
+ * The average row size is sampled per query shape and the fetch size is set so that a page is close to the target page size.
+ * <strong>Default = false</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES</strong> (OPTIONAL): target size of a page, in bytes. <strong>Default = 1048576 (1Mb)</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_MIN</strong> (OPTIONAL): minimum fetch size. <strong>Default = 100</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_MAX</strong> (OPTIONAL): maximum fetch size. <strong>Default = 5000</strong>
+ * </li>
+ * </ul>
+ *
+ * <h4>Query Tracing</h4>
+ * <ul>
+ * <li>
+ * <strong>TRACING_SAMPLE_RATE</strong> (OPTIONAL): probability, between 0 and 1, to trace a statement. <strong>Default = 0</strong>
+ * </li>
+ * <li>
+ * <strong>TRACING_ENTITY_SAMPLE_RATES</strong> (OPTIONAL): sample rates per entity class, as a <em>Map&lt;Class&lt;?&gt;,Double&gt;</em>.
+ * They take precedence over the operation sample rates
+ * </li>
+ * <li>
+ * <strong>TRACING_OPERATION_SAMPLE_RATES</strong> (OPTIONAL): sample rates per operation,
+ * as a <em>Map&lt;info.archinnov.achilles.type.quota.QuotaOperation,Double&gt;</em>.
+ * They take precedence over the default sample rate
+ * </li>
+ * <li>
+ * <strong>TRACING_LATENCY_THRESHOLD_IN_MS</strong> (OPTIONAL): latency above which the next executions of the same statement are traced.
+ * <strong>Default = 0 (disabled)</strong>
+ * </li>
+ * <li>
+ * <strong>TRACING_TRIGGERED_EXECUTIONS</strong> (OPTIONAL): number of executions to trace once a statement exceeded the latency threshold.
+ * <strong>Default = 10</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_REPORT_SIZE</strong> (OPTIONAL): number of slowest traced executions kept in the slow query report.
+ * <strong>Default = 100</strong>
+ * </li>
+ * </ul>
+ *
+ * <h4>Slow Query Log</h4>
+ * <ul>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_THRESHOLD_IN_MS</strong> (OPTIONAL): latency above which a statement execution is written to the slow query log.
+ * <strong>Default = 0 (disabled)</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_ENTITY_THRESHOLDS_IN_MS</strong> (OPTIONAL): thresholds per entity class, as a <em>Map&lt;Class&lt;?&gt;,Long&gt;</em>.
+ * They take precedence over the operation thresholds
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_OPERATION_THRESHOLDS_IN_MS</strong> (OPTIONAL): thresholds per operation,
+ * as a <em>Map&lt;info.archinnov.achilles.type.quota.QuotaOperation,Long&gt;</em>.
+ * They take precedence over the default threshold
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_FILE</strong> (OPTIONAL): path of the slow query log file. <strong>Default = achilles-slow-queries.log</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES</strong> (OPTIONAL): size above which the log file is rolled.
+ * <strong>Default = 10485760 (10Mb)</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_MAX_FILES</strong> (OPTIONAL): number of rolled log files to keep. <strong>Default = 5</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_LOG_BUFFER_SIZE</strong> (OPTIONAL): number of records buffered before being written.
+ * Records are dropped when the buffer is full. <strong>Default = 1024</strong>
+ * </li>
+ * </ul>
+ *
+ * <h4>Partition Key IN Split</h4>
+ * <ul>
+ * <li>
+ * <strong>PARTITION_KEY_IN_SPLIT_ENTITIES</strong> (OPTIONAL): list of entity classes for which SELECT statements with an <em>IN</em>
+ * clause on the partition key are split into parallel single-partition queries by default.
+ * It can be overridden per query with <em>withPartitionKeyInSplit(boolean)</em>
+ * </li>
+ * <li>
+ * <strong>PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY</strong> (OPTIONAL): max number of single-partition queries in flight for a split statement.
+ * <strong>Default = 8</strong>
+ * </li>
+ * </ul>
+ *
+ * <h4>Dirty Tracking</h4>
+ * <ul>
+ * <li>
+ * <strong>DIRTY_TRACKING_ENTITIES</strong> (OPTIONAL): list of entity classes whose loaded and inserted instances are tracked.
+ * <em>crud().update(entity)</em> on a tracked instance only writes the columns changed since it was loaded,
+ * collection changes being written as append/remove operations
+ * </li>
+ * </ul>
+ *
+ * <h4>Chunked Blobs</h4>
+ * <ul>
+ * <li>
+ * <strong>CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES</strong> (OPTIONAL): size of the chunks a large object is split into.
+ * <strong>Default = 262144 (256kb)</strong>
+ * </li>
+ * <li>
+ * <strong>CHUNKED_BLOB_WRITE_CONCURRENCY</strong> (OPTIONAL): max number of chunks written in parallel for a single object.
+ * <strong>Default = 4</strong>
+ * </li>
+ * <li>
+ * <strong>CHUNKED_BLOB_READ_AHEAD_CHUNKS</strong> (OPTIONAL): number of chunks fetched ahead of the one being read when streaming an object.
+ * <strong>Default = 4</strong>
+ * </li>
+ * </ul>
  */
 public enum ConfigurationParameters {
     NATIVE_SESSION("achilles.cassandra.native.session"),
@@ -277,11 +509,63 @@ public enum ConfigurationParameters {
 
     RUNTIME_CODECS("achilles.runtime.codecs"),
 
+    READ_COALESCING_ENTITIES("achilles.read.coalescing.entities"),
+
+    BATCH_LOADER_MAX_SIZE("achilles.batch.loader.max.size"),
+    BATCH_LOADER_WINDOW_IN_MS("achilles.batch.loader.window.ms"),
+
+    AUTO_BATCHING_ENABLE("achilles.auto.batching.enable"),
+    AUTO_BATCHING_MAX_SIZE("achilles.auto.batching.max.size"),
+    AUTO_BATCHING_WINDOW_IN_MS("achilles.auto.batching.window.ms"),
+
+    WRITE_ORDERING_STRATEGY("achilles.write.ordering.strategy"),
+
+    CONCURRENCY_LIMITER_ENABLE("achilles.concurrency.limiter.enable"),
+    CONCURRENCY_LIMITER_INITIAL_LIMIT("achilles.concurrency.limiter.initial.limit"),
+    CONCURRENCY_LIMITER_MIN_LIMIT("achilles.concurrency.limiter.min.limit"),
+    CONCURRENCY_LIMITER_MAX_LIMIT("achilles.concurrency.limiter.max.limit"),
+    CONCURRENCY_LIMITER_LATENCY_THRESHOLD_IN_MS("achilles.concurrency.limiter.latency.threshold.ms"),
+    CONCURRENCY_LIMITER_MAX_QUEUE_SIZE("achilles.concurrency.limiter.max.queue.size"),
+
+    RATE_LIMIT_QUOTAS("achilles.rate.limit.quotas"),
+
+    ADAPTIVE_FETCH_SIZE_ENABLE("achilles.adaptive.fetch.size.enable"),
+    ADAPTIVE_FETCH_SIZE_TARGET_PAGE_BYTES("achilles.adaptive.fetch.size.target.page.bytes"),
+    ADAPTIVE_FETCH_SIZE_MIN("achilles.adaptive.fetch.size.min"),
+    ADAPTIVE_FETCH_SIZE_MAX("achilles.adaptive.fetch.size.max"),
+
+    TRACING_SAMPLE_RATE("achilles.tracing.sample.rate"),
+    TRACING_ENTITY_SAMPLE_RATES("achilles.tracing.entity.sample.rates"),
+    TRACING_OPERATION_SAMPLE_RATES("achilles.tracing.operation.sample.rates"),
+    TRACING_LATENCY_THRESHOLD_IN_MS("achilles.tracing.latency.threshold.ms"),
+    TRACING_TRIGGERED_EXECUTIONS("achilles.tracing.triggered.executions"),
+    SLOW_QUERY_REPORT_SIZE("achilles.slow.query.report.size"),
+
+    SLOW_QUERY_LOG_THRESHOLD_IN_MS("achilles.slow.query.log.threshold.ms"),
+    SLOW_QUERY_LOG_ENTITY_THRESHOLDS_IN_MS("achilles.slow.query.log.entity.thresholds.ms"),
+    SLOW_QUERY_LOG_OPERATION_THRESHOLDS_IN_MS("achilles.slow.query.log.operation.thresholds.ms"),
+    SLOW_QUERY_LOG_FILE("achilles.slow.query.log.file"),
+    SLOW_QUERY_LOG_MAX_FILE_SIZE_IN_BYTES("achilles.slow.query.log.max.file.size.bytes"),
+    SLOW_QUERY_LOG_MAX_FILES("achilles.slow.query.log.max.files"),
+    SLOW_QUERY_LOG_BUFFER_SIZE("achilles.slow.query.log.buffer.size"),
+
+    PARTITION_KEY_IN_SPLIT_ENTITIES("achilles.partition.key.in.split.entities"),
+    PARTITION_KEY_IN_SPLIT_MAX_CONCURRENCY("achilles.partition.key.in.split.max.concurrency"),
+
+    DIRTY_TRACKING_ENTITIES("achilles.dirty.tracking.entities"),
+
+    CHUNKED_BLOB_CHUNK_SIZE_IN_BYTES("achilles.chunked.blob.chunk.size.in.bytes"),
+    CHUNKED_BLOB_WRITE_CONCURRENCY("achilles.chunked.blob.write.concurrency"),
+    CHUNKED_BLOB_READ_AHEAD_CHUNKS("achilles.chunked.blob.read.ahead.chunks"),
+
     DEFAULT_EXECUTOR_SERVICE_MIN_THREAD("achilles.executor.service.default.thread.min"),
     DEFAULT_EXECUTOR_SERVICE_MAX_THREAD("achilles.executor.service.default.thread.max"),
     DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE("achilles.executor.service.default.thread.keepalive"),
     DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
-    DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory");
+    DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory"),
+    EXECUTOR_STRATEGY("achilles.executor.service.strategy"),
+    EXECUTOR_SATURATION_POLICY("achilles.executor.service.saturation.policy"),
+    EXECUTOR_SATURATION_BLOCK_TIMEOUT_IN_MS("achilles.executor.service.saturation.block.timeout.in.ms");
 
 
     private String label;
@@ -423,7 +423,16 @@ public class AptUtils {
 
     public ExecutableElement findSetter(TypeElement classElm, VariableElement elm, String setterName) {
         TypeMirror typeMirror = elm.asType();
-        final Optional<ExecutableElement> setter = ElementFilter.methodsIn(elementUtils.getAllMembers(classElm))
+        final Optional<ExecutableElement> setter = findOptionalSetter(classElm, elm, setterName);
+
+        validateTrue(setter.isPresent(), "Cannot find setter 'void %s(%s value)' for field '%s' in class '%s'",
+                setterName, typeMirror, elm.getSimpleName(), classElm.getQualifiedName());
+        return setter.get();
+    }
+
+    public Optional<ExecutableElement> findOptionalSetter(TypeElement classElm, VariableElement elm, String setterName) {
+        TypeMirror typeMirror = elm.asType();
+        return ElementFilter.methodsIn(elementUtils.getAllMembers(classElm))
                 .stream()
                 .filter(x -> x.getSimpleName().contentEquals(setterName))
                 .filter(x -> x.getParameters().size() == 1)
@@ -434,10 +443,6 @@ public class AptUtils {
                         .count() == 1)
                 .filter(x -> x.getReturnType().getKind() == TypeKind.VOID)
                 .findFirst();
-
-        validateTrue(setter.isPresent(), "Cannot find setter 'void %s(%s value)' for field '%s' in class '%s'",
-                setterName, typeMirror, elm.getSimpleName(), classElm.getQualifiedName());
-        return setter.get();
     }
 
     public void printError(String message, Object... args) {
@@ -51,6 +51,7 @@ import com.squareup.javapoet.TypeSpec;
 import info.archinnov.achilles.annotations.*;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.codegen.BeanFactoryCodeGen;
 import info.archinnov.achilles.internals.codegen.ManagerFactoryBuilderCodeGen;
 import info.archinnov.achilles.internals.codegen.ManagerFactoryCodeGen;
 import info.archinnov.achilles.internals.codegen.ManagerFactoryCodeGen.ManagersAndDSLClasses;
@@ -131,6 +132,10 @@ public class AchillesProcessor extends AbstractProcessor {
                 JavaFile.builder(GENERATED_PACKAGE, managersAndDSLClasses.managerFactoryClass)
                         .build().writeTo(aptUtils.filer);
 
+                aptUtils.printNote("[Achilles] Generating bean factory class");
+                JavaFile.builder(GENERATED_PACKAGE, BeanFactoryCodeGen.buildInstance(aptUtils, tableAndViewSignatures, parsingContext))
+                        .build().writeTo(aptUtils.filer);
+
                 aptUtils.printNote("[Achilles] Generating UDT meta classes");
                 for (TypeSpec typeSpec : parsingContext.udtTypes.values()) {
                     JavaFile.builder(UDT_META_PACKAGE, typeSpec)
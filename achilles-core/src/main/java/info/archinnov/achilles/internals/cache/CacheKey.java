@@ -175,8 +175,11 @@ public class CacheKey {
         UPDATE {
             @Override
             public PreparedStatement getPreparedStatement(RuntimeEngine rte, AbstractEntityProperty<?> meta, Options options) {
-                //TODO
-                return null;
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(String.format("Prepare UPDATE statement for entity of type %s",
+                            meta.entityClass.getCanonicalName()));
+                }
+                return rte.prepareDynamicQuery(generateUpdate(meta, options.getSchemaNameProvider()));
             }
         };
 
@@ -21,9 +21,8 @@ import java.nio.ByteBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.utils.Bytes;
-
 import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.internals.utils.LoggerHelper;
 import info.archinnov.achilles.type.codec.Codec;
 
 public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
@@ -47,7 +46,8 @@ public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
         int i = 0;
         for (byte b : fromJava) bytesPrimitive[i++] = b;
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(String.format("Encoding Byte[] '%s' to ByteBuffer", Bytes.toHexString(ByteBuffer.wrap(bytesPrimitive).duplicate())));
+            LOGGER.trace(String.format("Encoding Byte[] '%s' to ByteBuffer",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(ByteBuffer.wrap(bytesPrimitive)), bytesPrimitive.length)));
         }
         return ByteBuffer.wrap(bytesPrimitive);
     }
@@ -56,18 +56,17 @@ public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
     public Byte[] decode(ByteBuffer fromCassandra) {
         if (fromCassandra == null) return null;
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(String.format("Decoding ByteBuffer '%s' to Byte[]", Bytes.toHexString(fromCassandra.duplicate())));
+            LOGGER.trace(String.format("Decoding ByteBuffer '%s' to Byte[]",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(fromCassandra), fromCassandra.remaining())));
         }
         return readByteBuffer(fromCassandra);
     }
 
-    private Byte[] readByteBuffer(Object fromCassandra) {
-        ByteBuffer byteBuffer = (ByteBuffer) fromCassandra;
-        byte[] bytes = new byte[byteBuffer.remaining()];
-        byteBuffer.get(bytes);
-        Byte[] byteObjects = new Byte[bytes.length];
-        int i = 0;
-        for (byte b : bytes) byteObjects[i++] = b;
+    private Byte[] readByteBuffer(ByteBuffer byteBuffer) {
+        // Box the bytes with absolute reads, no intermediate byte[] copy
+        final int position = byteBuffer.position();
+        Byte[] byteObjects = new Byte[byteBuffer.remaining()];
+        for (int i = 0; i < byteObjects.length; i++) byteObjects[i] = byteBuffer.get(position + i);
         return byteObjects;
     }
 }
@@ -21,9 +21,8 @@ import java.nio.ByteBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.driver.core.utils.Bytes;
-
 import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.internals.utils.LoggerHelper;
 import info.archinnov.achilles.type.codec.Codec;
 
 public class ByteArrayPrimitiveCodec implements Codec<byte[], ByteBuffer> {
@@ -44,7 +43,8 @@ public class ByteArrayPrimitiveCodec implements Codec<byte[], ByteBuffer> {
     public ByteBuffer encode(byte[] fromJava) throws AchillesTranscodingException {
         if (fromJava == null) return null;
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(String.format("Encoding byte[] '%s' to ByteBuffer", Bytes.toHexString(ByteBuffer.wrap(fromJava).duplicate().array())));
+            LOGGER.trace(String.format("Encoding byte[] '%s' to ByteBuffer",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(ByteBuffer.wrap(fromJava)), fromJava.length)));
         }
         return ByteBuffer.wrap(fromJava);
     }
@@ -53,7 +53,8 @@ public class ByteArrayPrimitiveCodec implements Codec<byte[], ByteBuffer> {
     public byte[] decode(ByteBuffer fromCassandra) {
         if (fromCassandra == null) return null;
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(String.format("Decoding ByteBuffer '%s' to byte[]", Bytes.toHexString(fromCassandra.duplicate())));
+            LOGGER.trace(String.format("Decoding ByteBuffer '%s' to byte[]",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(fromCassandra), fromCassandra.remaining())));
         }
         return readByteBuffer(fromCassandra);
     }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec for <strong>{@literal @}Packed</strong> double[] columns, stored as a blob of little-endian doubles
+ * and decoded with a single bulk copy
+ */
+public class PackedDoubleArrayCodec implements Codec<double[], ByteBuffer> {
+
+    @Override
+    public Class<double[]> sourceType() {
+        return double[].class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(double[] fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        final ByteBuffer buffer = ByteBuffer.allocate(fromJava.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(fromJava);
+        return buffer;
+    }
+
+    @Override
+    public double[] decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        PackedEncodings.validateFixedSize(fromCassandra, 8, "double");
+        final double[] values = new double[fromCassandra.remaining() / 8];
+        fromCassandra.duplicate().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values);
+        return values;
+    }
+}
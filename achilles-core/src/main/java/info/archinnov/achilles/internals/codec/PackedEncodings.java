@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+
+/**
+ * ZigZag and varint primitives shared by the packed array codecs.
+ * <br/>
+ * ZigZag maps signed values to unsigned ones so that small negative values also take few bytes,
+ * varint writes 7 bits per byte, the high bit telling whether another byte follows
+ */
+final class PackedEncodings {
+
+    private PackedEncodings() {
+    }
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int varIntSize(long unsigned) {
+        int size = 1;
+        while ((unsigned & ~0x7FL) != 0) {
+            unsigned >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarInt(ByteBuffer buffer, long unsigned) {
+        while ((unsigned & ~0x7FL) != 0) {
+            buffer.put((byte) ((unsigned & 0x7F) | 0x80));
+            unsigned >>>= 7;
+        }
+        buffer.put((byte) unsigned);
+    }
+
+    static long readVarInt(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new AchillesTranscodingException("Truncated varint in packed array");
+            }
+            final byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new AchillesTranscodingException("Malformed varint in packed array");
+    }
+
+    static int readCount(ByteBuffer buffer) {
+        final long count = readVarInt(buffer);
+        // Each element takes at least one byte
+        if (count < 0 || count > buffer.remaining()) {
+            throw new AchillesTranscodingException(format("Invalid element count %s for a packed array of %s bytes",
+                    count, buffer.remaining()));
+        }
+        return (int) count;
+    }
+
+    static void validateFixedSize(ByteBuffer buffer, int elementSize, String type) {
+        if (buffer.remaining() % elementSize != 0) {
+            throw new AchillesTranscodingException(format("Cannot decode %s bytes as a packed %s array", buffer.remaining(), type));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec for <strong>{@literal @}Packed</strong> float[] columns, stored as a blob of little-endian floats
+ * and decoded with a single bulk copy
+ */
+public class PackedFloatArrayCodec implements Codec<float[], ByteBuffer> {
+
+    @Override
+    public Class<float[]> sourceType() {
+        return float[].class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(float[] fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        final ByteBuffer buffer = ByteBuffer.allocate(fromJava.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(fromJava);
+        return buffer;
+    }
+
+    @Override
+    public float[] decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        PackedEncodings.validateFixedSize(fromCassandra, 4, "float");
+        final float[] values = new float[fromCassandra.remaining() / 4];
+        fromCassandra.duplicate().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import info.archinnov.achilles.annotations.Packed.Encoding;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec for <strong>{@literal @}Packed</strong> int[] columns, stored as a blob.
+ * <br/>
+ * With <em>Encoding.PLAIN</em> the elements are written as little-endian ints and decoded with a single bulk copy.
+ * With <em>Encoding.VARINT</em> and <em>Encoding.DELTA_VARINT</em> the blob starts with the element count followed by
+ * the ZigZag varint of each element, respectively of its difference with the previous element
+ */
+public class PackedIntArrayCodec implements Codec<int[], ByteBuffer> {
+
+    private final Encoding encoding;
+
+    public PackedIntArrayCodec() {
+        this(Encoding.PLAIN);
+    }
+
+    public PackedIntArrayCodec(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public Class<int[]> sourceType() {
+        return int[].class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(int[] fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (encoding == Encoding.PLAIN) {
+            final ByteBuffer buffer = ByteBuffer.allocate(fromJava.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asIntBuffer().put(fromJava);
+            return buffer;
+        }
+
+        final boolean delta = encoding == Encoding.DELTA_VARINT;
+        int size = PackedEncodings.varIntSize(fromJava.length);
+        int previous = 0;
+        for (int value : fromJava) {
+            size += PackedEncodings.varIntSize(PackedEncodings.zigZag(delta ? value - previous : value) & 0xFFFFFFFFL);
+            previous = value;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        PackedEncodings.writeVarInt(buffer, fromJava.length);
+        previous = 0;
+        for (int value : fromJava) {
+            PackedEncodings.writeVarInt(buffer, PackedEncodings.zigZag(delta ? value - previous : value) & 0xFFFFFFFFL);
+            previous = value;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public int[] decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (encoding == Encoding.PLAIN) {
+            PackedEncodings.validateFixedSize(fromCassandra, 4, "int");
+            final int[] values = new int[fromCassandra.remaining() / 4];
+            fromCassandra.duplicate().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values);
+            return values;
+        }
+
+        final boolean delta = encoding == Encoding.DELTA_VARINT;
+        final ByteBuffer buffer = fromCassandra.duplicate();
+        final int[] values = new int[PackedEncodings.readCount(buffer)];
+        int previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            final int value = PackedEncodings.unZigZag((int) PackedEncodings.readVarInt(buffer));
+            values[i] = delta ? previous + value : value;
+            previous = values[i];
+        }
+        if (buffer.hasRemaining()) {
+            throw new AchillesTranscodingException(format("%s trailing bytes after a packed int array of %s elements",
+                    buffer.remaining(), values.length));
+        }
+        return values;
+    }
+}
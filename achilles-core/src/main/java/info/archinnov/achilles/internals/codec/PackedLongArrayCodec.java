@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import info.archinnov.achilles.annotations.Packed.Encoding;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec for <strong>{@literal @}Packed</strong> long[] columns, stored as a blob.
+ * <br/>
+ * With <em>Encoding.PLAIN</em> the elements are written as little-endian longs and decoded with a single bulk copy.
+ * With <em>Encoding.VARINT</em> and <em>Encoding.DELTA_VARINT</em> the blob starts with the element count followed by
+ * the ZigZag varint of each element, respectively of its difference with the previous element
+ */
+public class PackedLongArrayCodec implements Codec<long[], ByteBuffer> {
+
+    private final Encoding encoding;
+
+    public PackedLongArrayCodec() {
+        this(Encoding.PLAIN);
+    }
+
+    public PackedLongArrayCodec(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public Class<long[]> sourceType() {
+        return long[].class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(long[] fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (encoding == Encoding.PLAIN) {
+            final ByteBuffer buffer = ByteBuffer.allocate(fromJava.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asLongBuffer().put(fromJava);
+            return buffer;
+        }
+
+        final boolean delta = encoding == Encoding.DELTA_VARINT;
+        int size = PackedEncodings.varIntSize(fromJava.length);
+        long previous = 0;
+        for (long value : fromJava) {
+            size += PackedEncodings.varIntSize(PackedEncodings.zigZag(delta ? value - previous : value));
+            previous = value;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        PackedEncodings.writeVarInt(buffer, fromJava.length);
+        previous = 0;
+        for (long value : fromJava) {
+            PackedEncodings.writeVarInt(buffer, PackedEncodings.zigZag(delta ? value - previous : value));
+            previous = value;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public long[] decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (encoding == Encoding.PLAIN) {
+            PackedEncodings.validateFixedSize(fromCassandra, 8, "long");
+            final long[] values = new long[fromCassandra.remaining() / 8];
+            fromCassandra.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(values);
+            return values;
+        }
+
+        final boolean delta = encoding == Encoding.DELTA_VARINT;
+        final ByteBuffer buffer = fromCassandra.duplicate();
+        final long[] values = new long[PackedEncodings.readCount(buffer)];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            final long value = PackedEncodings.unZigZag(PackedEncodings.readVarInt(buffer));
+            values[i] = delta ? previous + value : value;
+            previous = values[i];
+        }
+        if (buffer.hasRemaining()) {
+            throw new AchillesTranscodingException(format("%s trailing bytes after a packed long array of %s elements",
+                    buffer.remaining(), values.length));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Zero-copy codec for <strong>ByteBuffer</strong> blob columns, to be declared with
+ * <em>@Codec(ReadOnlyByteBufferCodec.class)</em> on the field or in a codec registry.
+ * <br/>
+ * <br/>
+ * On write, the buffer is passed through, the driver sends its bytes from its position to its limit
+ * without copy. Its content must not be modified until the statement future has completed.
+ * <br/>
+ * <br/>
+ * On read, the entity receives a read-only view of the array the driver allocated for the value
+ * so that the bytes shared with the driver <em>Row</em> cannot be modified through the entity.
+ * Calling <em>array()</em> on this view throws a <em>ReadOnlyBufferException</em>, the bytes should be read
+ * with the relative or absolute <em>get()</em> methods
+ */
+public class ReadOnlyByteBufferCodec implements Codec<ByteBuffer, ByteBuffer> {
+
+    @Override
+    public Class<ByteBuffer> sourceType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(ByteBuffer fromJava) throws AchillesTranscodingException {
+        return fromJava;
+    }
+
+    @Override
+    public ByteBuffer decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        return fromCassandra.isReadOnly() ? fromCassandra : fromCassandra.asReadOnlyBuffer();
+    }
+}
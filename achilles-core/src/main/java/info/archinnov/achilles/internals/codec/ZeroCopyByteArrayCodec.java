@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.internals.utils.LoggerHelper;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Zero-copy codec for <strong>byte[]</strong> blob columns, to be declared with
+ * <em>@Codec(ZeroCopyByteArrayCodec.class)</em> on the field or in a codec registry.
+ * <br/>
+ * <br/>
+ * On write, the array is wrapped without copy. The driver sends the bytes of the array itself so
+ * the array must not be modified until the statement future has completed, a retried or speculative
+ * execution re-reads it.
+ * <br/>
+ * <br/>
+ * On read, the driver copies each blob value of a row into its own array. When the buffer covers
+ * this whole array, the array is returned as is instead of being copied a second time. It remains shared
+ * with the driver <em>Row</em> it was decoded from, re-reading the same row returns the same array.
+ * Other buffers (read-only, direct or slices) are copied like with the default codec
+ */
+public class ZeroCopyByteArrayCodec implements Codec<byte[], ByteBuffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZeroCopyByteArrayCodec.class);
+
+    @Override
+    public Class<byte[]> sourceType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(byte[] fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Wrapping byte[] '%s' to ByteBuffer",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(ByteBuffer.wrap(fromJava)), fromJava.length)));
+        }
+        return ByteBuffer.wrap(fromJava);
+    }
+
+    @Override
+    public byte[] decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (isWholeBackingArray(fromCassandra)) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(String.format("Returning backing array '%s' of ByteBuffer",
+                        LoggerHelper.toHexString(LoggerHelper.firstBytes(fromCassandra), fromCassandra.remaining())));
+            }
+            return fromCassandra.array();
+        }
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Copying ByteBuffer '%s' to byte[]",
+                    LoggerHelper.toHexString(LoggerHelper.firstBytes(fromCassandra), fromCassandra.remaining())));
+        }
+        final byte[] bytes = new byte[fromCassandra.remaining()];
+        fromCassandra.duplicate().get(bytes);
+        return bytes;
+    }
+
+    static boolean isWholeBackingArray(ByteBuffer buffer) {
+        return buffer.hasArray()
+                && buffer.arrayOffset() == 0
+                && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codegen;
+
+import static info.archinnov.achilles.internals.parser.TypeUtils.*;
+
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+
+public class BeanFactoryCodeGen {
+
+    public static TypeSpec buildInstance(AptUtils aptUtils, List<EntityMetaSignature> signatures, GlobalParsingContext parsingContext) {
+        final MethodSpec.Builder constructorBuilder = MethodSpec
+                .constructorBuilder()
+                .addModifiers(Modifier.PUBLIC);
+
+        // register(MyEntity.class, MyEntity::new);
+        signatures
+                .stream()
+                .map(x -> x.entityRawClass)
+                .distinct()
+                .filter(rawClass -> hasPublicNoArgConstructor(aptUtils, rawClass))
+                .forEach(rawClass -> constructorBuilder.addStatement("register($T.class, $T::new)", rawClass, rawClass));
+
+        for (TypeName rawUdtClass : parsingContext.udtTypes.keySet()) {
+            if (hasPublicNoArgConstructor(aptUtils, rawUdtClass)) {
+                constructorBuilder.addStatement("register($T.class, $T::new)", rawUdtClass, rawUdtClass);
+            }
+        }
+
+        return TypeSpec.classBuilder(GENERATED_BEAN_FACTORY_CLASS)
+                .superclass(ABSTRACT_GENERATED_BEAN_FACTORY)
+                .addJavadoc("Bean factory instantiating all entity and UDT classes with direct constructor references\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addMethod(constructorBuilder.build())
+                .build();
+    }
+
+    /**
+     * Classes instantiated through an @EntityCreator may not have a no-arg constructor
+     */
+    private static boolean hasPublicNoArgConstructor(AptUtils aptUtils, TypeName rawClass) {
+        final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(rawClass.toString());
+        return typeElement != null && ElementFilter.constructorsIn(typeElement.getEnclosedElements())
+                .stream()
+                .filter(x -> x.getModifiers().contains(Modifier.PUBLIC))
+                .anyMatch(x -> x.getParameters().isEmpty());
+    }
+}
@@ -73,6 +73,9 @@ public class ManagerCodeGen {
                 if (signature.hasStatic()) {
                     crudClass.addMethod(buildInsertStatic(signature));
                 }
+                if (signature.hasUpdatableColumn()) {
+                    crudClass.addMethod(buildUpdate(signature));
+                }
             }
 
             if (signature.hasClustering()) {
@@ -139,6 +142,7 @@ public class ManagerCodeGen {
             builder.addJavadoc("   <li>INSERT</li>\n")
                     .addJavadoc("   <li>INSERT STATIC</li>\n")
                     .addJavadoc("   <li>INSERT IF NOT EXISTS</li>\n")
+                    .addJavadoc("   <li>UPDATE</li>\n")
                     .addJavadoc("   <li>DELETE BY ID</li>\n")
                     .addJavadoc("   <li>DELETE BY ID IF NOT EXISTS</li>\n")
                     .addJavadoc("   <li>DELETE BY PARTITION</li>\n");
@@ -212,6 +216,20 @@ public class ManagerCodeGen {
                 .build();
     }
 
+    private static MethodSpec buildUpdate(EntityMetaSignature signature) {
+        return MethodSpec.methodBuilder("update")
+                .addJavadoc("Update this entity.\n\n")
+                .addJavadoc("If dirty tracking is enabled for this entity and the instance has been loaded or inserted by Achilles, ")
+                .addJavadoc("<strong>only the columns changed since then are updated</strong>\n\n")
+                .addJavadoc("@param instance an instance of $T\n", signature.entityRawClass)
+                .addJavadoc("@return UpdateWithOptions<$T>", signature.entityRawClass)
+                .addModifiers(Modifier.FINAL, Modifier.PUBLIC)
+                .addParameter(signature.entityRawClass, "instance", Modifier.FINAL)
+                .addStatement("return updateInternal(instance)")
+                .returns(genericType(UPDATE_WITH_OPTIONS, signature.entityRawClass))
+                .build();
+    }
+
     private static MethodSpec buildFind(EntityMetaSignature signature) {
         ParameterizedTypeName returnType = genericType(FIND_WITH_OPTIONS, signature.entityRawClass);
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("findById")
@@ -145,6 +145,9 @@ public class ManagerFactoryCodeGen {
                 .addParameter(CLUSTER, "cluster", Modifier.FINAL)
                 .addParameter(CONFIGURATION_CONTEXT, "configContext", Modifier.FINAL)
                 .addStatement("super($N, $N)", "cluster", "configContext")
+                .beginControlFlow("if (!$N.isProvidedBeanFactory())", "configContext")
+                .addStatement("$N.setDefaultBeanFactory(new $T())", "configContext", GENERATED_BEAN_FACTORY)
+                .endControlFlow()
                 .addStatement("this.entityProperties = $T.asList($L)", ARRAYS, entityProperties.toString())
                 .addStatement("this.functionProperties = $T.asList($L)", ARRAYS, functionProperties.toString())
                 .addStatement("this.entityClasses = this.entityProperties.stream().map(x -> x.entityClass).collect($T.toList())", COLLECTORS)
@@ -44,6 +44,8 @@ public abstract class AbstractDSLCodeGen {
     protected static final String GTE = "gte";
     protected static final String LT = "lt";
     protected static final String LTE = "lte";
+    protected static final String SELECT_FOR_JAVADOC = "SELECT ... FROM ...";
+    protected static final String DELETE_FOR_JAVADOC = "DELETE ... FROM ...";
     public static Comparator<Tuple2<String, PartitionKeyInfo>> TUPLE2_PARTITION_KEY_SORTER =
             (o1, o2) -> o1._2().order.compareTo(o2._2().order);
     public static Comparator<Tuple4<String, String, TypeName, PartitionKeyInfo>> TUPLE4_PARTITION_KEY_SORTER =
@@ -103,9 +105,15 @@ public abstract class AbstractDSLCodeGen {
     }
 
     protected static MethodSpec buildColumnRelation(String relation, TypeName nextType, FieldSignatureInfo fieldInfo) {
+        return buildColumnRelation(relation, nextType, fieldInfo, SELECT_FOR_JAVADOC);
+    }
+
+    protected static MethodSpec buildColumnRelation(String relation, TypeName nextType, FieldSignatureInfo fieldInfo,
+                                                    String statementForJavaDoc) {
         final String methodName = fieldInfo.fieldName + "_" + upperCaseFirst(relation);
         final MethodSpec.Builder builder = MethodSpec.methodBuilder(methodName)
-                .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>$L $L ?</strong>", fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation))
+                .addJavadoc("Generate a $L WHERE ... <strong>$L $L ?</strong>", statementForJavaDoc,
+                        fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addParameter(fieldInfo.typeName, fieldInfo.fieldName)
@@ -118,6 +126,39 @@ public abstract class AbstractDSLCodeGen {
         return builder.addStatement("return new $T(where)", nextType).build();
     }
 
+    protected static MethodSpec buildDoubleColumnRelation(String relation1, String relation2, TypeName nextType, FieldSignatureInfo fieldInfo) {
+        return buildDoubleColumnRelation(relation1, relation2, nextType, fieldInfo, SELECT_FOR_JAVADOC);
+    }
+
+    protected static MethodSpec buildDoubleColumnRelation(String relation1, String relation2, TypeName nextType, FieldSignatureInfo fieldInfo,
+                                                          String statementForJavaDoc) {
+        final String methodName = fieldInfo.fieldName + "_" + upperCaseFirst(relation1) + "_And_" + upperCaseFirst(relation2);
+        final String param1 = fieldInfo.fieldName + "_" + upperCaseFirst(relation1);
+        final String param2 = fieldInfo.fieldName + "_" + upperCaseFirst(relation2);
+        final String column1 = fieldInfo.cqlColumn + "_" + upperCaseFirst(relation2);
+        final String column2 = fieldInfo.cqlColumn + "_" + upperCaseFirst(relation2);
+
+        return MethodSpec.methodBuilder(methodName)
+                .addJavadoc("Generate a $L WHERE ... <strong>$L $L ? AND $L $L ?</strong>", statementForJavaDoc,
+                        fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation1),
+                        fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation2))
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addParameter(fieldInfo.typeName, param1)
+                .addParameter(fieldInfo.typeName, param2)
+                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation1, fieldInfo.cqlColumn, QUERY_BUILDER, column1)
+                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
+                        QUERY_BUILDER, relation2, fieldInfo.cqlColumn, QUERY_BUILDER, column2)
+                .addStatement("boundValues.add($L)", param1)
+                .addStatement("encodedValues.add(meta.$L.encodeFromJava($N))", fieldInfo.fieldName, param1)
+                .addStatement("boundValues.add($L)", param2)
+                .addStatement("encodedValues.add(meta.$L.encodeFromJava($N))", fieldInfo.fieldName, param2)
+                .addStatement("return new $T(where)", nextType)
+                .returns(nextType)
+                .build();
+    }
+
     protected static MethodSpec buildColumnInVarargs(TypeName nextType, FieldSignatureInfo fieldInfo) {
         final String methodName = fieldInfo.fieldName + "_IN";
         final String param = fieldInfo.fieldName;
@@ -59,6 +59,15 @@ public class DeleteDSLCodeGen extends AbstractDSLCodeGen {
 
         TypeName deleteWhereTypeName = ClassName.get(DSL_PACKAGE, signature.deleteWhereReturnType(firstPartitionKey));
 
+        // Deleting whole rows has its own WHERE classes, allowing range restrictions on clustering columns
+        final boolean hasClusterings = signature.fieldMetaSignatures
+                .stream()
+                .anyMatch(x -> x.context.columnType == ColumnType.CLUSTERING);
+
+        TypeName deleteAllFromTypeName = hasClusterings
+                ? ClassName.get(DSL_PACKAGE, signature.deleteAllFromReturnType())
+                : deleteFromTypeName;
+
         final List<ColumnType> candidateColumns = Arrays.asList(NORMAL, STATIC, COUNTER, STATIC_COUNTER);
 
         final TypeSpec.Builder builder = TypeSpec.classBuilder(signature.deleteClassName())
@@ -77,12 +86,18 @@ public class DeleteDSLCodeGen extends AbstractDSLCodeGen {
                 .filter(x -> candidateColumns.contains(x.context.columnType))
                 .forEach(x -> builder.addMethod(buildDeleteColumnMethod(deleteColumnsTypeName, x, ReturnType.NEW)));
 
-        builder.addMethod(buildAllColumns(deleteFromTypeName, DELETE_WHERE, "delete"));
-        builder.addMethod(buildAllColumnsWithSchemaProvider(deleteFromTypeName, DELETE_WHERE, "delete"));
+        builder.addMethod(buildAllColumns(deleteAllFromTypeName, DELETE_WHERE, "delete"));
+        builder.addMethod(buildAllColumnsWithSchemaProvider(deleteAllFromTypeName, DELETE_WHERE, "delete"));
 
 
         DeleteWhereDSLCodeGen.buildWhereClasses(signature).forEach(builder::addType);
 
+        if (hasClusterings) {
+            TypeName deleteAllWhereTypeName = ClassName.get(DSL_PACKAGE, signature.deleteAllWhereReturnType(firstPartitionKey));
+            builder.addType(buildDeleteFrom(signature, signature.className + DELETE_ALL_FROM_DSL_SUFFIX, deleteAllWhereTypeName));
+            DeleteWhereDSLCodeGen.buildWhereClassesForAllColumns(signature).forEach(builder::addType);
+        }
+
         return builder.build();
     }
 
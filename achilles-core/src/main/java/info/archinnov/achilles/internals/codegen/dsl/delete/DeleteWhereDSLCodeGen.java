@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen;
@@ -32,12 +33,27 @@ import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMe
 public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
 
     public static List<TypeSpec> buildWhereClasses(EntityMetaSignature signature) {
-        final List<FieldSignatureInfo> partitionKeys = getPartitionKeysSignatureInfo(signature.fieldMetaSignatures);
-        final List<FieldSignatureInfo> clusteringCols = getClusteringColsSignatureInfo(signature.fieldMetaSignatures);
-
         final ClassSignatureParams classSignatureParams = ClassSignatureParams.of(DELETE_DSL_SUFFIX,
                 DELETE_WHERE_DSL_SUFFIX, DELETE_END_DSL_SUFFIX,
                 ABSTRACT_DELETE_WHERE_PARTITION, ABSTRACT_DELETE_WHERE, ABSTRACT_DELETE_END);
+        return buildWhereClasses(signature, classSignatureParams, false);
+    }
+
+    /**
+     * WHERE clause of <em>DELETE FROM ...</em>, deleting whole rows. Unlike the deletion of some columns,
+     * it accepts range restrictions on clustering columns, generating a single range tombstone
+     */
+    public static List<TypeSpec> buildWhereClassesForAllColumns(EntityMetaSignature signature) {
+        final ClassSignatureParams classSignatureParams = ClassSignatureParams.of(DELETE_DSL_SUFFIX,
+                DELETE_ALL_WHERE_DSL_SUFFIX, DELETE_ALL_END_DSL_SUFFIX,
+                ABSTRACT_DELETE_WHERE_PARTITION, ABSTRACT_DELETE_WHERE, ABSTRACT_DELETE_END);
+        return buildWhereClasses(signature, classSignatureParams, true);
+    }
+
+    private static List<TypeSpec> buildWhereClasses(EntityMetaSignature signature, ClassSignatureParams classSignatureParams,
+                                                    boolean withClusteringRanges) {
+        final List<FieldSignatureInfo> partitionKeys = getPartitionKeysSignatureInfo(signature.fieldMetaSignatures);
+        final List<FieldSignatureInfo> clusteringCols = getClusteringColsSignatureInfo(signature.fieldMetaSignatures);
 
         final List<ClassSignatureInfo> classesSignature =
                 buildClassesSignatureForWhereClause(signature, classSignatureParams, partitionKeys, clusteringCols,
@@ -50,7 +66,7 @@ public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
                 classesSignature, clusteringCols.size() > 0);
 
         final List<TypeSpec> clusteringColsWhereClasses = buildWhereClassesForClusteringColumns(clusteringCols,
-                classesSignature);
+                classesSignature, lastSignature, withClusteringRanges);
 
         final TypeSpec deleteEndClass = buildDeleteEndClass(signature, lastSignature, hasCounter);
 
@@ -137,7 +153,7 @@ public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
                 .superclass(classSignature.superType)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(buildWhereConstructor(DELETE_WHERE))
-                .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, partitionInfo));
+                .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, partitionInfo, DELETE_FOR_JAVADOC));
 
         if (!hasClusterings) {
             builder.addMethod(buildColumnInVarargs(nextSignature.returnClassType, partitionInfo));
@@ -148,7 +164,9 @@ public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
 
 
     private static List<TypeSpec> buildWhereClassesForClusteringColumns(List<FieldSignatureInfo> clusteringCols,
-                                                                        List<ClassSignatureInfo> classesSignature) {
+                                                                        List<ClassSignatureInfo> classesSignature,
+                                                                        ClassSignatureInfo lastSignature,
+                                                                        boolean withClusteringRanges) {
         if (clusteringCols.isEmpty()) {
             return new ArrayList<>();
         } else {
@@ -158,8 +176,9 @@ public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
             clusteringCols.remove(0);
             classesSignature.remove(0);
             final TypeSpec currentType = buildDeleteWhereForClusteringColumn(clusteringColumnInfo, classSignature,
-                    nextSignature);
-            final List<TypeSpec> typeSpecs = buildWhereClassesForClusteringColumns(clusteringCols, classesSignature);
+                    nextSignature, lastSignature, withClusteringRanges);
+            final List<TypeSpec> typeSpecs = buildWhereClassesForClusteringColumns(clusteringCols, classesSignature,
+                    lastSignature, withClusteringRanges);
             typeSpecs.add(0, currentType);
             return typeSpecs;
         }
@@ -167,13 +186,28 @@ public class DeleteWhereDSLCodeGen extends AbstractDSLCodeGen {
 
     private static TypeSpec buildDeleteWhereForClusteringColumn(FieldSignatureInfo clusteringColumnInfo,
                                                                 ClassSignatureInfo classSignature,
-                                                                ClassSignatureInfo nextSignature) {
+                                                                ClassSignatureInfo nextSignature,
+                                                                ClassSignatureInfo lastSignature,
+                                                                boolean withClusteringRanges) {
 
         final TypeSpec.Builder builder = TypeSpec.classBuilder(classSignature.className)
                 .superclass(classSignature.superType)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(buildWhereConstructor(DELETE_WHERE))
-                .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, clusteringColumnInfo));
+                .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, clusteringColumnInfo, DELETE_FOR_JAVADOC));
+
+        // Range restrictions end the WHERE clause and generate a single range tombstone
+        if (withClusteringRanges) {
+            final TypeName lastType = lastSignature.returnClassType;
+            builder.addMethod(buildColumnRelation(GT, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildColumnRelation(GTE, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildColumnRelation(LT, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildColumnRelation(LTE, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildDoubleColumnRelation(GT, LT, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildDoubleColumnRelation(GT, LTE, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildDoubleColumnRelation(GTE, LT, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC))
+                    .addMethod(buildDoubleColumnRelation(GTE, LTE, lastType, clusteringColumnInfo, DELETE_FOR_JAVADOC));
+        }
 
         return builder.build();
     }
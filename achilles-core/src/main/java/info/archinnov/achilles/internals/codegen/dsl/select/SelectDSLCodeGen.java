@@ -73,8 +73,13 @@ public class SelectDSLCodeGen extends AbstractDSLCodeGen {
 
         selectClassBuilder.addMethod(buildSelectFunctionCallMethod(selectColumnsTypeName, "select", NEW));
 
-        selectClassBuilder.addMethod(buildAllColumns(selectFromTypeName, SELECT_WHERE, "select"));
-        selectClassBuilder.addMethod(buildAllColumnsWithSchemaProvider(selectFromTypeName, SELECT_WHERE, "select"));
+        if (signature.hasLazyColumn()) {
+            selectClassBuilder.addMethod(buildEagerColumns(selectFromTypeName));
+            selectClassBuilder.addMethod(buildEagerColumnsWithSchemaProvider(selectFromTypeName));
+        } else {
+            selectClassBuilder.addMethod(buildAllColumns(selectFromTypeName, SELECT_WHERE, "select"));
+            selectClassBuilder.addMethod(buildAllColumnsWithSchemaProvider(selectFromTypeName, SELECT_WHERE, "select"));
+        }
 
 
         SelectWhereDSLCodeGen.buildWhereClasses(signature).forEach(selectClassBuilder::addType);
@@ -82,6 +87,30 @@ public class SelectDSLCodeGen extends AbstractDSLCodeGen {
         return selectClassBuilder.build();
     }
 
+    private static MethodSpec buildEagerColumns(TypeName newTypeName) {
+        return MethodSpec.methodBuilder("allColumns_FromBaseTable")
+                .addJavadoc("Generate ... <strong>all columns but the @Lazy ones</strong> FROM ...")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addStatement("final $T where = eagerColumns(meta).from(meta.getKeyspace().orElse($S + meta.entityClass.getCanonicalName()), meta.getTableOrViewName()).where()",
+                        SELECT_WHERE, "unknown_keyspace_for_")
+                .addStatement("return new $T(where)", newTypeName)
+                .returns(newTypeName)
+                .build();
+    }
+
+    private static MethodSpec buildEagerColumnsWithSchemaProvider(TypeName newTypeName) {
+        return MethodSpec.methodBuilder("allColumns_From")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("Generate ... <strong>all columns but the @Lazy ones</strong> FROM ... using the given SchemaNameProvider")
+                .addParameter(SCHEMA_NAME_PROVIDER, "schemaNameProvider", Modifier.FINAL)
+                .addStatement("final String currentKeyspace = lookupKeyspace(schemaNameProvider, meta.entityClass)")
+                .addStatement("final String currentTable = lookupTable(schemaNameProvider, meta.entityClass)")
+                .addStatement("final $T where = eagerColumns(meta).from(currentKeyspace, currentTable).where()", SELECT_WHERE)
+                .addStatement("return new $T(where)", newTypeName)
+                .returns(newTypeName)
+                .build();
+    }
+
     private static MethodSpec buildSelectConstructor(EntityMetaSignature signature) {
         String metaClassName = signature.className + META_SUFFIX;
         TypeName metaClassType = ClassName.get(ENTITY_META_PACKAGE, metaClassName);
@@ -77,6 +77,7 @@ public class SelectWhereDSLCodeGen extends AbstractDSLCodeGen {
                 .addMethod(buildGetBoundValuesInternal())
                 .addMethod(buildGetEncodedBoundValuesInternal())
                 .addMethod(buildLimit(lastSignature))
+                .addMethod(buildPerPartitionLimit(lastSignature))
                 .addMethod(buildGetThis(lastSignature.returnClassType));
 
         maybeBuildOrderingBy(lastSignature, firstClustering, builder);
@@ -123,6 +124,18 @@ public class SelectWhereDSLCodeGen extends AbstractDSLCodeGen {
                 .build();
     }
 
+    private static MethodSpec buildPerPartitionLimit(ClassSignatureInfo lastSignature) {
+        return MethodSpec.methodBuilder("perPartitionLimit")
+                .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>PER PARTITION LIMIT :perPartitionLim</strong>\n")
+                .addJavadoc("<br/>\n")
+                .addJavadoc("Requires Cassandra 3.6 or later")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addParameter(TypeName.INT.box(), "perPartitionLimit", Modifier.FINAL)
+                .returns(lastSignature.returnClassType)
+                .addStatement("this.perPartitionLimit = $T.of($N)", OPTIONAL, "perPartitionLimit")
+                .addStatement("return this")
+                .build();
+    }
 
     private static List<TypeSpec> buildWhereClassesForPartitionKeys(List<FieldSignatureInfo> partitionKeys,
                                                                     List<ClassSignatureInfo> classesSignature) {
@@ -192,6 +205,7 @@ public class SelectWhereDSLCodeGen extends AbstractDSLCodeGen {
                 .addMethod(buildGetBoundValuesInternal())
                 .addMethod(buildGetEncodedBoundValuesInternal())
                 .addMethod(buildLimit(classSignature))
+                .addMethod(buildPerPartitionLimit(classSignature))
                 .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, clusteringColumnInfo))
                 .addMethod(buildColumnInVarargs(nextSignature.returnClassType, clusteringColumnInfo))
                 .addMethod(buildColumnRelation(GT, lastSignature.returnClassType, clusteringColumnInfo))
@@ -393,34 +407,4 @@ public class SelectWhereDSLCodeGen extends AbstractDSLCodeGen {
 
         return builder.addStatement("return new $T(where)", nextType).build();
     }
-
-
-    private static MethodSpec buildDoubleColumnRelation(String relation1, String relation2, TypeName nextType, FieldSignatureInfo fieldInfo) {
-        final String methodName = fieldInfo.fieldName + "_" + upperCaseFirst(relation1) + "_And_" + upperCaseFirst(relation2);
-        final String param1 = fieldInfo.fieldName + "_" + upperCaseFirst(relation1);
-        final String param2 = fieldInfo.fieldName + "_" + upperCaseFirst(relation2);
-        final String column1 = fieldInfo.cqlColumn + "_" + upperCaseFirst(relation2);
-        final String column2 = fieldInfo.cqlColumn + "_" + upperCaseFirst(relation2);
-
-        return MethodSpec.methodBuilder(methodName)
-                .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>$L $L ? AND $L $L ?</strong>",
-                        fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation1),
-                        fieldInfo.cqlColumn, relationToSymbolForJavaDoc(relation2))
-                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
-                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addParameter(fieldInfo.typeName, param1)
-                .addParameter(fieldInfo.typeName, param2)
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation1, fieldInfo.cqlColumn, QUERY_BUILDER, column1)
-                .addStatement("where.and($T.$L($S,$T.bindMarker($S)))",
-                        QUERY_BUILDER, relation2, fieldInfo.cqlColumn, QUERY_BUILDER, column2)
-                .addStatement("boundValues.add($L)", param1)
-                .addStatement("encodedValues.add(meta.$L.encodeFromJava($N))", fieldInfo.fieldName, param1)
-                .addStatement("boundValues.add($L)", param2)
-                .addStatement("encodedValues.add(meta.$L.encodeFromJava($N))", fieldInfo.fieldName, param2)
-                .addStatement("return new $T(where)", nextType)
-                .returns(nextType)
-                .build();
-    }
 }
-
@@ -19,12 +19,17 @@ package info.archinnov.achilles.internals.codegen.meta;
 import static info.archinnov.achilles.internals.parser.TypeUtils.*;
 import static info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy.getNamingStrategy;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import javax.lang.model.element.Modifier;
 
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
 
 import info.archinnov.achilles.annotations.Strategy;
+import info.archinnov.achilles.internals.parser.context.EntityCreatorContext;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 
 public abstract class AbstractBeanMetaCodeGen {
@@ -45,6 +50,52 @@ public abstract class AbstractBeanMetaCodeGen {
         }
     }
 
+    /**
+     * Build the call to the @EntityCreator: new MyEntity(decode(id), decode(value)) or MyEntity.of(decode(id), decode(value))
+     * <br/>
+     * The decoder receives the field name and the Java default value if the creator parameter is a primitive type
+     */
+    protected CodeBlock buildEntityCreatorCall(EntityCreatorContext entityCreator, BiFunction<String, Optional<String>, CodeBlock> decoder) {
+        final CodeBlock.Builder builder = CodeBlock.builder();
+        if (entityCreator.isConstructor) {
+            builder.add("new $T(", entityCreator.rawBeanType);
+        } else {
+            builder.add("$T.$L(", entityCreator.rawBeanType, entityCreator.methodName);
+        }
+
+        final List<String> fieldNames = entityCreator.fieldNames;
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (i > 0) {
+                builder.add(", ");
+            }
+            final String fieldName = fieldNames.get(i);
+            builder.add(decoder.apply(fieldName, primitiveDefaultValue(entityCreator.parameterTypeForField(fieldName))));
+        }
+        return builder.add(")").build();
+    }
+
+    private Optional<String> primitiveDefaultValue(TypeName typeName) {
+        if (!typeName.isPrimitive()) {
+            return Optional.empty();
+        } else if (typeName.equals(TypeName.BOOLEAN)) {
+            return Optional.of("false");
+        } else if (typeName.equals(TypeName.CHAR)) {
+            return Optional.of("'\\0'");
+        } else if (typeName.equals(TypeName.BYTE)) {
+            return Optional.of("(byte) 0");
+        } else if (typeName.equals(TypeName.SHORT)) {
+            return Optional.of("(short) 0");
+        } else if (typeName.equals(TypeName.LONG)) {
+            return Optional.of("0L");
+        } else if (typeName.equals(TypeName.FLOAT)) {
+            return Optional.of("0F");
+        } else if (typeName.equals(TypeName.DOUBLE)) {
+            return Optional.of("0D");
+        } else {
+            return Optional.of("0");
+        }
+    }
+
     protected MethodSpec emptyOption(MethodSpec.Builder builder) {
         return builder
                 .addStatement("return $T.empty()", OPTIONAL)
@@ -43,7 +43,9 @@ import info.archinnov.achilles.internals.apt.AptUtils;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty.EntityType;
 import info.archinnov.achilles.internals.metamodel.columns.*;
 import info.archinnov.achilles.internals.parser.AnnotationTree;
+import info.archinnov.achilles.internals.parser.EntityCreatorParser;
 import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
+import info.archinnov.achilles.internals.parser.context.EntityCreatorContext;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 import info.archinnov.achilles.internals.parser.validator.BeanValidator;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
@@ -58,9 +60,11 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
     public static final Comparator<Tuple2<String, String>> BY_CQL_NAME_COLUMN_SORTER =
             (o1, o2) -> o1._1().compareTo(o2._1());
     private final AptUtils aptUtils;
+    private final EntityCreatorParser entityCreatorParser;
 
     public EntityMetaCodeGen(AptUtils aptUtils) {
         this.aptUtils = aptUtils;
+        this.entityCreatorParser = new EntityCreatorParser(aptUtils);
     }
 
     public EntityMetaSignature buildEntityMeta(EntityType entityType, TypeElement elm, GlobalParsingContext globalParsingContext, List<FieldMetaSignature> fieldMetaSignatures) {
@@ -79,8 +83,12 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
             aptUtils.validateTrue(viewBaseClass.isPresent(),"Missing @MaterializedView annotation on entity class '%s'", rawClassTypeName);
         }
 
+        final Optional<EntityCreatorContext> entityCreator = entityCreatorParser.parseEntityCreator(elm);
+
         validateIsAConcreteNonFinalClass(aptUtils, elm);
-        validateHasPublicConstructor(aptUtils, rawClassTypeName, elm);
+        if (!entityCreator.isPresent()) {
+            validateHasPublicConstructor(aptUtils, rawClassTypeName, elm);
+        }
         validateNoDuplicateNames(aptUtils, rawClassTypeName, fieldMetaSignatures);
         validateHasPartitionKey(aptUtils, rawClassTypeName, fieldMetaSignatures);
 
@@ -163,6 +171,10 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
                     .addMethod(buildGetBaseEntityClass(viewBaseClass.get()));
         }
 
+        if (entityCreator.isPresent()) {
+            builder.addMethod(buildCreateEntityFrom(rawBeanType, fieldMetaSignatures, entityCreator.get()));
+        }
+
         for(FieldMetaSignature x: fieldMetaSignatures) {
             builder.addField(x.buildPropertyAsField());
         }
@@ -190,6 +202,33 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
         return builder.build();
     }
 
+    private MethodSpec buildCreateEntityFrom(TypeName rawBeanType, List<FieldMetaSignature> fieldMetaSignatures, EntityCreatorContext entityCreator) {
+        final CodeBlock creatorCall = buildEntityCreatorCall(entityCreator, (fieldName, defaultValue) -> defaultValue
+                .map(x -> CodeBlock.builder().add("decodeSelectedColumn(row$$, selectedColumns$$, $L, $L)", fieldName, x).build())
+                .orElse(CodeBlock.builder().add("decodeSelectedColumn(row$$, selectedColumns$$, $L)", fieldName).build()));
+
+        final MethodSpec.Builder builder = MethodSpec.methodBuilder("createEntityFrom")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(JAVA_DRIVER_ROW, "row$")
+                .returns(rawBeanType)
+                .beginControlFlow("if (row$$ == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("final $T selectedColumns$$ = extractSelectedColumns(row$$)", genericType(LIST, STRING))
+                .addStatement("final $T instance$$ = $L", rawBeanType, creatorCall);
+
+        fieldMetaSignatures
+                .stream()
+                .map(x -> x.context.fieldName)
+                .filter(fieldName -> !entityCreator.hasParameterForField(fieldName))
+                .forEach(fieldName -> builder.addStatement("decodeSelectedField(row$$, selectedColumns$$, $L, instance$$)", fieldName));
+
+        return builder
+                .addStatement("return instance$$")
+                .build();
+    }
+
     private MethodSpec buildEntityClass(TypeName rawClassTypeName) {
         return MethodSpec.methodBuilder("getEntityClass")
                 .addAnnotation(Override.class)
@@ -501,6 +540,14 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
             return fieldMetaSignatures.stream().filter(x -> x.context.columnType == STATIC || x.context.columnType == STATIC_COUNTER).count() > 0;
         }
 
+        public boolean hasUpdatableColumn() {
+            return fieldMetaSignatures.stream().filter(x -> x.context.columnType == NORMAL || x.context.columnType == STATIC).count() > 0;
+        }
+
+        public boolean hasLazyColumn() {
+            return fieldMetaSignatures.stream().filter(x -> x.context.columnInfo != null && x.context.columnInfo.lazy).count() > 0;
+        }
+
         public boolean isCounterEntity() {
             return fieldMetaSignatures.stream()
                     .filter(x -> x.context.columnType == COUNTER || x.context.columnType == STATIC_COUNTER)
@@ -568,6 +615,14 @@ public class EntityMetaCodeGen extends AbstractBeanMetaCodeGen {
             return deleteClassName() + "." + className + DELETE_WHERE_DSL_SUFFIX + "_" + upperCaseFirst(fieldName);
         }
 
+        public String deleteAllFromReturnType() {
+            return deleteClassName() + "." + className + DELETE_ALL_FROM_DSL_SUFFIX;
+        }
+
+        public String deleteAllWhereReturnType(String fieldName) {
+            return deleteClassName() + "." + className + DELETE_ALL_WHERE_DSL_SUFFIX + "_" + upperCaseFirst(fieldName);
+        }
+
 
 
         public String deleteStaticClassName() {
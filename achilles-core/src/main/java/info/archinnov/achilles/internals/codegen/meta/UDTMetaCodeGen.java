@@ -34,15 +34,19 @@ import com.squareup.javapoet.*;
 import info.archinnov.achilles.annotations.Strategy;
 import info.archinnov.achilles.annotations.UDT;
 import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.parser.EntityCreatorParser;
 import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
+import info.archinnov.achilles.internals.parser.context.EntityCreatorContext;
 import info.archinnov.achilles.internals.parser.context.EntityParsingContext;
 
 public class UDTMetaCodeGen extends AbstractBeanMetaCodeGen {
 
     private final AptUtils aptUtils;
+    private final EntityCreatorParser entityCreatorParser;
 
     public UDTMetaCodeGen(AptUtils aptUtils) {
         this.aptUtils = aptUtils;
+        this.entityCreatorParser = new EntityCreatorParser(aptUtils);
     }
 
     public TypeSpec buildUDTClassProperty(TypeElement elm, EntityParsingContext context, List<FieldMetaSignature> parsingResults) {
@@ -63,7 +67,7 @@ public class UDTMetaCodeGen extends AbstractBeanMetaCodeGen {
                 .addMethod(buildGetUdtClass(rawBeanType))
                 .addMethod(buildComponentsProperty(rawBeanType, parsingResults))
                 .addMethod(buildCreateUDTFromBeanT(rawBeanType, parsingResults))
-                .addMethod(buildCreateBeanFromUDT(rawBeanType, parsingResults));
+                .addMethod(buildCreateBeanFromUDT(rawBeanType, parsingResults, entityCreatorParser.parseEntityCreator(elm)));
 
         for (FieldMetaSignature x : parsingResults) {
             builder.addField(x.buildPropertyAsField());
@@ -181,18 +185,28 @@ public class UDTMetaCodeGen extends AbstractBeanMetaCodeGen {
         return builder.build();
     }
 
-    private MethodSpec buildCreateBeanFromUDT(TypeName rawBeanType, List<FieldMetaSignature> parsingResults) {
+    private MethodSpec buildCreateBeanFromUDT(TypeName rawBeanType, List<FieldMetaSignature> parsingResults, Optional<EntityCreatorContext> entityCreator) {
         final ClassName udtType = ClassName.get(UDTValue.class);
 
         final MethodSpec.Builder builder = MethodSpec.methodBuilder("createBeanFromUDT")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PROTECTED)
                 .addParameter(udtType, "udtValue")
-                .returns(rawBeanType)
-                .addStatement("final $T instance = udtFactory.newInstance(udtClass)", rawBeanType);
+                .returns(rawBeanType);
+
+        if (entityCreator.isPresent()) {
+            final CodeBlock creatorCall = buildEntityCreatorCall(entityCreator.get(), (fieldName, defaultValue) -> defaultValue
+                    .map(x -> CodeBlock.builder().add("decodeOrDefault(udtValue, $L, $L)", fieldName, x).build())
+                    .orElse(CodeBlock.builder().add("$L.decodeFromGettable(udtValue)", fieldName).build()));
+            builder.addStatement("final $T instance = $L", rawBeanType, creatorCall);
+        } else {
+            builder.addStatement("final $T instance = udtFactory.newInstance(udtClass)", rawBeanType);
+        }
 
         for (FieldMetaSignature x : parsingResults) {
-            builder.addStatement("$L.decodeField(udtValue, instance)", x.context.fieldName);
+            if (!entityCreator.isPresent() || !entityCreator.get().hasParameterForField(x.context.fieldName)) {
+                builder.addStatement("$L.decodeField(udtValue, instance)", x.context.fieldName);
+            }
         }
 
         builder.addStatement("return instance");
@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internals.context;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,8 +43,11 @@ import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+import info.archinnov.achilles.type.quota.RateLimitQuota;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
+import info.archinnov.achilles.type.strategy.WriteOrderingStrategy;
 import info.archinnov.achilles.type.tuples.Tuple3;
 
 public class ConfigurationContext {
@@ -84,6 +88,7 @@ public class ConfigurationContext {
     private boolean providedExecutorService;
 
     private BeanFactory defaultBeanFactory;
+    private boolean providedBeanFactory = false;
 
     private Session session;
     private boolean providedSession = false;
@@ -94,6 +99,80 @@ public class ConfigurationContext {
 
     private Map<CodecSignature<?,?>, Codec<?, ?>> runtimeCodecs = new HashMap<>();
 
+    private List<Class<?>> readCoalescingEntities = new ArrayList<>();
+
+    private int batchLoaderMaxSize;
+
+    private long batchLoaderWindowInMs;
+
+    private boolean autoBatchingEnabled;
+
+    private int autoBatchingMaxSize;
+
+    private long autoBatchingWindowInMs;
+
+    private WriteOrderingStrategy writeOrderingStrategy = WriteOrderingStrategy.NONE;
+
+    private boolean concurrencyLimiterEnabled;
+
+    private int concurrencyLimiterInitialLimit;
+
+    private int concurrencyLimiterMinLimit;
+
+    private int concurrencyLimiterMaxLimit;
+
+    private long concurrencyLimiterLatencyThresholdInMs;
+
+    private int concurrencyLimiterMaxQueueSize;
+
+    private List<RateLimitQuota> rateLimitQuotas = new ArrayList<>();
+
+    private boolean adaptiveFetchSizeEnabled;
+
+    private int adaptiveFetchSizeTargetPageBytes;
+
+    private int adaptiveFetchSizeMin;
+
+    private int adaptiveFetchSizeMax;
+
+    private double tracingSampleRate;
+
+    private Map<Class<?>, Double> tracingEntitySampleRates = new HashMap<>();
+
+    private Map<QuotaOperation, Double> tracingOperationSampleRates = new HashMap<>();
+
+    private long tracingLatencyThresholdInMs;
+
+    private int tracingTriggeredExecutions;
+
+    private int slowQueryReportSize;
+
+    private long slowQueryLogThresholdInMs;
+
+    private Map<Class<?>, Long> slowQueryLogEntityThresholdsInMs = new HashMap<>();
+
+    private Map<QuotaOperation, Long> slowQueryLogOperationThresholdsInMs = new HashMap<>();
+
+    private String slowQueryLogFile;
+
+    private long slowQueryLogMaxFileSizeInBytes;
+
+    private int slowQueryLogMaxFiles;
+
+    private int slowQueryLogBufferSize;
+
+    private List<Class<?>> partitionKeyInSplitEntities = new ArrayList<>();
+
+    private int partitionKeyInSplitMaxConcurrency;
+
+    private List<Class<?>> dirtyTrackingEntities = new ArrayList<>();
+
+    private int chunkedBlobChunkSizeInBytes;
+
+    private int chunkedBlobWriteConcurrency;
+
+    private int chunkedBlobReadAheadChunks;
+
     public boolean isForceSchemaGeneration() {
         return forceSchemaGeneration;
     }
@@ -265,6 +344,310 @@ public class ConfigurationContext {
         this.schemaNameProvider = schemaNameProvider;
     }
 
+    public List<Class<?>> getReadCoalescingEntities() {
+        return readCoalescingEntities;
+    }
+
+    public void setReadCoalescingEntities(List<Class<?>> readCoalescingEntities) {
+        this.readCoalescingEntities = readCoalescingEntities;
+    }
+
+    public int getBatchLoaderMaxSize() {
+        return batchLoaderMaxSize;
+    }
+
+    public void setBatchLoaderMaxSize(int batchLoaderMaxSize) {
+        this.batchLoaderMaxSize = batchLoaderMaxSize;
+    }
+
+    public long getBatchLoaderWindowInMs() {
+        return batchLoaderWindowInMs;
+    }
+
+    public void setBatchLoaderWindowInMs(long batchLoaderWindowInMs) {
+        this.batchLoaderWindowInMs = batchLoaderWindowInMs;
+    }
+
+    public boolean isAutoBatchingEnabled() {
+        return autoBatchingEnabled;
+    }
+
+    public void setAutoBatchingEnabled(boolean autoBatchingEnabled) {
+        this.autoBatchingEnabled = autoBatchingEnabled;
+    }
+
+    public int getAutoBatchingMaxSize() {
+        return autoBatchingMaxSize;
+    }
+
+    public void setAutoBatchingMaxSize(int autoBatchingMaxSize) {
+        this.autoBatchingMaxSize = autoBatchingMaxSize;
+    }
+
+    public long getAutoBatchingWindowInMs() {
+        return autoBatchingWindowInMs;
+    }
+
+    public void setAutoBatchingWindowInMs(long autoBatchingWindowInMs) {
+        this.autoBatchingWindowInMs = autoBatchingWindowInMs;
+    }
+
+    public WriteOrderingStrategy getWriteOrderingStrategy() {
+        return writeOrderingStrategy;
+    }
+
+    public void setWriteOrderingStrategy(WriteOrderingStrategy writeOrderingStrategy) {
+        this.writeOrderingStrategy = writeOrderingStrategy;
+    }
+
+    public boolean isConcurrencyLimiterEnabled() {
+        return concurrencyLimiterEnabled;
+    }
+
+    public void setConcurrencyLimiterEnabled(boolean concurrencyLimiterEnabled) {
+        this.concurrencyLimiterEnabled = concurrencyLimiterEnabled;
+    }
+
+    public int getConcurrencyLimiterInitialLimit() {
+        return concurrencyLimiterInitialLimit;
+    }
+
+    public void setConcurrencyLimiterInitialLimit(int concurrencyLimiterInitialLimit) {
+        this.concurrencyLimiterInitialLimit = concurrencyLimiterInitialLimit;
+    }
+
+    public int getConcurrencyLimiterMinLimit() {
+        return concurrencyLimiterMinLimit;
+    }
+
+    public void setConcurrencyLimiterMinLimit(int concurrencyLimiterMinLimit) {
+        this.concurrencyLimiterMinLimit = concurrencyLimiterMinLimit;
+    }
+
+    public int getConcurrencyLimiterMaxLimit() {
+        return concurrencyLimiterMaxLimit;
+    }
+
+    public void setConcurrencyLimiterMaxLimit(int concurrencyLimiterMaxLimit) {
+        this.concurrencyLimiterMaxLimit = concurrencyLimiterMaxLimit;
+    }
+
+    public long getConcurrencyLimiterLatencyThresholdInMs() {
+        return concurrencyLimiterLatencyThresholdInMs;
+    }
+
+    public void setConcurrencyLimiterLatencyThresholdInMs(long concurrencyLimiterLatencyThresholdInMs) {
+        this.concurrencyLimiterLatencyThresholdInMs = concurrencyLimiterLatencyThresholdInMs;
+    }
+
+    public int getConcurrencyLimiterMaxQueueSize() {
+        return concurrencyLimiterMaxQueueSize;
+    }
+
+    public void setConcurrencyLimiterMaxQueueSize(int concurrencyLimiterMaxQueueSize) {
+        this.concurrencyLimiterMaxQueueSize = concurrencyLimiterMaxQueueSize;
+    }
+
+    public List<RateLimitQuota> getRateLimitQuotas() {
+        return rateLimitQuotas;
+    }
+
+    public void setRateLimitQuotas(List<RateLimitQuota> rateLimitQuotas) {
+        this.rateLimitQuotas = rateLimitQuotas;
+    }
+
+    public boolean isAdaptiveFetchSizeEnabled() {
+        return adaptiveFetchSizeEnabled;
+    }
+
+    public void setAdaptiveFetchSizeEnabled(boolean adaptiveFetchSizeEnabled) {
+        this.adaptiveFetchSizeEnabled = adaptiveFetchSizeEnabled;
+    }
+
+    public int getAdaptiveFetchSizeTargetPageBytes() {
+        return adaptiveFetchSizeTargetPageBytes;
+    }
+
+    public void setAdaptiveFetchSizeTargetPageBytes(int adaptiveFetchSizeTargetPageBytes) {
+        this.adaptiveFetchSizeTargetPageBytes = adaptiveFetchSizeTargetPageBytes;
+    }
+
+    public int getAdaptiveFetchSizeMin() {
+        return adaptiveFetchSizeMin;
+    }
+
+    public void setAdaptiveFetchSizeMin(int adaptiveFetchSizeMin) {
+        this.adaptiveFetchSizeMin = adaptiveFetchSizeMin;
+    }
+
+    public int getAdaptiveFetchSizeMax() {
+        return adaptiveFetchSizeMax;
+    }
+
+    public void setAdaptiveFetchSizeMax(int adaptiveFetchSizeMax) {
+        this.adaptiveFetchSizeMax = adaptiveFetchSizeMax;
+    }
+
+    public double getTracingSampleRate() {
+        return tracingSampleRate;
+    }
+
+    public void setTracingSampleRate(double tracingSampleRate) {
+        this.tracingSampleRate = tracingSampleRate;
+    }
+
+    public Map<Class<?>, Double> getTracingEntitySampleRates() {
+        return tracingEntitySampleRates;
+    }
+
+    public void setTracingEntitySampleRates(Map<Class<?>, Double> tracingEntitySampleRates) {
+        this.tracingEntitySampleRates = tracingEntitySampleRates;
+    }
+
+    public Map<QuotaOperation, Double> getTracingOperationSampleRates() {
+        return tracingOperationSampleRates;
+    }
+
+    public void setTracingOperationSampleRates(Map<QuotaOperation, Double> tracingOperationSampleRates) {
+        this.tracingOperationSampleRates = tracingOperationSampleRates;
+    }
+
+    public long getTracingLatencyThresholdInMs() {
+        return tracingLatencyThresholdInMs;
+    }
+
+    public void setTracingLatencyThresholdInMs(long tracingLatencyThresholdInMs) {
+        this.tracingLatencyThresholdInMs = tracingLatencyThresholdInMs;
+    }
+
+    public int getTracingTriggeredExecutions() {
+        return tracingTriggeredExecutions;
+    }
+
+    public void setTracingTriggeredExecutions(int tracingTriggeredExecutions) {
+        this.tracingTriggeredExecutions = tracingTriggeredExecutions;
+    }
+
+    public int getSlowQueryReportSize() {
+        return slowQueryReportSize;
+    }
+
+    public void setSlowQueryReportSize(int slowQueryReportSize) {
+        this.slowQueryReportSize = slowQueryReportSize;
+    }
+
+    public long getSlowQueryLogThresholdInMs() {
+        return slowQueryLogThresholdInMs;
+    }
+
+    public void setSlowQueryLogThresholdInMs(long slowQueryLogThresholdInMs) {
+        this.slowQueryLogThresholdInMs = slowQueryLogThresholdInMs;
+    }
+
+    public Map<Class<?>, Long> getSlowQueryLogEntityThresholdsInMs() {
+        return slowQueryLogEntityThresholdsInMs;
+    }
+
+    public void setSlowQueryLogEntityThresholdsInMs(Map<Class<?>, Long> slowQueryLogEntityThresholdsInMs) {
+        this.slowQueryLogEntityThresholdsInMs = slowQueryLogEntityThresholdsInMs;
+    }
+
+    public Map<QuotaOperation, Long> getSlowQueryLogOperationThresholdsInMs() {
+        return slowQueryLogOperationThresholdsInMs;
+    }
+
+    public void setSlowQueryLogOperationThresholdsInMs(Map<QuotaOperation, Long> slowQueryLogOperationThresholdsInMs) {
+        this.slowQueryLogOperationThresholdsInMs = slowQueryLogOperationThresholdsInMs;
+    }
+
+    public String getSlowQueryLogFile() {
+        return slowQueryLogFile;
+    }
+
+    public void setSlowQueryLogFile(String slowQueryLogFile) {
+        this.slowQueryLogFile = slowQueryLogFile;
+    }
+
+    public long getSlowQueryLogMaxFileSizeInBytes() {
+        return slowQueryLogMaxFileSizeInBytes;
+    }
+
+    public void setSlowQueryLogMaxFileSizeInBytes(long slowQueryLogMaxFileSizeInBytes) {
+        this.slowQueryLogMaxFileSizeInBytes = slowQueryLogMaxFileSizeInBytes;
+    }
+
+    public int getSlowQueryLogMaxFiles() {
+        return slowQueryLogMaxFiles;
+    }
+
+    public void setSlowQueryLogMaxFiles(int slowQueryLogMaxFiles) {
+        this.slowQueryLogMaxFiles = slowQueryLogMaxFiles;
+    }
+
+    public int getSlowQueryLogBufferSize() {
+        return slowQueryLogBufferSize;
+    }
+
+    public void setSlowQueryLogBufferSize(int slowQueryLogBufferSize) {
+        this.slowQueryLogBufferSize = slowQueryLogBufferSize;
+    }
+
+    public List<Class<?>> getPartitionKeyInSplitEntities() {
+        return partitionKeyInSplitEntities;
+    }
+
+    public void setPartitionKeyInSplitEntities(List<Class<?>> partitionKeyInSplitEntities) {
+        this.partitionKeyInSplitEntities = partitionKeyInSplitEntities;
+    }
+
+    public int getPartitionKeyInSplitMaxConcurrency() {
+        return partitionKeyInSplitMaxConcurrency;
+    }
+
+    public void setPartitionKeyInSplitMaxConcurrency(int partitionKeyInSplitMaxConcurrency) {
+        this.partitionKeyInSplitMaxConcurrency = partitionKeyInSplitMaxConcurrency;
+    }
+
+    public List<Class<?>> getDirtyTrackingEntities() {
+        return dirtyTrackingEntities;
+    }
+
+    public void setDirtyTrackingEntities(List<Class<?>> dirtyTrackingEntities) {
+        this.dirtyTrackingEntities = dirtyTrackingEntities;
+    }
+
+    public int getChunkedBlobChunkSizeInBytes() {
+        return chunkedBlobChunkSizeInBytes;
+    }
+
+    public void setChunkedBlobChunkSizeInBytes(int chunkedBlobChunkSizeInBytes) {
+        this.chunkedBlobChunkSizeInBytes = chunkedBlobChunkSizeInBytes;
+    }
+
+    public int getChunkedBlobWriteConcurrency() {
+        return chunkedBlobWriteConcurrency;
+    }
+
+    public void setChunkedBlobWriteConcurrency(int chunkedBlobWriteConcurrency) {
+        this.chunkedBlobWriteConcurrency = chunkedBlobWriteConcurrency;
+    }
+
+    public int getChunkedBlobReadAheadChunks() {
+        return chunkedBlobReadAheadChunks;
+    }
+
+    public void setChunkedBlobReadAheadChunks(int chunkedBlobReadAheadChunks) {
+        this.chunkedBlobReadAheadChunks = chunkedBlobReadAheadChunks;
+    }
+
+    public boolean isProvidedBeanFactory() {
+        return providedBeanFactory;
+    }
+
+    public void setProvidedBeanFactory(boolean providedBeanFactory) {
+        this.providedBeanFactory = providedBeanFactory;
+    }
+
     public boolean isProvidedSession() {
         return providedSession;
     }
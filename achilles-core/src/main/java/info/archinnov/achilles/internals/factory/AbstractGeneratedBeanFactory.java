@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.factory;
+
+import static java.lang.String.format;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+/**
+ * Base class for the bean factory generated by the annotation processor.
+ * <br/>
+ * Each entity and UDT class is registered with a direct constructor
+ * reference (<em>Xxx::new</em>) so that no reflection is involved when
+ * mapping rows and UDT values back to Java objects. Classes that are not
+ * registered fall back to {@link DefaultBeanFactory}
+ */
+public abstract class AbstractGeneratedBeanFactory implements BeanFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGeneratedBeanFactory.class);
+
+    private final Map<Class<?>, Supplier<?>> constructors = new HashMap<>();
+    private final BeanFactory fallbackFactory = new DefaultBeanFactory();
+
+    protected <T> void register(Class<T> clazz, Supplier<T> constructor) {
+        constructors.put(clazz, constructor);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T newInstance(Class<T> clazz) {
+        final Supplier<?> constructor = constructors.get(clazz);
+        if (constructor != null) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Creating new instance of class %s using generated constructor reference", clazz.getCanonicalName()));
+            }
+            return (T) constructor.get();
+        } else {
+            return fallbackFactory.newInstance(clazz);
+        }
+    }
+}
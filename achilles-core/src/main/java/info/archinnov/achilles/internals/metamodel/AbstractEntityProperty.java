@@ -86,6 +86,7 @@ public abstract class AbstractEntityProperty<T> implements
     public final List<AbstractProperty<T, ?, ?>> counterColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumns;
     public final List<AbstractProperty<T, ?, ?>> allColumnsWithComputed;
+    public final List<AbstractProperty<T, ?, ?>> lazyColumns;
     public final List<Interceptor<T>> interceptors = new ArrayList<>();
     protected BeanFactory beanFactory;
     protected Optional<String> keyspace = Optional.empty();
@@ -118,6 +119,7 @@ public abstract class AbstractEntityProperty<T> implements
         counterColumns = getCounterColumns();
         allColumns = getAllColumns();
         allColumnsWithComputed = getAllColumnsWithComputed();
+        lazyColumns = getLazyColumns();
     }
 
     protected abstract Class<T> getEntityClass();
@@ -230,7 +232,7 @@ public abstract class AbstractEntityProperty<T> implements
         }
         if (row != null) {
             T newInstance = beanFactory.newInstance(entityClass);
-            final List<String> cqlColumns = row.getColumnDefinitions().asList().stream().map(def -> def.getName()).collect(toList());
+            final List<String> cqlColumns = extractSelectedColumns(row);
             allColumnsWithComputed
                     .stream()
                     .filter(x -> cqlColumns.contains(x.getColumnForSelect()))
@@ -240,6 +242,34 @@ public abstract class AbstractEntityProperty<T> implements
         return null;
     }
 
+    protected List<String> extractSelectedColumns(Row row) {
+        return row.getColumnDefinitions().asList().stream().map(def -> def.getName()).collect(toList());
+    }
+
+    /**
+     * Used by generated meta classes of entities having an @EntityCreator
+     */
+    protected <V> V decodeSelectedColumn(Row row, List<String> selectedColumns, AbstractProperty<T, V, ?> property) {
+        return selectedColumns.contains(property.getColumnForSelect()) ? property.decodeFromGettable(row) : null;
+    }
+
+    /**
+     * Used by generated meta classes of entities having an @EntityCreator with primitive parameters
+     */
+    protected <V> V decodeSelectedColumn(Row row, List<String> selectedColumns, AbstractProperty<T, V, ?> property, V defaultValue) {
+        final V value = decodeSelectedColumn(row, selectedColumns, property);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Used by generated meta classes of entities having an @EntityCreator, for fields not set by the creator
+     */
+    protected void decodeSelectedField(Row row, List<String> selectedColumns, AbstractProperty<T, ?, ?> property, T instance) {
+        if (selectedColumns.contains(property.getColumnForSelect())) {
+            property.decodeField(row, instance);
+        }
+    }
+
     public BoundValuesWrapper extractAllValuesFromEntity(T instance, Options options) {
         return BeanValueExtractor.extractAllValues(instance, this, options);
     }
@@ -297,6 +327,17 @@ public abstract class AbstractEntityProperty<T> implements
                 clusteringColumns, normalColumns, counterColumns, computedColumns);
     }
 
+    protected List<AbstractProperty<T, ?, ?>> getLazyColumns() {
+        return allColumns
+                .stream()
+                .filter(x -> x != null && x.isLazy())
+                .collect(toList());
+    }
+
+    public boolean hasLazyColumn() {
+        return !lazyColumns.isEmpty();
+    }
+
     public String generateSchema(SchemaContext context) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Generating DDL script for entity of type %s",
@@ -110,6 +110,13 @@ public abstract class AbstractProperty<ENTITY, VALUEFROM, VALUETO>
         fieldInfo.setter.set(entity, value);
     }
 
+    /**
+     * @return whether this column is excluded from the default SELECT projection
+     */
+    public boolean isLazy() {
+        return fieldInfo.columnInfo != null && fieldInfo.columnInfo.lazy;
+    }
+
     public String getColumnForSelect() {
         return fieldInfo.cqlColumn;
     }
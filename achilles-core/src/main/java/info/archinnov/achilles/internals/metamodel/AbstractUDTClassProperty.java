@@ -124,6 +124,14 @@ public abstract class AbstractUDTClassProperty<A>
         return type.getQueryString().replaceFirst("\t+", "") + ";";
     }
 
+    /**
+     * Used by generated meta classes of UDT having an @EntityCreator with primitive parameters
+     */
+    protected <V> V decodeOrDefault(UDTValue udtValue, AbstractProperty<A, V, ?> property, V defaultValue) {
+        final V value = property.decodeFromGettable(udtValue);
+        return value != null ? value : defaultValue;
+    }
+
     @Override
     public void inject(BeanFactory factory) {
         udtFactory = factory;
@@ -19,8 +19,14 @@ package info.archinnov.achilles.internals.metamodel.columns;
 public class ColumnInfo {
 
     public final boolean frozen;
+    public final boolean lazy;
 
     public ColumnInfo(boolean frozen) {
+        this(frozen, false);
+    }
+
+    public ColumnInfo(boolean frozen, boolean lazy) {
         this.frozen = frozen;
+        this.lazy = lazy;
     }
 }
@@ -17,6 +17,8 @@
 package info.archinnov.achilles.internals.options;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +31,7 @@ import com.datastax.driver.core.*;
 import com.datastax.driver.core.policies.RetryPolicy;
 
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.IdempotenceInference;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.types.LimitedResultSetWrapper;
 import info.archinnov.achilles.type.SchemaNameProvider;
@@ -50,6 +53,10 @@ public class Options {
     private Optional<List<Function<Row, Row>>> rowAsyncListeners = Optional.empty();
     private Optional<Boolean> tracing = Optional.empty();
     private Optional<SchemaNameProvider> schemaNameProvider = Optional.empty();
+    private Optional<Duration> timeout = Optional.empty();
+    private Optional<Instant> deadline = Optional.empty();
+    private Optional<Boolean> partitionKeyInSplit = Optional.empty();
+    private Optional<Boolean> clusteringOrderMerge = Optional.empty();
 
 
     public Options() {
@@ -219,6 +226,62 @@ public class Options {
         this.schemaNameProvider = schemaNameProvider;
     }
 
+    public Optional<Duration> getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Optional<Duration> timeout) {
+        this.timeout = timeout;
+    }
+
+    public Optional<Instant> getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Optional<Instant> deadline) {
+        this.deadline = deadline;
+    }
+
+    public Optional<Boolean> getPartitionKeyInSplit() {
+        return partitionKeyInSplit;
+    }
+
+    public void setPartitionKeyInSplit(Optional<Boolean> partitionKeyInSplit) {
+        this.partitionKeyInSplit = partitionKeyInSplit;
+    }
+
+    public Optional<Boolean> getClusteringOrderMerge() {
+        return clusteringOrderMerge;
+    }
+
+    public void setClusteringOrderMerge(Optional<Boolean> clusteringOrderMerge) {
+        this.clusteringOrderMerge = clusteringOrderMerge;
+    }
+
+    /**
+     * Resolve the effective deadline of an execution starting now,
+     * which is the earliest of the deadline and now + timeout
+     */
+    public Optional<Instant> resolveDeadline() {
+        final Optional<Instant> fromTimeout = timeout.map(Instant.now()::plus);
+        if (deadline.isPresent() && fromTimeout.isPresent()) {
+            return Optional.of(deadline.get().isBefore(fromTimeout.get()) ? deadline.get() : fromTimeout.get());
+        }
+        return deadline.isPresent() ? deadline : fromTimeout;
+    }
+
+    /**
+     * Set the read timeout of the statement to the time left before the effective deadline, if any
+     *
+     * @return the effective deadline
+     */
+    public Optional<Instant> applyDeadline(Statement statement) {
+        final Optional<Instant> resolvedDeadline = resolveDeadline();
+        resolvedDeadline.ifPresent(x -> statement.setReadTimeoutMillis(
+                (int) Math.max(1L, Math.min(Integer.MAX_VALUE, Duration.between(Instant.now(), x).toMillis()))));
+        return resolvedDeadline;
+    }
+
     public Statement applyOptions(OperationType operationType, AbstractEntityProperty<?> meta, Statement statement) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Applying options %s to the current statement %s",
@@ -236,7 +299,12 @@ public class Options {
         if (defaultTimestamp.isPresent() && operationType.isUpsert && meta.isTable())
             statement.setDefaultTimestamp(defaultTimestamp.get());
         if (fetchSize.isPresent()) statement.setFetchSize(fetchSize.get());
-        if (idempotent.isPresent()) statement.setIdempotent(idempotent.get());
+        if (idempotent.isPresent()) {
+            statement.setIdempotent(idempotent.get());
+        } else if (operationType != OperationType.OTHER && statement instanceof BoundStatement) {
+            statement.setIdempotent(IdempotenceInference.isIdempotent(operationType, meta,
+                    ((BoundStatement) statement).preparedStatement().getQueryString()));
+        }
         if (outgoingPayLoad.isPresent()) statement.setOutgoingPayload(outgoingPayLoad.get());
         if (pagingState.isPresent()) statement.setPagingState(pagingState.get());
         if (retryPolicy.isPresent()) statement.setRetryPolicy(retryPolicy.get());
@@ -261,6 +329,10 @@ public class Options {
         sb.append(", rowAsyncListeners=").append(rowAsyncListeners);
         sb.append(", tracing=").append(tracing);
         sb.append(", schemaNameProvider=").append(schemaNameProvider);
+        sb.append(", timeout=").append(timeout);
+        sb.append(", deadline=").append(deadline);
+        sb.append(", partitionKeyInSplit=").append(partitionKeyInSplit);
+        sb.append(", clusteringOrderMerge=").append(clusteringOrderMerge);
         sb.append('}');
         return sb.toString();
     }
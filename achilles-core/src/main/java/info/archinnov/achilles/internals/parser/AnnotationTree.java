@@ -251,7 +251,8 @@ public class AnnotationTree {
                             RuntimeCodec.class.getCanonicalName().equals(annotationName) ||
                             Index.class.getCanonicalName().equals(annotationName) ||
                             PartitionKey.class.getCanonicalName().equals(annotationName) ||
-                            ClusteringColumn.class.getCanonicalName().equals(annotationName);
+                            ClusteringColumn.class.getCanonicalName().equals(annotationName) ||
+                            Packed.class.getCanonicalName().equals(annotationName);
                 })
                 .map(x -> inspectSupportedAnnotation_Ecj(aptUtils, currentType, x))
                 .collect(Collectors.toMap(Tuple2::_1, Tuple2::_2));
@@ -279,7 +280,8 @@ public class AnnotationTree {
                                     areSameByClass(x, RuntimeCodec.class) ||
                                     areSameByClass(x, Index.class) ||
                                     areSameByClass(x, PartitionKey.class) ||
-                                    areSameByClass(x, ClusteringColumn.class)
+                                    areSameByClass(x, ClusteringColumn.class) ||
+                                    areSameByClass(x, Packed.class)
                     )
                     .map(x -> (AnnotationMirror) x)
                     .collect(Collectors.toMap(x -> toAnnotation_Javac(aptUtils, x),
@@ -510,6 +512,9 @@ public class AnnotationTree {
         if(areSameByClass(annotation, Enumerated.class)){
             final Enumerated.Encoding encoding = getElementValueEnum(annotation, "value", Enumerated.Encoding.class, true);
             return TypedMap.of("value", encoding);
+        } else if (areSameByClass(annotation, Packed.class)) {
+            final Packed.Encoding encoding = getElementValueEnum(annotation, "value", Packed.Encoding.class, true);
+            return TypedMap.of("value", encoding);
         } else if (areSameByClass(annotation, Codec.class)) {
             final CodecContext codecContext = CodecFactory.buildCodecContext(aptUtils, annotation);
             return TypedMap.of("codecContext", codecContext);
@@ -570,6 +575,8 @@ public class AnnotationTree {
             return PartitionKey.class;
         } else if (areSameByClass(annotationMirror, ClusteringColumn.class)) {
             return ClusteringColumn.class;
+        } else if (areSameByClass(annotationMirror, Packed.class)) {
+            return Packed.class;
         } else {
             aptUtils.printError("Unsupported annotation : " + annotationMirror.toString());
             throw new IllegalArgumentException("Unsupported annotation : " + annotationMirror.toString());
@@ -598,6 +605,19 @@ public class AnnotationTree {
                     .orElse(Enumerated.Encoding.NAME);
             typedMap.put("value", encoding);
             return Tuple2.of(Enumerated.class, typedMap);
+        } else if (Packed.class.getCanonicalName().equals(annotationName)) {
+            final Packed.Encoding encoding = Arrays.asList(annotationBinding.getElementValuePairs())
+                    .stream()
+                    .filter(pair -> new String(pair.getName()).equals("value"))
+                    .map(pair -> pair.getValue())
+                    .filter(value -> value instanceof FieldBinding)
+                    .map(value -> (FieldBinding) value)
+                    .filter(value -> Packed.Encoding.class.getCanonicalName().equals(value.type.debugName()))
+                    .map(value -> Packed.Encoding.valueOf(Packed.Encoding.class, new String(value.name)))
+                    .findFirst()
+                    .orElse(Packed.Encoding.PLAIN);
+            typedMap.put("value", encoding);
+            return Tuple2.of(Packed.class, typedMap);
         } else if (Frozen.class.getCanonicalName().equals(annotationName)) {
             return Tuple2.of(Frozen.class, typedMap);
         } else if (Computed.class.getCanonicalName().equals(annotationName)) {
@@ -131,10 +131,17 @@ public class CodecFactory {
                 .map(x -> x.<Class<?>>getTyped("cqlClass"))
                 .map(ClassName::get);
         final boolean isCounter = extractTypedMap(annotationTree, Counter.class).isPresent();
+        final Optional<TypedMap> packed = extractTypedMap(annotationTree, Packed.class);
 
         CodeBlock codec;
 
-        if (jsonTransform.isPresent()) {
+        if (packed.isPresent()) {
+            aptUtils.validateFalse(jsonTransform.isPresent() || enumerated.isPresent() || codecFromType.isPresent()
+                            || runtimeCodec.isPresent() || computed.isPresent() || isCounter,
+                    "@Packed on field '%s' of class '%s' cannot be combined with @JSON, @Enumerated, @Codec, @RuntimeCodec, @Computed or @Counter",
+                    fieldName, className);
+            return new CodecInfo(packedCodecCodeGen(packed.get(), sourceType, fieldName, className), sourceType, BYTE_BUFFER);
+        } else if (jsonTransform.isPresent()) {
             codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
             targetType = ClassName.get(String.class);
             return new CodecInfo(codec, sourceType, targetType);
@@ -289,6 +296,27 @@ public class CodecFactory {
         }
     }
 
+    private CodeBlock packedCodecCodeGen(TypedMap annotationInfo, TypeName sourceType, String fieldName, String className) {
+        final Packed.Encoding encoding = annotationInfo.getTyped("value");
+        if (sourceType.equals(FLOAT_ARRAY) || sourceType.equals(DOUBLE_ARRAY)) {
+            aptUtils.validateTrue(encoding == Packed.Encoding.PLAIN,
+                    "Encoding '%s' of @Packed field '%s' of class '%s' is only allowed for int[] and long[] arrays",
+                    encoding, fieldName, className);
+            return CodeBlock.builder()
+                    .add("new $T()", sourceType.equals(FLOAT_ARRAY) ? PACKED_FLOAT_ARRAY_CODEC : PACKED_DOUBLE_ARRAY_CODEC)
+                    .build();
+        } else if (sourceType.equals(INT_ARRAY) || sourceType.equals(LONG_ARRAY)) {
+            return CodeBlock.builder()
+                    .add("new $T($T.$L)", sourceType.equals(INT_ARRAY) ? PACKED_INT_ARRAY_CODEC : PACKED_LONG_ARRAY_CODEC,
+                            Packed.Encoding.class, encoding.name())
+                    .build();
+        } else {
+            aptUtils.printError("@Packed on field '%s' of class '%s' is only allowed for float[], double[], int[] and long[] types but found '%s'",
+                    fieldName, className, sourceType);
+            throw new IllegalArgumentException(String.format("Unsupported @Packed type %s", sourceType));
+        }
+    }
+
     CodeBlock buildJavaTypeForJackson(TypeName sourceType) {
         if (sourceType instanceof ClassName) {
             final ClassName className = (ClassName) sourceType;
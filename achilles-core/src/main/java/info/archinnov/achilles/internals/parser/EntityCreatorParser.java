@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.parser;
+
+import static java.util.stream.Collectors.toList;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.lang.model.element.*;
+import javax.lang.model.util.ElementFilter;
+
+import com.squareup.javapoet.TypeName;
+
+import info.archinnov.achilles.annotations.EntityCreator;
+import info.archinnov.achilles.annotations.Lazy;
+import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.parser.context.EntityCreatorContext;
+
+public class EntityCreatorParser {
+
+    /**
+     * Annotations of the features which write values into already created instances at runtime.
+     * A field using one of them cannot be set only through an @EntityCreator
+     */
+    static final List<Class<? extends Annotation>> FEATURES_SETTING_EXISTING_INSTANCES = Arrays.asList(Lazy.class);
+
+    private final AptUtils aptUtils;
+
+    public EntityCreatorParser(AptUtils aptUtils) {
+        this.aptUtils = aptUtils;
+    }
+
+    public Optional<EntityCreatorContext> parseEntityCreator(TypeElement classElm) {
+        final TypeName rawBeanType = TypeName.get(aptUtils.erasure(classElm));
+        final List<ExecutableElement> creators = classElm.getEnclosedElements()
+                .stream()
+                .filter(x -> x.getKind() == ElementKind.CONSTRUCTOR || x.getKind() == ElementKind.METHOD)
+                .filter(x -> x.getAnnotation(EntityCreator.class) != null)
+                .map(x -> (ExecutableElement) x)
+                .collect(toList());
+
+        if (creators.isEmpty()) {
+            return Optional.empty();
+        }
+
+        aptUtils.validateTrue(creators.size() == 1, "There should be only one @EntityCreator in class '%s'", rawBeanType);
+
+        final ExecutableElement creator = creators.get(0);
+        final boolean isConstructor = creator.getKind() == ElementKind.CONSTRUCTOR;
+        final Set<Modifier> modifiers = creator.getModifiers();
+        aptUtils.validateTrue(modifiers.contains(Modifier.PUBLIC), "@EntityCreator '%s' in class '%s' should be public",
+                creator.getSimpleName(), rawBeanType);
+
+        if (!isConstructor) {
+            aptUtils.validateTrue(modifiers.contains(Modifier.STATIC), "@EntityCreator method '%s' in class '%s' should be static",
+                    creator.getSimpleName(), rawBeanType);
+            aptUtils.validateTrue(aptUtils.typeUtils.isSameType(aptUtils.erasure(creator.getReturnType()), aptUtils.erasure(classElm)),
+                    "@EntityCreator method '%s' in class '%s' should return '%s'", creator.getSimpleName(), rawBeanType, rawBeanType);
+        }
+
+        final List<? extends VariableElement> parameters = creator.getParameters();
+        final String[] declaredFieldNames = creator.getAnnotation(EntityCreator.class).value();
+        final List<String> fieldNames;
+        if (declaredFieldNames.length > 0) {
+            aptUtils.validateTrue(declaredFieldNames.length == parameters.size(),
+                    "@EntityCreator in class '%s' declares %s field names but has %s parameters",
+                    rawBeanType, declaredFieldNames.length, parameters.size());
+            fieldNames = Arrays.asList(declaredFieldNames);
+        } else {
+            fieldNames = parameters
+                    .stream()
+                    .map(x -> x.getSimpleName().toString())
+                    .collect(toList());
+        }
+
+        final List<VariableElement> fields = ElementFilter.fieldsIn(aptUtils.elementUtils.getAllMembers(classElm));
+        for (int i = 0; i < parameters.size(); i++) {
+            final String fieldName = fieldNames.get(i);
+            final VariableElement parameter = parameters.get(i);
+            final Optional<VariableElement> field = fields
+                    .stream()
+                    .filter(x -> x.getSimpleName().contentEquals(fieldName))
+                    .findFirst();
+            aptUtils.validateTrue(field.isPresent(), "Cannot find field '%s' for @EntityCreator parameter '%s' in class '%s'",
+                    fieldName, parameter.getSimpleName(), rawBeanType);
+            aptUtils.validateTrue(aptUtils.typeUtils.isSameType(field.get().asType(), parameter.asType()),
+                    "@EntityCreator parameter '%s' in class '%s' should have the same type as field '%s'",
+                    parameter.getSimpleName(), rawBeanType, fieldName);
+        }
+
+        final List<TypeName> parameterTypes = parameters
+                .stream()
+                .map(x -> TypeName.get(x.asType()))
+                .collect(toList());
+
+        return Optional.of(new EntityCreatorContext(rawBeanType, isConstructor, creator.getSimpleName().toString(), fieldNames, parameterTypes));
+    }
+
+    /**
+     * Validate that a field without setter, only set through the @EntityCreator, does not use
+     * a feature which needs to set its value on an existing instance
+     */
+    public void validateCreatorOnlyField(VariableElement field, TypeName rawBeanType) {
+        for (Class<? extends Annotation> feature : FEATURES_SETTING_EXISTING_INSTANCES) {
+            aptUtils.validateFalse(field.getAnnotation(feature) != null,
+                    "Field '%s' of class '%s' is only set through its @EntityCreator and cannot be @%s, add a setter for this field",
+                    field.getSimpleName(), rawBeanType, feature.getSimpleName());
+        }
+    }
+}
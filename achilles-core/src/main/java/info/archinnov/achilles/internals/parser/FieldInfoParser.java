@@ -41,6 +41,7 @@ import info.archinnov.achilles.annotations.*;
 import info.archinnov.achilles.internals.apt.AptUtils;
 import info.archinnov.achilles.internals.metamodel.columns.*;
 import info.archinnov.achilles.internals.metamodel.index.IndexType;
+import info.archinnov.achilles.internals.parser.context.EntityCreatorContext;
 import info.archinnov.achilles.internals.parser.context.EntityParsingContext;
 import info.archinnov.achilles.internals.parser.context.FieldInfoContext;
 import info.archinnov.achilles.internals.parser.context.IndexInfoContext;
@@ -50,9 +51,11 @@ import info.archinnov.achilles.type.tuples.Tuple2;
 public class FieldInfoParser {
 
     private final AptUtils aptUtils;
+    private final EntityCreatorParser entityCreatorParser;
 
     public FieldInfoParser(AptUtils aptUtils) {
         this.aptUtils = aptUtils;
+        this.entityCreatorParser = new EntityCreatorParser(aptUtils);
     }
 
     public FieldInfoContext buildFieldInfo(VariableElement elm, AnnotationTree annotationTree, EntityParsingContext context) {
@@ -65,7 +68,7 @@ public class FieldInfoParser {
                 .orElse(context.namingStrategy.apply(fieldName));
 
         final ExecutableElement getter = aptUtils.findGetter(classElm, elm, deriveGetterName(elm));
-        final ExecutableElement setter = aptUtils.findSetter(classElm, elm, deriveSetterName(elm));
+        final Optional<EntityCreatorContext> entityCreator = entityCreatorParser.parseEntityCreator(classElm);
 
         final Tuple2<CodeBlock, ColumnType> columnTypeCode = buildColumnType(elm, fieldName, rawEntityClass);
         final Tuple2<CodeBlock, ColumnInfo> columnInfoCode = buildColumnInfo(annotationTree, elm, fieldName, rawEntityClass);
@@ -75,9 +78,7 @@ public class FieldInfoParser {
                 .add("($T entity$$) -> entity$$.$L()", rawEntityClass, getter.getSimpleName().toString())
                 .build();
 
-        CodeBlock setterLambda = CodeBlock.builder()
-                .add("($T entity$$, $T value$$) -> entity$$.$L(value$$)", rawEntityClass, currentType, setter.getSimpleName().toString())
-                .build();
+        CodeBlock setterLambda = buildSetterLambda(elm, classElm, rawEntityClass, currentType, fieldName, entityCreator);
 
         return new FieldInfoContext(CodeBlock.builder()
                 .add("new $T<>($L, $L, $S, $S, $L, $L, $L)", FIELD_INFO, getterLambda, setterLambda,
@@ -85,6 +86,29 @@ public class FieldInfoParser {
                 .build(), fieldName, cqlColumn, columnTypeCode._2(), columnInfoCode._2());
     }
 
+    protected CodeBlock buildSetterLambda(VariableElement elm, TypeElement classElm, TypeName rawEntityClass, TypeName currentType,
+                                          String fieldName, Optional<EntityCreatorContext> entityCreator) {
+        final Optional<ExecutableElement> setter;
+        if (entityCreator.isPresent() && entityCreator.get().hasParameterForField(fieldName)) {
+            setter = aptUtils.findOptionalSetter(classElm, elm, deriveSetterName(elm));
+        } else {
+            setter = Optional.of(aptUtils.findSetter(classElm, elm, deriveSetterName(elm)));
+        }
+
+        if (setter.isPresent()) {
+            return CodeBlock.builder()
+                    .add("($T entity$$, $T value$$) -> entity$$.$L(value$$)", rawEntityClass, currentType, setter.get().getSimpleName().toString())
+                    .build();
+        } else {
+            // Immutable field, only set through the @EntityCreator
+            entityCreatorParser.validateCreatorOnlyField(elm, rawEntityClass);
+            return CodeBlock.builder()
+                    .add("($T entity$$, $T value$$) -> { throw new $T($S); }", rawEntityClass, currentType, ACHILLES_EXCEPTION,
+                            String.format("Field '%s' of class '%s' can only be set through its @EntityCreator", fieldName, rawEntityClass))
+                    .build();
+        }
+    }
+
     protected List<String> deriveGetterName(VariableElement elm) {
         final String fieldName = elm.getSimpleName().toString();
         final TypeMirror typeMirror = elm.asType();
@@ -142,8 +166,15 @@ public class FieldInfoParser {
         final Optional<TypedMap> partitionKey = extractTypedMap(annotationTree, PartitionKey.class);
         final Optional<TypedMap> clusteringColumn = extractTypedMap(annotationTree, ClusteringColumn.class);
         final Optional<TypedMap> computed = extractTypedMap(annotationTree, Computed.class);
+        final boolean isLazy = elm.getAnnotation(Lazy.class) != null;
 
         validateAllowedFrozen(isFrozen, aptUtils, elm, fieldName, rawEntityClass);
+        if (isLazy) {
+            aptUtils.validateFalse(partitionKey.isPresent() || clusteringColumn.isPresent() || computed.isPresent()
+                            || elm.getAnnotation(Counter.class) != null,
+                    "@Lazy annotation on field '%s' of class '%s' is only allowed for normal and static columns",
+                    fieldName, rawEntityClass);
+        }
 
         if (partitionKey.isPresent()) {
             final int order = partitionKey.get().getTyped("order");
@@ -175,6 +206,10 @@ public class FieldInfoParser {
             return Tuple2.of(builder.build(), new ComputedColumnInfo(function, alias, targetColumns, cqlClass));
 
 
+        } else if (isLazy) {
+            builder.add("new $T($L, $L)", COLUMN_INFO, isFrozen, isLazy);
+            return Tuple2.of(builder.build(), new ColumnInfo(isFrozen, isLazy));
+
         } else {
             builder.add("new $T($L)", COLUMN_INFO, isFrozen);
             return Tuple2.of(builder.build(), new ColumnInfo(isFrozen));
@@ -41,9 +41,11 @@ import com.squareup.javapoet.*;
 
 import info.archinnov.achilles.bootstrap.AbstractManagerFactoryBuilder;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.apt.annotations.AchillesMeta;
 import info.archinnov.achilles.internals.codec.*;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.factory.AbstractGeneratedBeanFactory;
 import info.archinnov.achilles.internals.metamodel.*;
 import info.archinnov.achilles.internals.metamodel.columns.*;
 import info.archinnov.achilles.generated.function.AbstractCQLCompatibleType;
@@ -56,6 +58,7 @@ import info.archinnov.achilles.internals.query.crud.DeleteByPartitionWithOptions
 import info.archinnov.achilles.internals.query.crud.DeleteWithOptions;
 import info.archinnov.achilles.internals.query.crud.FindWithOptions;
 import info.archinnov.achilles.internals.query.crud.InsertWithOptions;
+import info.archinnov.achilles.internals.query.crud.UpdateWithOptions;
 import info.archinnov.achilles.internals.query.dsl.delete.*;
 import info.archinnov.achilles.internals.query.dsl.select.*;
 import info.archinnov.achilles.internals.query.dsl.update.*;
@@ -86,10 +89,13 @@ public class TypeUtils {
     public static final String DELETE_COLUMNS_DSL_SUFFIX = "_DeleteColumns";
     public static final String DELETE_STATIC_COLUMNS_DSL_SUFFIX = "_DeleteStaticColumns";
     public static final String DELETE_FROM_DSL_SUFFIX = "_DeleteFrom";
+    public static final String DELETE_ALL_FROM_DSL_SUFFIX = "_DeleteAllFrom";
     public static final String DELETE_STATIC_FROM_DSL_SUFFIX = "_DeleteStaticFrom";
     public static final String DELETE_WHERE_DSL_SUFFIX = "_DeleteWhere";
+    public static final String DELETE_ALL_WHERE_DSL_SUFFIX = "_DeleteAllWhere";
     public static final String DELETE_STATIC_WHERE_DSL_SUFFIX = "_DeleteStaticWhere";
     public static final String DELETE_END_DSL_SUFFIX = "_DeleteEnd";
+    public static final String DELETE_ALL_END_DSL_SUFFIX = "_DeleteAllEnd";
     public static final String DELETE_STATIC_END_DSL_SUFFIX = "_DeleteStaticEnd";
     public static final String UPDATE_DSL_SUFFIX = "_Update";
     public static final String UPDATE_STATIC_DSL_SUFFIX = "_UpdateStatic";
@@ -116,6 +122,7 @@ public class TypeUtils {
     public static final String DSL_PACKAGE = "info.archinnov.achilles.generated.dsl";
     public static final String MANAGER_FACTORY_BUILDER_CLASS = "ManagerFactoryBuilder";
     public static final String MANAGER_FACTORY_CLASS = "ManagerFactory";
+    public static final String GENERATED_BEAN_FACTORY_CLASS = "GeneratedBeanFactory";
     public static final String FUNCTIONS_REGISTRY_CLASS = "FunctionsRegistry";
     public static final String SYSTEM_FUNCTIONS_CLASS = "SystemFunctions";
     public static final String COLUMNS_FOR_FUNCTIONS_CLASS = "ColumnsForFunctions";
@@ -130,6 +137,10 @@ public class TypeUtils {
     public static final ClassName BYTE_ARRAY_PRIMITIVE_CODEC = ClassName.get(ByteArrayPrimitiveCodec.class);
     public static final ClassName BYTE_ARRAY_CODEC = ClassName.get(ByteArrayCodec.class);
     public static final ClassName FALL_THROUGH_CODEC = ClassName.get(FallThroughCodec.class);
+    public static final ClassName PACKED_FLOAT_ARRAY_CODEC = ClassName.get(PackedFloatArrayCodec.class);
+    public static final ClassName PACKED_DOUBLE_ARRAY_CODEC = ClassName.get(PackedDoubleArrayCodec.class);
+    public static final ClassName PACKED_INT_ARRAY_CODEC = ClassName.get(PackedIntArrayCodec.class);
+    public static final ClassName PACKED_LONG_ARRAY_CODEC = ClassName.get(PackedLongArrayCodec.class);
     public static final ClassName RUNTIME_CODEC_WRAPPER = ClassName.get(RuntimeCodecWrapper.class);
 
     // Meta data
@@ -197,6 +208,7 @@ public class TypeUtils {
     // Achilles
     public static final ClassName OPTIONS = ClassName.get(Options.class);
     public static final ClassName VALIDATOR = ClassName.get(Validator.class);
+    public static final ClassName ACHILLES_EXCEPTION = ClassName.get(AchillesException.class);
     public static final ClassName CONFIG_MAP = ClassName.get(ConfigMap.class);
     public static final ClassName SCHEMA_NAME_PROVIDER = ClassName.get(SchemaNameProvider.class);
     public static final ClassName ABSTRACT_MANAGER_FACTORY_BUILDER = ClassName.get(AbstractManagerFactoryBuilder.class);
@@ -205,11 +217,14 @@ public class TypeUtils {
     public static final ClassName MANAGER_FACTORY_BUILDER = ClassName.get(GENERATED_PACKAGE, MANAGER_FACTORY_BUILDER_CLASS);
     public static final ClassName ABSTRACT_MANAGER_FACTORY = ClassName.get(AbstractManagerFactory.class);
     public static final ClassName MANAGER_FACTORY = ClassName.get(GENERATED_PACKAGE, MANAGER_FACTORY_CLASS);
+    public static final ClassName ABSTRACT_GENERATED_BEAN_FACTORY = ClassName.get(AbstractGeneratedBeanFactory.class);
+    public static final ClassName GENERATED_BEAN_FACTORY = ClassName.get(GENERATED_PACKAGE, GENERATED_BEAN_FACTORY_CLASS);
     public static final ClassName ABSTRACT_MANAGER = ClassName.get(AbstractManager.class);
     public static final ClassName ABSTRACT_ENTITY_PROPERTY = ClassName.get(AbstractEntityProperty.class);
     public static final ClassName ABSTRACT_VIEW_PROPERTY = ClassName.get(AbstractViewProperty.class);
     public static final ClassName RUNTIME_ENGINE = ClassName.get(RuntimeEngine.class);
     public static final ClassName INSERT_WITH_OPTIONS = ClassName.get(InsertWithOptions.class);
+    public static final ClassName UPDATE_WITH_OPTIONS = ClassName.get(UpdateWithOptions.class);
     public static final ClassName FIND_WITH_OPTIONS = ClassName.get(FindWithOptions.class);
     public static final ClassName DELETE_WITH_OPTIONS = ClassName.get(DeleteWithOptions.class);
     public static final ClassName DELETE_BY_PARTITION_WITH_OPTIONS = ClassName.get(DeleteByPartitionWithOptions.class);
@@ -277,6 +292,7 @@ public class TypeUtils {
 
     // Java Driver types
     public static final TypeName CLUSTER = ClassName.get(Cluster.class);
+    public static final TypeName JAVA_DRIVER_ROW = ClassName.get(Row.class);
     public static final TypeName SELECT_COLUMNS = ClassName.get(Select.Selection.class);
     public static final TypeName SELECT_WHERE = ClassName.get(Select.Where.class);
     public static final TypeName DELETE_WHERE = ClassName.get(Delete.Where.class);
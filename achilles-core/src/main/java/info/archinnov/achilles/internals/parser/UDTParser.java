@@ -40,10 +40,12 @@ import info.archinnov.achilles.internals.parser.context.FieldParsingContext;
 public class UDTParser extends AbstractBeanParser {
 
     private final UDTMetaCodeGen udtMetaCodeGen;
+    private final EntityCreatorParser entityCreatorParser;
 
     public UDTParser(AptUtils aptUtils) {
         super(aptUtils);
         this.udtMetaCodeGen = new UDTMetaCodeGen(aptUtils);
+        this.entityCreatorParser = new EntityCreatorParser(aptUtils);
     }
 
     public FieldMetaSignature parseUDT(AnnotationTree annotationTree, FieldParsingContext context, FieldParser fieldParser) {
@@ -78,7 +80,9 @@ public class UDTParser extends AbstractBeanParser {
         aptUtils.validateFalse(isSupportedType,
                 "Type '%s' cannot be annotated with '%s' because it is a supported type",
                 udtTypeName, UDT.class.getCanonicalName());
-        validateHasPublicConstructor(aptUtils, udtTypeName, typeElement);
+        if (!entityCreatorParser.parseEntityCreator(typeElement).isPresent()) {
+            validateHasPublicConstructor(aptUtils, udtTypeName, typeElement);
+        }
     }
 
     TypeSpec buildUDTClassProperty(TypeElement elm, FieldParser fieldParser, EntityParsingContext context) {
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.parser.context;
+
+import java.util.List;
+
+import com.squareup.javapoet.TypeName;
+
+public class EntityCreatorContext {
+
+    public final TypeName rawBeanType;
+    public final boolean isConstructor;
+    public final String methodName;
+    public final List<String> fieldNames;
+    public final List<TypeName> parameterTypes;
+
+    public EntityCreatorContext(TypeName rawBeanType, boolean isConstructor, String methodName, List<String> fieldNames, List<TypeName> parameterTypes) {
+        this.rawBeanType = rawBeanType;
+        this.isConstructor = isConstructor;
+        this.methodName = methodName;
+        this.fieldNames = fieldNames;
+        this.parameterTypes = parameterTypes;
+    }
+
+    public boolean hasParameterForField(String fieldName) {
+        return fieldNames.contains(fieldName);
+    }
+
+    public TypeName parameterTypeForField(String fieldName) {
+        return parameterTypes.get(fieldNames.indexOf(fieldName));
+    }
+}
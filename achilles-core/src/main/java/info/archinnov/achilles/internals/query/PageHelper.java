@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.query;
+
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.type.Page;
+
+public class PageHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageHelper.class);
+
+    /**
+     * Set the page size as fetch size and the paging state, if any, on the statement
+     */
+    public static void preparePage(Statement statement, int pageSize, Options options) {
+        validateTrue(pageSize > 0, "The page size should be strictly positive, got %s", pageSize);
+        statement.setFetchSize(pageSize);
+        options.getPagingState().ifPresent(statement::setPagingState);
+    }
+
+    /**
+     * Map only the rows already fetched by the driver, so that no other page is requested
+     */
+    public static <T> Page<T> extractPage(ResultSet resultSet, Function<Row, T> mapper) {
+        final int availableWithoutFetching = resultSet.getAvailableWithoutFetching();
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Extract page of %s rows", availableWithoutFetching));
+        }
+        final List<T> items = new ArrayList<>(availableWithoutFetching);
+        for (int i = 0; i < availableWithoutFetching; i++) {
+            items.add(mapper.apply(resultSet.one()));
+        }
+        return new Page<>(items, Optional.ofNullable(resultSet.getExecutionInfo().getPagingState()),
+                resultSet.getExecutionInfo());
+    }
+}
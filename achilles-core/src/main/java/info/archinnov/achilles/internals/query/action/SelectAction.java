@@ -18,13 +18,18 @@ package info.archinnov.achilles.internals.query.action;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.datastax.driver.core.ExecutionInfo;
 import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.query.AsyncAware;
+import info.archinnov.achilles.type.Page;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public interface SelectAction<ENTITY> extends AsyncAware {
@@ -35,6 +40,16 @@ public interface SelectAction<ENTITY> extends AsyncAware {
      */
     Iterator<ENTITY> iterator();
 
+    /**
+     * Execute the SELECT action
+     * and return a sequential {@link java.util.stream.Stream} of entity instances.
+     * Pages are fetched lazily so short-circuiting operations like <em>limit()</em> or <em>findFirst()</em>
+     * stop fetching pages once satisfied
+     */
+    default Stream<ENTITY> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED), false);
+    }
+
     /**
      * Execute the SELECT action
      * and return the first entity instance
@@ -114,4 +129,25 @@ public interface SelectAction<ENTITY> extends AsyncAware {
      * a list of entity instances with {@link com.datastax.driver.core.ExecutionInfo}
      */
     CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>> getListAsyncWithStats();
+
+    /**
+     * Execute the SELECT action
+     * and return a single page of at most <em>pageSize</em> entity instances
+     * with the paging token to fetch the next page. No other page is fetched
+     */
+    default Page<ENTITY> getPage(int pageSize) {
+        try {
+            return Uninterruptibles.getUninterruptibly(getPageAsync(pageSize));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute the SELECT action asynchronously
+     * and return a {@link java.util.concurrent.CompletableFuture} of
+     * a single page of at most <em>pageSize</em> entity instances
+     * with the paging token to fetch the next page. No other page is fetched
+     */
+    CompletableFuture<Page<ENTITY>> getPageAsync(int pageSize);
 }
@@ -88,6 +88,10 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
 
     public CompletableFuture<Tuple2<ENTITY, ExecutionInfo>> getAsyncWithStats() {
 
+        if (rte.readCoalescer.isEnabledFor(entityClass) && isCoalescable()) {
+            return getCoalescedAsyncWithStats();
+        }
+
         StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Find async with execution info : %s",
@@ -110,6 +114,44 @@ public class FindWithOptions<ENTITY> extends AbstractOptionsForSelect<FindWithOp
                 });
     }
 
+    private CompletableFuture<Tuple2<ENTITY, ExecutionInfo>> getCoalescedAsyncWithStats() {
+        final ConsistencyLevel consistencyLevel = meta.readConsistency(options.getCl());
+        return rte.readCoalescer
+                .coalesce(entityClass, encodedPrimaryKeyValues, consistencyLevel, () -> {
+                    StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+                    if (LOGGER.isTraceEnabled()) {
+                        LOGGER.trace(format("Find async with execution info and read coalescing : %s",
+                                statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+                    }
+                    return rte.execute(statementWrapper)
+                            .thenApply(statementWrapper::logReturnResults)
+                            .thenApply(rs -> Tuple2.of(rs.one(), rs.getExecutionInfo()));
+                })
+                // Each caller gets its own entity instance, the Row is shared
+                .thenApply(tuple2 -> Tuple2.of(meta.createEntityFrom(tuple2._1()), tuple2._2()))
+                .thenApply(tuple2 -> {
+                    meta.triggerInterceptorsForEvent(Event.POST_LOAD, tuple2._1());
+                    return tuple2;
+                });
+    }
+
+    /**
+     * Reads with per-request behavior (listeners, tracing, custom schema name, timeout or deadline ...)
+     * cannot share an in-flight read
+     */
+    private boolean isCoalescable() {
+        return !options.getResultSetAsyncListeners().isPresent()
+                && !options.getRowAsyncListeners().isPresent()
+                && !options.getTracing().isPresent()
+                && !meta.entityLogger.isTraceEnabled()
+                && !options.hasPagingState()
+                && !options.hasOutgoingPayload()
+                && !options.hasRetryPolicy()
+                && !options.hasSchemaNameProvider()
+                && !options.getTimeout().isPresent()
+                && !options.getDeadline().isPresent();
+    }
+
     public FindWithOptions<ENTITY> withSchemaNameProvider(SchemaNameProvider schemaNameProvider) {
         options.setSchemaNameProvider(Optional.ofNullable(schemaNameProvider));
         return this;
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.query.crud;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.UPDATE;
+import static info.archinnov.achilles.internals.query.LWTHelper.triggerLWTListeners;
+import static info.archinnov.achilles.internals.runtime.BeanInternalValidator.validatePrimaryKey;
+import static info.archinnov.achilles.internals.runtime.DirtyTracker.updatableColumns;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateUpdate;
+import static info.archinnov.achilles.type.interceptor.Event.POST_UPDATE;
+import static info.archinnov.achilles.type.interceptor.Event.PRE_UPDATE;
+import static info.archinnov.achilles.type.strategy.InsertStrategy.ALL_FIELDS;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.query.StatementProvider;
+import info.archinnov.achilles.internals.query.action.MutationAction;
+import info.archinnov.achilles.internals.query.options.AbstractOptionsForUpdateOrDelete;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.ColumnUpdate;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.UpdateKind;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.OverridingOptional;
+import info.archinnov.achilles.type.SchemaNameProvider;
+
+/**
+ * UPDATE of an entity instance.
+ * <br/>
+ * When dirty tracking is enabled for the entity and the instance has been loaded or inserted by Achilles,
+ * only the columns changed since then are written. Otherwise all the static and normal columns are written,
+ * null values being handled with the insert strategy of the entity.
+ * <br/>
+ * If no column has changed, no statement is executed and the returned execution info is <strong>null</strong>
+ */
+public class UpdateWithOptions<ENTITY> extends AbstractOptionsForUpdateOrDelete<UpdateWithOptions<ENTITY>>
+        implements MutationAction, StatementProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpdateWithOptions.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final ENTITY instance;
+    private final Options options = new Options();
+
+    public UpdateWithOptions(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, ENTITY instance) {
+        this.meta = meta;
+        this.rte = rte;
+        this.instance = instance;
+    }
+
+    public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
+
+        meta.triggerInterceptorsForEvent(PRE_UPDATE, instance);
+        validatePrimaryKey(instance, meta);
+
+        // Encoded once so that the snapshot taken on completion holds the values actually sent,
+        // not the state of an instance which may have been modified while the update was in flight
+        final Optional<Map<String, Object>> encodedColumns = encodeTrackedColumns();
+        final List<ColumnUpdate> columnUpdates = getColumnUpdates(encodedColumns);
+        if (columnUpdates.isEmpty()) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("No column changed for entity %s, skipping update", instance));
+            }
+            meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper(columnUpdates);
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Update async with execution info : %s", queryString));
+        }
+
+        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+
+        return cfutureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(x -> triggerLWTListeners(lwtResultListeners, x, queryString))
+                .thenApply(x -> x.getExecutionInfo())
+                .thenApply(x -> {
+                    encodedColumns.ifPresent(columns -> rte.dirtyTracker.snapshot(instance, columns));
+                    meta.triggerInterceptorsForEvent(POST_UPDATE, instance);
+                    return x;
+                });
+    }
+
+    /**
+     * Generate a <strong>USING TTL ?</strong>
+     */
+    public UpdateWithOptions<ENTITY> usingTimeToLive(int timeToLive) {
+        options.setTimeToLive(Optional.of(timeToLive));
+        return this;
+    }
+
+    public UpdateWithOptions<ENTITY> withSchemaNameProvider(SchemaNameProvider schemaNameProvider) {
+        options.setSchemaNameProvider(Optional.ofNullable(schemaNameProvider));
+        return this;
+    }
+
+    @Override
+    protected Options getOptions() {
+        return options;
+    }
+
+    @Override
+    public BoundStatement generateAndGetBoundStatement() {
+        return getInternalBoundStatementWrapper(getColumnUpdates()).getBoundStatement();
+    }
+
+    @Override
+    public String getStatementAsString() {
+        return getInternalPreparedStatement(getColumnUpdates()).getQueryString();
+    }
+
+    @Override
+    public List<Object> getBoundValues() {
+        return getValues(getColumnUpdates(), false);
+    }
+
+    @Override
+    public List<Object> getEncodedBoundValues() {
+        return getValues(getColumnUpdates(), true);
+    }
+
+    @Override
+    protected UpdateWithOptions<ENTITY> getThis() {
+        return this;
+    }
+
+    private boolean isTracked() {
+        return rte.dirtyTracker.isEnabledFor(meta.entityClass);
+    }
+
+    private Optional<Map<String, Object>> encodeTrackedColumns() {
+        return isTracked()
+                ? Optional.of(rte.dirtyTracker.encodeColumns(meta, instance))
+                : Optional.empty();
+    }
+
+    private List<ColumnUpdate> getColumnUpdates() {
+        return getColumnUpdates(encodeTrackedColumns());
+    }
+
+    private List<ColumnUpdate> getColumnUpdates(Optional<Map<String, Object>> encodedColumns) {
+        final Optional<List<ColumnUpdate>> changedColumns = encodedColumns
+                .flatMap(columns -> rte.dirtyTracker.diff(meta, instance, columns));
+
+        return changedColumns.orElseGet(() -> updatableColumns(meta)
+                .stream()
+                .map(x -> ColumnUpdate.of(x, UpdateKind.SET, encodedColumns.isPresent()
+                        ? encodedColumns.get().get(x.fieldInfo.cqlColumn)
+                        : x.encodeField(instance)))
+                .collect(toList()));
+    }
+
+    private boolean isFullUpdate() {
+        return !(isTracked() && rte.dirtyTracker.getSnapshot(instance).isPresent());
+    }
+
+    private int getTimeToLive() {
+        return OverridingOptional
+                .from(options.getTimeToLive())
+                .andThen(meta.staticTTL)
+                .defaultValue(0)
+                .get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> getValues(List<ColumnUpdate> columnUpdates, boolean encoded) {
+        final List<Object> values = new ArrayList<>();
+        values.add(getTimeToLive());
+        columnUpdates.forEach(x -> values.add(encoded ? x.encodedValue : ((AbstractProperty) x.property).getFieldValue(instance)));
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.partitionKeys) {
+            values.add(encoded ? x.encodeField(instance) : x.getFieldValue(instance));
+        }
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.clusteringColumns) {
+            values.add(encoded ? x.encodeField(instance) : x.getFieldValue(instance));
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private StatementWrapper getInternalBoundStatementWrapper(List<ColumnUpdate> columnUpdates) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Get bound statement wrapper"));
+        }
+
+        final PreparedStatement ps = getInternalPreparedStatement(columnUpdates);
+        final BoundStatement bs = ps.bind();
+        final boolean fullUpdate = isFullUpdate();
+        final boolean bindNulls = !fullUpdate || meta.insertStrategy() == ALL_FIELDS;
+
+        bs.setInt("ttl", getTimeToLive());
+        for (ColumnUpdate x : columnUpdates) {
+            // A lazy column which has not been loaded should not be erased by a full update
+            if (x.encodedValue != null || (bindNulls && !(fullUpdate && x.property.isLazy()))) {
+                ((AbstractProperty) x.property).encodeToSettable(x.encodedValue, bs);
+            }
+        }
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.partitionKeys) {
+            ((AbstractProperty) x).encodeToSettable(x.encodeField(instance), bs);
+        }
+        for (AbstractProperty<ENTITY, ?, ?> x : meta.clusteringColumns) {
+            ((AbstractProperty) x).encodeToSettable(x.encodeField(instance), bs);
+        }
+
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.UPDATE, meta, bs,
+                getValues(columnUpdates, false).toArray(), getValues(columnUpdates, true).toArray());
+        statementWrapper.applyOptions(options);
+        return statementWrapper;
+    }
+
+    private PreparedStatement getInternalPreparedStatement(List<ColumnUpdate> columnUpdates) {
+        if (isFullUpdate()) {
+            return UPDATE.getPreparedStatement(rte, meta, options);
+        } else {
+            return rte.prepareDynamicQuery(generateUpdate(meta, columnUpdates, options.getSchemaNameProvider()));
+        }
+    }
+}
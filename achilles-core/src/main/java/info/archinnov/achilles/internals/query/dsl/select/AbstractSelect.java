@@ -22,6 +22,7 @@ import java.util.List;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.Options;
 import info.archinnov.achilles.internals.query.SchemaNameAware;
 import info.archinnov.achilles.internals.runtime.RuntimeEngine;
@@ -38,4 +39,18 @@ public abstract class AbstractSelect implements SchemaNameAware {
         this.select = QueryBuilder.select();
         this.rte = rte;
     }
+
+    /**
+     * Select all the columns of the entity but its <em>@Lazy</em> columns
+     */
+    protected Select.Builder eagerColumns(AbstractEntityProperty<?> meta) {
+        if (!meta.hasLazyColumn()) {
+            return select.all();
+        }
+        meta.allColumns
+                .stream()
+                .filter(x -> !x.isLazy())
+                .forEach(x -> select.column(x.fieldInfo.cqlColumn));
+        return select;
+    }
 }
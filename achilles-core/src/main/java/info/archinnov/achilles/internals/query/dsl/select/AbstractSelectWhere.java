@@ -16,11 +16,16 @@
 
 package info.archinnov.achilles.internals.query.dsl.select;
 
+import static info.archinnov.achilles.internals.query.PageHelper.extractPage;
+import static info.archinnov.achilles.internals.query.PageHelper.preparePage;
+import static info.archinnov.achilles.internals.runtime.PartitionKeyInSplitter.extractLimit;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -44,8 +49,10 @@ import info.archinnov.achilles.internals.runtime.RuntimeEngine;
 import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ClusteringRowComparator;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
+import info.archinnov.achilles.type.Page;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -56,7 +63,11 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSelectWhere.class);
 
+    private static final String LIMIT_CLAUSE = " LIMIT ";
+    private static final String PER_PARTITION_LIMIT_CLAUSE = " PER PARTITION LIMIT :perPartitionLim";
+
     protected final Select.Where where;
+    protected Optional<Integer> perPartitionLimit = Optional.empty();
 
     protected AbstractSelectWhere(Select.Where where) {
         this.where = where;
@@ -72,10 +83,29 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
 
     protected abstract RuntimeEngine getRte();
 
+    /**
+     * Split the <em>IN</em> clause on the partition key into parallel single-partition queries.
+     * Results are returned in the <em>IN</em> values order.
+     * This overrides the default defined for the entity with <em>PARTITION_KEY_IN_SPLIT_ENTITIES</em>
+     */
+    public T withPartitionKeyInSplit(boolean split) {
+        getOptions().setPartitionKeyInSplit(Optional.of(split));
+        return getThis();
+    }
+
+    /**
+     * Read each partition of the <em>IN</em> clause on the partition key with its own query, in parallel,
+     * and merge the results lazily by the clustering order of the entity, as if they came from a single partition.
+     * The <em>LIMIT</em>, if any, applies to the merged results and stops fetching pages once reached
+     */
+    public T withClusteringOrderMerge() {
+        getOptions().setClusteringOrderMerge(Optional.of(true));
+        return getThis();
+    }
+
     @Override
     public Iterator<ENTITY> iterator() {
 
-        final RuntimeEngine rte = getRte();
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final Options options = getOptions();
 
@@ -86,12 +116,11 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
-        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, options);
+        CompletableFuture<ResultSet> futureRS = execute(statementWrapper);
+        return new EntityIteratorWrapper<>(futureRS, meta, statementWrapper, options, limitOf(statementWrapper));
     }
 
     public Iterator<TypedMap> typedMapIterator() {
-        final RuntimeEngine rte = getRte();
         final Options options = getOptions();
         final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
 
@@ -100,14 +129,13 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        CompletableFuture<ResultSet> futureRS = execute(statementWrapper);
 
-        return new TypedMapIteratorWrapper(futureRS, statementWrapper, options);
+        return new TypedMapIteratorWrapper(futureRS, statementWrapper, options, limitOf(statementWrapper));
     }
 
     public CompletableFuture<Tuple2<List<ENTITY>, ExecutionInfo>> getListAsyncWithStats() {
 
-        final RuntimeEngine rte = getRte();
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final Options options = getOptions();
 
@@ -118,7 +146,7 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        CompletableFuture<ResultSet> futureRS = execute(statementWrapper);
 
         return futureRS
                 .thenApply(options::resultSetAsyncListener)
@@ -141,11 +169,70 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                 });
     }
 
+    @Override
+    public CompletableFuture<Page<ENTITY>> getPageAsync(int pageSize) {
+
+        final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
+        final Options options = getOptions();
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        preparePage(statementWrapper.getBoundStatement(), pageSize, options);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Select page async : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = getRte().execute(statementWrapper);
+
+        return futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> extractPage(rs, row -> {
+                    options.rowAsyncListener(row);
+                    return meta.createEntityFrom(row);
+                }))
+                .thenApply(page -> {
+                    for (ENTITY entity : page) {
+                        meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                    }
+                    return page;
+                });
+    }
+
+    public CompletableFuture<Page<TypedMap>> getTypedMapPageAsync(int pageSize) {
+        final Options options = getOptions();
+
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+        preparePage(statementWrapper.getBoundStatement(), pageSize, options);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Select page async : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = getRte().execute(statementWrapper);
+
+        return futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> extractPage(rs, this::mapRowToTypedMap));
+    }
+
+    public Page<TypedMap> getTypedMapPage(int pageSize) {
+        try {
+            return Uninterruptibles.getUninterruptibly(getTypedMapPageAsync(pageSize));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
     /***************************************************************************************
      * TypedMap API                                                                        *
      ***************************************************************************************/
     public CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>> getTypedMapsAsyncWithStats() {
-        final RuntimeEngine rte = getRte();
         final Options options = getOptions();
 
         final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
@@ -154,7 +241,7 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
             LOGGER.trace(format("Select async with execution info : %s",
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
-        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+        CompletableFuture<ResultSet> futureRS = execute(statementWrapper);
 
         return futureRS
             .thenApply(options::resultSetAsyncListener)
@@ -185,7 +272,6 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
     }
 
     public CompletableFuture<Tuple2<TypedMap, ExecutionInfo>> getTypedMapAsyncWithStats() {
-        final RuntimeEngine rte = getRte();
         final Options options = getOptions();
 
         final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
@@ -195,7 +281,7 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
                     statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
-        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+        CompletableFuture<ResultSet> cfutureRS = execute(statementWrapper);
 
         return cfutureRS
                 .thenApply(options::resultSetAsyncListener)
@@ -235,17 +321,43 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
 
     @Override
     public String getStatementAsString() {
-        return where.getQueryString();
+        return queryString();
     }
 
     @Override
     public List<Object> getBoundValues() {
-        return getBoundValuesInternal();
+        return boundValues();
     }
 
     @Override
     public List<Object> getEncodedBoundValues() {
-        return getEncodedValuesInternal();
+        return encodedValues();
+    }
+
+    private CompletableFuture<ResultSet> execute(StatementWrapper statementWrapper) {
+        final RuntimeEngine rte = getRte();
+        final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
+        final Options options = getOptions();
+
+        if (options.getClusteringOrderMerge().orElse(false) && !options.hasPagingState()) {
+            final PreparedStatement ps = statementWrapper.getBoundStatement().preparedStatement();
+            final Object[] encodedValues = encodedValues().toArray();
+            final List<StatementWrapper> singlePartitionWrappers = rte.inSplitter.splitForMerge(meta, ps,
+                    boundValues().toArray(), encodedValues, options);
+            if (!singlePartitionWrappers.isEmpty()) {
+                final ClusteringRowComparator comparator = new ClusteringRowComparator(meta, ps.getQueryString());
+                return rte.inSplitter.executeMerged(singlePartitionWrappers, rte::execute, comparator, extractLimit(ps, encodedValues))
+                        .thenApply(comparator::validateColumnsSelected);
+            }
+        } else if (rte.inSplitter.isEnabledFor(meta, options)) {
+            final List<StatementWrapper> singlePartitionWrappers = rte.inSplitter.split(meta,
+                    statementWrapper.getBoundStatement().preparedStatement(),
+                    boundValues().toArray(), encodedValues().toArray(), options);
+            if (!singlePartitionWrappers.isEmpty()) {
+                return rte.inSplitter.execute(singlePartitionWrappers, rte::execute);
+            }
+        }
+        return rte.execute(statementWrapper);
     }
 
     private StatementWrapper getInternalBoundStatementWrapper() {
@@ -257,14 +369,57 @@ public abstract class AbstractSelectWhere<T extends AbstractSelectWhere<T, ENTIT
         final AbstractEntityProperty<ENTITY> meta = getMetaInternal();
         final Options options = getOptions();
 
-        final PreparedStatement ps = rte.prepareDynamicQuery(where);
+        final PreparedStatement ps = rte.prepareDynamicQuery(queryString());
 
         final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT,
                 meta, ps,
-                getBoundValuesInternal().toArray(),
-                getEncodedValuesInternal().toArray());
+                boundValues().toArray(),
+                encodedValues().toArray());
 
         statementWrapper.applyOptions(options);
         return statementWrapper;
     }
+
+    private int limitOf(StatementWrapper statementWrapper) {
+        return extractLimit(statementWrapper.getBoundStatement().preparedStatement(), encodedValues().toArray());
+    }
+
+    private String queryString() {
+        final String queryString = where.getQueryString();
+        if (!perPartitionLimit.isPresent()) {
+            return queryString;
+        }
+        final int limitIndex = queryString.lastIndexOf(LIMIT_CLAUSE);
+        if (limitIndex >= 0) {
+            return queryString.substring(0, limitIndex) + PER_PARTITION_LIMIT_CLAUSE + queryString.substring(limitIndex);
+        }
+        final String trimmed = queryString.trim();
+        return trimmed.endsWith(";")
+                ? trimmed.substring(0, trimmed.length() - 1) + PER_PARTITION_LIMIT_CLAUSE + ";"
+                : trimmed + PER_PARTITION_LIMIT_CLAUSE;
+    }
+
+    /**
+     * The PER PARTITION LIMIT clause is rendered just before the LIMIT clause, whose value is always bound last
+     */
+    private List<Object> boundValues() {
+        return withPerPartitionLimit(getBoundValuesInternal());
+    }
+
+    private List<Object> encodedValues() {
+        return withPerPartitionLimit(getEncodedValuesInternal());
+    }
+
+    private List<Object> withPerPartitionLimit(List<Object> values) {
+        if (!perPartitionLimit.isPresent()) {
+            return values;
+        }
+        final List<Object> copy = new ArrayList<>(values);
+        if (where.getQueryString().contains(LIMIT_CLAUSE)) {
+            copy.add(copy.size() - 1, perPartitionLimit.get());
+        } else {
+            copy.add(perPartitionLimit.get());
+        }
+        return copy;
+    }
 }
@@ -19,6 +19,8 @@ package info.archinnov.achilles.internals.query.options;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -118,6 +120,28 @@ public abstract class AbstractOptionsForInsert<T extends AbstractOptionsForInser
         return getThis();
     }
 
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete within the given timeout. The statement is not sent at all if the timeout
+     * has elapsed while it was waiting for the rate or concurrency limiters
+     */
+    @Override
+    public T withTimeout(Duration timeout) {
+        getOptions().setTimeout(Optional.of(timeout));
+        return getThis();
+    }
+
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete before the given deadline. The statement is not sent at all if the deadline
+     * has already passed when it is about to be sent
+     */
+    @Override
+    public T withDeadline(Instant deadline) {
+        getOptions().setDeadline(Optional.of(deadline));
+        return getThis();
+    }
+
     /**
      * Bind values to prepared statement and avoid null if
      * InsertStrategy.NOT_NULL_FIELDS is chosen
@@ -19,6 +19,8 @@ package info.archinnov.achilles.internals.query.options;
 import static java.util.Arrays.asList;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -71,7 +73,9 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
     }
 
     /**
-     * Give a hint whether the current statement is idempotent. Useful for retry strategy
+     * Give a hint whether the current statement is idempotent. Useful for retry strategy.
+     * When not set, idempotence is inferred from the statement: counter increments, list appends/prepends,
+     * <em>now()</em> function calls and lightweight transactions are not idempotent
      */
     public T isIdempotent(boolean idempotent) {
         getOptions().setIdempotent(Optional.of(idempotent));
@@ -94,11 +98,40 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
         return getThis();
     }
 
+    /**
+     * Set the paging state serialized as the given paging token on the generated statement.
+     * See {@link info.archinnov.achilles.type.Page#getPagingToken()}
+     */
+    public T withPagingToken(String pagingToken) {
+        getOptions().setPagingState(Optional.of(PagingState.fromString(pagingToken)));
+        return getThis();
+    }
+
     public T withRetryPolicy(RetryPolicy retryPolicy) {
         getOptions().setRetryPolicy(Optional.of(retryPolicy));
         return getThis();
     }
 
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete within the given timeout. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the timeout has elapsed
+     */
+    public T withTimeout(Duration timeout) {
+        getOptions().setTimeout(Optional.of(timeout));
+        return getThis();
+    }
+
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete before the given deadline. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the deadline has passed
+     */
+    public T withDeadline(Instant deadline) {
+        getOptions().setDeadline(Optional.of(deadline));
+        return getThis();
+    }
+
     /**
      * Add the given list of async listeners on the {@link com.datastax.driver.core.ResultSet} object.
      * Example of usage:
@@ -18,6 +18,8 @@ package info.archinnov.achilles.internals.query.options;
 
 import static java.util.Arrays.asList;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -84,4 +86,26 @@ public abstract class AbstractOptionsForUpdateOrDelete<T extends AbstractOptions
         return getThis();
     }
 
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete within the given timeout. The statement is not sent at all if the timeout
+     * has elapsed while it was waiting for the rate or concurrency limiters
+     */
+    @Override
+    public T withTimeout(Duration timeout) {
+        getOptions().setTimeout(Optional.of(timeout));
+        return getThis();
+    }
+
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete before the given deadline. The statement is not sent at all if the deadline
+     * has already passed when it is about to be sent
+     */
+    @Override
+    public T withDeadline(Instant deadline) {
+        getOptions().setDeadline(Optional.of(deadline));
+        return getThis();
+    }
+
 }
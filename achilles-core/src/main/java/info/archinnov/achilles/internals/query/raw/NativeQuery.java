@@ -17,8 +17,12 @@
 package info.archinnov.achilles.internals.query.raw;
 
 import static java.lang.String.format;
+import static info.archinnov.achilles.internals.query.PageHelper.extractPage;
+import static info.archinnov.achilles.internals.query.PageHelper.preparePage;
 import static java.util.Arrays.asList;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
 import com.google.common.util.concurrent.Uninterruptibles;
 
@@ -46,6 +51,7 @@ import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
+import info.archinnov.achilles.type.Page;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 /**
@@ -117,6 +123,43 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
         return this;
     }
 
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete within the given timeout. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the timeout has elapsed
+     */
+    public NativeQuery withTimeout(Duration timeout) {
+        this.options.setTimeout(Optional.of(timeout));
+        return this;
+    }
+
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete before the given deadline. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the deadline has passed
+     */
+    public NativeQuery withDeadline(Instant deadline) {
+        this.options.setDeadline(Optional.of(deadline));
+        return this;
+    }
+
+    /**
+     * Set the given paging state on the statement
+     */
+    public NativeQuery withPagingState(PagingState pagingState) {
+        this.options.setPagingState(Optional.of(pagingState));
+        return this;
+    }
+
+    /**
+     * Set the paging state serialized as the given paging token on the statement.
+     * See {@link info.archinnov.achilles.type.Page#getPagingToken()}
+     */
+    public NativeQuery withPagingToken(String pagingToken) {
+        this.options.setPagingState(Optional.of(PagingState.fromString(pagingToken)));
+        return this;
+    }
+
     /**
      * Add the given list of async listeners on the {@link com.datastax.driver.core.ResultSet} object.
      * Example of usage:
@@ -162,6 +205,7 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
     public CompletableFuture<ExecutionInfo> executeAsyncWithStats() {
 
         final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -186,6 +230,7 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
      */
     public CompletableFuture<Tuple2<List<TypedMap>, ExecutionInfo>> getListAsyncWithStats() {
         final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -247,6 +292,7 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
      */
     public CompletableFuture<Tuple2<TypedMap, ExecutionInfo>> getOneAsyncWithStats() {
         final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
@@ -300,6 +346,47 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
         }
     }
 
+    /**
+     * Execute the native query asynchronously and return a single page of at most <em>pageSize</em>
+     * {@link info.archinnov.achilles.type.TypedMap} with the paging token to fetch the next page.
+     * No other page is fetched
+     *
+     * @return CompletableFuture&lt;Page&lt;TypedMap&gt;&gt;
+     */
+    public CompletableFuture<Page<TypedMap>> getPageAsync(int pageSize) {
+        preparePage(boundStatement, pageSize, options);
+        final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
+        final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Execute native query page async : %s", queryString));
+        }
+
+        CompletableFuture<ResultSet> cfutureRS = rte.execute(statementWrapper);
+
+        return cfutureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(x -> extractPage(x, this::mapRowToTypedMap));
+    }
+
+    /**
+     * Execute the native query and return a single page of at most <em>pageSize</em>
+     * {@link info.archinnov.achilles.type.TypedMap} with the paging token to fetch the next page.
+     * No other page is fetched
+     *
+     * @return Page&lt;TypedMap&gt;
+     */
+    public Page<TypedMap> getPage(int pageSize) {
+        try {
+            return Uninterruptibles.getUninterruptibly(getPageAsync(pageSize));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
     /**
      * Execute the native query and return an iterator of {@link info.archinnov.achilles.type.TypedMap}
      *
@@ -307,6 +394,7 @@ public class NativeQuery implements MutationAction, StatementTypeAware, TypedMap
      */
     public Iterator<TypedMap> iterator() {
         final StatementWrapper statementWrapper = new NativeStatementWrapper(getOperationType(boundStatement), meta, boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
         final String queryString = statementWrapper.getBoundStatement().preparedStatement().getQueryString();
 
         if (LOGGER.isTraceEnabled()) {
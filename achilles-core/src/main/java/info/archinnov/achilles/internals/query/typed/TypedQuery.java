@@ -17,9 +17,13 @@
 package info.archinnov.achilles.internals.query.typed;
 
 import static info.archinnov.achilles.internals.query.typed.TypedQueryValidator.validateCorrectTableName;
+import static info.archinnov.achilles.internals.query.PageHelper.extractPage;
+import static info.archinnov.achilles.internals.query.PageHelper.preparePage;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 
@@ -43,6 +48,7 @@ import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
 import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.Page;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 /**
@@ -67,6 +73,43 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, StatementTypeAw
         validateCorrectTableName(boundStatement.preparedStatement().getQueryString().toLowerCase(), meta);
     }
 
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete within the given timeout. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the timeout has elapsed
+     */
+    public TypedQuery<ENTITY> withTimeout(Duration timeout) {
+        this.options.setTimeout(Optional.of(timeout));
+        return this;
+    }
+
+    /**
+     * Fail the execution with an {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException}
+     * if it does not complete before the given deadline. The statement read timeout is set accordingly.
+     * Iterating over the results stops fetching new pages once the deadline has passed
+     */
+    public TypedQuery<ENTITY> withDeadline(Instant deadline) {
+        this.options.setDeadline(Optional.of(deadline));
+        return this;
+    }
+
+    /**
+     * Set the given paging state on the statement
+     */
+    public TypedQuery<ENTITY> withPagingState(PagingState pagingState) {
+        this.options.setPagingState(Optional.of(pagingState));
+        return this;
+    }
+
+    /**
+     * Set the paging state serialized as the given paging token on the statement.
+     * See {@link info.archinnov.achilles.type.Page#getPagingToken()}
+     */
+    public TypedQuery<ENTITY> withPagingToken(String pagingToken) {
+        this.options.setPagingState(Optional.of(PagingState.fromString(pagingToken)));
+        return this;
+    }
+
     /**
      * Add the given list of async listeners on the {@link com.datastax.driver.core.ResultSet} object.
      * Example of usage:
@@ -149,6 +192,7 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, StatementTypeAw
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
                 boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Generate iterator for typed query : %s",
@@ -168,6 +212,7 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, StatementTypeAw
 
         StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
                 boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
 
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Select async with execution info : %s",
@@ -196,4 +241,41 @@ public class TypedQuery<ENTITY> implements SelectAction<ENTITY>, StatementTypeAw
                     return tuple2;
                 });
     }
+
+    /**
+     * Execute the typed query asynchronously and return a single page of at most <em>pageSize</em> entities
+     * with the paging token to fetch the next page. No other page is fetched
+     *
+     * @return CompletableFuture&lt;Page&lt;ENTITY&gt;&gt;
+     */
+    @Override
+    public CompletableFuture<Page<ENTITY>> getPageAsync(int pageSize) {
+
+        preparePage(boundStatement, pageSize, options);
+        StatementWrapper statementWrapper = new BoundStatementWrapper(getOperationType(boundStatement), meta,
+                boundStatement, encodedBoundValues);
+        statementWrapper.applyDeadline(options);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Select page async : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper);
+
+        return futureRS
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenApply(statementWrapper::logTrace)
+                .thenApply(rs -> extractPage(rs, row -> {
+                    options.rowAsyncListener(row);
+                    return meta.createEntityFrom(row);
+                }))
+                .thenApply(page -> {
+                    for (ENTITY entity : page) {
+                        meta.triggerInterceptorsForEvent(Event.POST_LOAD, entity);
+                    }
+                    return page;
+                });
+    }
 }
@@ -22,19 +22,28 @@ import static info.archinnov.achilles.internals.statement.StatementHelper.isSele
 import static info.archinnov.achilles.validation.Validator.*;
 import static java.lang.String.format;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.query.crud.DeleteWithOptions;
 import info.archinnov.achilles.internals.query.crud.InsertWithOptions;
+import info.archinnov.achilles.internals.query.crud.UpdateWithOptions;
 import info.archinnov.achilles.internals.query.raw.NativeQuery;
 import info.archinnov.achilles.internals.query.typed.TypedQuery;
+import info.archinnov.achilles.type.Empty;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 public abstract class AbstractManager<ENTITY> {
@@ -73,6 +82,83 @@ public abstract class AbstractManager<ENTITY> {
         return meta_internal.createEntityFrom(row);
     }
 
+    /**
+     * Create a new batch loader for <em>findById</em>, using the batch max size and window defined
+     * in the configuration. Keys loaded within the same window are grouped by partition and read with as few queries as possible.
+     * <br/>
+     * A batch loader is meant to be short-lived, typically one instance per incoming request
+     *
+     * @return {@link info.archinnov.achilles.internals.runtime.FindByIdBatchLoader} for this entity
+     */
+    public FindByIdBatchLoader<ENTITY> batchLoader() {
+        return batchLoader(rte.configContext.getBatchLoaderMaxSize(), rte.configContext.getBatchLoaderWindowInMs());
+    }
+
+    /**
+     * Create a new batch loader for <em>findById</em> with the given batch max size and window.
+     * Keys loaded within the same window are grouped by partition and read with as few queries as possible.
+     * <br/>
+     * A batch loader is meant to be short-lived, typically one instance per incoming request
+     *
+     * @param maxBatchSize number of keys which triggers the dispatch of the batch
+     * @param batchWindowInMs time in milliseconds after which a batch is dispatched
+     * @return {@link info.archinnov.achilles.internals.runtime.FindByIdBatchLoader} for this entity
+     */
+    public FindByIdBatchLoader<ENTITY> batchLoader(int maxBatchSize, long batchWindowInMs) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create findById batch loader for entity %s", entityClass.getCanonicalName()));
+        }
+        return new FindByIdBatchLoader<>(meta_internal, rte, maxBatchSize, batchWindowInMs);
+    }
+
+    /**
+     * Load on demand the given columns of an entity instance, typically its <em>@Lazy</em> columns.
+     * Example:
+     * <pre class="code"><code class="java">
+     * manager.loadLazy(document, Document_AchillesMeta.content);
+     * </code></pre>
+     *
+     * @param instance entity instance with its primary key set
+     * @param columns columns to load, all the lazy columns of the entity if none is given
+     */
+    @SafeVarargs
+    public final void loadLazy(ENTITY instance, AbstractProperty<ENTITY, ?, ?>... columns) {
+        loadLazy(Collections.singletonList(instance), columns);
+    }
+
+    /**
+     * Load on demand the given columns of a list of entity instances, typically their <em>@Lazy</em> columns.
+     * The instances are grouped by partition so that the columns are read with as few queries as possible
+     *
+     * @param instances entity instances with their primary key set
+     * @param columns columns to load, all the lazy columns of the entity if none is given
+     */
+    @SafeVarargs
+    public final void loadLazy(List<ENTITY> instances, AbstractProperty<ENTITY, ?, ?>... columns) {
+        final LazyColumnLoader<ENTITY> loader = new LazyColumnLoader<>(meta_internal, rte);
+        try {
+            Uninterruptibles.getUninterruptibly(loader.load(instances, Arrays.asList(columns)));
+        } catch (ExecutionException e) {
+            throw loader.extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Load asynchronously the given columns of a list of entity instances, typically their <em>@Lazy</em> columns.
+     * The instances are grouped by partition so that the columns are read with as few queries as possible
+     *
+     * @param instances entity instances with their primary key set
+     * @param columns columns to load, all the lazy columns of the entity if none is given
+     * @return CompletableFuture completed when all the instances have been loaded
+     */
+    @SafeVarargs
+    public final CompletableFuture<Empty> loadLazyAsync(List<ENTITY> instances, AbstractProperty<ENTITY, ?, ?>... columns) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Load lazy columns of entity %s", entityClass.getCanonicalName()));
+        }
+        return new LazyColumnLoader<>(meta_internal, rte).load(instances, Arrays.asList(columns));
+    }
+
     /**
      * Return the native Session object used by this Manager
      *
@@ -108,6 +194,18 @@ public abstract class AbstractManager<ENTITY> {
         return new InsertWithOptions<>(meta_internal, rte, instance, insertStatic);
     }
 
+    protected UpdateWithOptions<ENTITY> updateInternal(ENTITY instance) {
+
+        validateNotNull(instance, "Entity to be updated should not be null");
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create update CRUD for entity %s", instance));
+        }
+
+        validatePrimaryKey(instance, meta_internal);
+        return new UpdateWithOptions<>(meta_internal, rte, instance);
+    }
+
     protected DeleteWithOptions<ENTITY> deleteInternal(ENTITY instance) {
         validateNotNull(instance, "Entity to be deleted should not be null");
 
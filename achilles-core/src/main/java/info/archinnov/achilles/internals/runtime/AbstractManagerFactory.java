@@ -21,17 +21,25 @@ import static info.archinnov.achilles.internals.schema.SchemaCreator.generateUDT
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.datastax.driver.extras.codecs.arrays.DoubleArrayCodec;
 import com.datastax.driver.extras.codecs.arrays.FloatArrayCodec;
 import com.datastax.driver.extras.codecs.arrays.IntArrayCodec;
@@ -41,6 +49,7 @@ import com.datastax.driver.extras.codecs.jdk8.LocalDateCodec;
 import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
 import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
 
+import info.archinnov.achilles.async.MonitoredExecutorService;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
@@ -61,6 +70,7 @@ public abstract class AbstractManagerFactory {
     protected List<AbstractEntityProperty<?>> entityProperties;
     protected List<Class<?>> entityClasses;
     protected List<FunctionProperty> functionProperties;
+    private ObjectName slowQueryReportName;
 
     public AbstractManagerFactory(Cluster cluster, ConfigurationContext configContext) {
         this.cluster = cluster;
@@ -92,6 +102,133 @@ public abstract class AbstractManagerFactory {
         return tableName;
     }
 
+    /**
+     * Provide the read coalescer to monitor how many <em>findById</em> reads
+     * have been coalesced with an in-flight read
+     *
+     * @return read coalescer of this manager factory
+     */
+    public ReadCoalescer getReadCoalescer() {
+        return rte.readCoalescer;
+    }
+
+    /**
+     * Provide the write batcher to monitor how many writes
+     * have been automatically batched per partition
+     *
+     * @return write batcher of this manager factory
+     */
+    public WriteBatcher getWriteBatcher() {
+        return rte.writeBatcher;
+    }
+
+    /**
+     * Provide the ordered write executor to monitor how many keys
+     * currently have in-flight ordered writes
+     *
+     * @return ordered write executor of this manager factory
+     */
+    public OrderedWriteExecutor getOrderedWriteExecutor() {
+        return rte.orderedWriteExecutor;
+    }
+
+    /**
+     * Provide the query trace sampler to monitor the slowest traced executions
+     * and how many statements have been traced
+     *
+     * @return query trace sampler of this manager factory
+     */
+    public QueryTraceSampler getQueryTraceSampler() {
+        return rte.traceSampler;
+    }
+
+    /**
+     * Provide the slow query logger to monitor how many slow executions
+     * have been logged or dropped
+     *
+     * @return slow query logger of this manager factory
+     */
+    public SlowQueryLogger getSlowQueryLogger() {
+        return rte.slowQueryLogger;
+    }
+
+    /**
+     * Provide the partition key IN splitter to monitor how many statements
+     * have been split into single-partition queries
+     *
+     * @return partition key IN splitter of this manager factory
+     */
+    public PartitionKeyInSplitter getPartitionKeyInSplitter() {
+        return rte.inSplitter;
+    }
+
+    /**
+     * Provide the adaptive concurrency limiter to monitor the current
+     * concurrency limits, in-flight, queued and rejected statements
+     *
+     * @return adaptive concurrency limiter of this manager factory
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return rte.concurrencyLimiter;
+    }
+
+    /**
+     * Provide the quota rate limiter to monitor how many statements
+     * have been delayed by rate limit quotas
+     *
+     * @return quota rate limiter of this manager factory
+     */
+    public QuotaRateLimiter getRateLimiter() {
+        return rte.rateLimiter;
+    }
+
+    /**
+     * Provide the adaptive fetch sizer to monitor the fetch size
+     * and average row size estimated for each query shape
+     *
+     * @return adaptive fetch sizer of this manager factory
+     */
+    public AdaptiveFetchSizer getFetchSizer() {
+        return rte.fetchSizer;
+    }
+
+    /**
+     * Provide the dirty tracker to monitor how many entity
+     * instances are currently tracked
+     *
+     * @return dirty tracker of this manager factory
+     */
+    public DirtyTracker getDirtyTracker() {
+        return rte.dirtyTracker;
+    }
+
+    /**
+     * Provide a store of large objects split into chunks in the given table of the current keyspace.
+     * The table is created if it does not exist and schema generation is forced
+     *
+     * @param tableName companion table storing the chunks
+     * @return chunked blob store
+     */
+    public ChunkedBlobStore chunkedBlobStore(String tableName) {
+        return chunkedBlobStore(rte.currentKeyspace, tableName);
+    }
+
+    /**
+     * Provide a store of large objects split into chunks in the given table.
+     * The table is created if it does not exist and schema generation is forced
+     *
+     * @param keyspace  keyspace of the companion table
+     * @param tableName companion table storing the chunks
+     * @return chunked blob store
+     */
+    public ChunkedBlobStore chunkedBlobStore(String keyspace, String tableName) {
+        final ChunkedBlobStore store = new ChunkedBlobStore(rte, keyspace, tableName);
+        if (configContext.isForceSchemaGeneration()) {
+            store.createTableIfNotExists();
+        }
+        return store;
+    }
+
     /**
      * Shutdown the manager factory and the related session and executor service (if they are created by Achilles).
      * If the Java driver Session object and/or the executor service were provided as bootstrap parameter, Achilles
@@ -109,6 +246,17 @@ public abstract class AbstractManagerFactory {
             LOGGER.info(format("Closing built executor service (thread pool) %s", configContext.getExecutorService()));
             configContext.getExecutorService().shutdown();
         }
+        if (rte.slowQueryLogger.isEnabled()) {
+            LOGGER.info("Flushing and closing slow query log");
+            rte.slowQueryLogger.close();
+        }
+        if (slowQueryReportName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(slowQueryReportName);
+            } catch (JMException ex) {
+                LOGGER.warn(format("Cannot unregister slow query report MBean : %s", ex.getMessage()));
+            }
+        }
     }
 
     protected void bootstrap() {
@@ -117,6 +265,49 @@ public abstract class AbstractManagerFactory {
         createSchema();
         validateSchema();
         prepareStaticStatements();
+        registerExecutorMetrics();
+        registerSlowQueryReport();
+    }
+
+    protected void registerExecutorMetrics() {
+        final ExecutorService executorService = configContext.getExecutorService();
+        final Metrics metrics = cluster.getMetrics();
+        if (executorService instanceof MonitoredExecutorService && metrics != null) {
+            LOGGER.trace("Register executor service metrics into the Java driver metrics registry");
+            final MonitoredExecutorService monitored = (MonitoredExecutorService) executorService;
+            final MetricRegistry registry = metrics.getRegistry();
+            registerGauge(registry, "achilles-executor-queue-depth", monitored::getQueueDepth);
+            registerGauge(registry, "achilles-executor-active-tasks", monitored::getActiveCount);
+            registerGauge(registry, "achilles-executor-rejected-tasks", monitored::getRejectedCount);
+            registerGauge(registry, "achilles-executor-caller-runs-tasks", monitored::getCallerRunsCount);
+            registerGauge(registry, "achilles-executor-blocked-admissions", monitored::getBlockedAdmissionsCount);
+        }
+    }
+
+    protected void registerSlowQueryReport() {
+        if (!rte.traceSampler.isEnabled()) {
+            return;
+        }
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(format("info.archinnov.achilles:type=SlowQueryReport,keyspace=%s",
+                    ObjectName.quote(String.valueOf(rte.currentKeyspace))));
+            // Several manager factories can share the same keyspace, only the first one registers its report
+            if (!mBeanServer.isRegistered(name)) {
+                LOGGER.trace(format("Register slow query report MBean %s", name));
+                mBeanServer.registerMBean(rte.traceSampler.getReport(), name);
+                slowQueryReportName = name;
+            }
+        } catch (JMException ex) {
+            LOGGER.warn(format("Cannot register slow query report MBean : %s", ex.getMessage()));
+        }
+    }
+
+    private void registerGauge(MetricRegistry registry, String name, Supplier<Long> value) {
+        // Several manager factories can share the same Cluster object, only the first one registers its gauges
+        if (!registry.getNames().contains(name)) {
+            registry.register(name, (Gauge<Long>) value::get);
+        }
     }
 
     protected void addNativeCodecs() {
@@ -145,6 +336,11 @@ public abstract class AbstractManagerFactory {
                 .stream()
                 .filter(x -> manageEntities.contains(x.entityClass))
                 .forEach(x -> configContext.injectDependencies(tupleTypeFactory, userTypeFactory, x));
+        entityProperties
+                .stream()
+                .filter(x -> manageEntities.contains(x.entityClass))
+                .filter(x -> rte.dirtyTracker.isEnabledFor(x.entityClass))
+                .forEach(rte.dirtyTracker::register);
     }
 
     protected void validateSchema() {
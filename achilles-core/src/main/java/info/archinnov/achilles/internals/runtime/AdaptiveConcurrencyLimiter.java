@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+import com.datastax.driver.core.exceptions.OverloadedException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+
+import info.archinnov.achilles.exception.AchillesConcurrencyLimitException;
+
+/**
+ * Adaptive cap on the number of in-flight statements, globally and per entity.
+ * <br/>
+ * The limits follow an AIMD (additive increase, multiplicative decrease) algorithm on observed latency:
+ * <ul>
+ *     <li>a statement completing under the latency threshold increases the limit by <em>1/limit</em>,
+ *     roughly +1 per round trip of a full window</li>
+ *     <li>a statement completing above the latency threshold, or failing with a timeout or overloaded error,
+ *     multiplies the limit by the backoff ratio. The limit is decreased at most once per latency window:
+ *     statements sent before the last decrease do not decrease it again</li>
+ * </ul>
+ * Statements exceeding the limit wait in a FIFO queue of their entity, the queues being drained in turn so that
+ * an entity at its own limit does not hold back the statements of other entities. When <em>maxQueueSize</em>
+ * statements are already queued, new ones are shed with an
+ * {@link info.archinnov.achilles.exception.AchillesConcurrencyLimitException}
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final int maxQueueSize;
+    private final int initialLimit;
+    private final Limit globalLimit;
+    private final ConcurrentMap<Class<?>, Limit> entityLimits = new ConcurrentHashMap<>();
+    private final AtomicInteger queueSize = new AtomicInteger(0);
+    // Pending drain requests, only the thread bringing it from 0 to 1 drains the queues
+    private final AtomicInteger drainRequests = new AtomicInteger(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+
+    public AdaptiveConcurrencyLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdInMs, int maxQueueSize) {
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdInMs);
+        this.maxQueueSize = maxQueueSize;
+        this.globalLimit = new Limit(initialLimit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Execute the statement as soon as both the global and the entity limits allow it
+     *
+     * @param entityClass entity class of the statement
+     * @param execution   actual execution of the statement
+     * @return CompletableFuture of the statement result
+     */
+    public <T> CompletableFuture<T> execute(Class<?> entityClass, Supplier<CompletableFuture<T>> execution) {
+        final Limit entityLimit = entityLimits.computeIfAbsent(entityClass, key -> new Limit(initialLimit));
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Runnable task = () -> run(entityLimit, execution, result);
+
+        if (queueSize.get() == 0 && tryAcquire(entityLimit)) {
+            task.run();
+        } else if (queueSize.incrementAndGet() <= maxQueueSize) {
+            entityLimit.queue.offerLast(task);
+            drainQueues();
+        } else {
+            queueSize.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            result.completeExceptionally(new AchillesConcurrencyLimitException(
+                    format("Concurrency limit reached for entity %s (global limit = %s, entity limit = %s) and %s statements already queued",
+                            entityClass.getCanonicalName(), globalLimit.getLimit(), entityLimit.getLimit(), maxQueueSize)));
+        }
+        return result;
+    }
+
+    public int getGlobalLimit() {
+        return globalLimit.getLimit();
+    }
+
+    public int getEntityLimit(Class<?> entityClass) {
+        final Limit limit = entityLimits.get(entityClass);
+        return limit == null ? initialLimit : limit.getLimit();
+    }
+
+    public int getInFlightCount() {
+        return globalLimit.inFlight.get();
+    }
+
+    public int getQueuedCount() {
+        return queueSize.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private <T> void run(Limit entityLimit, Supplier<CompletableFuture<T>> execution, CompletableFuture<T> result) {
+        final long start = System.nanoTime();
+        final CompletableFuture<T> future;
+        try {
+            future = execution.get();
+        } catch (Throwable throwable) {
+            release(entityLimit, start, throwable);
+            result.completeExceptionally(throwable);
+            return;
+        }
+        future.whenComplete((value, throwable) -> {
+            release(entityLimit, start, throwable);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private boolean tryAcquire(Limit entityLimit) {
+        if (!globalLimit.tryAcquire()) {
+            return false;
+        }
+        if (!entityLimit.tryAcquire()) {
+            globalLimit.inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void release(Limit entityLimit, long startNanos, Throwable throwable) {
+        final long now = System.nanoTime();
+        final boolean congested = now - startNanos > latencyThresholdNanos || isCongestionSignal(throwable);
+        globalLimit.release(congested, startNanos, now);
+        entityLimit.release(congested, startNanos, now);
+        drainQueues();
+    }
+
+    /**
+     * Run queued statements while capacity is available.
+     * <br/>
+     * A statement may complete synchronously (expired deadline, rejection by an inner layer), releasing its
+     * permits and requesting a new drain from within the drain loop. Draining is therefore not reentrant:
+     * such nested requests are only counted and the draining thread loops again, keeping the stack depth
+     * constant whatever the queue length
+     */
+    private void drainQueues() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainOnce();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Take at most one statement per entity on each pass so that the global capacity is shared between entities
+     */
+    private void drainOnce() {
+        boolean progress = true;
+        while (progress && !globalLimit.isFull()) {
+            progress = false;
+            for (Limit entityLimit : entityLimits.values()) {
+                if (pollAndRun(entityLimit)) {
+                    progress = true;
+                }
+            }
+        }
+    }
+
+    private boolean pollAndRun(Limit entityLimit) {
+        Runnable head;
+        while ((head = entityLimit.queue.pollFirst()) != null) {
+            if (tryAcquire(entityLimit)) {
+                queueSize.decrementAndGet();
+                head.run();
+                return true;
+            }
+            entityLimit.queue.offerFirst(head);
+            // A concurrent release may have missed the polled head, retry if capacity is available
+            if (globalLimit.isFull() || entityLimit.isFull()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCongestionSignal(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException || cause instanceof ExecutionException) {
+            cause = cause.getCause();
+        }
+        return cause instanceof OperationTimedOutException
+                || cause instanceof ReadTimeoutException
+                || cause instanceof WriteTimeoutException
+                || cause instanceof OverloadedException;
+    }
+
+    private class Limit {
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+        private final Deque<Runnable> queue = new ConcurrentLinkedDeque<>();
+        // Statements sent before this instant were already in flight when the limit was last decreased
+        private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+        private volatile double limit;
+
+        private Limit(double limit) {
+            this.limit = limit;
+        }
+
+        private int getLimit() {
+            return (int) limit;
+        }
+
+        private boolean isFull() {
+            return inFlight.get() >= (int) limit;
+        }
+
+        private boolean tryAcquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= (int) limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release(boolean congested, long startNanos, long nowNanos) {
+            inFlight.decrementAndGet();
+            // Racy updates only lose a few increments, which is acceptable for an estimate
+            final double current = limit;
+            if (congested) {
+                final long lastDecrease = lastDecreaseNanos.get();
+                if (startNanos - lastDecrease < 0 || !lastDecreaseNanos.compareAndSet(lastDecrease, nowNanos)) {
+                    return;
+                }
+                limit = Math.max(minLimit, current * BACKOFF_RATIO);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(format("Congestion detected, reducing concurrency limit from %s to %s", (int) current, (int) limit));
+                }
+            } else {
+                limit = Math.min(maxLimit, current + 1.0 / current);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ResultSetWrapper;
+
+/**
+ * Tune the fetch size of SELECT statements per query shape (prepared query string).
+ * <br/>
+ * The first page of some executions is sampled to estimate the average serialized size of a row.
+ * The fetch size is then set to <em>targetPageBytes / averageRowBytes</em>, bounded by the min and max fetch sizes,
+ * so that wide rows get smaller pages and narrow rows fewer round trips.
+ * <br/>
+ * Statements with an explicit fetch size are left untouched
+ */
+public class AdaptiveFetchSizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveFetchSizer.class);
+    static final int SAMPLED_ROWS_PER_PAGE = 16;
+    static final int SAMPLING_INTERVAL = 32;
+    static final int WARMUP_EXECUTIONS = 8;
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final boolean enabled;
+    private final int targetPageBytes;
+    private final int minFetchSize;
+    private final int maxFetchSize;
+    private final ConcurrentMap<String, ShapeStatistics> statistics = new ConcurrentHashMap<>();
+
+    public AdaptiveFetchSizer(boolean enabled, int targetPageBytes, int minFetchSize, int maxFetchSize) {
+        this.enabled = enabled;
+        this.targetPageBytes = targetPageBytes;
+        this.minFetchSize = minFetchSize;
+        this.maxFetchSize = maxFetchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether the fetch size of this statement should be tuned
+     */
+    public boolean isAdaptive(StatementWrapper wrapper) {
+        return wrapper.getOperationType() == OperationType.SELECT && wrapper.getBoundStatement().getFetchSize() <= 0;
+    }
+
+    /**
+     * Set the fetch size computed for this query shape, if enough rows have been sampled
+     */
+    public void applyFetchSize(BoundStatement bs) {
+        final ShapeStatistics shapeStatistics = statistics.get(bs.preparedStatement().getQueryString());
+        if (shapeStatistics != null && shapeStatistics.fetchSize > 0) {
+            bs.setFetchSize(shapeStatistics.fetchSize);
+        }
+    }
+
+    /**
+     * Maybe sample the first page of the result set to refine the estimated row size of this query shape
+     *
+     * @return the result set, with the sampled rows still available for consumption
+     */
+    public ResultSet sample(String queryString, ResultSet resultSet) {
+        final ShapeStatistics shapeStatistics = statistics.computeIfAbsent(queryString, key -> new ShapeStatistics());
+        final long execution = shapeStatistics.executions.getAndIncrement();
+        final int availableRows = resultSet.getAvailableWithoutFetching();
+        if (availableRows == 0 || (execution >= WARMUP_EXECUTIONS && execution % SAMPLING_INTERVAL != 0)) {
+            return resultSet;
+        }
+
+        // Only peek rows of the current page, never trigger a fetch from here
+        final ResultSetWrapper wrapper = new ResultSetWrapper(resultSet);
+        final int sampledRows = Math.min(availableRows, SAMPLED_ROWS_PER_PAGE);
+        long sampledBytes = 0;
+        for (int i = 0; i < sampledRows; i++) {
+            sampledBytes += rowSize(wrapper.peek());
+        }
+        shapeStatistics.update((double) sampledBytes / sampledRows, availableRows);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Average row size for query %s estimated to %s bytes, fetch size set to %s",
+                    queryString, (long) shapeStatistics.averageRowBytes, shapeStatistics.fetchSize));
+        }
+        return wrapper;
+    }
+
+    /**
+     * @return the fetch size currently chosen for the query shape
+     */
+    public Optional<Integer> getFetchSize(String queryString) {
+        final ShapeStatistics shapeStatistics = statistics.get(queryString);
+        return shapeStatistics == null || shapeStatistics.fetchSize <= 0 ? Optional.empty() : Optional.of(shapeStatistics.fetchSize);
+    }
+
+    /**
+     * @return the estimated average row size, in bytes, for the query shape
+     */
+    public Optional<Double> getAverageRowBytes(String queryString) {
+        final ShapeStatistics shapeStatistics = statistics.get(queryString);
+        return shapeStatistics == null || shapeStatistics.fetchSize <= 0 ? Optional.empty() : Optional.of(shapeStatistics.averageRowBytes);
+    }
+
+    /**
+     * @return the estimated average number of rows per first page, for the query shape
+     */
+    public Optional<Double> getAverageRowsPerPage(String queryString) {
+        final ShapeStatistics shapeStatistics = statistics.get(queryString);
+        return shapeStatistics == null || shapeStatistics.fetchSize <= 0 ? Optional.empty() : Optional.of(shapeStatistics.averageRowsPerPage);
+    }
+
+    /**
+     * @return a snapshot of the fetch sizes chosen for every sampled query shape
+     */
+    public Map<String, Integer> getFetchSizes() {
+        final Map<String, Integer> fetchSizes = new HashMap<>();
+        statistics.forEach((queryString, shapeStatistics) -> {
+            if (shapeStatistics.fetchSize > 0) {
+                fetchSizes.put(queryString, shapeStatistics.fetchSize);
+            }
+        });
+        return fetchSizes;
+    }
+
+    int computeFetchSize(double averageRowBytes) {
+        final long fetchSize = (long) (targetPageBytes / Math.max(1.0, averageRowBytes));
+        return (int) Math.max(minFetchSize, Math.min(maxFetchSize, fetchSize));
+    }
+
+    private static long rowSize(Row row) {
+        long size = 0;
+        final int columnsCount = row.getColumnDefinitions().size();
+        for (int i = 0; i < columnsCount; i++) {
+            final ByteBuffer bytes = row.getBytesUnsafe(i);
+            if (bytes != null) {
+                size += bytes.remaining();
+            }
+        }
+        return size;
+    }
+
+    private class ShapeStatistics {
+        private final AtomicLong executions = new AtomicLong(0);
+        // Racy updates only lose a few samples, which is acceptable for an estimate
+        private volatile double averageRowBytes;
+        private volatile double averageRowsPerPage;
+        private volatile int fetchSize;
+
+        private void update(double rowBytes, int rowsPerPage) {
+            if (fetchSize <= 0) {
+                averageRowBytes = rowBytes;
+                averageRowsPerPage = rowsPerPage;
+            } else {
+                averageRowBytes += SMOOTHING_FACTOR * (rowBytes - averageRowBytes);
+                averageRowsPerPage += SMOOTHING_FACTOR * (rowsPerPage - averageRowsPerPage);
+            }
+            fetchSize = computeFetchSize(averageRowBytes);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single daemon thread used to dispatch time-windowed batches and delayed executions.
+ * Scheduled tasks only trigger asynchronous executions and must never block.
+ * <br/>
+ * Most timers, deadline timers in particular, are cancelled long before they expire,
+ * so cancelled tasks are removed from the queue right away instead of waiting for their delay
+ */
+final class BatchingScheduler {
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    private BatchingScheduler() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, long delayInMs) {
+        return SCHEDULER.schedule(task, delayInMs, TimeUnit.MILLISECONDS);
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return SCHEDULER.schedule(task, delay, unit);
+    }
+
+    static int getQueuedTasksCount() {
+        return SCHEDULER.getQueue().size();
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("achilles-batching-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -63,10 +63,7 @@ public class BeanValueExtractor {
 
         boundValues.addAll(entityProperty.staticColumns
                 .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance));
-                })
+                .map(x -> toBoundValueInfo(x, instance))
                 .collect(toList()));
 
         boundValues.addAll(entityProperty.clusteringColumns
@@ -79,10 +76,7 @@ public class BeanValueExtractor {
 
         boundValues.addAll(entityProperty.normalColumns
                 .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance));
-                })
+                .map(x -> toBoundValueInfo(x, instance))
                 .collect(toList()));
 
         boundValues.addAll(entityProperty.counterColumns
@@ -154,10 +148,7 @@ public class BeanValueExtractor {
 
         boundValues.addAll(entityProperty.staticColumns
                 .stream()
-                .map(x -> {
-                    final AbstractProperty x1 = (AbstractProperty) x;
-                    return BoundValueInfo.of(x1::encodeToSettable, x.getFieldValue(instance), x.encodeField(instance));
-                })
+                .map(x -> toBoundValueInfo(x, instance))
                 .collect(toList()));
 
         final Optional<Integer> ttl = OverridingOptional
@@ -175,4 +166,11 @@ public class BeanValueExtractor {
         return new BoundValuesWrapper(entityProperty, boundValues);
 
     }
+
+    private static <T> BoundValueInfo toBoundValueInfo(AbstractProperty<T, ?, ?> property, T instance) {
+        final AbstractProperty x1 = (AbstractProperty) property;
+        return property.isLazy()
+                ? BoundValueInfo.ofLazy(x1::encodeToSettable, property.getFieldValue(instance), property.encodeField(instance))
+                : BoundValueInfo.of(x1::encodeToSettable, property.getFieldValue(instance), property.encodeField(instance));
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Input stream of a {@link ChunkedBlobStore}. When a chunk is consumed, the following
+ * <em>readAheadChunks</em> chunks are already being fetched so that sequential reads rarely wait on the network.
+ * <br/>
+ * Only the chunks of the generation current when the stream was opened are read. The chunk buffers
+ * returned by the driver are read directly, without copy
+ */
+public class ChunkedBlobInputStream extends InputStream {
+
+    private final ChunkedBlobStore store;
+    private final String blobId;
+    private final UUID generation;
+    private final int chunkCount;
+    private final int readAheadChunks;
+    private final Deque<CompletableFuture<ByteBuffer>> pendingChunks = new ArrayDeque<>();
+
+    private int nextChunkToFetch = 0;
+    private ByteBuffer currentChunk;
+    private boolean closed = false;
+
+    ChunkedBlobInputStream(ChunkedBlobStore store, String blobId, UUID generation, int chunkCount, int readAheadChunks) {
+        this.store = store;
+        this.blobId = blobId;
+        this.generation = generation;
+        this.chunkCount = chunkCount;
+        this.readAheadChunks = readAheadChunks;
+        fetchAhead();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureCurrentChunk()) {
+            return -1;
+        }
+        return currentChunk.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException(format("Invalid offset %s and length %s for an array of %s bytes",
+                    offset, length, bytes.length));
+        }
+        if (length == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < length && ensureCurrentChunk()) {
+            final int copied = Math.min(length - read, currentChunk.remaining());
+            currentChunk.get(bytes, offset + read, copied);
+            read += copied;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return currentChunk == null ? 0 : currentChunk.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        currentChunk = null;
+        pendingChunks.forEach(future -> future.cancel(false));
+        pendingChunks.clear();
+    }
+
+    private boolean ensureCurrentChunk() throws IOException {
+        if (closed) {
+            throw new IOException(format("The input stream of blob '%s' is closed", blobId));
+        }
+        while (currentChunk == null || !currentChunk.hasRemaining()) {
+            fetchAhead();
+            if (pendingChunks.isEmpty()) {
+                return false;
+            }
+            final CompletableFuture<ByteBuffer> next = pendingChunks.poll();
+            try {
+                currentChunk = Uninterruptibles.getUninterruptibly(next);
+            } catch (ExecutionException e) {
+                throw new IOException(format("Cannot read a chunk of blob '%s'", blobId), e.getCause());
+            }
+        }
+        return true;
+    }
+
+    private void fetchAhead() {
+        // The next chunk to consume plus the read ahead ones, the next chunk is polled right after
+        while (pendingChunks.size() <= readAheadChunks && nextChunkToFetch < chunkCount) {
+            pendingChunks.add(store.readChunk(blobId, generation, nextChunkToFetch++));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Output stream of a {@link ChunkedBlobStore}. Bytes are buffered until a chunk is full, the chunk is then
+ * written asynchronously while the next one is being buffered. Writing blocks while <em>writeConcurrency</em>
+ * chunks are in flight.
+ * <br/>
+ * The chunks are written under a new generation of the object, the metadata is switched to it
+ * on {@link #close()} once all chunks are stored,
+ * a failed chunk write is reported by the next call to {@link #write(int)}, {@link #flush()} or {@link #close()}
+ */
+public class ChunkedBlobOutputStream extends OutputStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedBlobOutputStream.class);
+
+    private final ChunkedBlobStore store;
+    private final String blobId;
+    private final UUID generation;
+    private final int chunkSize;
+    private final int writeConcurrency;
+    private final Semaphore inFlight;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private byte[] buffer;
+    private int position = 0;
+    private int chunkIndex = 0;
+    private long totalSize = 0;
+    private boolean closed = false;
+
+    ChunkedBlobOutputStream(ChunkedBlobStore store, String blobId, UUID generation, int chunkSize, int writeConcurrency) {
+        this.store = store;
+        this.blobId = blobId;
+        this.generation = generation;
+        this.chunkSize = chunkSize;
+        this.writeConcurrency = writeConcurrency;
+        this.inFlight = new Semaphore(writeConcurrency);
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        buffer[position++] = (byte) b;
+        totalSize++;
+        if (position == chunkSize) {
+            sendChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException(format("Invalid offset %s and length %s for an array of %s bytes",
+                    offset, length, bytes.length));
+        }
+        while (length > 0) {
+            final int copied = Math.min(length, chunkSize - position);
+            System.arraycopy(bytes, offset, buffer, position, copied);
+            position += copied;
+            offset += copied;
+            length -= copied;
+            totalSize += copied;
+            if (position == chunkSize) {
+                sendChunk();
+            }
+        }
+    }
+
+    /**
+     * Wait until all the full chunks written so far are stored. The partially filled chunk is kept
+     * in the buffer, it is only sent when full or on {@link #close()}
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        awaitInFlightChunks();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (position > 0) {
+            sendChunk();
+        }
+        awaitInFlightChunks();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Switching blob '%s' to generation %s : %s chunks for %s bytes",
+                    blobId, generation, chunkIndex, totalSize));
+        }
+        try {
+            Uninterruptibles.getUninterruptibly(store.switchGeneration(blobId, generation, chunkIndex, totalSize));
+        } catch (Exception e) {
+            throw new IOException(format("Cannot write metadata of blob '%s'", blobId), e);
+        }
+    }
+
+    private void sendChunk() throws IOException {
+        inFlight.acquireUninterruptibly();
+        checkFailure();
+        // The filled buffer is handed to the driver without copy, a fresh one receives the next chunk
+        final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, position);
+        store.writeChunk(blobId, generation, chunkIndex, chunk).whenComplete((rs, throwable) -> {
+            if (throwable != null) {
+                failure.compareAndSet(null, throwable);
+            }
+            inFlight.release();
+        });
+        chunkIndex++;
+        position = 0;
+        buffer = new byte[chunkSize];
+    }
+
+    private void awaitInFlightChunks() throws IOException {
+        inFlight.acquireUninterruptibly(writeConcurrency);
+        inFlight.release(writeConcurrency);
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        final Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw new IOException(format("Cannot write a chunk of blob '%s'", blobId), throwable);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException(format("The output stream of blob '%s' is closed", blobId));
+        }
+        checkFailure();
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.lt;
+import static java.lang.String.format;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.querybuilder.Delete;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.utils.UUIDs;
+import com.datastax.driver.core.schemabuilder.SchemaBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.query.AsyncAware;
+import info.archinnov.achilles.type.Empty;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Store large objects in a companion table, split into fixed-size chunks.
+ * <br/>
+ * Each object is one partition of the table:
+ * <pre class="code"><code class="sql">
+ * CREATE TABLE IF NOT EXISTS my_blobs(
+ *    blob_id text,
+ *    generation timeuuid,
+ *    chunk_index int,
+ *    current_generation timeuuid static,
+ *    chunk_count int static,
+ *    chunk_size int static,
+ *    total_size bigint static,
+ *    data blob,
+ *    PRIMARY KEY(blob_id, generation, chunk_index))
+ * </code></pre>
+ * Each write of an object stores its chunks under a new <em>generation</em>, at most <em>writeConcurrency</em>
+ * chunks being in flight. Once all chunks are stored, the static metadata columns are switched to this generation
+ * in a single insert and the chunks of older generations are deleted. Readers only read the chunks of the
+ * generation found in the metadata so they never see a mix of two versions of an object, nor the trailing
+ * chunks of a larger previous version.
+ * <br/>
+ * The metadata insert is timestamped with the time of its generation, when the same object is written concurrently
+ * the most recent generation wins whatever the order in which the writes complete, the chunks of the other one
+ * being deleted. A reader streaming a version of an object that is replaced or deleted meanwhile fails with a
+ * missing chunk error once the chunks of its version are deleted, it is never served the content of another version.
+ * <br/>
+ * Objects are read either at once with {@link #readAsync(String)} or streamed with {@link #openInputStream(String)},
+ * the stream fetching the <em>readAheadChunks</em> chunks following the one being read.
+ * <br/>
+ * Chunk buffers are handed to the driver as-is, the byte arrays given to {@link #writeAsync(String, ByteBuffer)}
+ * or to the {@link OutputStream} must not be modified until the write has completed
+ */
+public class ChunkedBlobStore implements AsyncAware {
+
+    static final String BLOB_ID = "blob_id";
+    static final String GENERATION = "generation";
+    static final String CHUNK_INDEX = "chunk_index";
+    static final String CURRENT_GENERATION = "current_generation";
+    static final String CHUNK_COUNT = "chunk_count";
+    static final String CHUNK_SIZE = "chunk_size";
+    static final String TOTAL_SIZE = "total_size";
+    static final String DATA = "data";
+
+    // A byte buffer cannot hold more than Integer.MAX_VALUE bytes, some JVMs reserving a few header words
+    static final long MAX_IN_MEMORY_SIZE = Integer.MAX_VALUE - 8;
+
+    // Number of 100ns intervals between the UUID epoch (1582-10-15) and the Unix epoch
+    private static final long UUID_EPOCH_OFFSET = 0x01B21DD213814000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedBlobStore.class);
+
+    private final RuntimeEngine rte;
+    private final String keyspace;
+    private final String tableName;
+    private final int chunkSize;
+    private final int writeConcurrency;
+    private final int readAheadChunks;
+
+    public ChunkedBlobStore(RuntimeEngine rte, String keyspace, String tableName) {
+        Validator.validateNotBlank(keyspace, "The keyspace of the chunked blob table '%s' should be defined", tableName);
+        Validator.validateNotBlank(tableName, "The chunked blob table name should not be blank");
+        final ConfigurationContext configContext = rte.configContext;
+        this.rte = rte;
+        this.keyspace = keyspace;
+        this.tableName = tableName;
+        this.chunkSize = Math.max(1, configContext.getChunkedBlobChunkSizeInBytes());
+        this.writeConcurrency = Math.max(1, configContext.getChunkedBlobWriteConcurrency());
+        this.readAheadChunks = Math.max(0, configContext.getChunkedBlobReadAheadChunks());
+    }
+
+    /**
+     * Create the companion table of this store if it does not exist yet
+     *
+     * @return this chunked blob store
+     */
+    public ChunkedBlobStore createTableIfNotExists() {
+        final String createTable = SchemaBuilder.createTable(keyspace, tableName)
+                .ifNotExists()
+                .addPartitionKey(BLOB_ID, DataType.text())
+                .addClusteringColumn(GENERATION, DataType.timeuuid())
+                .addClusteringColumn(CHUNK_INDEX, DataType.cint())
+                .addStaticColumn(CURRENT_GENERATION, DataType.timeuuid())
+                .addStaticColumn(CHUNK_COUNT, DataType.cint())
+                .addStaticColumn(CHUNK_SIZE, DataType.cint())
+                .addStaticColumn(TOTAL_SIZE, DataType.bigint())
+                .addColumn(DATA, DataType.blob())
+                .getQueryString();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Creating chunked blob table : %s", createTable));
+        }
+        rte.session.execute(createTable);
+        return this;
+    }
+
+    /**
+     * Open a stream writing an object chunk by chunk. A full chunk is sent as soon as it is buffered,
+     * writing to the stream blocks while <em>writeConcurrency</em> chunks are in flight.
+     * The object is visible to readers once the stream is closed
+     *
+     * @param blobId id of the object
+     * @return output stream
+     */
+    public OutputStream openOutputStream(String blobId) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        return new ChunkedBlobOutputStream(this, blobId, UUIDs.timeBased(), chunkSize, writeConcurrency);
+    }
+
+    /**
+     * Write an object, the chunks are slices of the given buffer and are not copied
+     *
+     * @param blobId  id of the object
+     * @param payload content of the object, from its position to its limit
+     * @return completable future completing once all chunks and the metadata are written
+     */
+    public CompletableFuture<Empty> writeAsync(String blobId, ByteBuffer payload) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        Validator.validateNotNull(payload, "The payload of blob '%s' should not be null", blobId);
+        final ByteBuffer source = payload.duplicate();
+        final long totalSize = source.remaining();
+        final int chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        final UUID generation = UUIDs.timeBased();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Writing blob '%s' of %s bytes as %s chunks of generation %s in table %s.%s",
+                    blobId, totalSize, chunkCount, generation, keyspace, tableName));
+        }
+
+        final CompletableFuture<List<ResultSet>> chunks = inWindows(chunkCount, writeConcurrency, index -> {
+            final ByteBuffer chunk = source.duplicate();
+            chunk.position(source.position() + index * chunkSize);
+            chunk.limit(Math.min(source.limit(), chunk.position() + chunkSize));
+            return writeChunk(blobId, generation, index, chunk.slice());
+        });
+        return chunks.thenCompose(x -> switchGeneration(blobId, generation, chunkCount, totalSize));
+    }
+
+    /**
+     * Write an object
+     *
+     * @param blobId  id of the object
+     * @param payload content of the object
+     */
+    public void write(String blobId, byte[] payload) {
+        Validator.validateNotNull(payload, "The payload of blob '%s' should not be null", blobId);
+        getUninterruptibly(writeAsync(blobId, ByteBuffer.wrap(payload)));
+    }
+
+    /**
+     * Open a stream reading an object chunk by chunk, the <em>readAheadChunks</em> chunks
+     * following the one being read are fetched in the background
+     *
+     * @param blobId id of the object
+     * @return input stream or empty if the object does not exist
+     */
+    public Optional<InputStream> openInputStream(String blobId) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        return getUninterruptibly(readMetadata(blobId))
+                .map(metadata -> new ChunkedBlobInputStream(this, blobId, metadata.getUUID(CURRENT_GENERATION),
+                        metadata.getInt(CHUNK_COUNT), readAheadChunks));
+    }
+
+    /**
+     * Read a whole object in memory, chunks being fetched in parallel. Objects larger than
+     * {@link Integer#MAX_VALUE} bytes cannot be held in a single buffer and should be read
+     * with {@link #openInputStream(String)}
+     *
+     * @param blobId id of the object
+     * @return completable future of the object content, or empty if the object does not exist
+     */
+    public CompletableFuture<Optional<ByteBuffer>> readAsync(String blobId) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        return readMetadata(blobId).thenCompose(maybeMetadata -> {
+            if (!maybeMetadata.isPresent()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            final Row metadata = maybeMetadata.get();
+            final long totalSize = metadata.getLong(TOTAL_SIZE);
+            if (totalSize > MAX_IN_MEMORY_SIZE) {
+                throw new AchillesException(format("Blob '%s' of %s bytes is too large to be read in memory, use openInputStream() instead",
+                        blobId, totalSize));
+            }
+            final UUID generation = metadata.getUUID(CURRENT_GENERATION);
+            return inWindows(metadata.getInt(CHUNK_COUNT), Math.max(1, readAheadChunks), index -> readChunk(blobId, generation, index))
+                    .thenApply(chunks -> {
+                        final ByteBuffer content = ByteBuffer.allocate((int) totalSize);
+                        chunks.forEach(content::put);
+                        content.flip();
+                        return Optional.of(content);
+                    });
+        });
+    }
+
+    /**
+     * Read a whole object in memory
+     *
+     * @param blobId id of the object
+     * @return object content or empty if the object does not exist
+     */
+    public Optional<byte[]> read(String blobId) {
+        return getUninterruptibly(readAsync(blobId)).map(ByteBuffer::array);
+    }
+
+    /**
+     * @param blobId id of the object
+     * @return size of the object in bytes or empty if the object does not exist
+     */
+    public Optional<Long> size(String blobId) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        return getUninterruptibly(readMetadata(blobId)).map(metadata -> metadata.getLong(TOTAL_SIZE));
+    }
+
+    /**
+     * Delete an object and all its chunks
+     *
+     * @param blobId id of the object
+     * @return completable future completing once the object is deleted
+     */
+    public CompletableFuture<Empty> deleteAsync(String blobId) {
+        Validator.validateNotBlank(blobId, "The blob id should not be blank");
+        final PreparedStatement ps = rte.prepareDynamicQuery(QueryBuilder.delete()
+                .from(keyspace, tableName)
+                .where(eq(BLOB_ID, bindMarker(BLOB_ID))));
+        return rte.execute(withWriteConsistency(ps.bind(blobId))).thenApply(x -> Empty.INSTANCE);
+    }
+
+    /**
+     * Delete an object and all its chunks
+     *
+     * @param blobId id of the object
+     */
+    public void delete(String blobId) {
+        getUninterruptibly(deleteAsync(blobId));
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    CompletableFuture<ResultSet> writeChunk(String blobId, UUID generation, int index, ByteBuffer chunk) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(QueryBuilder.insertInto(keyspace, tableName)
+                .value(BLOB_ID, bindMarker(BLOB_ID))
+                .value(GENERATION, bindMarker(GENERATION))
+                .value(CHUNK_INDEX, bindMarker(CHUNK_INDEX))
+                .value(DATA, bindMarker(DATA)));
+        return rte.execute(withWriteConsistency(ps.bind(blobId, generation, index, chunk)));
+    }
+
+    /**
+     * Make the given generation the current one once all its chunks are stored, then delete the chunks of
+     * the generations it replaces. If a more recent generation won meanwhile, the chunks of the given one
+     * are deleted instead
+     */
+    CompletableFuture<Empty> switchGeneration(String blobId, UUID generation, int chunkCount, long totalSize) {
+        return writeMetadata(blobId, generation, chunkCount, totalSize)
+                .thenCompose(x -> readMetadata(blobId))
+                .thenCompose(metadata -> {
+                    final boolean won = metadata.map(row -> generation.equals(row.getUUID(CURRENT_GENERATION))).orElse(false);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug(format("Generation %s of blob '%s' %s, deleting %s", generation, blobId,
+                                won ? "is current" : "was superseded", won ? "older generations" : "its chunks"));
+                    }
+                    return deleteGenerations(blobId, generation, won);
+                })
+                .thenApply(x -> Empty.INSTANCE);
+    }
+
+    CompletableFuture<ResultSet> writeMetadata(String blobId, UUID generation, int chunkCount, long totalSize) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(QueryBuilder.insertInto(keyspace, tableName)
+                .value(BLOB_ID, bindMarker(BLOB_ID))
+                .value(CURRENT_GENERATION, bindMarker(CURRENT_GENERATION))
+                .value(CHUNK_COUNT, bindMarker(CHUNK_COUNT))
+                .value(CHUNK_SIZE, bindMarker(CHUNK_SIZE))
+                .value(TOTAL_SIZE, bindMarker(TOTAL_SIZE)));
+        final BoundStatement bs = ps.bind(blobId, generation, chunkCount, chunkSize, totalSize);
+        // The most recent generation wins whatever the order in which concurrent writes of the object complete
+        bs.setDefaultTimestamp(toMicros(generation));
+        return rte.execute(withWriteConsistency(bs));
+    }
+
+    CompletableFuture<ResultSet> deleteGenerations(String blobId, UUID generation, boolean olderOnly) {
+        final Delete.Where delete = QueryBuilder.delete()
+                .from(keyspace, tableName)
+                .where(eq(BLOB_ID, bindMarker(BLOB_ID)))
+                .and(olderOnly ? lt(GENERATION, bindMarker(GENERATION)) : eq(GENERATION, bindMarker(GENERATION)));
+        final PreparedStatement ps = rte.prepareDynamicQuery(delete);
+        return rte.execute(withWriteConsistency(ps.bind(blobId, generation)));
+    }
+
+    CompletableFuture<Optional<Row>> readMetadata(String blobId) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(QueryBuilder.select(CURRENT_GENERATION, CHUNK_COUNT, CHUNK_SIZE, TOTAL_SIZE)
+                .from(keyspace, tableName)
+                .where(eq(BLOB_ID, bindMarker(BLOB_ID)))
+                .limit(1));
+        return rte.execute(withReadConsistency(ps.bind(blobId)))
+                .thenApply(rs -> Optional.ofNullable(rs.one()).filter(row -> !row.isNull(CURRENT_GENERATION)));
+    }
+
+    CompletableFuture<ByteBuffer> readChunk(String blobId, UUID generation, int index) {
+        final PreparedStatement ps = rte.prepareDynamicQuery(QueryBuilder.select(DATA)
+                .from(keyspace, tableName)
+                .where(eq(BLOB_ID, bindMarker(BLOB_ID)))
+                .and(eq(GENERATION, bindMarker(GENERATION)))
+                .and(eq(CHUNK_INDEX, bindMarker(CHUNK_INDEX))));
+        return rte.execute(withReadConsistency(ps.bind(blobId, generation, index)))
+                .thenApply(rs -> {
+                    final Row row = rs.one();
+                    if (row == null || row.isNull(DATA)) {
+                        throw new AchillesException(format("Chunk %s of blob '%s' is missing in table %s.%s, " +
+                                        "the blob may have been rewritten or deleted while being read",
+                                index, blobId, keyspace, tableName));
+                    }
+                    return row.getBytes(DATA);
+                });
+    }
+
+    static long toMicros(UUID generation) {
+        return (generation.timestamp() - UUID_EPOCH_OFFSET) / 10;
+    }
+
+    /**
+     * Run <em>count</em> async operations with at most <em>concurrency</em> of them in flight,
+     * the results being returned in index order
+     */
+    static <T> CompletableFuture<List<T>> inWindows(int count, int concurrency, IntFunction<CompletableFuture<T>> operation) {
+        final AtomicReferenceArray<T> results = new AtomicReferenceArray<>(count);
+        final AtomicInteger nextIndex = new AtomicInteger(0);
+        final List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, concurrency); i++) {
+            lanes.add(runLane(nextIndex, count, operation, results));
+        }
+        return CompletableFuture
+                .allOf(lanes.toArray(new CompletableFuture[lanes.size()]))
+                .thenApply(x -> {
+                    final List<T> ordered = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        ordered.add(results.get(i));
+                    }
+                    return ordered;
+                });
+    }
+
+    private static <T> CompletableFuture<Void> runLane(AtomicInteger nextIndex, int count,
+                                                       IntFunction<CompletableFuture<T>> operation, AtomicReferenceArray<T> results) {
+        final int index = nextIndex.getAndIncrement();
+        if (index >= count) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return operation.apply(index).thenCompose(result -> {
+            results.set(index, result);
+            return runLane(nextIndex, count, operation, results);
+        });
+    }
+
+    private BoundStatement withWriteConsistency(BoundStatement bs) {
+        final ConsistencyLevel consistencyLevel = rte.configContext.getWriteConsistencyLevelForTable(tableName);
+        if (consistencyLevel != null) {
+            bs.setConsistencyLevel(consistencyLevel);
+        } else {
+            rte.configContext.getDefaultWriteConsistencyLevel().ifPresent(bs::setConsistencyLevel);
+        }
+        return bs;
+    }
+
+    private BoundStatement withReadConsistency(BoundStatement bs) {
+        final ConsistencyLevel consistencyLevel = rte.configContext.getReadConsistencyLevelForTable(tableName);
+        if (consistencyLevel != null) {
+            bs.setConsistencyLevel(consistencyLevel);
+        } else {
+            rte.configContext.getDefaultReadConsistencyLevel().ifPresent(bs::setConsistencyLevel);
+        }
+        return bs;
+    }
+
+    private <T> T getUninterruptibly(CompletableFuture<T> future) {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+}
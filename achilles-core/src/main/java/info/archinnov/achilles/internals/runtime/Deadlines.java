@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import info.archinnov.achilles.exception.AchillesDeadlineExceededException;
+
+/**
+ * Enforce the deadline of an execution on its CompletableFuture
+ */
+final class Deadlines {
+
+    private Deadlines() {
+    }
+
+    static boolean isExpired(Instant deadline) {
+        return !Instant.now().isBefore(deadline);
+    }
+
+    static AchillesDeadlineExceededException deadlineExceeded(Instant deadline, String queryString) {
+        return new AchillesDeadlineExceededException(format("Deadline %s exceeded for query %s", deadline, queryString));
+    }
+
+    /**
+     * Return a CompletableFuture completing like the given future, or failing with an
+     * {@link info.archinnov.achilles.exception.AchillesDeadlineExceededException} when the deadline passes first.
+     * On expiry the given future is cancelled, which cancels the underlying driver future when it is not
+     * yet completed
+     */
+    static <T> CompletableFuture<T> enforce(CompletableFuture<T> future, Instant deadline, String queryString) {
+        if (future.isDone()) {
+            return future;
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long delayInNanos = Math.max(0L, Duration.between(Instant.now(), deadline).toNanos());
+        final ScheduledFuture<?> timer = BatchingScheduler.schedule(() -> {
+            future.cancel(true);
+            result.completeExceptionally(deadlineExceeded(deadline, queryString));
+        }, delayInNanos, TimeUnit.NANOSECONDS);
+
+        future.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+            if (throwable instanceof CancellationException && isExpired(deadline)) {
+                result.completeExceptionally(deadlineExceeded(deadline, queryString));
+            } else if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.type.interceptor.Event.POST_INSERT;
+import static info.archinnov.achilles.type.interceptor.Event.POST_LOAD;
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import info.archinnov.achilles.internals.metamodel.*;
+import info.archinnov.achilles.type.interceptor.Event;
+import info.archinnov.achilles.type.interceptor.Interceptor;
+
+/**
+ * Track the state of entity instances loaded or inserted by Achilles.
+ * <br/>
+ * A snapshot of the encoded static and normal columns is taken on <em>POST_LOAD</em> and <em>POST_INSERT</em>
+ * events, and refreshed with the values written by an UPDATE. The snapshot is compared to the current state
+ * of the instance to generate an UPDATE writing only the changed columns. Non-frozen collections are updated with append/add/remove/put operations
+ * whenever the change can be expressed that way.
+ * <br/>
+ * Instances are referenced weakly and compared by identity, an instance which is no longer used is
+ * removed from the tracker by the garbage collector
+ */
+public class DirtyTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirtyTracker.class);
+
+    private final Set<Class<?>> trackedEntities;
+    private final Cache<Object, Map<String, Object>> snapshots = CacheBuilder.newBuilder().weakKeys().build();
+
+    public DirtyTracker(Collection<Class<?>> trackedEntities) {
+        this.trackedEntities = new HashSet<>(trackedEntities);
+    }
+
+    public boolean isEnabledFor(Class<?> entityClass) {
+        return trackedEntities.contains(entityClass);
+    }
+
+    /**
+     * Register an interceptor taking a snapshot of loaded and inserted instances. The interceptor
+     * is registered first so that the snapshot reflects the state before any user interceptor
+     */
+    public <T> void register(AbstractEntityProperty<T> meta) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Enable dirty tracking for entity %s", meta.entityClass.getCanonicalName()));
+        }
+        meta.interceptors.add(0, new Interceptor<T>() {
+            @Override
+            public boolean acceptEntity(Class<?> entityClass) {
+                return meta.entityClass.equals(entityClass);
+            }
+
+            @Override
+            public void onEvent(T entity, Event event) {
+                snapshot(meta, entity);
+            }
+
+            @Override
+            public List<Event> interceptOnEvents() {
+                return Arrays.asList(POST_LOAD, POST_INSERT);
+            }
+        });
+    }
+
+    public <T> void snapshot(AbstractEntityProperty<T> meta, T instance) {
+        if (instance == null) {
+            return;
+        }
+        snapshots.put(instance, encodeColumns(meta, instance));
+    }
+
+    /**
+     * Record the given encoded columns, as returned by {@link #encodeColumns(AbstractEntityProperty, Object)},
+     * as the snapshot of the instance
+     */
+    public void snapshot(Object instance, Map<String, Object> encodedColumns) {
+        snapshots.put(instance, encodedColumns);
+    }
+
+    /**
+     * Encode the static and normal columns of the instance, each value being deep copied
+     *
+     * @return encoded values by CQL column name
+     */
+    public <T> Map<String, Object> encodeColumns(AbstractEntityProperty<T> meta, T instance) {
+        final Map<String, Object> encodedColumns = new HashMap<>();
+        for (AbstractProperty<T, ?, ?> property : updatableColumns(meta)) {
+            encodedColumns.put(property.fieldInfo.cqlColumn, copyOf(property.encodeField(instance)));
+        }
+        return encodedColumns;
+    }
+
+    /**
+     * Refresh the snapshot of the given columns only, if the instance is already tracked
+     */
+    public <T> void snapshotColumns(List<AbstractProperty<T, ?, ?>> columns, T instance) {
+        final Map<String, Object> snapshot = snapshots.getIfPresent(instance);
+        if (snapshot != null) {
+            for (AbstractProperty<T, ?, ?> property : columns) {
+                snapshot.put(property.fieldInfo.cqlColumn, copyOf(property.encodeField(instance)));
+            }
+        }
+    }
+
+    public Optional<Map<String, Object>> getSnapshot(Object instance) {
+        return Optional.ofNullable(snapshots.getIfPresent(instance));
+    }
+
+    /**
+     * Compute the column updates of the instance since its last snapshot
+     *
+     * @return column updates, empty if the instance is not tracked
+     */
+    public <T> Optional<List<ColumnUpdate>> diff(AbstractEntityProperty<T> meta, T instance) {
+        if (!getSnapshot(instance).isPresent()) {
+            return Optional.empty();
+        }
+        return diff(meta, instance, encodeColumns(meta, instance));
+    }
+
+    /**
+     * Compute the column updates between the last snapshot of the instance and the given encoded columns
+     *
+     * @return column updates, empty if the instance is not tracked
+     */
+    public <T> Optional<List<ColumnUpdate>> diff(AbstractEntityProperty<T> meta, T instance, Map<String, Object> encodedColumns) {
+        final Optional<Map<String, Object>> snapshot = getSnapshot(instance);
+        if (!snapshot.isPresent()) {
+            return Optional.empty();
+        }
+
+        final List<ColumnUpdate> updates = new ArrayList<>();
+        for (AbstractProperty<T, ?, ?> property : updatableColumns(meta)) {
+            final Object oldValue = snapshot.get().get(property.fieldInfo.cqlColumn);
+            final Object newValue = encodedColumns.get(property.fieldInfo.cqlColumn);
+            if (!Objects.equals(oldValue, newValue)) {
+                updates.add(diffColumn(property, oldValue, newValue));
+            }
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Changed columns of entity %s : %s", instance, updates));
+        }
+        return Optional.of(updates);
+    }
+
+    /**
+     * @return number of instances currently tracked
+     */
+    public long getTrackedCount() {
+        snapshots.cleanUp();
+        return snapshots.size();
+    }
+
+    public static <T> List<AbstractProperty<T, ?, ?>> updatableColumns(AbstractEntityProperty<T> meta) {
+        final List<AbstractProperty<T, ?, ?>> columns = new ArrayList<>(meta.staticColumns);
+        columns.addAll(meta.normalColumns);
+        return columns;
+    }
+
+    @SuppressWarnings("unchecked")
+    static ColumnUpdate diffColumn(AbstractProperty<?, ?, ?> property, Object oldValue, Object newValue) {
+        if (oldValue == null || newValue == null) {
+            return ColumnUpdate.of(property, UpdateKind.SET, newValue);
+        }
+
+        if (property instanceof ListProperty && !((ListProperty) property).frozen) {
+            final List<Object> oldList = (List<Object>) oldValue;
+            final List<Object> newList = (List<Object>) newValue;
+            if (newList.size() > oldList.size() && newList.subList(0, oldList.size()).equals(oldList)) {
+                return ColumnUpdate.of(property, UpdateKind.APPEND, new ArrayList<>(newList.subList(oldList.size(), newList.size())));
+            }
+        } else if (property instanceof SetProperty && !((SetProperty) property).frozen) {
+            final Set<Object> oldSet = (Set<Object>) oldValue;
+            final Set<Object> newSet = (Set<Object>) newValue;
+            if (newSet.containsAll(oldSet)) {
+                final Set<Object> added = new HashSet<>(newSet);
+                added.removeAll(oldSet);
+                return ColumnUpdate.of(property, UpdateKind.ADD, added);
+            } else if (oldSet.containsAll(newSet)) {
+                final Set<Object> removed = new HashSet<>(oldSet);
+                removed.removeAll(newSet);
+                return ColumnUpdate.of(property, UpdateKind.REMOVE, removed);
+            }
+        } else if (property instanceof MapProperty && !((MapProperty) property).frozen) {
+            final Map<Object, Object> oldMap = (Map<Object, Object>) oldValue;
+            final Map<Object, Object> newMap = (Map<Object, Object>) newValue;
+            if (newMap.keySet().containsAll(oldMap.keySet())) {
+                final Map<Object, Object> put = new HashMap<>();
+                newMap.forEach((key, value) -> {
+                    if (!Objects.equals(value, oldMap.get(key))) {
+                        put.put(key, value);
+                    }
+                });
+                return ColumnUpdate.of(property, UpdateKind.PUT, put);
+            }
+        }
+        return ColumnUpdate.of(property, UpdateKind.SET, newValue);
+    }
+
+    /**
+     * Deep copy of an encoded value, so that the snapshot is not changed by in-place modifications
+     * of the instance. A byte[] field for example is encoded as a ByteBuffer wrapping the very same array.
+     * UDT and tuple values are rebuilt on each encoding and other encoded types are immutable
+     */
+    static Object copyOf(Object encodedValue) {
+        if (encodedValue instanceof ByteBuffer) {
+            final ByteBuffer source = (ByteBuffer) encodedValue;
+            final ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+            copy.put(source.duplicate()).flip();
+            return copy;
+        } else if (encodedValue instanceof Date) {
+            return ((Date) encodedValue).clone();
+        } else if (encodedValue instanceof List) {
+            final List<Object> copy = new ArrayList<>();
+            ((List<?>) encodedValue).forEach(x -> copy.add(copyOf(x)));
+            return copy;
+        } else if (encodedValue instanceof Set) {
+            final Set<Object> copy = new HashSet<>();
+            ((Set<?>) encodedValue).forEach(x -> copy.add(copyOf(x)));
+            return copy;
+        } else if (encodedValue instanceof Map) {
+            final Map<Object, Object> copy = new HashMap<>();
+            ((Map<?, ?>) encodedValue).forEach((key, value) -> copy.put(copyOf(key), copyOf(value)));
+            return copy;
+        }
+        return encodedValue;
+    }
+
+    public enum UpdateKind {
+        SET,
+        APPEND,
+        ADD,
+        REMOVE,
+        PUT
+    }
+
+    public static class ColumnUpdate {
+        public final AbstractProperty<?, ?, ?> property;
+        public final UpdateKind kind;
+        public final Object encodedValue;
+
+        private ColumnUpdate(AbstractProperty<?, ?, ?> property, UpdateKind kind, Object encodedValue) {
+            this.property = property;
+            this.kind = kind;
+            this.encodedValue = encodedValue;
+        }
+
+        public static ColumnUpdate of(AbstractProperty<?, ?, ?> property, UpdateKind kind, Object encodedValue) {
+            return new ColumnUpdate(property, kind, encodedValue);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("ColumnUpdate{");
+            sb.append("column=").append(property.fieldInfo.cqlColumn);
+            sb.append(", kind=").append(kind);
+            sb.append(", encodedValue=").append(encodedValue);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
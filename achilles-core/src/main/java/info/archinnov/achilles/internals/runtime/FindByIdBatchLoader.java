@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateSelectQueryWithInOnLastClustering;
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * DataLoader-style batching of <em>findById</em> calls.
+ * <br/>
+ * Primary keys passed to {@link #load(Object...)} are collected until either the batch window
+ * elapses or the max batch size is reached. The batch is then dispatched this way:
+ * <ul>
+ *     <li>keys are grouped by partition key and, for clustered entities, by all clustering columns but the last one</li>
+ *     <li>a group with several distinct keys is read with a single <em>SELECT ... WHERE last_clustering IN ?</em> query</li>
+ *     <li>a group with a single distinct key is read with the usual <em>findById</em> prepared statement</li>
+ * </ul>
+ * Duplicate keys in the same batch are read only once but each caller gets its own entity instance.
+ * The future of a key that does not exist completes with <strong>null</strong>.
+ * <br/>
+ * Statements are prepared when the batch loader is created so that a dispatch triggered by the batch window
+ * never waits on a prepare round trip on the shared scheduler thread.
+ * <br/>
+ * A batch loader instance is meant to be short-lived, typically one instance per incoming request
+ */
+public class FindByIdBatchLoader<ENTITY> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindByIdBatchLoader.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+    private final int maxBatchSize;
+    private final long batchWindowInMs;
+    private final PreparedStatement findByIdPs;
+    private final Optional<PreparedStatement> findByIdsWithInPs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong loadsCount = new AtomicLong(0);
+    private final AtomicLong queriesCount = new AtomicLong(0);
+    private List<PendingLoad<ENTITY>> pendingLoads = new ArrayList<>();
+    private ScheduledFuture<?> scheduledDispatch;
+
+    public FindByIdBatchLoader(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, int maxBatchSize, long batchWindowInMs) {
+        validateTrue(maxBatchSize > 0, "Batch loader max size should be strictly positive");
+        validateTrue(batchWindowInMs >= 0, "Batch loader window should be positive");
+        this.meta = meta;
+        this.rte = rte;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowInMs = batchWindowInMs;
+        this.findByIdPs = FIND.getPreparedStatement(rte, meta, new Options());
+        this.findByIdsWithInPs = meta.isClustered()
+                ? Optional.of(rte.prepareDynamicQuery(generateSelectQueryWithInOnLastClustering(meta)))
+                : Optional.empty();
+    }
+
+    /**
+     * Register a primary key to be loaded with the next batch
+     *
+     * @param primaryKeyValues values of the partition key(s) then clustering column(s), in declaration order
+     * @return CompletableFuture of the entity, completed with null if the entity does not exist
+     */
+    public CompletableFuture<ENTITY> load(Object... primaryKeyValues) {
+        final List<AbstractProperty<ENTITY, ?, ?>> primaryKeys = primaryKeyProperties();
+        validateNotNull(primaryKeyValues, "Primary key values should not be null");
+        validateTrue(primaryKeyValues.length == primaryKeys.size(),
+                "Expecting %s primary key values for entity %s but got %s", primaryKeys.size(),
+                meta.entityClass.getCanonicalName(), primaryKeyValues.length);
+
+        final Object[] encodedPrimaryKeyValues = new Object[primaryKeyValues.length];
+        for (int i = 0; i < primaryKeyValues.length; i++) {
+            final AbstractProperty<ENTITY, ?, ?> property = primaryKeys.get(i);
+            validateNotNull(primaryKeyValues[i], "Primary key '%s' should not be null", property.fieldName);
+            encodedPrimaryKeyValues[i] = property.encodeFromRaw(primaryKeyValues[i]);
+        }
+
+        final PendingLoad<ENTITY> pendingLoad = new PendingLoad<>(primaryKeyValues, encodedPrimaryKeyValues);
+        loadsCount.incrementAndGet();
+
+        List<PendingLoad<ENTITY>> fullBatch = null;
+        lock.lock();
+        try {
+            pendingLoads.add(pendingLoad);
+            if (pendingLoads.size() >= maxBatchSize) {
+                fullBatch = drainPendingLoads();
+            } else if (scheduledDispatch == null) {
+                scheduledDispatch = BatchingScheduler.schedule(() -> dispatch(), batchWindowInMs);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return pendingLoad.future;
+    }
+
+    /**
+     * Dispatch immediately all the pending loads without waiting for the batch window
+     */
+    public void dispatch() {
+        final List<PendingLoad<ENTITY>> batch;
+        lock.lock();
+        try {
+            batch = drainPendingLoads();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * @return number of keys loaded by this batch loader
+     */
+    public long getLoadsCount() {
+        return loadsCount.get();
+    }
+
+    /**
+     * @return number of CQL queries issued by this batch loader
+     */
+    public long getQueriesCount() {
+        return queriesCount.get();
+    }
+
+    private List<PendingLoad<ENTITY>> drainPendingLoads() {
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        final List<PendingLoad<ENTITY>> batch = pendingLoads;
+        pendingLoads = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingLoad<ENTITY>> batch) {
+        if (batch.isEmpty()) return;
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Dispatch batch of %s findById for entity %s", batch.size(), meta.entityClass.getCanonicalName()));
+        }
+
+        final int groupingKeySize = meta.isClustered()
+                ? meta.partitionKeys.size() + meta.clusteringColumns.size() - 1
+                : meta.partitionKeys.size();
+
+        final Map<List<Object>, List<PendingLoad<ENTITY>>> groups = new LinkedHashMap<>();
+        for (PendingLoad<ENTITY> pendingLoad : batch) {
+            groups.computeIfAbsent(pendingLoad.encodedPrimaryKey.subList(0, groupingKeySize), key -> new ArrayList<>())
+                    .add(pendingLoad);
+        }
+
+        for (List<PendingLoad<ENTITY>> group : groups.values()) {
+            final Map<List<Object>, PendingLoad<ENTITY>> distinctKeys = new LinkedHashMap<>();
+            group.forEach(pendingLoad -> distinctKeys.putIfAbsent(pendingLoad.encodedPrimaryKey, pendingLoad));
+
+            if (distinctKeys.size() == 1) {
+                final PendingLoad<ENTITY> first = group.get(0);
+                readAndComplete(findByIdPs, first.primaryKeyValues, first.encodedPrimaryKey.toArray(), group);
+            } else {
+                final PendingLoad<ENTITY> first = group.get(0);
+                final List<Object> boundValues = new ArrayList<>(Arrays.asList(first.primaryKeyValues).subList(0, groupingKeySize));
+                final List<Object> encodedBoundValues = new ArrayList<>(first.encodedPrimaryKey.subList(0, groupingKeySize));
+                boundValues.add(distinctKeys.values().stream().map(x -> x.primaryKeyValues[groupingKeySize]).collect(toList()));
+                encodedBoundValues.add(distinctKeys.keySet().stream().map(x -> x.get(groupingKeySize)).collect(toList()));
+
+                // Distinct keys of a group only differ by their last clustering column, the entity is clustered
+                readAndComplete(findByIdsWithInPs.get(), boundValues.toArray(), encodedBoundValues.toArray(), group);
+            }
+        }
+    }
+
+    private void readAndComplete(PreparedStatement ps, Object[] boundValues, Object[] encodedBoundValues, List<PendingLoad<ENTITY>> group) {
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, boundValues, encodedBoundValues);
+        statementWrapper.applyOptions(new Options());
+        queriesCount.incrementAndGet();
+
+        final CompletableFuture<Map<List<Object>, Row>> futureRows;
+        try {
+            futureRows = rte.execute(statementWrapper)
+                    .thenApply(statementWrapper::logReturnResults)
+                    .thenApply(rs -> rs.all()
+                            .stream()
+                            .collect(HashMap::new, (map, row) -> map.put(extractEncodedPrimaryKey(row), row), Map::putAll));
+        } catch (Throwable throwable) {
+            group.forEach(pendingLoad -> pendingLoad.future.completeExceptionally(throwable));
+            return;
+        }
+
+        futureRows.whenComplete((rows, throwable) -> {
+            for (PendingLoad<ENTITY> pendingLoad : group) {
+                if (throwable != null) {
+                    pendingLoad.future.completeExceptionally(throwable);
+                    continue;
+                }
+                try {
+                    // Each caller gets its own entity instance
+                    final ENTITY instance = meta.createEntityFrom(rows.get(pendingLoad.encodedPrimaryKey));
+                    meta.triggerInterceptorsForEvent(Event.POST_LOAD, instance);
+                    pendingLoad.future.complete(instance);
+                } catch (Throwable mappingException) {
+                    pendingLoad.future.completeExceptionally(mappingException);
+                }
+            }
+        });
+    }
+
+    private List<Object> extractEncodedPrimaryKey(Row row) {
+        return primaryKeyProperties()
+                .stream()
+                .map(property -> encodedValueFromRow(property, row))
+                .collect(toList());
+    }
+
+    private List<AbstractProperty<ENTITY, ?, ?>> primaryKeyProperties() {
+        final List<AbstractProperty<ENTITY, ?, ?>> primaryKeys = new ArrayList<>(meta.partitionKeys);
+        primaryKeys.addAll(meta.clusteringColumns);
+        return primaryKeys;
+    }
+
+    private static <T, V> Object encodedValueFromRow(AbstractProperty<T, V, ?> property, Row row) {
+        return property.encodeFromJava(property.decodeFromGettable(row));
+    }
+
+    private static class PendingLoad<ENTITY> {
+        private final Object[] primaryKeyValues;
+        private final List<Object> encodedPrimaryKey;
+        private final CompletableFuture<ENTITY> future = new CompletableFuture<>();
+
+        private PendingLoad(Object[] primaryKeyValues, Object[] encodedPrimaryKeyValues) {
+            this.primaryKeyValues = primaryKeyValues;
+            this.encodedPrimaryKey = Arrays.asList(encodedPrimaryKeyValues);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.statements.PreparedStatementGenerator.generateSelectColumnsQuery;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.query.AsyncAware;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.Empty;
+
+/**
+ * Load on demand the columns of already loaded entity instances, typically the <em>@Lazy</em> columns
+ * which are excluded from the default SELECT projection.
+ * <br/>
+ * The instances are grouped by partition key and, for clustered entities, by all clustering columns but the last one.
+ * Each group is read with a single query selecting only the primary key and the requested columns,
+ * using <em>IN ?</em> on the last clustering column when the group contains several rows
+ */
+public class LazyColumnLoader<ENTITY> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyColumnLoader.class);
+
+    private final AbstractEntityProperty<ENTITY> meta;
+    private final RuntimeEngine rte;
+
+    public LazyColumnLoader(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte) {
+        this.meta = meta;
+        this.rte = rte;
+    }
+
+    /**
+     * Load the given columns into the instances
+     *
+     * @param instances entity instances, with their primary key set
+     * @param columns columns to load, all the lazy columns of the entity if empty
+     * @return CompletableFuture completed when all the instances have been loaded
+     */
+    public CompletableFuture<Empty> load(List<ENTITY> instances, List<AbstractProperty<ENTITY, ?, ?>> columns) {
+        validateNotNull(instances, "Entity instances to load lazy columns into should not be null");
+        final List<AbstractProperty<ENTITY, ?, ?>> columnsToLoad = columns.isEmpty() ? meta.lazyColumns : columns;
+        validateTrue(!columnsToLoad.isEmpty(), "Entity %s has no lazy column to load", meta.entityClass.getCanonicalName());
+        for (AbstractProperty<ENTITY, ?, ?> column : columnsToLoad) {
+            validateTrue(meta.staticColumns.contains(column) || meta.normalColumns.contains(column),
+                    "Column '%s' is not a normal or static column of entity %s", column.fieldName, meta.entityClass.getCanonicalName());
+        }
+
+        if (instances.isEmpty()) {
+            return CompletableFuture.completedFuture(Empty.INSTANCE);
+        }
+
+        final List<AbstractProperty<ENTITY, ?, ?>> primaryKeys = primaryKeyProperties();
+        final int groupingKeySize = meta.isClustered() ? primaryKeys.size() - 1 : primaryKeys.size();
+
+        final Map<List<Object>, Map<List<Object>, List<ENTITY>>> groups = new LinkedHashMap<>();
+        for (ENTITY instance : instances) {
+            validateNotNull(instance, "Entity instance to load lazy columns into should not be null");
+            final List<Object> encodedPrimaryKey = primaryKeys
+                    .stream()
+                    .map(x -> {
+                        final Object encoded = x.encodeField(instance);
+                        validateNotNull(encoded, "Primary key '%s' should not be null", x.fieldName);
+                        return encoded;
+                    })
+                    .collect(toList());
+            groups.computeIfAbsent(encodedPrimaryKey.subList(0, groupingKeySize), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(encodedPrimaryKey, key -> new ArrayList<>())
+                    .add(instance);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Load columns %s of %s instances of entity %s with %s queries",
+                    columnsToLoad.stream().map(x -> x.fieldName).collect(toList()), instances.size(),
+                    meta.entityClass.getCanonicalName(), groups.size()));
+        }
+
+        final CompletableFuture<?>[] futures = groups
+                .values()
+                .stream()
+                .map(group -> loadGroup(group, columnsToLoad, groupingKeySize))
+                .toArray(CompletableFuture<?>[]::new);
+
+        return CompletableFuture.allOf(futures).thenApply(x -> Empty.INSTANCE);
+    }
+
+    private CompletableFuture<Void> loadGroup(Map<List<Object>, List<ENTITY>> group, List<AbstractProperty<ENTITY, ?, ?>> columns,
+                                              int groupingKeySize) {
+        final List<Object> firstKey = group.keySet().iterator().next();
+        final boolean inOnLastClustering = group.size() > 1;
+        final Object[] encodedBoundValues;
+        if (inOnLastClustering) {
+            final List<Object> values = new ArrayList<>(firstKey.subList(0, groupingKeySize));
+            values.add(group.keySet().stream().map(x -> x.get(groupingKeySize)).collect(toList()));
+            encodedBoundValues = values.toArray();
+        } else {
+            encodedBoundValues = firstKey.toArray();
+        }
+
+        final PreparedStatement ps = rte.prepareDynamicQuery(generateSelectColumnsQuery(meta, columns, inOnLastClustering));
+        final StatementWrapper statementWrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps,
+                encodedBoundValues, encodedBoundValues);
+        statementWrapper.applyOptions(new Options());
+
+        return rte.execute(statementWrapper)
+                .thenApply(statementWrapper::logReturnResults)
+                .thenAccept(rs -> {
+                    for (Row row : rs.all()) {
+                        final List<ENTITY> rowInstances = group.get(extractEncodedPrimaryKey(row));
+                        if (rowInstances == null) continue;
+                        for (ENTITY instance : rowInstances) {
+                            columns.forEach(x -> x.decodeField(row, instance));
+                            if (rte.dirtyTracker.isEnabledFor(meta.entityClass)) {
+                                rte.dirtyTracker.snapshotColumns(columns, instance);
+                            }
+                        }
+                    }
+                });
+    }
+
+    private List<Object> extractEncodedPrimaryKey(Row row) {
+        return primaryKeyProperties()
+                .stream()
+                .map(property -> encodedValueFromRow(property, row))
+                .collect(toList());
+    }
+
+    private List<AbstractProperty<ENTITY, ?, ?>> primaryKeyProperties() {
+        final List<AbstractProperty<ENTITY, ?, ?>> primaryKeys = new ArrayList<>(meta.partitionKeys);
+        primaryKeys.addAll(meta.clusteringColumns);
+        return primaryKeys;
+    }
+
+    private static <T, V> Object encodedValueFromRow(AbstractProperty<T, V, ?> property, Row row) {
+        return property.encodeFromJava(property.decodeFromGettable(row));
+    }
+}
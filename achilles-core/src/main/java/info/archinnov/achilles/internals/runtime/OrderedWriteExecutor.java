@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.strategy.WriteOrderingStrategy;
+
+/**
+ * Serialize asynchronous writes per partition key or per primary key, in execution order.
+ * <br/>
+ * Each key has a chain of in-flight writes: a new write on the key is only sent once the previous
+ * write on the same key has completed (successfully or not). Writes on distinct keys are sent in parallel.
+ * The chain of a key is removed as soon as its last write completes.
+ * <br/>
+ * With {@link WriteOrderingStrategy#PRIMARY_KEY}, partition-scoped writes (partition deletes, static columns,
+ * range deletes, see {@link WriteTargets}) are ordered with every write of their partition: they wait for all
+ * in-flight row writes of the partition, and later row writes of the partition wait for them
+ */
+public class OrderedWriteExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderedWriteExecutor.class);
+
+    private final WriteOrderingStrategy strategy;
+    private final Session session;
+    // ReentrantLock rather than synchronized so that virtual threads are not pinned to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<List<Object>, PartitionChains> partitions = new HashMap<>();
+
+    public OrderedWriteExecutor(WriteOrderingStrategy strategy, Session session) {
+        this.strategy = strategy;
+        this.session = session;
+    }
+
+    public boolean isEnabled() {
+        return strategy != WriteOrderingStrategy.NONE;
+    }
+
+    public boolean isOrdered(StatementWrapper wrapper) {
+        return wrapper.getOperationType().isUpsert;
+    }
+
+    /**
+     * Execute the write once all previous writes on the same key have completed
+     *
+     * @param wrapper  write statement wrapper
+     * @param executor actual execution of the write
+     * @return CompletableFuture of the write ResultSet
+     */
+    public CompletableFuture<ResultSet> execute(StatementWrapper wrapper, Function<StatementWrapper, CompletableFuture<ResultSet>> executor) {
+        final List<Object> partitionKey = partitionKeyOf(wrapper);
+        if (partitionKey == null) {
+            return executor.apply(wrapper);
+        }
+        final Optional<List<ByteBuffer>> rowKey = strategy == WriteOrderingStrategy.PRIMARY_KEY
+                ? WriteTargets.rowKeyOf(wrapper)
+                : Optional.empty();
+
+        final CompletableFuture<ResultSet> write = new CompletableFuture<>();
+        final List<CompletableFuture<ResultSet>> previousWrites;
+        lock.lock();
+        try {
+            previousWrites = partitions
+                    .computeIfAbsent(partitionKey, key -> new PartitionChains())
+                    .append(rowKey, write);
+        } finally {
+            lock.unlock();
+        }
+
+        final Runnable send = () -> {
+            final CompletableFuture<ResultSet> execution;
+            try {
+                execution = executor.apply(wrapper);
+            } catch (Throwable throwable) {
+                completeWrite(partitionKey, rowKey, write, null, throwable);
+                return;
+            }
+            execution.whenComplete((resultSet, throwable) -> completeWrite(partitionKey, rowKey, write, resultSet, throwable));
+        };
+
+        if (previousWrites.isEmpty()) {
+            send.run();
+        } else {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Write on partition %s waiting for %s previous in-flight write(s)", partitionKey, previousWrites.size()));
+            }
+            CompletableFuture
+                    .allOf(previousWrites.toArray(new CompletableFuture<?>[previousWrites.size()]))
+                    .whenComplete((result, throwable) -> send.run());
+        }
+        return write;
+    }
+
+    /**
+     * @return the number of write chains having in-flight writes
+     */
+    public int getInFlightKeysCount() {
+        lock.lock();
+        try {
+            return partitions.values().stream().mapToInt(PartitionChains::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void completeWrite(List<Object> partitionKey, Optional<List<ByteBuffer>> rowKey, CompletableFuture<ResultSet> write,
+                               ResultSet resultSet, Throwable throwable) {
+        lock.lock();
+        try {
+            final PartitionChains chains = partitions.get(partitionKey);
+            if (chains != null && chains.remove(rowKey, write)) {
+                partitions.remove(partitionKey);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (throwable != null) {
+            write.completeExceptionally(throwable);
+        } else {
+            write.complete(resultSet);
+        }
+    }
+
+    private List<Object> partitionKeyOf(StatementWrapper wrapper) {
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final Configuration configuration = session.getCluster().getConfiguration();
+        final ByteBuffer routingKey = bs.getRoutingKey(configuration.getProtocolOptions().getProtocolVersion(), configuration.getCodecRegistry());
+        if (routingKey == null) {
+            return null;
+        }
+        return Arrays.asList(bs.getKeyspace(), routingKey);
+    }
+
+    /**
+     * Tails of the write chains of a partition. A partition-scoped write depends on every tail,
+     * and then becomes the only tail, so that a row write only has to wait for a single previous write:
+     * the last write on its row, or else the last partition-scoped write
+     */
+    private static class PartitionChains {
+        private CompletableFuture<ResultSet> partitionTail;
+        private final Map<List<ByteBuffer>, CompletableFuture<ResultSet>> rowTails = new HashMap<>();
+
+        private List<CompletableFuture<ResultSet>> append(Optional<List<ByteBuffer>> rowKey, CompletableFuture<ResultSet> write) {
+            final List<CompletableFuture<ResultSet>> previousWrites = new ArrayList<>();
+            if (rowKey.isPresent()) {
+                final CompletableFuture<ResultSet> previous = rowTails.put(rowKey.get(), write);
+                if (previous != null) {
+                    previousWrites.add(previous);
+                } else if (partitionTail != null) {
+                    previousWrites.add(partitionTail);
+                }
+            } else {
+                if (partitionTail != null) {
+                    previousWrites.add(partitionTail);
+                }
+                previousWrites.addAll(rowTails.values());
+                rowTails.clear();
+                partitionTail = write;
+            }
+            return previousWrites;
+        }
+
+        /**
+         * @return whether the partition has no more in-flight write
+         */
+        private boolean remove(Optional<List<ByteBuffer>> rowKey, CompletableFuture<ResultSet> write) {
+            if (rowKey.isPresent()) {
+                rowTails.remove(rowKey.get(), write);
+            } else if (partitionTail == write) {
+                partitionTail = null;
+            }
+            return partitionTail == null && rowTails.isEmpty();
+        }
+
+        private int size() {
+            return rowTails.size() + (partitionTail != null ? 1 : 0);
+        }
+    }
+}
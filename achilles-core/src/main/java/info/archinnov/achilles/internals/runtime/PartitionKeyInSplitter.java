@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.statements.BoundStatementWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.ConcatenatedResultSet;
+import info.archinnov.achilles.internals.types.MergedResultSet;
+
+/**
+ * Split a SELECT with an <em>IN</em> clause on the partition key into single-partition queries.
+ * <br/>
+ * Each single-partition query binds a one-element list to the same prepared statement and carries its routing key
+ * so that it is sent directly to a replica. At most <em>maxConcurrency</em> queries are in flight,
+ * the results are chained in the order of the <em>IN</em> values.
+ * <br/>
+ * Statements with a global LIMIT, an ORDER BY or a paging state are not split since per-partition results
+ * cannot be chained into the same result
+ */
+public class PartitionKeyInSplitter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionKeyInSplitter.class);
+    private static final Pattern NOT_SPLITTABLE_PATTERN = Pattern.compile("(?<!PARTITION)\\sLIMIT\\s|\\sORDER\\s+BY\\s",
+            Pattern.CASE_INSENSITIVE);
+    private static final String EQ_MARKER_SUFFIX = "_Eq";
+    private static final String LIMIT_MARKER = "lim";
+
+    private final List<Class<?>> entities;
+    private final int maxConcurrency;
+    private final Session session;
+    private final AtomicLong splitStatementsCount = new AtomicLong(0);
+    private final AtomicLong singlePartitionQueriesCount = new AtomicLong(0);
+
+    public PartitionKeyInSplitter(List<Class<?>> entities, int maxConcurrency, Session session) {
+        this.entities = entities;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.session = session;
+    }
+
+    /**
+     * @return whether the statement should be split, as requested per query or else per entity
+     */
+    public boolean isEnabledFor(AbstractEntityProperty<?> meta, Options options) {
+        return !options.hasPagingState()
+                && options.getPartitionKeyInSplit().orElseGet(() -> entities.contains(meta.entityClass));
+    }
+
+    /**
+     * Create one statement per distinct combination of partition key values
+     *
+     * @return single-partition statements, empty if the statement has no partition key IN clause or cannot be split
+     */
+    public List<StatementWrapper> split(AbstractEntityProperty<?> meta, PreparedStatement ps, Object[] boundValues,
+                                        Object[] encodedValues, Options options) {
+        if (NOT_SPLITTABLE_PATTERN.matcher(ps.getQueryString()).find()) {
+            return Collections.emptyList();
+        }
+        return splitPartitions(meta, ps, boundValues, encodedValues, options);
+    }
+
+    /**
+     * Create one statement per distinct combination of partition key values, to be merged by clustering order.
+     * Unlike {@link #split(AbstractEntityProperty, PreparedStatement, Object[], Object[], Options)}, the LIMIT and
+     * ORDER BY clauses are kept: they apply to each partition and the merge applies them globally
+     *
+     * @return single-partition statements, empty if the statement has no partition key IN clause
+     */
+    public List<StatementWrapper> splitForMerge(AbstractEntityProperty<?> meta, PreparedStatement ps, Object[] boundValues,
+                                                Object[] encodedValues, Options options) {
+        return splitPartitions(meta, ps, boundValues, encodedValues, options);
+    }
+
+    private List<StatementWrapper> splitPartitions(AbstractEntityProperty<?> meta, PreparedStatement ps, Object[] boundValues,
+                                                   Object[] encodedValues, Options options) {
+        final int partitionKeysCount = meta.partitionKeys.size();
+        final ColumnDefinitions variables = ps.getVariables();
+        if (encodedValues.length < partitionKeysCount || variables.size() < partitionKeysCount) {
+            return Collections.emptyList();
+        }
+
+        // The SELECT DSL binds the partition key components first, each with an EQ or an IN relation
+        final boolean[] inRelations = new boolean[partitionKeysCount];
+        final List<List<?>> rawComponents = new ArrayList<>();
+        final List<List<?>> encodedComponents = new ArrayList<>();
+        boolean hasInRelation = false;
+        for (int i = 0; i < partitionKeysCount; i++) {
+            final AbstractProperty<?, ?, ?> partitionKey = meta.partitionKeys.get(i);
+            final String variable = variables.getName(i);
+            if (variable.equalsIgnoreCase(unquote(partitionKey.getColumnForSelect())) && encodedValues[i] instanceof List) {
+                inRelations[i] = true;
+                hasInRelation = true;
+                rawComponents.add((List<?>) boundValues[i]);
+                encodedComponents.add((List<?>) encodedValues[i]);
+            } else if (variable.equalsIgnoreCase(partitionKey.fieldName + EQ_MARKER_SUFFIX)) {
+                rawComponents.add(Collections.singletonList(boundValues[i]));
+                encodedComponents.add(Collections.singletonList(encodedValues[i]));
+            } else {
+                return Collections.emptyList();
+            }
+        }
+        if (!hasInRelation) {
+            return Collections.emptyList();
+        }
+
+        // Distinct combinations in IN values order, keyed by encoded values
+        final Map<List<Object>, List<Object>> combinations = new LinkedHashMap<>();
+        for (List<Integer> indexes : cartesianIndexes(encodedComponents)) {
+            final List<Object> encoded = new ArrayList<>(partitionKeysCount);
+            final List<Object> raw = new ArrayList<>(partitionKeysCount);
+            for (int i = 0; i < partitionKeysCount; i++) {
+                encoded.add(encodedComponents.get(i).get(indexes.get(i)));
+                raw.add(rawComponents.get(i).get(indexes.get(i)));
+            }
+            combinations.putIfAbsent(encoded, raw);
+        }
+        if (combinations.size() <= 1) {
+            return Collections.emptyList();
+        }
+
+        final Configuration configuration = session.getCluster().getConfiguration();
+        final ProtocolVersion protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        final CodecRegistry codecRegistry = configuration.getCodecRegistry();
+        final List<StatementWrapper> wrappers = new ArrayList<>(combinations.size());
+        for (Map.Entry<List<Object>, List<Object>> combination : combinations.entrySet()) {
+            final Object[] splitBoundValues = boundValues.clone();
+            final Object[] splitEncodedValues = encodedValues.clone();
+            final ByteBuffer[] routingKeyComponents = new ByteBuffer[partitionKeysCount];
+            for (int i = 0; i < partitionKeysCount; i++) {
+                final Object encoded = combination.getKey().get(i);
+                if (inRelations[i]) {
+                    splitBoundValues[i] = Collections.singletonList(combination.getValue().get(i));
+                    splitEncodedValues[i] = Collections.singletonList(encoded);
+                }
+                final DataType dataType = inRelations[i]
+                        ? variables.getType(i).getTypeArguments().get(0)
+                        : variables.getType(i);
+                routingKeyComponents[i] = codecRegistry.codecFor(dataType).serialize(encoded, protocolVersion);
+            }
+
+            final StatementWrapper wrapper = new BoundStatementWrapper(OperationType.SELECT, meta, ps, splitBoundValues, splitEncodedValues);
+            wrapper.applyOptions(options);
+            wrapper.getBoundStatement().setRoutingKey(composeRoutingKey(routingKeyComponents));
+            wrappers.add(wrapper);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Split statement %s into %s single-partition queries", ps.getQueryString(), wrappers.size()));
+        }
+        return wrappers;
+    }
+
+    /**
+     * Execute the single-partition statements with bounded concurrency
+     *
+     * @return result sets chained in the statements order
+     */
+    public CompletableFuture<ResultSet> execute(List<StatementWrapper> wrappers, Function<StatementWrapper, CompletableFuture<ResultSet>> execution) {
+        return executeAll(wrappers, execution).thenApply(ConcatenatedResultSet::new);
+    }
+
+    /**
+     * Execute the single-partition statements with bounded concurrency and merge their results lazily
+     * by clustering order. At most <em>limit</em> rows are returned, if positive
+     */
+    public CompletableFuture<ResultSet> executeMerged(List<StatementWrapper> wrappers, Function<StatementWrapper, CompletableFuture<ResultSet>> execution,
+                                                      Comparator<Row> comparator, int limit) {
+        return executeAll(wrappers, execution).thenApply(resultSets -> new MergedResultSet(resultSets, comparator, limit));
+    }
+
+    /**
+     * @return value bound to the LIMIT clause of the statement, 0 if none
+     */
+    public static int extractLimit(PreparedStatement ps, Object[] encodedValues) {
+        final ColumnDefinitions variables = ps.getVariables();
+        for (int i = 0; i < Math.min(variables.size(), encodedValues.length); i++) {
+            if (LIMIT_MARKER.equalsIgnoreCase(variables.getName(i)) && encodedValues[i] instanceof Integer) {
+                return (Integer) encodedValues[i];
+            }
+        }
+        return 0;
+    }
+
+    private CompletableFuture<List<ResultSet>> executeAll(List<StatementWrapper> wrappers, Function<StatementWrapper, CompletableFuture<ResultSet>> execution) {
+        splitStatementsCount.incrementAndGet();
+        singlePartitionQueriesCount.addAndGet(wrappers.size());
+
+        final List<CompletableFuture<ResultSet>> results = wrappers
+                .stream()
+                .map(wrapper -> new CompletableFuture<ResultSet>())
+                .collect(toList());
+        final AtomicInteger nextIndex = new AtomicInteger(0);
+        for (int i = 0; i < Math.min(maxConcurrency, wrappers.size()); i++) {
+            executeNext(wrappers, results, nextIndex, execution);
+        }
+
+        return CompletableFuture
+                .allOf(results.toArray(new CompletableFuture[results.size()]))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).collect(toList()));
+    }
+
+    private void executeNext(List<StatementWrapper> wrappers, List<CompletableFuture<ResultSet>> results, AtomicInteger nextIndex,
+                             Function<StatementWrapper, CompletableFuture<ResultSet>> execution) {
+        final int index = nextIndex.getAndIncrement();
+        if (index >= wrappers.size()) {
+            return;
+        }
+
+        CompletableFuture<ResultSet> future;
+        try {
+            future = execution.apply(wrappers.get(index));
+        } catch (Throwable throwable) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(throwable);
+        }
+
+        future.whenComplete((resultSet, throwable) -> {
+            if (throwable != null) {
+                results.get(index).completeExceptionally(throwable);
+                // Do not start the remaining queries, the whole statement fails anyway
+                for (int skipped = nextIndex.getAndSet(wrappers.size()); skipped < wrappers.size(); skipped++) {
+                    results.get(skipped).completeExceptionally(throwable);
+                }
+            } else {
+                results.get(index).complete(resultSet);
+                executeNext(wrappers, results, nextIndex, execution);
+            }
+        });
+    }
+
+    static List<List<Integer>> cartesianIndexes(List<List<?>> components) {
+        List<List<Integer>> indexes = Collections.singletonList(Collections.emptyList());
+        for (List<?> component : components) {
+            final List<List<Integer>> expanded = new ArrayList<>(indexes.size() * component.size());
+            for (List<Integer> prefix : indexes) {
+                for (int i = 0; i < component.size(); i++) {
+                    final List<Integer> combination = new ArrayList<>(prefix);
+                    combination.add(i);
+                    expanded.add(combination);
+                }
+            }
+            indexes = expanded;
+        }
+        return indexes;
+    }
+
+    /**
+     * Same layout as the composite routing keys computed by the Java driver
+     */
+    static ByteBuffer composeRoutingKey(ByteBuffer... components) {
+        if (components.length == 1) {
+            return components[0];
+        }
+        int size = 0;
+        for (ByteBuffer component : components) {
+            size += 2 + component.remaining() + 1;
+        }
+        final ByteBuffer routingKey = ByteBuffer.allocate(size);
+        for (ByteBuffer component : components) {
+            final ByteBuffer duplicate = component.duplicate();
+            routingKey.put((byte) ((duplicate.remaining() >> 8) & 0xFF));
+            routingKey.put((byte) (duplicate.remaining() & 0xFF));
+            routingKey.put(duplicate);
+            routingKey.put((byte) 0);
+        }
+        routingKey.flip();
+        return routingKey;
+    }
+
+    private static String unquote(String cqlColumn) {
+        return cqlColumn.startsWith("\"") && cqlColumn.endsWith("\"") && cqlColumn.length() > 1
+                ? cqlColumn.substring(1, cqlColumn.length() - 1)
+                : cqlColumn;
+    }
+
+    /**
+     * @return number of statements split into single-partition queries
+     */
+    public long getSplitStatementsCount() {
+        return splitStatementsCount.get();
+    }
+
+    /**
+     * @return number of single-partition queries issued for split statements
+     */
+    public long getSinglePartitionQueriesCount() {
+        return singlePartitionQueriesCount.get();
+    }
+}
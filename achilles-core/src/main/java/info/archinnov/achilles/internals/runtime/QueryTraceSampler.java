@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.TraceRetrievalException;
+
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+
+/**
+ * Enable query tracing on a sample of the statements and aggregate the traces into a {@link SlowQueryReport}.
+ * <br/>
+ * A statement is traced:
+ * <ul>
+ *     <li>with the sample rate of its entity, or else of its operation, or else the default sample rate</li>
+ *     <li>if one of the previous executions of the same query shape exceeded the latency threshold.
+ *     The next <em>tracedExecutions</em> executions of this shape are then traced</li>
+ * </ul>
+ * Traces are retrieved and aggregated only for executions slow enough to enter the report. Retrieving a trace
+ * blocks on the system_traces keyspace, it is done on a small dedicated pool of daemon threads rather than on the
+ * executor service shared with the asynchronous operations. Traces are dropped when this pool is saturated
+ */
+public class QueryTraceSampler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryTraceSampler.class);
+    private static final Pattern THREAD_INDEX_PATTERN = Pattern.compile("[-:]\\d+$");
+    private static final int TRACE_RETRIEVAL_THREADS = 2;
+    private static final int TRACE_RETRIEVAL_QUEUE_SIZE = 100;
+    private static final Executor TRACE_RETRIEVAL_EXECUTOR = createTraceRetrievalExecutor();
+
+    private final double sampleRate;
+    private final Map<Class<?>, Double> entitySampleRates;
+    private final Map<QuotaOperation, Double> operationSampleRates;
+    private final long latencyThresholdInMicros;
+    private final int tracedExecutions;
+    private final SlowQueryReport report;
+    private final Executor traceRetrievalExecutor;
+    private final ConcurrentMap<String, AtomicInteger> pendingTraces = new ConcurrentHashMap<>();
+    private final AtomicLong sampledCount = new AtomicLong(0);
+    private final AtomicLong triggeredCount = new AtomicLong(0);
+
+    public QueryTraceSampler(double sampleRate, Map<Class<?>, Double> entitySampleRates, Map<QuotaOperation, Double> operationSampleRates,
+                             long latencyThresholdInMs, int tracedExecutions, int reportSize) {
+        this(sampleRate, entitySampleRates, operationSampleRates, latencyThresholdInMs, tracedExecutions, reportSize,
+                TRACE_RETRIEVAL_EXECUTOR);
+    }
+
+    QueryTraceSampler(double sampleRate, Map<Class<?>, Double> entitySampleRates, Map<QuotaOperation, Double> operationSampleRates,
+                      long latencyThresholdInMs, int tracedExecutions, int reportSize, Executor traceRetrievalExecutor) {
+        this.sampleRate = sampleRate;
+        this.entitySampleRates = entitySampleRates;
+        this.operationSampleRates = operationSampleRates;
+        this.latencyThresholdInMicros = TimeUnit.MILLISECONDS.toMicros(latencyThresholdInMs);
+        this.tracedExecutions = tracedExecutions;
+        this.report = new SlowQueryReport(reportSize);
+        this.traceRetrievalExecutor = traceRetrievalExecutor;
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0 || !entitySampleRates.isEmpty() || !operationSampleRates.isEmpty()
+                || (latencyThresholdInMicros > 0 && tracedExecutions > 0);
+    }
+
+    /**
+     * Enable tracing on the statement if it is sampled or if its query shape has been slow recently
+     */
+    public void maybeEnableTracing(StatementWrapper wrapper) {
+        final BoundStatement bs = wrapper.getBoundStatement();
+        if (bs.isTracing()) {
+            return;
+        }
+
+        final String queryString = bs.preparedStatement().getQueryString();
+        if (consumePendingTrace(queryString)) {
+            triggeredCount.incrementAndGet();
+            bs.enableTracing();
+        } else {
+            final double rate = sampleRateFor(wrapper);
+            if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+                sampledCount.incrementAndGet();
+                bs.enableTracing();
+            }
+        }
+    }
+
+    /**
+     * Record the latency of an execution and, if it was traced, aggregate its trace asynchronously
+     */
+    public void record(StatementWrapper wrapper, long latencyInNanos, ResultSet resultSet) {
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final String queryString = bs.preparedStatement().getQueryString();
+        final long latencyInMicros = TimeUnit.NANOSECONDS.toMicros(latencyInNanos);
+
+        if (latencyThresholdInMicros > 0 && tracedExecutions > 0 && latencyInMicros >= latencyThresholdInMicros) {
+            if (pendingTraces.putIfAbsent(queryString, new AtomicInteger(tracedExecutions)) == null && LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Slow execution (%s us) of statement %s, tracing its next %s executions",
+                        latencyInMicros, queryString, tracedExecutions));
+            }
+        }
+
+        if (resultSet == null || !bs.isTracing() || !report.accepts(latencyInMicros)) {
+            return;
+        }
+
+        final ExecutionInfo executionInfo = resultSet.getExecutionInfo();
+        final Optional<Class<?>> entityClass = Optional.ofNullable(wrapper.getEntityProperty()).map(x -> x.entityClass);
+        final Instant executedAt = Instant.now();
+        try {
+            // Retrieving the trace queries the system_traces keyspace and blocks, keep it off the driver I/O threads
+            // and off the shared executor service
+            traceRetrievalExecutor.execute(() -> report.add(toSlowQuery(queryString, entityClass, latencyInMicros, executedAt, executionInfo)));
+        } catch (RejectedExecutionException ex) {
+            LOGGER.debug(format("Cannot aggregate trace of statement %s, trace retrieval threads are saturated", queryString));
+        }
+    }
+
+    double sampleRateFor(StatementWrapper wrapper) {
+        if (!entitySampleRates.isEmpty() && wrapper.getEntityProperty() != null) {
+            final Double entityRate = entitySampleRates.get(wrapper.getEntityProperty().entityClass);
+            if (entityRate != null) {
+                return entityRate;
+            }
+        }
+        if (!operationSampleRates.isEmpty()) {
+            final Double operationRate = operationSampleRates.get(QuotaRateLimiter.toQuotaOperation(wrapper));
+            if (operationRate != null) {
+                return operationRate;
+            }
+        }
+        return sampleRate;
+    }
+
+    private boolean consumePendingTrace(String queryString) {
+        final AtomicInteger remaining = pendingTraces.get(queryString);
+        if (remaining == null) {
+            return false;
+        }
+        final int left = remaining.decrementAndGet();
+        if (left <= 0) {
+            pendingTraces.remove(queryString, remaining);
+        }
+        return left >= 0;
+    }
+
+    private SlowQuery toSlowQuery(String queryString, Optional<Class<?>> entityClass, long latencyInMicros,
+                                  Instant executedAt, ExecutionInfo executionInfo) {
+        Optional<InetAddress> coordinator = Optional.ofNullable(executionInfo.getQueriedHost()).map(Host::getAddress);
+        final Set<InetAddress> replicas = new LinkedHashSet<>();
+        Map<String, Long> stageDurations = new TreeMap<>();
+
+        final QueryTrace trace = executionInfo.getQueryTrace();
+        if (trace != null) {
+            try {
+                final List<QueryTrace.Event> events = trace.getEvents();
+                if (trace.getCoordinator() != null) {
+                    coordinator = Optional.of(trace.getCoordinator());
+                }
+                events.forEach(event -> replicas.add(event.getSource()));
+                stageDurations = computeStageDurations(events);
+            } catch (TraceRetrievalException ex) {
+                LOGGER.debug(format("Cannot retrieve trace of statement %s : %s", queryString, ex.getMessage()));
+            }
+        }
+        return new SlowQuery(queryString, entityClass, latencyInMicros, executedAt, coordinator, replicas, stageDurations);
+    }
+
+    private static Executor createTraceRetrievalExecutor() {
+        final AtomicInteger threadIndex = new AtomicInteger(0);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(TRACE_RETRIEVAL_THREADS, TRACE_RETRIEVAL_THREADS,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(TRACE_RETRIEVAL_QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("achilles-trace-retrieval-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Attribute the elapsed time between two consecutive events of a node to the stage
+     * (thread pool name without thread index) of the first event
+     */
+    static Map<String, Long> computeStageDurations(List<QueryTrace.Event> events) {
+        final Map<InetAddress, List<QueryTrace.Event>> eventsBySource = new HashMap<>();
+        events.forEach(event -> eventsBySource.computeIfAbsent(event.getSource(), source -> new ArrayList<>()).add(event));
+
+        final Map<String, Long> stageDurations = new TreeMap<>();
+        for (List<QueryTrace.Event> sourceEvents : eventsBySource.values()) {
+            sourceEvents.sort(Comparator.comparingInt(QueryTrace.Event::getSourceElapsedMicros));
+            for (int i = 0; i < sourceEvents.size() - 1; i++) {
+                final QueryTrace.Event current = sourceEvents.get(i);
+                final long elapsed = sourceEvents.get(i + 1).getSourceElapsedMicros() - current.getSourceElapsedMicros();
+                stageDurations.merge(toStage(current.getThreadName()), elapsed, Long::sum);
+            }
+        }
+        return stageDurations;
+    }
+
+    private static String toStage(String threadName) {
+        return threadName == null ? "unknown" : THREAD_INDEX_PATTERN.matcher(threadName).replaceFirst("");
+    }
+
+    public SlowQueryReport getReport() {
+        return report;
+    }
+
+    /**
+     * @return slowest traced executions, slowest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        return report.getSlowQueries();
+    }
+
+    /**
+     * @return number of statements traced by random sampling
+     */
+    public long getSampledCount() {
+        return sampledCount.get();
+    }
+
+    /**
+     * @return number of statements traced because a previous execution of the same shape was slow
+     */
+    public long getTriggeredCount() {
+        return triggeredCount.get();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.runtime.WriteBatcher.LWT_PATTERN;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+
+import info.archinnov.achilles.exception.AchillesRateLimitException;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+import info.archinnov.achilles.type.quota.RateLimitQuota;
+
+/**
+ * Enforce the configured {@link info.archinnov.achilles.type.quota.RateLimitQuota} before statements execution.
+ * <br/>
+ * Each quota is a token bucket refilled lazily with a single CAS on the next free permit time (no lock, no refill thread).
+ * A statement is admitted once every matching quota has a permit available and only then takes one permit from each
+ * of them, no permit is reserved ahead while waiting. When a permit is not yet available, the admission is retried
+ * later and the caller only gets a not-yet-completed <em>CompletableFuture</em>, no thread is blocked.
+ * <br/>
+ * A statement that would wait longer than the smallest max wait of its matching quotas is rejected
+ * with an {@link info.archinnov.achilles.exception.AchillesRateLimitException}
+ */
+public class QuotaRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuotaRateLimiter.class);
+    private static final Pattern WHERE_PATTERN = Pattern.compile("\\sWHERE\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\\sTOKEN\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    private final List<TokenBucket> buckets = new ArrayList<>();
+    private final AtomicLong throttledCount = new AtomicLong(0);
+    private final AtomicLong throttledTimeNanos = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+
+    public QuotaRateLimiter(List<RateLimitQuota> quotas) {
+        quotas.forEach(quota -> buckets.add(new TokenBucket(quota)));
+    }
+
+    public boolean isEnabled() {
+        return !buckets.isEmpty();
+    }
+
+    /**
+     * Execute the statement once a permit is available in every matching quota
+     *
+     * @param wrapper   statement to execute
+     * @param execution actual execution of the statement
+     * @return CompletableFuture of the statement result
+     */
+    public <T> CompletableFuture<T> execute(StatementWrapper wrapper, Supplier<CompletableFuture<T>> execution) {
+        final List<TokenBucket> matchingBuckets = matchingBuckets(wrapper.getEntityProperty().entityClass,
+                toQuotaOperation(wrapper), wrapper.getBoundStatement().getKeyspace());
+        final long startNanos = System.nanoTime();
+        final long waitNanos = tryAcquire(matchingBuckets, startNanos);
+        if (waitNanos <= 0) {
+            return execution.get();
+        }
+
+        throttledCount.incrementAndGet();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        awaitPermits(wrapper, matchingBuckets, execution, result, startNanos, startNanos, waitNanos);
+        return result;
+    }
+
+    /**
+     * @return number of statements whose execution has been delayed by a quota
+     */
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    /**
+     * @return cumulated delay imposed by quotas, in milliseconds
+     */
+    public long getThrottledTimeInMs() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledTimeNanos.get());
+    }
+
+    /**
+     * @return number of statements rejected because they would have waited longer than the max wait of a quota
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private <T> void awaitPermits(StatementWrapper wrapper, List<TokenBucket> matchingBuckets, Supplier<CompletableFuture<T>> execution,
+                                  CompletableFuture<T> result, long startNanos, long nowNanos, long waitNanos) {
+        final long maxWaitNanos = maxWaitNanos(matchingBuckets);
+        final String queryString = wrapper.getBoundStatement().preparedStatement().getQueryString();
+        if (nowNanos + waitNanos - startNanos > maxWaitNanos) {
+            rejectedCount.incrementAndGet();
+            result.completeExceptionally(new AchillesRateLimitException(
+                    format("Rate limit quota reached, statement %s would wait more than its max wait of %s ms",
+                            queryString, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos))));
+            return;
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Rate limit quota reached, delaying statement %s by %s ms",
+                    queryString, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+        }
+        BatchingScheduler.schedule(() -> {
+            final long now = System.nanoTime();
+            final long nextWaitNanos = tryAcquire(matchingBuckets, now);
+            if (nextWaitNanos > 0) {
+                // Another statement took the permit first
+                awaitPermits(wrapper, matchingBuckets, execution, result, startNanos, now, nextWaitNanos);
+                return;
+            }
+            throttledTimeNanos.addAndGet(now - startNanos);
+            try {
+                execution.get().whenComplete((value, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Take a permit from every given bucket if all of them have one available now
+     *
+     * @return 0 if the permits have been taken, otherwise the time to wait before the next attempt,
+     * no permit being consumed
+     */
+    static long tryAcquire(List<TokenBucket> matchingBuckets, long nowNanos) {
+        long waitNanos = 0;
+        for (TokenBucket bucket : matchingBuckets) {
+            waitNanos = Math.max(waitNanos, bucket.waitTime(nowNanos));
+        }
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        for (int i = 0; i < matchingBuckets.size(); i++) {
+            if (!matchingBuckets.get(i).tryAcquire(nowNanos)) {
+                // A concurrent statement took the last permit, give back the ones already taken
+                for (int j = 0; j < i; j++) {
+                    matchingBuckets.get(j).refund();
+                }
+                return Math.max(1L, matchingBuckets.get(i).waitTime(nowNanos));
+            }
+        }
+        return 0;
+    }
+
+    List<TokenBucket> matchingBuckets(Class<?> entityClass, QuotaOperation operation, String tenant) {
+        final List<TokenBucket> matchingBuckets = new ArrayList<>();
+        for (TokenBucket bucket : buckets) {
+            if (bucket.quota.matches(entityClass, operation, tenant)) {
+                matchingBuckets.add(bucket);
+            }
+        }
+        return matchingBuckets;
+    }
+
+    private static long maxWaitNanos(List<TokenBucket> matchingBuckets) {
+        long maxWaitInMs = Long.MAX_VALUE;
+        for (TokenBucket bucket : matchingBuckets) {
+            maxWaitInMs = Math.min(maxWaitInMs, bucket.quota.getMaxWaitInMs());
+        }
+        return TimeUnit.MILLISECONDS.toNanos(maxWaitInMs);
+    }
+
+    static QuotaOperation toQuotaOperation(StatementWrapper wrapper) {
+        final OperationType operationType = wrapper.getOperationType();
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final String queryString = bs.preparedStatement().getQueryString();
+        if (operationType == OperationType.SELECT) {
+            return !WHERE_PATTERN.matcher(queryString).find() || TOKEN_PATTERN.matcher(queryString).find()
+                    ? QuotaOperation.SCAN
+                    : QuotaOperation.READ;
+        } else if (operationType.isUpsert) {
+            return LWT_PATTERN.matcher(queryString).find()
+                    ? QuotaOperation.LWT
+                    : QuotaOperation.WRITE;
+        } else {
+            return null;
+        }
+    }
+
+    static class TokenBucket {
+        private final RateLimitQuota quota;
+        private final long intervalNanos;
+        private final long burstNanos;
+        // Time at which the next permit becomes free, the bucket is full when it lags now by burstNanos
+        private final AtomicLong nextFreeNanos;
+
+        TokenBucket(RateLimitQuota quota) {
+            this.quota = quota;
+            this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / quota.getPermitsPerSecond()));
+            this.burstNanos = intervalNanos * quota.getBurst();
+            this.nextFreeNanos = new AtomicLong(System.nanoTime() - burstNanos);
+        }
+
+        /**
+         * @return how long to wait before a permit is available, without taking it
+         */
+        long waitTime(long nowNanos) {
+            return Math.max(0L, nextFreeNanos.get() + intervalNanos - nowNanos);
+        }
+
+        /**
+         * Take a permit if one is available now
+         */
+        boolean tryAcquire(long nowNanos) {
+            long previous;
+            long next;
+            do {
+                previous = nextFreeNanos.get();
+                if (previous + intervalNanos > nowNanos) {
+                    return false;
+                }
+                next = Math.max(previous, nowNanos - burstNanos) + intervalNanos;
+            } while (!nextFreeNanos.compareAndSet(previous, next));
+            return true;
+        }
+
+        /**
+         * Give back a permit taken by {@link #tryAcquire(long)}
+         */
+        void refund() {
+            nextFreeNanos.addAndGet(-intervalNanos);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+/**
+ * Single-flight coalescing of concurrent reads by primary key.
+ * <br/>
+ * Concurrent requests for the same (entity class, primary key, consistency level) share
+ * the same in-flight CQL read. The entry is removed as soon as the read completes so there
+ * is no caching and no staleness: a request issued after completion triggers a new read
+ */
+public class ReadCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadCoalescer.class);
+
+    private final Set<Class<?>> coalescedEntities;
+    private final ConcurrentMap<ReadKey, CompletableFuture<Tuple2<Row, ExecutionInfo>>> inFlightReads = new ConcurrentHashMap<>();
+    private final AtomicLong issuedReads = new AtomicLong(0);
+    private final AtomicLong coalescedReads = new AtomicLong(0);
+
+    public ReadCoalescer(Collection<Class<?>> coalescedEntities) {
+        this.coalescedEntities = new HashSet<>(coalescedEntities);
+    }
+
+    public boolean isEnabledFor(Class<?> entityClass) {
+        return coalescedEntities.contains(entityClass);
+    }
+
+    public CompletableFuture<Tuple2<Row, ExecutionInfo>> coalesce(Class<?> entityClass, Object[] encodedPrimaryKeyValues,
+                                                                  ConsistencyLevel consistencyLevel,
+                                                                  Supplier<CompletableFuture<Tuple2<Row, ExecutionInfo>>> read) {
+        final ReadKey readKey = new ReadKey(entityClass, Arrays.asList(encodedPrimaryKeyValues), consistencyLevel);
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> sharedRead = new CompletableFuture<>();
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> inFlightRead = inFlightReads.putIfAbsent(readKey, sharedRead);
+
+        if (inFlightRead != null) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Coalescing read %s with in-flight read", readKey));
+            }
+            coalescedReads.incrementAndGet();
+            return inFlightRead;
+        }
+
+        issuedReads.incrementAndGet();
+        try {
+            read.get().whenComplete((result, throwable) -> {
+                inFlightReads.remove(readKey, sharedRead);
+                if (throwable != null) {
+                    sharedRead.completeExceptionally(throwable);
+                } else {
+                    sharedRead.complete(result);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlightReads.remove(readKey, sharedRead);
+            sharedRead.completeExceptionally(ex);
+        }
+        return sharedRead;
+    }
+
+    /**
+     * @return number of CQL reads actually sent to Cassandra through the coalescer
+     */
+    public long getIssuedReadsCount() {
+        return issuedReads.get();
+    }
+
+    /**
+     * @return number of reads that have been served by an in-flight read instead of a new CQL read
+     */
+    public long getCoalescedReadsCount() {
+        return coalescedReads.get();
+    }
+
+    /**
+     * @return number of reads currently in flight
+     */
+    public int getInFlightReadsCount() {
+        return inFlightReads.size();
+    }
+
+    private static class ReadKey {
+        private final Class<?> entityClass;
+        private final List<Object> encodedPrimaryKeyValues;
+        private final ConsistencyLevel consistencyLevel;
+
+        private ReadKey(Class<?> entityClass, List<Object> encodedPrimaryKeyValues, ConsistencyLevel consistencyLevel) {
+            this.entityClass = entityClass;
+            this.encodedPrimaryKeyValues = encodedPrimaryKeyValues;
+            this.consistencyLevel = consistencyLevel;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReadKey readKey = (ReadKey) o;
+            return Objects.equals(entityClass, readKey.entityClass) &&
+                    Objects.equals(encodedPrimaryKeyValues, readKey.encodedPrimaryKeyValues) &&
+                    consistencyLevel == readKey.consistencyLevel;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, encodedPrimaryKeyValues, consistencyLevel);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("ReadKey{");
+            sb.append("entityClass=").append(entityClass.getCanonicalName());
+            sb.append(", encodedPrimaryKeyValues=").append(encodedPrimaryKeyValues);
+            sb.append(", consistencyLevel=").append(consistencyLevel);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append lines to a file, rolling it to <em>file.1</em>, <em>file.2</em> ... once it exceeds the max file size.
+ * <br/>
+ * Not thread-safe, meant to be used by a single writer thread
+ */
+public class RollingFileWriter implements Closeable {
+
+    private final Path file;
+    private final long maxFileSizeInBytes;
+    private final int maxFiles;
+    private BufferedWriter writer;
+    private long currentSize;
+
+    public RollingFileWriter(String file, long maxFileSizeInBytes, int maxFiles) {
+        this.file = Paths.get(file);
+        this.maxFileSizeInBytes = maxFileSizeInBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    public void writeLine(String line) throws IOException {
+        final byte[] bytes = (line + System.lineSeparator()).getBytes(UTF_8);
+        if (writer == null) {
+            open();
+        }
+        if (currentSize > 0 && currentSize + bytes.length > maxFileSizeInBytes) {
+            roll();
+        }
+        writer.write(line);
+        writer.newLine();
+        currentSize += bytes.length;
+    }
+
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentSize = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        close();
+        if (maxFiles > 0) {
+            for (int index = maxFiles - 1; index >= 1; index--) {
+                final Path rolled = rolledFile(index);
+                if (Files.exists(rolled)) {
+                    Files.move(rolled, rolledFile(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path rolledFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -19,6 +19,7 @@ package info.archinnov.achilles.internals.runtime;
 import static info.archinnov.achilles.internals.futures.FutureUtils.toCompletableFuture;
 import static java.lang.String.format;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -48,6 +49,16 @@ public class RuntimeEngine {
     public final Session session;
     public final String currentKeyspace;
     public final ExecutorService executor;
+    public final ReadCoalescer readCoalescer;
+    public final WriteBatcher writeBatcher;
+    public final OrderedWriteExecutor orderedWriteExecutor;
+    public final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    public final QuotaRateLimiter rateLimiter;
+    public final AdaptiveFetchSizer fetchSizer;
+    public final QueryTraceSampler traceSampler;
+    public final SlowQueryLogger slowQueryLogger;
+    public final PartitionKeyInSplitter inSplitter;
+    public final DirtyTracker dirtyTracker;
 
     public TupleTypeFactory tupleTypeFactory;
     public UserTypeFactory userTypeFactory;
@@ -58,6 +69,29 @@ public class RuntimeEngine {
         this.cache = configContext.getStatementsCache();
         this.currentKeyspace = configContext.getCurrentKeyspace().orElse(session.getLoggedKeyspace());
         this.executor = configContext.getExecutorService();
+        this.readCoalescer = new ReadCoalescer(configContext.getReadCoalescingEntities());
+        this.writeBatcher = new WriteBatcher(configContext.isAutoBatchingEnabled(), configContext.getAutoBatchingMaxSize(),
+                configContext.getAutoBatchingWindowInMs(), session,
+                statement -> toCompletableFuture(session.executeAsync(statement), executor));
+        this.orderedWriteExecutor = new OrderedWriteExecutor(configContext.getWriteOrderingStrategy(), session);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(configContext.isConcurrencyLimiterEnabled(),
+                configContext.getConcurrencyLimiterInitialLimit(), configContext.getConcurrencyLimiterMinLimit(),
+                configContext.getConcurrencyLimiterMaxLimit(), configContext.getConcurrencyLimiterLatencyThresholdInMs(),
+                configContext.getConcurrencyLimiterMaxQueueSize());
+        this.rateLimiter = new QuotaRateLimiter(configContext.getRateLimitQuotas());
+        this.fetchSizer = new AdaptiveFetchSizer(configContext.isAdaptiveFetchSizeEnabled(),
+                configContext.getAdaptiveFetchSizeTargetPageBytes(), configContext.getAdaptiveFetchSizeMin(),
+                configContext.getAdaptiveFetchSizeMax());
+        this.traceSampler = new QueryTraceSampler(configContext.getTracingSampleRate(), configContext.getTracingEntitySampleRates(),
+                configContext.getTracingOperationSampleRates(), configContext.getTracingLatencyThresholdInMs(),
+                configContext.getTracingTriggeredExecutions(), configContext.getSlowQueryReportSize());
+        this.slowQueryLogger = new SlowQueryLogger(configContext.getSlowQueryLogThresholdInMs(),
+                configContext.getSlowQueryLogEntityThresholdsInMs(), configContext.getSlowQueryLogOperationThresholdsInMs(),
+                configContext.getSlowQueryLogFile(), configContext.getSlowQueryLogMaxFileSizeInBytes(),
+                configContext.getSlowQueryLogMaxFiles(), configContext.getSlowQueryLogBufferSize());
+        this.inSplitter = new PartitionKeyInSplitter(configContext.getPartitionKeyInSplitEntities(),
+                configContext.getPartitionKeyInSplitMaxConcurrency(), session);
+        this.dirtyTracker = new DirtyTracker(configContext.getDirtyTrackingEntities());
     }
 
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
@@ -69,8 +103,76 @@ public class RuntimeEngine {
             LOGGER.debug(format("Executing statement %s", wrapper.getBoundStatement().preparedStatement().getQueryString()));
         }
 
+        final boolean adaptiveFetchSize = fetchSizer.isEnabled() && fetchSizer.isAdaptive(wrapper);
+        if (adaptiveFetchSize) {
+            fetchSizer.applyFetchSize(wrapper.getBoundStatement());
+        }
+
+        final boolean traceSampling = traceSampler.isEnabled();
+        if (traceSampling) {
+            traceSampler.maybeEnableTracing(wrapper);
+        }
+        final long startNanos = System.nanoTime();
+
         wrapper.logDML();
-        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        final CompletableFuture<ResultSet> future = rateLimiter.isEnabled()
+                ? rateLimiter.execute(wrapper, () -> executeWithinLimit(wrapper))
+                : executeWithinLimit(wrapper);
+
+        // The statement may wait in a limiter or an ordering chain before being sent, bound this wait too
+        final Optional<Instant> deadline = wrapper.getDeadline();
+        final CompletableFuture<ResultSet> boundedFuture;
+        if (deadline.isPresent() && (rateLimiter.isEnabled() || concurrencyLimiter.isEnabled() || orderedWriteExecutor.isEnabled())) {
+            boundedFuture = Deadlines.enforce(future, deadline.get(), wrapper.getBoundStatement().preparedStatement().getQueryString());
+        } else {
+            boundedFuture = future;
+        }
+
+        if (traceSampling) {
+            boundedFuture.whenComplete((rs, throwable) -> traceSampler.record(wrapper, System.nanoTime() - startNanos, rs));
+        }
+        if (slowQueryLogger.isEnabled()) {
+            boundedFuture.whenComplete((rs, throwable) -> slowQueryLogger.record(wrapper, System.nanoTime() - startNanos, rs, throwable));
+        }
+
+        if (adaptiveFetchSize) {
+            return boundedFuture.thenApply(rs -> fetchSizer.sample(wrapper.getBoundStatement().preparedStatement().getQueryString(), rs));
+        }
+        return boundedFuture;
+    }
+
+    private CompletableFuture<ResultSet> executeWithinLimit(StatementWrapper wrapper) {
+        if (concurrencyLimiter.isEnabled()) {
+            return concurrencyLimiter.execute(wrapper.getEntityProperty().entityClass, () -> executeInOrder(wrapper));
+        }
+        return executeInOrder(wrapper);
+    }
+
+    private CompletableFuture<ResultSet> executeInOrder(StatementWrapper wrapper) {
+        if (orderedWriteExecutor.isEnabled() && orderedWriteExecutor.isOrdered(wrapper)) {
+            return orderedWriteExecutor.execute(wrapper, this::send);
+        }
+        return send(wrapper);
+    }
+
+    private CompletableFuture<ResultSet> send(StatementWrapper wrapper) {
+        final Optional<Instant> deadline = wrapper.getDeadline();
+        if (deadline.isPresent() && Deadlines.isExpired(deadline.get())) {
+            final CompletableFuture<ResultSet> expired = new CompletableFuture<>();
+            expired.completeExceptionally(Deadlines.deadlineExceeded(deadline.get(),
+                    wrapper.getBoundStatement().preparedStatement().getQueryString()));
+            return expired;
+        }
+
+        final CompletableFuture<ResultSet> future;
+        if (writeBatcher.isEnabled() && writeBatcher.isBatchable(wrapper)) {
+            future = writeBatcher.submit(wrapper);
+        } else {
+            future = toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        }
+        return deadline.isPresent()
+                ? Deadlines.enforce(future, deadline.get(), wrapper.getBoundStatement().preparedStatement().getQueryString())
+                : future;
     }
 
     public CompletableFuture<ResultSet> execute(BoundStatement boundStatement) {
@@ -92,10 +194,14 @@ public class RuntimeEngine {
     }
 
     public PreparedStatement prepareDynamicQuery(RegularStatement statement) {
+        return prepareDynamicQuery(statement.getQueryString());
+    }
+
+    public PreparedStatement prepareDynamicQuery(String queryString) {
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(format("Preparing dynamic query %s", statement.getQueryString()));
+            LOGGER.debug(format("Preparing dynamic query %s", queryString));
         }
-        return cache.getDynamicCache(statement.getQueryString(), session);
+        return cache.getDynamicCache(queryString, session);
     }
 
     public Optional<PreparedStatement> maybePrepareIfDifferentSchemaNameFromCache(AbstractEntityProperty<?> entityProperty,
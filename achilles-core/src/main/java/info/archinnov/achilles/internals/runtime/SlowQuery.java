@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A traced execution retained in the {@link info.archinnov.achilles.internals.runtime.SlowQueryReport}
+ */
+public class SlowQuery {
+
+    private final String queryString;
+    private final Optional<Class<?>> entityClass;
+    private final long latencyInMicros;
+    private final Instant executedAt;
+    private final Optional<InetAddress> coordinator;
+    private final Set<InetAddress> replicas;
+    private final Map<String, Long> stageDurationsInMicros;
+
+    public SlowQuery(String queryString, Optional<Class<?>> entityClass, long latencyInMicros, Instant executedAt,
+                     Optional<InetAddress> coordinator, Set<InetAddress> replicas, Map<String, Long> stageDurationsInMicros) {
+        this.queryString = queryString;
+        this.entityClass = entityClass;
+        this.latencyInMicros = latencyInMicros;
+        this.executedAt = executedAt;
+        this.coordinator = coordinator;
+        this.replicas = replicas;
+        this.stageDurationsInMicros = stageDurationsInMicros;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    public Optional<Class<?>> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return latency measured client-side, in microseconds
+     */
+    public long getLatencyInMicros() {
+        return latencyInMicros;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    public Optional<InetAddress> getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * @return nodes having recorded trace events for this execution, coordinator included
+     */
+    public Set<InetAddress> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return time spent per server stage (thread pool), in microseconds, summed over all replicas
+     */
+    public Map<String, Long> getStageDurationsInMicros() {
+        return stageDurationsInMicros;
+    }
+
+    @Override
+    public String toString() {
+        return format("%s us [%s] %s, coordinator: %s, replicas: %s, stages: %s",
+                latencyInMicros, executedAt, queryString,
+                coordinator.map(InetAddress::getHostAddress).orElse("unknown"),
+                replicas, stageDurationsInMicros);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Structured record of a slow statement execution, written as one JSON line by the {@link SlowQueryLogger}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"timestamp", "query", "entity", "operation", "latencyInMicros", "consistencyLevel",
+        "boundValues", "rowsReturned", "coordinator", "error"})
+public class SlowQueryLogRecord {
+
+    private final String timestamp;
+    private final String query;
+    private final String entity;
+    private final String operation;
+    private final long latencyInMicros;
+    private final String consistencyLevel;
+    private final String boundValues;
+    private final Integer rowsReturned;
+    private final String coordinator;
+    private final String error;
+
+    public SlowQueryLogRecord(String timestamp, String query, String entity, String operation, long latencyInMicros,
+                              String consistencyLevel, String boundValues, Integer rowsReturned, String coordinator, String error) {
+        this.timestamp = timestamp;
+        this.query = query;
+        this.entity = entity;
+        this.operation = operation;
+        this.latencyInMicros = latencyInMicros;
+        this.consistencyLevel = consistencyLevel;
+        this.boundValues = boundValues;
+        this.rowsReturned = rowsReturned;
+        this.coordinator = coordinator;
+        this.error = error;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getLatencyInMicros() {
+        return latencyInMicros;
+    }
+
+    public String getConsistencyLevel() {
+        return consistencyLevel;
+    }
+
+    public String getBoundValues() {
+        return boundValues;
+    }
+
+    /**
+     * @return rows available in the first page, null if the execution failed
+     */
+    public Integer getRowsReturned() {
+        return rowsReturned;
+    }
+
+    public String getCoordinator() {
+        return coordinator;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.internals.utils.LoggerHelper.summarizeBoundValues;
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.ResultSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+
+/**
+ * Log statement executions slower than a threshold as structured JSON lines into a rolling file.
+ * <br/>
+ * The threshold of a statement is the one of its entity, or else of its operation, or else the default threshold.
+ * Records are pushed into a lock-free ring buffer drained by a background writer thread,
+ * executions never block on the file. Records are dropped when the buffer is full
+ */
+public class SlowQueryLogger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLogger.class);
+    static final long DRAIN_INTERVAL_IN_MS = 100;
+
+    private final long thresholdInMs;
+    private final Map<Class<?>, Long> entityThresholdsInMs;
+    private final Map<QuotaOperation, Long> operationThresholdsInMs;
+    private final MpscRingBuffer<SlowQueryLogRecord> buffer;
+    private final RollingFileWriter fileWriter;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong loggedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public SlowQueryLogger(long thresholdInMs, Map<Class<?>, Long> entityThresholdsInMs, Map<QuotaOperation, Long> operationThresholdsInMs,
+                           String file, long maxFileSizeInBytes, int maxFiles, int bufferSize) {
+        this.thresholdInMs = thresholdInMs;
+        this.entityThresholdsInMs = entityThresholdsInMs;
+        this.operationThresholdsInMs = operationThresholdsInMs;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.fileWriter = new RollingFileWriter(file, maxFileSizeInBytes, maxFiles);
+        if (isEnabled()) {
+            this.writerThread = new Thread(this::writeLoop, "achilles-slow-query-log-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        } else {
+            this.writerThread = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return thresholdInMs > 0 || !entityThresholdsInMs.isEmpty() || !operationThresholdsInMs.isEmpty();
+    }
+
+    /**
+     * Enqueue a record if the execution exceeded the threshold of its statement
+     */
+    public void record(StatementWrapper wrapper, long latencyInNanos, ResultSet resultSet, Throwable throwable) {
+        final long threshold = thresholdInMsFor(wrapper);
+        if (threshold <= 0 || latencyInNanos < TimeUnit.MILLISECONDS.toNanos(threshold)) {
+            return;
+        }
+
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final Optional<AbstractEntityProperty<?>> meta = Optional.ofNullable(wrapper.getEntityProperty());
+        final ConsistencyLevel consistencyLevel = bs.getConsistencyLevel();
+        final SlowQueryLogRecord record = new SlowQueryLogRecord(Instant.now().toString(),
+                bs.preparedStatement().getQueryString(),
+                meta.map(x -> x.entityClass).map(Class::getCanonicalName).orElse(null),
+                QuotaRateLimiter.toQuotaOperation(wrapper).name(),
+                TimeUnit.NANOSECONDS.toMicros(latencyInNanos),
+                consistencyLevel == null ? null : consistencyLevel.name(),
+                summarizeBoundValues(wrapper.getBoundValues()),
+                resultSet == null ? null : resultSet.getAvailableWithoutFetching(),
+                resultSet == null ? null : Optional.ofNullable(resultSet.getExecutionInfo().getQueriedHost())
+                        .map(Host::getAddress).map(InetAddress::getHostAddress).orElse(null),
+                throwable == null ? null : unwrap(throwable).toString());
+
+        if (buffer.offer(record)) {
+            loggedCount.incrementAndGet();
+        } else {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    long thresholdInMsFor(StatementWrapper wrapper) {
+        if (!entityThresholdsInMs.isEmpty() && wrapper.getEntityProperty() != null) {
+            final Long entityThreshold = entityThresholdsInMs.get(wrapper.getEntityProperty().entityClass);
+            if (entityThreshold != null) {
+                return entityThreshold;
+            }
+        }
+        if (!operationThresholdsInMs.isEmpty()) {
+            final Long operationThreshold = operationThresholdsInMs.get(QuotaRateLimiter.toQuotaOperation(wrapper));
+            if (operationThreshold != null) {
+                return operationThreshold;
+            }
+        }
+        return thresholdInMs;
+    }
+
+    /**
+     * Write all pending records and close the file
+     */
+    public void close() {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            drain();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(DRAIN_INTERVAL_IN_MS));
+        }
+        drain();
+        try {
+            fileWriter.close();
+        } catch (IOException ex) {
+            LOGGER.warn(format("Cannot close slow query log file : %s", ex.getMessage()));
+        }
+    }
+
+    private void drain() {
+        try {
+            if (buffer.drain(this::write) > 0) {
+                fileWriter.flush();
+            }
+        } catch (IOException ex) {
+            LOGGER.warn(format("Cannot flush slow query log file : %s", ex.getMessage()));
+        }
+    }
+
+    private void write(SlowQueryLogRecord record) {
+        try {
+            fileWriter.writeLine(mapper.writeValueAsString(record));
+        } catch (IOException ex) {
+            LOGGER.warn(format("Cannot write slow query record for statement %s : %s", record.getQuery(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * @return number of records enqueued for writing
+     */
+    public long getLoggedCount() {
+        return loggedCount.get();
+    }
+
+    /**
+     * @return number of records dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return number of records waiting to be written
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory report of the slowest traced executions.
+ * <br/>
+ * Only the <em>maxSize</em> slowest executions are kept, a faster one is discarded once the report is full
+ */
+public class SlowQueryReport implements SlowQueryReportMBean {
+
+    private final int maxSize;
+    // ReentrantLock rather than synchronized so that virtual threads are not pinned to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<SlowQuery> queries = new PriorityQueue<>(Comparator.comparingLong(SlowQuery::getLatencyInMicros));
+
+    public SlowQueryReport(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return whether an execution with this latency would enter the report.
+     * Used to avoid retrieving traces which would be discarded anyway
+     */
+    public boolean accepts(long latencyInMicros) {
+        lock.lock();
+        try {
+            if (maxSize <= 0) {
+                return false;
+            }
+            return queries.size() < maxSize || queries.peek().getLatencyInMicros() < latencyInMicros;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void add(SlowQuery slowQuery) {
+        lock.lock();
+        try {
+            if (!accepts(slowQuery.getLatencyInMicros())) {
+                return;
+            }
+            if (queries.size() >= maxSize) {
+                queries.poll();
+            }
+            queries.offer(slowQuery);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return slow queries of the report, slowest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        final List<SlowQuery> slowQueries;
+        lock.lock();
+        try {
+            slowQueries = new ArrayList<>(queries);
+        } finally {
+            lock.unlock();
+        }
+        slowQueries.sort(Comparator.comparingLong(SlowQuery::getLatencyInMicros).reversed());
+        return slowQueries;
+    }
+
+    @Override
+    public int getSize() {
+        lock.lock();
+        try {
+            return queries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getMaxLatencyInMicros() {
+        return getSlowQueries().stream().findFirst().map(SlowQuery::getLatencyInMicros).orElse(0L);
+    }
+
+    @Override
+    public String[] getEntries() {
+        return getSlowQueries().stream().map(SlowQuery::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            queries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+/**
+ * JMX view of the {@link info.archinnov.achilles.internals.runtime.SlowQueryReport}
+ */
+public interface SlowQueryReportMBean {
+
+    /**
+     * @return number of slow queries currently in the report
+     */
+    int getSize();
+
+    /**
+     * @return latency of the slowest query in the report, in microseconds
+     */
+    long getMaxLatencyInMicros();
+
+    /**
+     * @return slow queries of the report, slowest first
+     */
+    String[] getEntries();
+
+    /**
+     * Empty the report
+     */
+    void clear();
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+/**
+ * Automatic micro-batching of independent writes targeting the same partition.
+ * <br/>
+ * INSERT, UPDATE and DELETE statements are buffered per (keyspace, routing key, consistency levels) for
+ * a short time window. When the window elapses or the max batch size is reached, buffered statements are sent as
+ * a single-partition UNLOGGED batch (COUNTER batch for counter tables) and the batch result is fanned out
+ * to the individual futures.
+ * <br/>
+ * If the batch fails, idempotent members are retried individually, the other members fail with the batch exception.
+ * <br/>
+ * All the members of a batch share the same write timestamp. With equal timestamps Cassandra does not keep
+ * the last write, so a write targeting a row already written by the pending batch, or any partition-scoped
+ * write (see {@link WriteTargets}), first dispatches the pending batch and then starts a new one
+ * <br/>
+ * Statements that cannot be merged safely are never buffered: LWT, tracing, outgoing payload,
+ * custom retry policy, client-side default timestamp, unknown routing key or writes on counter tables
+ * other than counter updates
+ */
+public class WriteBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBatcher.class);
+    static final Pattern LWT_PATTERN = Pattern.compile("\\sIF\\s", Pattern.CASE_INSENSITIVE);
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowInMs;
+    private final Session session;
+    private final Function<Statement, CompletableFuture<ResultSet>> executor;
+    // ReentrantLock rather than synchronized so that virtual threads are not pinned to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<BatchKey, PendingBatch> pendingBatches = new HashMap<>();
+    private final AtomicLong batchedStatements = new AtomicLong(0);
+    private final AtomicLong issuedBatches = new AtomicLong(0);
+    private final AtomicLong retriedStatements = new AtomicLong(0);
+
+    public WriteBatcher(boolean enabled, int maxBatchSize, long windowInMs, Session session,
+                        Function<Statement, CompletableFuture<ResultSet>> executor) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.windowInMs = windowInMs;
+        this.session = session;
+        this.executor = executor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isBatchable(StatementWrapper wrapper) {
+        final OperationType operationType = wrapper.getOperationType();
+        if (operationType != OperationType.INSERT && operationType != OperationType.UPDATE && operationType != OperationType.DELETE) {
+            return false;
+        }
+        // Only counter increments/decrements may go into a COUNTER batch
+        if (wrapper.getEntityProperty().isCounter() && operationType != OperationType.UPDATE) {
+            return false;
+        }
+        final BoundStatement bs = wrapper.getBoundStatement();
+        return !bs.isTracing()
+                && bs.getOutgoingPayload() == null
+                && bs.getRetryPolicy() == null
+                && bs.getDefaultTimestamp() == Long.MIN_VALUE
+                && !LWT_PATTERN.matcher(bs.preparedStatement().getQueryString()).find();
+    }
+
+    /**
+     * Buffer the statement of the wrapper until the next dispatch of its partition batch
+     *
+     * @param wrapper statement wrapper, should be {@link #isBatchable(StatementWrapper)}
+     * @return CompletableFuture of the ResultSet of the batch containing the statement
+     */
+    public CompletableFuture<ResultSet> submit(StatementWrapper wrapper) {
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final ByteBuffer routingKey = routingKeyOf(bs);
+        if (routingKey == null) {
+            return executor.apply(bs);
+        }
+
+        // Only counter updates are batchable on counter tables, see isBatchable()
+        final boolean counter = wrapper.getEntityProperty().isCounter();
+        final BatchKey batchKey = new BatchKey(bs.getKeyspace(), routingKey, bs.getConsistencyLevel(), bs.getSerialConsistencyLevel(), counter);
+        final Optional<List<ByteBuffer>> rowKey = WriteTargets.rowKeyOf(wrapper);
+        final CompletableFuture<ResultSet> future = new CompletableFuture<>();
+        batchedStatements.incrementAndGet();
+
+        PendingBatch conflictingBatch = null;
+        PendingBatch fullBatch = null;
+        lock.lock();
+        try {
+            final PendingBatch existingBatch = pendingBatches.get(batchKey);
+            if (existingBatch != null && existingBatch.conflictsWith(rowKey)) {
+                pendingBatches.remove(batchKey);
+                existingBatch.cancelScheduledDispatch();
+                conflictingBatch = existingBatch;
+            }
+            final PendingBatch pendingBatch = pendingBatches.computeIfAbsent(batchKey, PendingBatch::new);
+            pendingBatch.add(bs, rowKey, future);
+            if (pendingBatch.size() >= maxBatchSize) {
+                pendingBatches.remove(batchKey);
+                pendingBatch.cancelScheduledDispatch();
+                fullBatch = pendingBatch;
+            } else if (pendingBatch.scheduledDispatch == null) {
+                pendingBatch.scheduledDispatch = BatchingScheduler.schedule(() -> dispatchOnWindowElapsed(pendingBatch), windowInMs);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // The conflicting batch holds earlier writes, send it first
+        if (conflictingBatch != null) {
+            dispatch(conflictingBatch);
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future;
+    }
+
+    public long getBatchedStatementsCount() {
+        return batchedStatements.get();
+    }
+
+    public long getIssuedBatchesCount() {
+        return issuedBatches.get();
+    }
+
+    public long getRetriedStatementsCount() {
+        return retriedStatements.get();
+    }
+
+    private void dispatchOnWindowElapsed(PendingBatch pendingBatch) {
+        final boolean removed;
+        lock.lock();
+        try {
+            removed = pendingBatches.remove(pendingBatch.batchKey, pendingBatch);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            dispatch(pendingBatch);
+        }
+    }
+
+    private void dispatch(PendingBatch pendingBatch) {
+        final List<BoundStatement> statements = pendingBatch.statements;
+        final List<CompletableFuture<ResultSet>> futures = pendingBatch.futures;
+        final Statement statement;
+        if (statements.size() == 1) {
+            statement = statements.get(0);
+        } else {
+            final BatchKey batchKey = pendingBatch.batchKey;
+            final BatchStatement batch = new BatchStatement(batchKey.counter ? BatchStatement.Type.COUNTER : BatchStatement.Type.UNLOGGED);
+            batch.addAll(statements);
+            if (batchKey.consistencyLevel != null) {
+                batch.setConsistencyLevel(batchKey.consistencyLevel);
+            }
+            if (batchKey.serialConsistencyLevel != null) {
+                batch.setSerialConsistencyLevel(batchKey.serialConsistencyLevel);
+            }
+            batch.setIdempotent(statements.stream().allMatch(x -> Boolean.TRUE.equals(x.isIdempotent())));
+            statement = batch;
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Dispatch auto batch of %s statements for partition %s", statements.size(), pendingBatch.batchKey));
+        }
+
+        issuedBatches.incrementAndGet();
+        final CompletableFuture<ResultSet> batchFuture;
+        try {
+            batchFuture = executor.apply(statement);
+        } catch (Throwable throwable) {
+            futures.forEach(future -> future.completeExceptionally(throwable));
+            return;
+        }
+
+        batchFuture.whenComplete((resultSet, throwable) -> {
+            if (throwable == null) {
+                futures.forEach(future -> future.complete(resultSet));
+                return;
+            }
+            for (int i = 0; i < statements.size(); i++) {
+                final BoundStatement member = statements.get(i);
+                final CompletableFuture<ResultSet> future = futures.get(i);
+                if (statements.size() > 1 && Boolean.TRUE.equals(member.isIdempotent())) {
+                    retriedStatements.incrementAndGet();
+                    executor.apply(member).whenComplete((rs, ex) -> {
+                        if (ex != null) {
+                            future.completeExceptionally(ex);
+                        } else {
+                            future.complete(rs);
+                        }
+                    });
+                } else {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+
+    private ByteBuffer routingKeyOf(BoundStatement bs) {
+        final Configuration configuration = session.getCluster().getConfiguration();
+        return bs.getRoutingKey(configuration.getProtocolOptions().getProtocolVersion(), configuration.getCodecRegistry());
+    }
+
+    private static class BatchKey {
+        private final String keyspace;
+        private final ByteBuffer routingKey;
+        private final ConsistencyLevel consistencyLevel;
+        private final ConsistencyLevel serialConsistencyLevel;
+        private final boolean counter;
+
+        private BatchKey(String keyspace, ByteBuffer routingKey, ConsistencyLevel consistencyLevel,
+                         ConsistencyLevel serialConsistencyLevel, boolean counter) {
+            this.keyspace = keyspace;
+            this.routingKey = routingKey;
+            this.consistencyLevel = consistencyLevel;
+            this.serialConsistencyLevel = serialConsistencyLevel;
+            this.counter = counter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BatchKey batchKey = (BatchKey) o;
+            return counter == batchKey.counter &&
+                    Objects.equals(keyspace, batchKey.keyspace) &&
+                    Objects.equals(routingKey, batchKey.routingKey) &&
+                    consistencyLevel == batchKey.consistencyLevel &&
+                    serialConsistencyLevel == batchKey.serialConsistencyLevel;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyspace, routingKey, consistencyLevel, serialConsistencyLevel, counter);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("BatchKey{");
+            sb.append("keyspace=").append(keyspace);
+            sb.append(", routingKey=").append(routingKey);
+            sb.append(", consistencyLevel=").append(consistencyLevel);
+            sb.append(", serialConsistencyLevel=").append(serialConsistencyLevel);
+            sb.append(", counter=").append(counter);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+
+    private static class PendingBatch {
+        private final BatchKey batchKey;
+        private final List<BoundStatement> statements = new ArrayList<>();
+        private final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        private final Set<List<ByteBuffer>> rowKeys = new HashSet<>();
+        private boolean hasPartitionScopedWrite = false;
+        private ScheduledFuture<?> scheduledDispatch;
+
+        private PendingBatch(BatchKey batchKey) {
+            this.batchKey = batchKey;
+        }
+
+        private void add(BoundStatement bs, Optional<List<ByteBuffer>> rowKey, CompletableFuture<ResultSet> future) {
+            statements.add(bs);
+            futures.add(future);
+            if (rowKey.isPresent()) {
+                rowKeys.add(rowKey.get());
+            } else {
+                hasPartitionScopedWrite = true;
+            }
+        }
+
+        /**
+         * @return whether a write on the given row would share its write timestamp with an earlier write on the same row
+         */
+        private boolean conflictsWith(Optional<List<ByteBuffer>> rowKey) {
+            return hasPartitionScopedWrite || !rowKey.isPresent() || rowKeys.contains(rowKey.get());
+        }
+
+        private int size() {
+            return statements.size();
+        }
+
+        private void cancelScheduledDispatch() {
+            if (scheduledDispatch != null) {
+                scheduledDispatch.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+/**
+ * Identify the part of its partition a write statement targets.
+ * <br/>
+ * A write is <strong>row-scoped</strong> when each clustering column is bound to a single value,
+ * the row is then identified by the serialized values of its clustering columns (an empty list for entities without
+ * clustering columns). Any other write (partition delete, static columns, range or IN restrictions on clustering
+ * columns) is <strong>partition-scoped</strong>: it may touch every row of the partition
+ */
+public final class WriteTargets {
+
+    private WriteTargets() {
+    }
+
+    /**
+     * @param wrapper write statement wrapper
+     * @return the serialized clustering values of the row targeted by the write,
+     * or Optional.empty() if the write is partition-scoped
+     */
+    public static Optional<List<ByteBuffer>> rowKeyOf(StatementWrapper wrapper) {
+        final BoundStatement bs = wrapper.getBoundStatement();
+        final AbstractEntityProperty<?> meta = wrapper.getEntityProperty();
+        final ColumnDefinitions variables = bs.preparedStatement().getVariables();
+        for (AbstractProperty<?, ?, ?> staticColumn : meta.staticColumns) {
+            if (variables.contains(staticColumn.fieldInfo.cqlColumn)) {
+                return Optional.empty();
+            }
+        }
+
+        final List<ByteBuffer> rowKey = new ArrayList<>(meta.clusteringColumns.size());
+        for (AbstractProperty<?, ?, ?> clustering : meta.clusteringColumns) {
+            final String cqlColumn = clustering.fieldInfo.cqlColumn;
+            // An IN restriction binds the clustering column name to a list of values
+            if (!variables.contains(cqlColumn) || !variables.getType(cqlColumn).equals(clustering.getDataType())) {
+                return Optional.empty();
+            }
+            rowKey.add(bs.getBytesUnsafe(cqlColumn));
+        }
+        return Optional.of(rowKey);
+    }
+}
@@ -18,6 +18,8 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -43,6 +45,7 @@ public class BoundStatementWrapper implements StatementWrapper {
     private final Logger actualLogger;
     private BoundStatement bs;
     private UUID queryId;
+    private Optional<Instant> deadline = Optional.empty();
 
 
     public BoundStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, PreparedStatement ps,
@@ -75,9 +78,30 @@ public class BoundStatementWrapper implements StatementWrapper {
         return bs;
     }
 
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    @Override
+    public AbstractEntityProperty<?> getEntityProperty() {
+        return meta;
+    }
+
+    @Override
+    public Optional<Instant> getDeadline() {
+        return deadline;
+    }
+
     @Override
     public void applyOptions(Options options) {
         options.applyOptions(operationType, meta, bs);
+        applyDeadline(options);
+    }
+
+    @Override
+    public void applyDeadline(Options options) {
+        deadline = options.applyDeadline(bs);
     }
 
     @Override
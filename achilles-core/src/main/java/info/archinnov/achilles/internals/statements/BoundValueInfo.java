@@ -25,15 +25,29 @@ public class BoundValueInfo {
     public final BiConsumer<Object, SettableData> setter;
     public final Object boundValue;
     public final Object encodedValue;
+    public final boolean lazy;
 
-    private BoundValueInfo(BiConsumer<Object, SettableData> setter, Object boundValue, Object encodedValue) {
+    private BoundValueInfo(BiConsumer<Object, SettableData> setter, Object boundValue, Object encodedValue, boolean lazy) {
         this.setter = setter;
         this.boundValue = boundValue;
         this.encodedValue = encodedValue;
+        this.lazy = lazy;
     }
 
     public static BoundValueInfo of(BiConsumer<Object, SettableData> setter, Object boundValue, Object encodedValue) {
-        return new BoundValueInfo(setter, boundValue, encodedValue);
+        return new BoundValueInfo(setter, boundValue, encodedValue, false);
+    }
+
+    public static BoundValueInfo ofLazy(BiConsumer<Object, SettableData> setter, Object boundValue, Object encodedValue) {
+        return new BoundValueInfo(setter, boundValue, encodedValue, true);
+    }
+
+    /**
+     * A <em>@Lazy</em> column whose value is null has most likely never been loaded
+     * and should be left unset rather than erasing the stored value
+     */
+    public boolean isUnloadedLazyColumn() {
+        return lazy && encodedValue == null;
     }
 
     @Override
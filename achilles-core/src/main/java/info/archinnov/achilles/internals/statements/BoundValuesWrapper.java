@@ -50,14 +50,16 @@ public class BoundValuesWrapper {
                     boundValuesInfo, ps.getQueryString(), insertStrategy.name()));
         }
 
-        if (insertStrategy == ALL_FIELDS) {
+        if (insertStrategy == ALL_FIELDS && boundValuesInfo.stream().noneMatch(BoundValueInfo::isUnloadedLazyColumn)) {
             return new BoundStatementWrapper(OperationType.INSERT, meta, ps,
                     boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
                     boundValuesInfo.stream().map(x -> x.encodedValue).toArray());
         } else {
+            // With ALL_FIELDS, null values are bound except for the @Lazy columns which have not been loaded
+            final boolean bindNulls = insertStrategy == ALL_FIELDS;
             BoundStatement bs = ps.bind();
             boundValuesInfo.stream()
-                    .filter(x -> x.encodedValue != null)
+                    .filter(x -> x.encodedValue != null || (bindNulls && !x.lazy))
                     .forEach(x -> x.setter.accept(x.encodedValue, bs));
             return new BoundStatementWrapper(OperationType.INSERT, meta, bs,
                     boundValuesInfo.stream().map(x -> x.boundValue).toArray(),
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.statements;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.ListProperty;
+
+/**
+ * Infer whether a statement can be safely retried or speculatively executed, from its shape :
+ * <ul>
+ *     <li>SELECT, INSERT and DELETE are idempotent</li>
+ *     <li>lightweight transactions are not idempotent</li>
+ *     <li>writes calling the <em>now()</em> or <em>uuid()</em> functions are not idempotent</li>
+ *     <li>counter increments/decrements, list appends/prepends and list removal by index are not idempotent</li>
+ * </ul>
+ * Results are cached by query string since statements are prepared once and executed many times
+ */
+public class IdempotenceInference {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotenceInference.class);
+    private static final Pattern LWT_PATTERN = Pattern.compile("\\sif\\s");
+    private static final Pattern NON_DETERMINISTIC_FUNCTION_PATTERN = Pattern.compile("\\b(now|uuid)\\s*\\(\\s*\\)");
+    private static final Cache<String, Boolean> CACHE = CacheBuilder.newBuilder().maximumSize(10_000).build();
+
+    private IdempotenceInference() {
+    }
+
+    /**
+     * @param operationType  type of the statement
+     * @param meta           entity meta of the statement
+     * @param queryString    query string of the statement
+     * @return whether the statement is idempotent
+     */
+    public static boolean isIdempotent(OperationType operationType, AbstractEntityProperty<?> meta, String queryString) {
+        Boolean idempotent = CACHE.getIfPresent(queryString);
+        if (idempotent == null) {
+            final List<String> counterColumns = meta.counterColumns.stream().map(IdempotenceInference::cqlName).collect(toList());
+            final List<String> listColumns = meta.allColumns.stream()
+                    .filter(x -> x instanceof ListProperty)
+                    .map(IdempotenceInference::cqlName)
+                    .collect(toList());
+            idempotent = infer(operationType, counterColumns, listColumns, queryString.toLowerCase().replaceAll("\"", ""));
+            CACHE.put(queryString, idempotent);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Statement %s inferred as %s", queryString, idempotent ? "idempotent" : "non idempotent"));
+            }
+        }
+        return idempotent;
+    }
+
+    static boolean infer(OperationType operationType, List<String> counterColumns, List<String> listColumns, String queryString) {
+        if (!operationType.isUpsert) {
+            return true;
+        }
+        if (LWT_PATTERN.matcher(queryString).find() || NON_DETERMINISTIC_FUNCTION_PATTERN.matcher(queryString).find()) {
+            return false;
+        }
+        if (operationType == OperationType.UPDATE) {
+            for (String counter : counterColumns) {
+                if (find("\\b%1$s\\s*=\\s*%1$s\\s*[+-]", counter, queryString)) {
+                    return false;
+                }
+            }
+            for (String list : listColumns) {
+                if (find("\\b%1$s\\s*=\\s*%1$s\\s*\\+", list, queryString)
+                        || find("\\b%1$s\\s*=\\s*\\S+?\\s*\\+\\s*%1$s\\b", list, queryString)) {
+                    return false;
+                }
+            }
+        } else if (operationType == OperationType.DELETE) {
+            for (String list : listColumns) {
+                if (find("\\b%1$s\\s*\\[", list, queryString)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean find(String pattern, String column, String queryString) {
+        return Pattern.compile(format(pattern, Pattern.quote(column))).matcher(queryString).find();
+    }
+
+    private static String cqlName(AbstractProperty<?, ?, ?> property) {
+        return property.fieldInfo.cqlColumn.toLowerCase().replaceAll("\"", "");
+    }
+}
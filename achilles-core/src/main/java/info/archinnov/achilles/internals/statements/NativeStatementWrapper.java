@@ -18,6 +18,8 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.datastax.driver.core.BoundStatement;
@@ -35,6 +37,7 @@ public class NativeStatementWrapper implements StatementWrapper {
     private final Object[] encodedBoundValues;
     private final UUID queryId = UUID.randomUUID();
     private final OperationType operationType;
+    private Optional<Instant> deadline = Optional.empty();
 
 
     public NativeStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, BoundStatement boundStatement, Object[] encodedBoundValues) {
@@ -54,9 +57,30 @@ public class NativeStatementWrapper implements StatementWrapper {
         return boundStatement;
     }
 
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    @Override
+    public AbstractEntityProperty<?> getEntityProperty() {
+        return meta;
+    }
+
+    @Override
+    public Optional<Instant> getDeadline() {
+        return deadline;
+    }
+
     @Override
     public void applyOptions(Options options) {
         options.applyOptions(operationType, meta, boundStatement);
+        applyDeadline(options);
+    }
+
+    @Override
+    public void applyDeadline(Options options) {
+        deadline = options.applyDeadline(boundStatement);
     }
 
     @Override
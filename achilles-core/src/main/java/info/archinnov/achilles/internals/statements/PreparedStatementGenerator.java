@@ -18,8 +18,11 @@ package info.archinnov.achilles.internals.statements;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static info.archinnov.achilles.internals.cache.CacheKey.Operation.*;
+import static info.archinnov.achilles.internals.runtime.DirtyTracker.updatableColumns;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -31,6 +34,7 @@ import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
+import com.datastax.driver.core.querybuilder.Update;
 
 import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.cache.StatementsCache;
@@ -38,6 +42,8 @@ import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
 import info.archinnov.achilles.internals.metamodel.ComputedProperty;
 import info.archinnov.achilles.internals.metamodel.columns.ComputedColumnInfo;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.ColumnUpdate;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.UpdateKind;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.validation.Validator;
 
@@ -55,11 +61,100 @@ public class PreparedStatementGenerator {
             LOGGER.debug(format("Generate SELECT query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
         }
 
+        final Select.Where where = generateSelectFrom(entityProperty, schemaNameProvider).where();
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        return where;
+    }
+
+    /**
+     * SELECT query restricting the partition keys and all clustering columns but the last one with equality,
+     * the last clustering column being restricted with a single <em>IN ?</em> bind marker
+     */
+    public static RegularStatement generateSelectQueryWithInOnLastClustering(AbstractEntityProperty<?> entityProperty) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT query with IN on last clustering column for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        Validator.validateTrue(entityProperty.isClustered(), "Entity of type %s should have clustering columns",
+                entityProperty.entityClass.getCanonicalName());
+
+        final Select.Where where = generateSelectFrom(entityProperty, Optional.empty()).where();
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        final int lastIndex = entityProperty.clusteringColumns.size() - 1;
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns.subList(0, lastIndex)) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        final String lastClusteringColumn = entityProperty.clusteringColumns.get(lastIndex).fieldInfo.cqlColumn;
+        where.and(in(lastClusteringColumn, bindMarker(lastClusteringColumn)));
+
+        return where;
+    }
+
+    /**
+     * SELECT query fetching the primary key and the given columns, restricting the partition keys and the clustering columns
+     * with equality or, when <em>inOnLastClustering</em> is true, the last clustering column with a single <em>IN ?</em> bind marker
+     */
+    public static RegularStatement generateSelectColumnsQuery(AbstractEntityProperty<?> entityProperty, List<? extends AbstractProperty<?, ?, ?>> columns,
+                                                              boolean inOnLastClustering) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate SELECT query of columns %s for entity of type %s",
+                    columns.stream().map(x -> x.fieldInfo.cqlColumn).collect(toList()), entityProperty.entityClass.getCanonicalName()));
+        }
+
+        final Select.Selection select = QueryBuilder.select();
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            select.column(x.fieldInfo.cqlColumn);
+        }
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            select.column(x.fieldInfo.cqlColumn);
+        }
+        for (AbstractProperty<?, ?, ?> x : columns) {
+            select.column(x.fieldInfo.cqlColumn);
+        }
+
+        final Optional<String> keyspace = entityProperty.getKeyspace();
+        final Select.Where where = keyspace.isPresent()
+                ? select.from(keyspace.get(), entityProperty.getTableOrViewName()).where()
+                : select.from(entityProperty.getTableOrViewName()).where();
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        final int lastIndex = entityProperty.clusteringColumns.size() - 1;
+        for (int i = 0; i <= lastIndex; i++) {
+            final String cqlColumn = entityProperty.clusteringColumns.get(i).fieldInfo.cqlColumn;
+            if (inOnLastClustering && i == lastIndex) {
+                where.and(in(cqlColumn, bindMarker(cqlColumn)));
+            } else {
+                where.and(eq(cqlColumn, bindMarker(cqlColumn)));
+            }
+        }
+
+        return where;
+    }
+
+    private static Select generateSelectFrom(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
         final Select.Selection select = QueryBuilder.select();
         final Optional<String> keyspace = entityProperty.getKeyspace();
 
         for (AbstractProperty<?, ?, ?> x : entityProperty.allColumns) {
-            select.column(x.fieldInfo.cqlColumn);
+            if (!x.isLazy()) {
+                select.column(x.fieldInfo.cqlColumn);
+            }
         }
 
         entityProperty
@@ -89,17 +184,7 @@ public class PreparedStatementGenerator {
             }
         }
 
-        final Select.Where where = from.where();
-
-        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
-            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
-        }
-
-        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
-            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
-        }
-
-        return where;
+        return from;
     }
 
     public static void generateStaticDeleteQueries(Session session, StatementsCache cache,  AbstractEntityProperty<?> entityProperty) {
@@ -315,6 +400,78 @@ public class PreparedStatementGenerator {
         return insert.ifNotExists().using(ttl(bindMarker("ttl")));
     }
 
+    /**
+     * UPDATE query setting all the static and normal columns of the entity
+     */
+    public static RegularStatement generateUpdate(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+        final List<ColumnUpdate> columnUpdates = updatableColumns(entityProperty)
+                .stream()
+                .map(x -> ColumnUpdate.of(x, UpdateKind.SET, null))
+                .collect(toList());
+        return generateUpdate(entityProperty, columnUpdates, schemaNameProvider);
+    }
+
+    /**
+     * UPDATE query writing only the given columns, each column being bound with a bind marker named after it
+     */
+    public static RegularStatement generateUpdate(AbstractEntityProperty<?> entityProperty, List<ColumnUpdate> columnUpdates,
+                                                  Optional<SchemaNameProvider> schemaNameProvider) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Generate UPDATE query for entity of type %s", entityProperty.entityClass.getCanonicalName()));
+        }
+
+        Validator.validateTrue(!columnUpdates.isEmpty(),
+                "Cannot generate UPDATE query for entity of type %s because there is no column to update",
+                entityProperty.entityClass.getCanonicalName());
+
+        final Update update = getUpdateWithTableName(entityProperty, schemaNameProvider);
+        update.using(ttl(bindMarker("ttl")));
+
+        final Update.Assignments assignments = update.with();
+        for (ColumnUpdate x : columnUpdates) {
+            final String cqlColumn = x.property.fieldInfo.cqlColumn;
+            switch (x.kind) {
+                case APPEND:
+                    assignments.and(appendAll(cqlColumn, bindMarker(cqlColumn)));
+                    break;
+                case ADD:
+                    assignments.and(addAll(cqlColumn, bindMarker(cqlColumn)));
+                    break;
+                case REMOVE:
+                    assignments.and(removeAll(cqlColumn, bindMarker(cqlColumn)));
+                    break;
+                case PUT:
+                    assignments.and(putAll(cqlColumn, bindMarker(cqlColumn)));
+                    break;
+                default:
+                    assignments.and(set(cqlColumn, bindMarker(cqlColumn)));
+            }
+        }
+
+        final Update.Where where = update.where();
+        for (AbstractProperty<?, ?, ?> x : entityProperty.partitionKeys) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        for (AbstractProperty<?, ?, ?> x : entityProperty.clusteringColumns) {
+            where.and(eq(x.fieldInfo.cqlColumn, bindMarker(x.fieldInfo.cqlColumn)));
+        }
+
+        return where;
+    }
+
+    private static Update getUpdateWithTableName(AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
+        final Optional<String> keyspace = entityProperty.getKeyspace();
+        if (schemaNameProvider.isPresent()) {
+            final SchemaNameProvider provider = schemaNameProvider.get();
+            return QueryBuilder.update(provider.keyspaceFor(entityProperty.entityClass), provider.tableNameFor(entityProperty.entityClass));
+        } else if (keyspace.isPresent()) {
+            return QueryBuilder.update(keyspace.get(), entityProperty.getTableOrViewName());
+        } else {
+            return QueryBuilder.update(entityProperty.getTableOrViewName());
+        }
+    }
+
     private static Insert getInsertWithTableName( AbstractEntityProperty<?> entityProperty, Optional<SchemaNameProvider> schemaNameProvider) {
 
 
@@ -20,6 +20,7 @@ import static info.archinnov.achilles.internals.cql.TypeMapper.toJavaType;
 import static info.archinnov.achilles.internals.utils.LoggerHelper.replaceByteBuffersByHexString;
 import static java.lang.String.format;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.IntStream;
 
@@ -30,6 +31,8 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.exceptions.TraceRetrievalException;
 
+import info.archinnov.achilles.exception.AchillesDeadlineExceededException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.Options;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
 import info.archinnov.achilles.logger.AchillesLoggers;
@@ -45,8 +48,28 @@ public interface StatementWrapper {
 
     BoundStatement getBoundStatement();
 
+    OperationType getOperationType();
+
+    AbstractEntityProperty<?> getEntityProperty();
+
+    Optional<Instant> getDeadline();
+
+    /**
+     * Stop paging through the results once the deadline has passed
+     */
+    default void checkDeadlineBeforeFetching(ResultSet resultSet) {
+        final Optional<Instant> deadline = getDeadline();
+        if (deadline.isPresent() && resultSet.getAvailableWithoutFetching() == 0 && !resultSet.isFullyFetched()
+                && !Instant.now().isBefore(deadline.get())) {
+            throw new AchillesDeadlineExceededException(format("Deadline %s exceeded while fetching next page of query %s",
+                    deadline.get(), getBoundStatement().preparedStatement().getQueryString()));
+        }
+    }
+
     void applyOptions(Options options);
 
+    void applyDeadline(Options options);
+
     void logDML();
 
     ResultSet logReturnResults(ResultSet resultSet);
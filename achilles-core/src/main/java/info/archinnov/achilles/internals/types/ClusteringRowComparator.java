@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import static java.lang.String.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
+
+/**
+ * Compare rows of the same table by their clustering columns, following the clustering order
+ * of each column, or the reverse order if the query has an <em>ORDER BY</em> reversing it.
+ * <br/>
+ * Values are compared on their serialized form, in the order Cassandra sorts each type: integers and timestamps
+ * as signed numbers, texts, blobs, inet addresses and dates as unsigned bytes, UUIDs by version then timestamp,
+ * tuples, UDTs and frozen collections component by component.
+ * <br/>
+ * All the clustering columns must be selected, see {@link #validateColumnsSelected(ResultSet)}
+ */
+public class ClusteringRowComparator implements Comparator<Row> {
+
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\sORDER\\s+BY\\s+\\S+\\s+(ASC|DESC)", Pattern.CASE_INSENSITIVE);
+
+    private final List<String> columns = new ArrayList<>();
+    private final List<Boolean> descendings = new ArrayList<>();
+
+    public ClusteringRowComparator(AbstractEntityProperty<?> meta, String queryString) {
+        final Matcher matcher = ORDER_BY_PATTERN.matcher(queryString);
+        boolean reversed = false;
+        if (matcher.find() && !meta.clusteringColumns.isEmpty()) {
+            final boolean descendingRequested = matcher.group(1).equalsIgnoreCase("DESC");
+            reversed = descendingRequested != isDescending(meta.clusteringColumns.get(0));
+        }
+        for (AbstractProperty<?, ?, ?> clusteringColumn : meta.clusteringColumns) {
+            columns.add(clusteringColumn.getColumnForSelect());
+            descendings.add(isDescending(clusteringColumn) != reversed);
+        }
+    }
+
+    /**
+     * Rows can only be merged by clustering order if the query selects all the clustering columns
+     *
+     * @param resultSet result set whose rows will be compared
+     * @return the given result set
+     * @throws AchillesException if a clustering column is not selected
+     */
+    public ResultSet validateColumnsSelected(ResultSet resultSet) {
+        final ColumnDefinitions columnDefinitions = resultSet.getColumnDefinitions();
+        for (String column : columns) {
+            if (!columnDefinitions.contains(column)) {
+                throw new AchillesException(format("Cannot merge the results by clustering order because the clustering column '%s' is not selected",
+                        column));
+            }
+        }
+        return resultSet;
+    }
+
+    @Override
+    public int compare(Row left, Row right) {
+        final ColumnDefinitions columnDefinitions = left.getColumnDefinitions();
+        for (int i = 0; i < columns.size(); i++) {
+            final String column = columns.get(i);
+            final int comparison = compareValues(columnDefinitions.getType(column), left.getBytesUnsafe(column), right.getBytesUnsafe(column));
+            if (comparison != 0) {
+                return descendings.get(i) ? -comparison : comparison;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compare two serialized values of the given type the way Cassandra sorts them, null values first
+     */
+    static int compareValues(DataType type, ByteBuffer left, ByteBuffer right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        if (!left.hasRemaining() || !right.hasRemaining()) {
+            return Integer.compare(left.remaining(), right.remaining());
+        }
+        switch (type.getName()) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+            case COUNTER:
+            case TIMESTAMP:
+            case TIME:
+                return compareSigned(left, right);
+            case VARINT:
+                return new BigInteger(toBytes(left)).compareTo(new BigInteger(toBytes(right)));
+            case DECIMAL:
+                return toBigDecimal(left).compareTo(toBigDecimal(right));
+            case FLOAT:
+                return Float.compare(left.getFloat(left.position()), right.getFloat(right.position()));
+            case DOUBLE:
+                return Double.compare(left.getDouble(left.position()), right.getDouble(right.position()));
+            case UUID:
+                return compareUUIDs(left, right, false);
+            case TIMEUUID:
+                return compareUUIDs(left, right, true);
+            case TUPLE:
+                return compareComponents(((TupleType) type).getComponentTypes(), left, right);
+            case UDT:
+                final List<DataType> fieldTypes = new ArrayList<>();
+                ((UserType) type).forEach(field -> fieldTypes.add(field.getType()));
+                return compareComponents(fieldTypes, left, right);
+            case LIST:
+            case SET:
+            case MAP:
+                return compareCollections(type.getTypeArguments(), left, right);
+            default:
+                // ascii, text, varchar, blob, inet, boolean, date and custom types
+                return compareUnsigned(left, right);
+        }
+    }
+
+    private static boolean isDescending(AbstractProperty<?, ?, ?> clusteringColumn) {
+        return ((ClusteringColumnInfo) clusteringColumn.fieldInfo.columnInfo).clusteringOrder == ClusteringOrder.DESC;
+    }
+
+    /**
+     * Big-endian two's complement integers of the same size: signed first byte, then unsigned bytes
+     */
+    private static int compareSigned(ByteBuffer left, ByteBuffer right) {
+        final int comparison = Byte.compare(left.get(left.position()), right.get(right.position()));
+        return comparison != 0 ? comparison : compareUnsigned(left, right);
+    }
+
+    /**
+     * Cassandra sorts UUIDs by version, then time UUIDs by timestamp and other ones as unsigned bytes.
+     * The least significant bits of a <em>timeuuid</em> column are compared as signed bytes,
+     * those of a <em>uuid</em> column as unsigned bytes
+     */
+    private static int compareUUIDs(ByteBuffer left, ByteBuffer right, boolean timeUUIDColumn) {
+        final long leftMsb = left.getLong(left.position());
+        final long rightMsb = right.getLong(right.position());
+        final int leftVersion = (int) ((leftMsb >>> 12) & 0xF);
+        final int rightVersion = (int) ((rightMsb >>> 12) & 0xF);
+        if (!timeUUIDColumn && leftVersion != rightVersion) {
+            return Integer.compare(leftVersion, rightVersion);
+        }
+        final int msbComparison = leftVersion == 1
+                ? Long.compare(timestampOf(leftMsb), timestampOf(rightMsb))
+                : Long.compareUnsigned(leftMsb, rightMsb);
+        if (msbComparison != 0) {
+            return msbComparison;
+        }
+        final long leftLsb = left.getLong(left.position() + 8);
+        final long rightLsb = right.getLong(right.position() + 8);
+        if (timeUUIDColumn) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                final int comparison = Byte.compare((byte) (leftLsb >>> shift), (byte) (rightLsb >>> shift));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        }
+        return Long.compareUnsigned(leftLsb, rightLsb);
+    }
+
+    /**
+     * time_low, time_mid and time_hi_and_version fields reordered into a 60 bits timestamp
+     */
+    private static long timestampOf(long msb) {
+        return ((msb & 0x0FFFL) << 48) | (((msb >>> 16) & 0xFFFFL) << 32) | (msb >>> 32);
+    }
+
+    /**
+     * Tuples and UDTs are serialized as a sequence of [int size][bytes] components, a negative size
+     * being a null component. A value with fewer components sorts first
+     */
+    private static int compareComponents(List<DataType> componentTypes, ByteBuffer left, ByteBuffer right) {
+        final ByteBuffer leftInput = left.duplicate();
+        final ByteBuffer rightInput = right.duplicate();
+        for (int i = 0; i < componentTypes.size() && leftInput.hasRemaining() && rightInput.hasRemaining(); i++) {
+            final int comparison = compareValues(componentTypes.get(i), readValue(leftInput), readValue(rightInput));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Boolean.compare(leftInput.hasRemaining(), rightInput.hasRemaining());
+    }
+
+    /**
+     * Frozen lists, sets and maps are serialized as [int count] then [int size][bytes] elements, keys and values
+     * alternating for maps. Elements are compared in turn, then the collection with fewer elements sorts first
+     */
+    private static int compareCollections(List<DataType> elementTypes, ByteBuffer left, ByteBuffer right) {
+        final ByteBuffer leftInput = left.duplicate();
+        final ByteBuffer rightInput = right.duplicate();
+        final int leftCount = leftInput.getInt();
+        final int rightCount = rightInput.getInt();
+        for (int i = 0; i < Math.min(leftCount, rightCount); i++) {
+            for (DataType elementType : elementTypes) {
+                final int comparison = compareValues(elementType, readValue(leftInput), readValue(rightInput));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+        }
+        return Integer.compare(leftCount, rightCount);
+    }
+
+    private static ByteBuffer readValue(ByteBuffer input) {
+        final int size = input.getInt();
+        if (size < 0) {
+            return null;
+        }
+        final ByteBuffer value = input.slice();
+        value.limit(size);
+        input.position(input.position() + size);
+        return value;
+    }
+
+    private static BigDecimal toBigDecimal(ByteBuffer buffer) {
+        final ByteBuffer input = buffer.duplicate();
+        final int scale = input.getInt();
+        return new BigDecimal(new BigInteger(toBytes(input)), scale);
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static int compareUnsigned(ByteBuffer left, ByteBuffer right) {
+        final int leftStart = left.position();
+        final int rightStart = right.position();
+        final int length = Math.min(left.remaining(), right.remaining());
+        for (int i = 0; i < length; i++) {
+            final int comparison = Integer.compare(left.get(leftStart + i) & 0xFF, right.get(rightStart + i) & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(left.remaining(), right.remaining());
+    }
+}
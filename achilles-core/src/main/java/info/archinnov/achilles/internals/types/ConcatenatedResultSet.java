@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Chain several result sets, in the given order, as a single one.
+ * <br/>
+ * Each result set keeps fetching its own pages lazily
+ */
+public class ConcatenatedResultSet implements ResultSet {
+
+    private final List<ResultSet> delegates;
+    private int current = 0;
+
+    public ConcatenatedResultSet(List<ResultSet> delegates) {
+        this.delegates = delegates;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return delegates.get(0).getColumnDefinitions();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return currentDelegate() == null;
+    }
+
+    @Override
+    public Row one() {
+        final ResultSet delegate = currentDelegate();
+        return delegate == null ? null : delegate.one();
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> rows = new ArrayList<>(getAvailableWithoutFetching());
+        for (Row row = one(); row != null; row = one()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        int available = 0;
+        for (int i = current; i < delegates.size(); i++) {
+            available += delegates.get(i).getAvailableWithoutFetching();
+        }
+        return available;
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return delegates.stream().allMatch(ResultSet::isFullyFetched);
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        for (int i = current; i < delegates.size(); i++) {
+            final ResultSet delegate = delegates.get(i);
+            if (!delegate.isFullyFetched()) {
+                return Futures.transform(delegate.fetchMoreResults(), (Function<ResultSet, ResultSet>) fetched -> this);
+            }
+        }
+        return Futures.immediateFuture(this);
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return delegates.get(Math.min(current, delegates.size() - 1)).getExecutionInfo();
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        final List<ExecutionInfo> executionInfos = new ArrayList<>();
+        delegates.forEach(delegate -> executionInfos.addAll(delegate.getAllExecutionInfo()));
+        return executionInfos;
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return delegates.get(0).wasApplied();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcatenatedResultSet" + delegates;
+    }
+
+    private ResultSet currentDelegate() {
+        while (current < delegates.size()) {
+            final ResultSet delegate = delegates.get(current);
+            if (!delegate.isExhausted()) {
+                return delegate;
+            }
+            current++;
+        }
+        return null;
+    }
+}
@@ -32,21 +32,33 @@ import info.archinnov.achilles.type.interceptor.Event;
 
 public class EntityIteratorWrapper<ENTITY> implements Iterator<ENTITY>, AsyncAware {
 
+    private final ResultSet resultSet;
     private final Iterator<Row> delegate;
     private final AbstractEntityProperty<ENTITY> meta;
     private final StatementWrapper statementWrapper;
     private final Options options;
+    private final int limit;
+    private int returnedCount;
 
     public EntityIteratorWrapper(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<ENTITY> meta,
                                  StatementWrapper statementWrapper, Options options) {
+        this(futureRS, meta, statementWrapper, options, 0);
+    }
+
+    /**
+     * Stop iterating, hence fetching pages, once <em>limit</em> rows have been returned. No limit if 0
+     */
+    public EntityIteratorWrapper(CompletableFuture<ResultSet> futureRS, AbstractEntityProperty<ENTITY> meta,
+                                 StatementWrapper statementWrapper, Options options, int limit) {
+        this.limit = limit;
         this.meta = meta;
         this.statementWrapper = statementWrapper;
         this.options = options;
         try {
-            this.delegate = Uninterruptibles.getUninterruptibly(futureRS
+            this.resultSet = Uninterruptibles.getUninterruptibly(futureRS
                     .thenApply(options::resultSetAsyncListener)
-                    .thenApply(statementWrapper::logTrace)
-                    .thenApply(rs -> rs.iterator()));
+                    .thenApply(statementWrapper::logTrace));
+            this.delegate = resultSet.iterator();
         } catch (ExecutionException e) {
             throw extractCauseFromExecutionException(e);
         }
@@ -54,13 +66,18 @@ public class EntityIteratorWrapper<ENTITY> implements Iterator<ENTITY>, AsyncAwa
 
     @Override
     public boolean hasNext() {
+        if (limit > 0 && returnedCount >= limit) {
+            return false;
+        }
+        statementWrapper.checkDeadlineBeforeFetching(resultSet);
         return delegate.hasNext();
     }
 
     @Override
     public ENTITY next() {
-        if (delegate.hasNext()) {
+        if ((limit == 0 || returnedCount < limit) && delegate.hasNext()) {
             final Row row = delegate.next();
+            returnedCount++;
             statementWrapper.logReturnedRow(row);
             options.rowAsyncListener(row);
             final ENTITY instance = meta.createEntityFrom(row);
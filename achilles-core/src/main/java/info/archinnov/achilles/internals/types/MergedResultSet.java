@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.*;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * K-way merge of several result sets already sorted with the same comparator.
+ * <br/>
+ * Rows are pulled lazily: only the head row of each result set is held, and a result set fetches its next page
+ * only when its last available row has been merged. Once <em>limit</em> rows are returned, no more page is fetched.
+ * Equal rows are returned in the result sets order
+ */
+public class MergedResultSet implements ResultSet {
+
+    private final List<ResultSet> delegates;
+    private final int limit;
+    private final PriorityQueue<Head> heads;
+    private boolean initialized = false;
+    private int returned = 0;
+
+    /**
+     * @param limit max number of rows to return, 0 or negative for no limit
+     */
+    public MergedResultSet(List<ResultSet> delegates, Comparator<Row> comparator, int limit) {
+        this.delegates = delegates;
+        this.limit = limit > 0 ? limit : Integer.MAX_VALUE;
+        final Comparator<Head> byRow = (left, right) -> comparator.compare(left.row, right.row);
+        this.heads = new PriorityQueue<>(Math.max(1, delegates.size()), byRow.thenComparingInt(head -> head.index));
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return delegates.get(0).getColumnDefinitions();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        initialize();
+        return heads.isEmpty() || returned >= limit;
+    }
+
+    @Override
+    public Row one() {
+        if (isExhausted()) {
+            return null;
+        }
+        final Head head = heads.poll();
+        returned++;
+        // Do not pull, and maybe fetch, the next row once the limit is reached
+        if (returned < limit) {
+            pushNextRowOf(head.index);
+        }
+        return head.row;
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> rows = new ArrayList<>();
+        for (Row row = one(); row != null; row = one()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        initialize();
+        int available = heads.size();
+        for (ResultSet delegate : delegates) {
+            available += delegate.getAvailableWithoutFetching();
+        }
+        return Math.min(available, limit - returned);
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return returned >= limit || delegates.stream().allMatch(ResultSet::isFullyFetched);
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        if (returned < limit) {
+            for (ResultSet delegate : delegates) {
+                if (!delegate.isFullyFetched()) {
+                    return Futures.transform(delegate.fetchMoreResults(), (Function<ResultSet, ResultSet>) fetched -> this);
+                }
+            }
+        }
+        return Futures.immediateFuture(this);
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return delegates.get(0).getExecutionInfo();
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        final List<ExecutionInfo> executionInfos = new ArrayList<>();
+        delegates.forEach(delegate -> executionInfos.addAll(delegate.getAllExecutionInfo()));
+        return executionInfos;
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return delegates.get(0).wasApplied();
+    }
+
+    @Override
+    public String toString() {
+        return "MergedResultSet" + delegates;
+    }
+
+    private void initialize() {
+        if (!initialized) {
+            initialized = true;
+            for (int i = 0; i < delegates.size(); i++) {
+                pushNextRowOf(i);
+            }
+        }
+    }
+
+    private void pushNextRowOf(int index) {
+        final Row row = delegates.get(index).one();
+        if (row != null) {
+            heads.offer(new Head(row, index));
+        }
+    }
+
+    private static class Head {
+        private final Row row;
+        private final int index;
+
+        private Head(Row row, int index) {
+            this.row = row;
+            this.index = index;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 
 public class ResultSetWrapper implements ResultSet {
@@ -83,7 +85,8 @@ public class ResultSetWrapper implements ResultSet {
 
     @Override
     public ListenableFuture<ResultSet> fetchMoreResults() {
-        throw new UnsupportedOperationException("Not supported by Achilles ResultSetWrapper");
+        // Peeked rows stay in front of the fetched ones
+        return Futures.transform(delegate.fetchMoreResults(), (Function<ResultSet, ResultSet>) fetched -> this);
     }
 
     @Override
@@ -32,18 +32,29 @@ import info.archinnov.achilles.type.TypedMap;
 
 public class TypedMapIteratorWrapper implements Iterator<TypedMap>, TypedMapAware, AsyncAware {
 
+    private final ResultSet resultSet;
     private final Iterator<Row> delegate;
     private final StatementWrapper statementWrapper;
     private final Options options;
+    private final int limit;
+    private int returnedCount;
 
     public TypedMapIteratorWrapper(CompletableFuture<ResultSet> futureRS, StatementWrapper statementWrapper, Options options) {
+        this(futureRS, statementWrapper, options, 0);
+    }
+
+    /**
+     * Stop iterating, hence fetching pages, once <em>limit</em> rows have been returned. No limit if 0
+     */
+    public TypedMapIteratorWrapper(CompletableFuture<ResultSet> futureRS, StatementWrapper statementWrapper, Options options, int limit) {
+        this.limit = limit;
         this.statementWrapper = statementWrapper;
         this.options = options;
         try {
-            this.delegate = Uninterruptibles.getUninterruptibly(futureRS
+            this.resultSet = Uninterruptibles.getUninterruptibly(futureRS
                     .thenApply(options::resultSetAsyncListener)
-                    .thenApply(statementWrapper::logTrace)
-                    .thenApply(rs -> rs.iterator()));
+                    .thenApply(statementWrapper::logTrace));
+            this.delegate = resultSet.iterator();
         } catch (ExecutionException e) {
             throw extractCauseFromExecutionException(e);
         }
@@ -51,13 +62,18 @@ public class TypedMapIteratorWrapper implements Iterator<TypedMap>, TypedMapAwar
 
     @Override
     public boolean hasNext() {
+        if (limit > 0 && returnedCount >= limit) {
+            return false;
+        }
+        statementWrapper.checkDeadlineBeforeFetching(resultSet);
         return delegate.hasNext();
     }
 
     @Override
     public TypedMap next() {
-        if (delegate.hasNext()) {
+        if ((limit == 0 || returnedCount < limit) && delegate.hasNext()) {
             final Row row = delegate.next();
+            returnedCount++;
             statementWrapper.logReturnedRow(row);
             options.rowAsyncListener(row);
             return mapRowToTypedMap(row);
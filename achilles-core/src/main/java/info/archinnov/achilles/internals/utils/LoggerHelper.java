@@ -21,11 +21,13 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.StringJoiner;
 
 import com.datastax.driver.core.utils.Bytes;
 
 public abstract class LoggerHelper {
     public static final int HEX_STRING_LOG_LIMIT = 16;
+    public static final int VALUE_STRING_LOG_LIMIT = 64;
 
     public static List<Object> replaceByteBuffersByHexString(Object... values) {
         ArrayList<Object> boundValues = new ArrayList<>(Arrays.asList(values));
@@ -34,9 +36,7 @@ public abstract class LoggerHelper {
             Object boundValue = boundValues.get(valuePos);
             if (boundValue instanceof ByteBuffer) {
                 ByteBuffer bbBoundedValue = (ByteBuffer) boundValue;
-                byte[] firstBytes = new byte[min(bbBoundedValue.remaining(), HEX_STRING_LOG_LIMIT)];
-                bbBoundedValue.get(firstBytes).rewind();
-                boundValues.set(valuePos, toHexString(firstBytes, bbBoundedValue.remaining()));
+                boundValues.set(valuePos, toHexString(firstBytes(bbBoundedValue), bbBoundedValue.remaining()));
             } else if (boundValue instanceof byte[]) {
                 byte[] baBoundedValue = (byte[]) boundValue;
                 byte[] firstBytes = baBoundedValue.length > HEX_STRING_LOG_LIMIT ? Arrays.copyOfRange(baBoundedValue, 0, HEX_STRING_LOG_LIMIT) : baBoundedValue;
@@ -46,6 +46,30 @@ public abstract class LoggerHelper {
         return boundValues;
     }
 
+    public static String summarizeBoundValues(Object... values) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Object boundValue : replaceByteBuffersByHexString(values)) {
+            final String value = String.valueOf(boundValue);
+            joiner.add(value.length() > VALUE_STRING_LOG_LIMIT
+                    ? value.substring(0, VALUE_STRING_LOG_LIMIT) + String.format("... (%d)", value.length())
+                    : value);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Copy the first bytes to log using absolute reads. The position of the buffer is left untouched
+     * since it may be shared with a statement being sent or an entity using zero-copy blobs
+     */
+    public static byte[] firstBytes(ByteBuffer buffer) {
+        final int position = buffer.position();
+        final byte[] firstBytes = new byte[min(buffer.remaining(), HEX_STRING_LOG_LIMIT)];
+        for (int i = 0; i < firstBytes.length; i++) {
+            firstBytes[i] = buffer.get(position + i);
+        }
+        return firstBytes;
+    }
+
     public static String toHexString(byte[] firstBytes, int originalLength) {
         return Bytes.toHexString(firstBytes) + more(originalLength);
     }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.*;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MonitoredExecutorServiceTest {
+
+    private final ExecutorService delegate = Executors.newSingleThreadExecutor();
+    private final CountDownLatch blockWorker = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        blockWorker.countDown();
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void should_reject_task_when_saturated_with_fail_fast() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.FAIL_FAST, 2);
+        executor.execute(this::awaitUnblock);
+        executor.execute(this::awaitUnblock);
+
+        //When
+        try {
+            executor.execute(() -> {});
+            fail("Expecting RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            //Then
+            assertThat(executor.getRejectedCount()).isEqualTo(1L);
+            assertThat(executor.getQueueDepth() + executor.getActiveCount()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    public void should_run_task_in_caller_thread_when_saturated() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.CALLER_RUNS, 1);
+        executor.execute(this::awaitUnblock);
+        final Thread caller = Thread.currentThread();
+        final CompletableFuture<Thread> executingThread = new CompletableFuture<>();
+
+        //When
+        executor.execute(() -> executingThread.complete(Thread.currentThread()));
+
+        //Then
+        assertThat(executingThread.getNow(null)).isSameAs(caller);
+        assertThat(executor.getCallerRunsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_block_caller_until_slot_available() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.BLOCK, 1, 5000L);
+        executor.execute(this::awaitUnblock);
+        final CompletableFuture<Boolean> secondTask = new CompletableFuture<>();
+
+        //When
+        final Thread submitter = new Thread(() -> executor.execute(() -> secondTask.complete(true)));
+        submitter.start();
+        while (executor.getBlockedAdmissionsCount() == 0) {
+            Thread.sleep(5);
+        }
+        assertThat(secondTask.isDone()).isFalse();
+        blockWorker.countDown();
+
+        //Then
+        assertThat(secondTask.get(5, TimeUnit.SECONDS)).isTrue();
+        submitter.join(5000);
+    }
+
+    @Test
+    public void should_reject_task_when_no_slot_freed_within_block_timeout() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.BLOCK, 1, 20L);
+        executor.execute(this::awaitUnblock);
+
+        //When
+        try {
+            executor.execute(() -> {});
+            fail("Expecting RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            //Then
+            assertThat(executor.getBlockedAdmissionsCount()).isEqualTo(1L);
+            assertThat(executor.getRejectedCount()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    public void should_run_task_in_executor_thread_instead_of_blocking_it() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(Executors.newFixedThreadPool(1),
+                SaturationPolicy.BLOCK, 1, 5000L);
+        final CompletableFuture<Thread> nestedTaskThread = new CompletableFuture<>();
+        final CompletableFuture<Thread> outerTaskThread = new CompletableFuture<>();
+
+        //When
+        executor.execute(() -> {
+            outerTaskThread.complete(Thread.currentThread());
+            executor.execute(() -> nestedTaskThread.complete(Thread.currentThread()));
+        });
+
+        //Then
+        assertThat(nestedTaskThread.get(5, TimeUnit.SECONDS)).isSameAs(outerTaskThread.get());
+        assertThat(executor.getBlockedAdmissionsCount()).isEqualTo(0L);
+        assertThat(executor.getCallerRunsCount()).isEqualTo(1L);
+        executor.shutdown();
+    }
+
+    @Test
+    public void should_run_task_in_driver_io_thread_instead_of_blocking_it() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.BLOCK, 1, 5000L);
+        executor.execute(this::awaitUnblock);
+        final CompletableFuture<String> executingThread = new CompletableFuture<>();
+
+        //When
+        final Thread ioThread = new Thread(() -> executor.execute(() -> executingThread.complete(Thread.currentThread().getName())),
+                "cluster1-nio-worker-0");
+        ioThread.start();
+
+        //Then
+        assertThat(executingThread.get(5, TimeUnit.SECONDS)).isEqualTo("cluster1-nio-worker-0");
+        assertThat(executor.getBlockedAdmissionsCount()).isEqualTo(0L);
+        ioThread.join(5000);
+    }
+
+    @Test
+    public void should_admit_all_tasks_when_unbounded() throws Exception {
+        //Given
+        final MonitoredExecutorService executor = new MonitoredExecutorService(delegate, SaturationPolicy.FAIL_FAST,
+                MonitoredExecutorService.UNBOUNDED);
+        executor.execute(this::awaitUnblock);
+
+        //When
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> {});
+        }
+
+        //Then
+        assertThat(executor.getRejectedCount()).isEqualTo(0L);
+        assertThat(executor.getQueueDepth() + executor.getActiveCount()).isEqualTo(101L);
+    }
+
+    private void awaitUnblock() {
+        try {
+            blockWorker.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class VirtualThreadsTest {
+
+    @Test
+    public void should_create_virtual_thread_executor_only_when_supported() throws Exception {
+        //Given
+        final boolean supported = VirtualThreads.isSupported();
+
+        //When
+        final Optional<ExecutorService> executor = VirtualThreads.newVirtualThreadPerTaskExecutor("test-virtual-");
+
+        //Then
+        assertThat(executor.isPresent()).isEqualTo(supported);
+        if (supported) {
+            final String threadName = executor.get().submit(() -> Thread.currentThread().getName()).get();
+            assertThat(threadName).startsWith("test-virtual-");
+            executor.get().shutdown();
+        }
+    }
+
+    @Test
+    public void should_parse_java_feature_version() throws Exception {
+        //Given
+        //When
+        //Then
+        assertThat(VirtualThreads.javaFeatureVersion("1.8")).isEqualTo(8);
+        assertThat(VirtualThreads.javaFeatureVersion("17")).isEqualTo(17);
+        assertThat(VirtualThreads.javaFeatureVersion("21.0.2")).isEqualTo(21);
+        assertThat(VirtualThreads.javaFeatureVersion("unknown")).isEqualTo(0);
+    }
+}
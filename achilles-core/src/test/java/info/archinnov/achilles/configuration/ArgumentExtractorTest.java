@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.internals.types.ConfigMap;
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArgumentExtractorTest {
+
+    @Mock
+    private BeanFactory beanFactory;
+
+    @Test
+    public void should_detect_provided_bean_factory() throws Exception {
+        //Given
+        final ConfigMap configMap = new ConfigMap();
+        configMap.put(ConfigurationParameters.DEFAULT_BEAN_FACTORY, beanFactory);
+
+        //When
+        final boolean provided = ArgumentExtractor.initProvidedBeanFactory(configMap);
+
+        //Then
+        assertThat(provided).isTrue();
+    }
+
+    @Test
+    public void should_not_detect_provided_bean_factory_when_absent() throws Exception {
+        //Given
+        final ConfigMap configMap = new ConfigMap();
+
+        //When
+        final boolean provided = ArgumentExtractor.initProvidedBeanFactory(configMap);
+
+        //Then
+        assertThat(provided).isFalse();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.annotations.Packed.Encoding;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+
+public class PackedArrayCodecsTest {
+
+    @Test
+    public void should_encode_float_array_as_little_endian_blob() throws Exception {
+        //Given
+        final PackedFloatArrayCodec codec = new PackedFloatArrayCodec();
+        final float[] values = new float[]{1.5f, -2.25f, Float.MAX_VALUE};
+
+        //When
+        final ByteBuffer encoded = codec.encode(values);
+        final float[] decoded = codec.decode(encoded);
+
+        //Then
+        assertThat(encoded.remaining()).isEqualTo(12);
+        assertThat(encoded.duplicate().order(ByteOrder.LITTLE_ENDIAN).getFloat(4)).isEqualTo(-2.25f);
+        assertThat(decoded).isEqualTo(values);
+        assertThat(new PackedDoubleArrayCodec().decode(new PackedDoubleArrayCodec().encode(new double[]{0.1, -3.0})))
+                .isEqualTo(new double[]{0.1, -3.0});
+    }
+
+    @Test
+    public void should_encode_int_array_with_delta_varint() throws Exception {
+        //Given
+        final PackedIntArrayCodec codec = new PackedIntArrayCodec(Encoding.DELTA_VARINT);
+        final int[] sorted = new int[]{1000, 1001, 1003, 1010, 1050};
+        final int[] extremes = new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1};
+
+        //When
+        final ByteBuffer encodedSorted = codec.encode(sorted);
+        final int[] decodedSorted = codec.decode(encodedSorted);
+        final int[] decodedExtremes = codec.decode(codec.encode(extremes));
+
+        //Then
+        // count (1 byte) + first value (2 bytes) + 4 small deltas (1 byte each)
+        assertThat(encodedSorted.remaining()).isEqualTo(7);
+        assertThat(decodedSorted).isEqualTo(sorted);
+        assertThat(decodedExtremes).isEqualTo(extremes);
+    }
+
+    @Test
+    public void should_encode_long_array_with_varint_and_plain() throws Exception {
+        //Given
+        final long[] values = new long[]{0L, -1L, 300L, Long.MAX_VALUE, Long.MIN_VALUE};
+        final PackedLongArrayCodec varInt = new PackedLongArrayCodec(Encoding.VARINT);
+        final PackedLongArrayCodec plain = new PackedLongArrayCodec();
+
+        //When
+        final long[] fromVarInt = varInt.decode(varInt.encode(values));
+        final ByteBuffer plainEncoded = plain.encode(values);
+        final long[] fromPlain = plain.decode(plainEncoded);
+
+        //Then
+        assertThat(fromVarInt).isEqualTo(values);
+        assertThat(plainEncoded.remaining()).isEqualTo(40);
+        assertThat(fromPlain).isEqualTo(values);
+        assertThat(varInt.encode(new long[0]).remaining()).isEqualTo(1);
+        assertThat(varInt.decode(varInt.encode(new long[0]))).isEmpty();
+    }
+
+    @Test(expected = AchillesTranscodingException.class)
+    public void should_fail_decoding_truncated_varint_array() throws Exception {
+        //Given
+        final PackedLongArrayCodec codec = new PackedLongArrayCodec(Encoding.VARINT);
+        final ByteBuffer encoded = codec.encode(new long[]{1L, 300L});
+        encoded.limit(encoded.limit() - 1);
+
+        //When
+        codec.decode(encoded);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ZeroCopyByteArrayCodecTest {
+
+    private final ZeroCopyByteArrayCodec codec = new ZeroCopyByteArrayCodec();
+
+    @Test
+    public void should_wrap_and_return_backing_array_without_copy() throws Exception {
+        //Given
+        final byte[] bytes = new byte[]{1, 2, 3};
+
+        //When
+        final ByteBuffer encoded = codec.encode(bytes);
+        final byte[] decoded = codec.decode(encoded);
+
+        //Then
+        assertThat(encoded.array()).isSameAs(bytes);
+        assertThat(decoded).isSameAs(bytes);
+    }
+
+    @Test
+    public void should_copy_when_buffer_does_not_cover_backing_array() throws Exception {
+        //Given
+        final ByteBuffer slice = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        slice.position(1);
+        final ByteBuffer readOnly = ByteBuffer.wrap(new byte[]{5, 6}).asReadOnlyBuffer();
+
+        //When
+        final byte[] fromSlice = codec.decode(slice);
+        final byte[] fromReadOnly = codec.decode(readOnly);
+
+        //Then
+        assertThat(fromSlice).isEqualTo(new byte[]{2, 3, 4});
+        assertThat(slice.position()).isEqualTo(1);
+        assertThat(fromReadOnly).isEqualTo(new byte[]{5, 6});
+    }
+
+    @Test
+    public void should_decode_read_only_view_of_byte_buffer() throws Exception {
+        //Given
+        final ReadOnlyByteBufferCodec readOnlyCodec = new ReadOnlyByteBufferCodec();
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        //When
+        final ByteBuffer encoded = readOnlyCodec.encode(buffer);
+        final ByteBuffer decoded = readOnlyCodec.decode(buffer);
+
+        //Then
+        assertThat(encoded).isSameAs(buffer);
+        assertThat(decoded.isReadOnly()).isTrue();
+        assertThat(decoded.get(2)).isEqualTo((byte) 3);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.codegen;
+
+import static info.archinnov.achilles.internals.codegen.TypeParsingResultConsumer.getTypeParsingResults;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import javax.lang.model.element.TypeElement;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeSpec;
+
+import info.archinnov.achilles.internals.apt_utils.AbstractTestProcessor;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty.EntityType;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+import info.archinnov.achilles.internals.sample_classes.parser.entity.TestEntityWithEntityCreator;
+import info.archinnov.achilles.internals.sample_classes.parser.entity.TestEntityWithSimplePartitionKey;
+import info.archinnov.achilles.internals.sample_classes.parser.field.TestUDT;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BeanFactoryCodeGenTest extends AbstractTestProcessor
+        implements TypeParsingResultConsumer {
+
+    @Test
+    public void should_generate_bean_factory_class() throws Exception {
+        setExec(aptUtils -> {
+            final GlobalParsingContext context = new GlobalParsingContext();
+            final EntityMetaCodeGen builder = new EntityMetaCodeGen(aptUtils);
+
+            final TypeElement simpleEntity = aptUtils.elementUtils.getTypeElement(TestEntityWithSimplePartitionKey.class.getCanonicalName());
+            final TypeElement entityWithCreator = aptUtils.elementUtils.getTypeElement(TestEntityWithEntityCreator.class.getCanonicalName());
+
+            final List<EntityMetaSignature> signatures = asList(
+                    builder.buildEntityMeta(EntityType.TABLE, simpleEntity, context,
+                            getTypeParsingResults(aptUtils, simpleEntity, context)),
+                    builder.buildEntityMeta(EntityType.TABLE, entityWithCreator, context,
+                            getTypeParsingResults(aptUtils, entityWithCreator, context)));
+            context.udtTypes.put(ClassName.get(TestUDT.class), TypeSpec.classBuilder("TestUDT_AchillesMeta").build());
+
+            final TypeSpec typeSpec = BeanFactoryCodeGen.buildInstance(aptUtils, signatures, context);
+
+            assertThat(buildSource(typeSpec)).isEqualTo(
+                    readCodeBlockFromFile("expected_code/bean_factory/should_generate_bean_factory_class.txt"));
+        });
+        launchTest(TestEntityWithSimplePartitionKey.class);
+    }
+}
@@ -98,6 +98,22 @@ public class EntityMetaCodeGenTest extends AbstractTestProcessor
         launchTest(TestEntityWithClusteringColumns.class);
     }
 
+    @Test
+    public void should_build_entity_with_entity_creator() throws Exception {
+        setExec(aptUtils -> {
+            final String className = TestEntityWithEntityCreator.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+
+            final EntityMetaCodeGen builder = new EntityMetaCodeGen(aptUtils);
+            final List<FieldParser.FieldMetaSignature> parsingResults = getTypeParsingResults(aptUtils, typeElement, context);
+            final TypeSpec typeSpec = builder.buildEntityMeta(EntityType.TABLE, typeElement, context, parsingResults).sourceCode;
+
+            assertThat(buildSource(typeSpec)).isEqualTo(
+                    readCodeBlockFromFile("expected_code/entity_meta_builder/should_build_entity_with_entity_creator.txt"));
+        });
+        launchTest(TestEntityWithEntityCreator.class);
+    }
+
     @Test
     public void should_build_entity_with_counter_column() throws Exception {
         setExec(aptUtils -> {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractGeneratedBeanFactoryTest {
+
+    @Test
+    public void should_create_registered_class_with_constructor_reference() throws Exception {
+        //Given
+        final AtomicInteger constructorCalls = new AtomicInteger(0);
+        final AbstractGeneratedBeanFactory factory = new AbstractGeneratedBeanFactory() {
+            {
+                register(PrivateConstructorBean.class, () -> {
+                    constructorCalls.incrementAndGet();
+                    return PrivateConstructorBean.create();
+                });
+            }
+        };
+
+        //When
+        final PrivateConstructorBean instance = factory.newInstance(PrivateConstructorBean.class);
+
+        //Then
+        assertThat(instance).isNotNull();
+        assertThat(constructorCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_fall_back_to_default_bean_factory_for_unknown_class() throws Exception {
+        //Given
+        final AbstractGeneratedBeanFactory factory = new AbstractGeneratedBeanFactory() {
+        };
+
+        //When
+        final UnregisteredBean instance = factory.newInstance(UnregisteredBean.class);
+
+        //Then
+        assertThat(instance).isNotNull();
+        assertThat(Whitebox.getInternalState(factory, "fallbackFactory")).isInstanceOf(DefaultBeanFactory.class);
+    }
+
+    /**
+     * Cannot be instantiated by reflection, only through the registered constructor reference
+     */
+    public static class PrivateConstructorBean {
+
+        private PrivateConstructorBean() {
+        }
+
+        static PrivateConstructorBean create() {
+            return new PrivateConstructorBean();
+        }
+    }
+
+    public static class UnregisteredBean {
+    }
+}
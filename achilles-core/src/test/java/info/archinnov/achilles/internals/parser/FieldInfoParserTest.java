@@ -38,6 +38,7 @@ import info.archinnov.achilles.internals.parser.context.EntityParsingContext;
 import info.archinnov.achilles.internals.parser.context.FieldInfoContext;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 import info.archinnov.achilles.internals.sample_classes.parser.field_info.TestEntityForFieldInfo;
+import info.archinnov.achilles.internals.sample_classes.parser.field_info.TestEntityWithLazyCreatorField;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 import info.archinnov.achilles.internals.strategy.naming.SnakeCaseNaming;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -371,6 +372,43 @@ public class FieldInfoParserTest extends AbstractTestProcessor {
         launchTest();
     }
 
+    @Test
+    public void should_build_lazy_column_info() throws Exception {
+        setExec(aptUtils -> {
+            final FieldInfoParser parser = new FieldInfoParser(aptUtils);
+            final String className = TestEntityForFieldInfo.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final TypeName typeName = ClassName.get(TestEntityForFieldInfo.class);
+
+            // @Column @Lazy private String lazyCol;
+            VariableElement elm = findFieldInType(typeElement, "lazyCol");
+            AnnotationTree annotationTree = AnnotationTree.buildFrom(aptUtils, elm);
+            final Tuple2<CodeBlock, ColumnInfo> codeBlock = parser.buildColumnInfo(annotationTree, elm, "lazyCol", typeName);
+            assertThat(codeBlock._1().toString().trim().replaceAll("\n", ""))
+                    .isEqualTo("new info.archinnov.achilles.internals.metamodel.columns.ColumnInfo(false, true)");
+            assertThat(codeBlock._2().lazy).isTrue();
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_fail_building_lazy_partition_key() throws Exception {
+        setExec(aptUtils -> {
+            final FieldInfoParser parser = new FieldInfoParser(aptUtils);
+            final String className = TestEntityForFieldInfo.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final TypeName typeName = ClassName.get(TestEntityForFieldInfo.class);
+
+            // @PartitionKey @Lazy private Long lazyPartition;
+            VariableElement elm = findFieldInType(typeElement, "lazyPartition");
+            AnnotationTree annotationTree = AnnotationTree.buildFrom(aptUtils, elm);
+            parser.buildColumnInfo(annotationTree, elm, "lazyPartition", typeName);
+        });
+        failTestWithMessage("@Lazy annotation on field 'lazyPartition' of class " +
+                "'info.archinnov.achilles.internals.sample_classes.parser.field_info.TestEntityForFieldInfo' " +
+                "is only allowed for normal and static columns");
+    }
+
     @Test
     public void should_build_computed_column_info() throws Exception {
         setExec(aptUtils -> {
@@ -775,4 +813,22 @@ public class FieldInfoParserTest extends AbstractTestProcessor {
         });
         failTestWithMessage("Cannot find setter 'void setSet(java.util.Set<com.datastax.driver.core.ConsistencyLevel> value)' for field 'set' in class 'info.archinnov.achilles.internals.sample_classes.parser.field_info.TestEntityForFieldInfo'");
     }
+
+    @Test
+    public void should_fail_compilation_when_lazy_field_only_set_by_entity_creator() throws Exception {
+        setExec(aptUtils -> {
+            FieldInfoParser parser = new FieldInfoParser(aptUtils);
+            final String className = TestEntityWithLazyCreatorField.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final EntityParsingContext context = new EntityParsingContext(typeElement, ClassName.get(TestEntityWithLazyCreatorField.class), strategy, new GlobalParsingContext());
+
+            // @Lazy @Column private final String content;
+            VariableElement elm = findFieldInType(typeElement, "content");
+            final AnnotationTree annotationTree = AnnotationTree.buildFrom(aptUtils, elm);
+
+            parser.buildFieldInfo(elm, annotationTree, context);
+        });
+        failTestWithMessage("Field 'content' of class 'info.archinnov.achilles.internals.sample_classes.parser.field_info.TestEntityWithLazyCreatorField' " +
+                "is only set through its @EntityCreator and cannot be @Lazy, add a setter for this field", TestEntityWithLazyCreatorField.class);
+    }
 }
\ No newline at end of file
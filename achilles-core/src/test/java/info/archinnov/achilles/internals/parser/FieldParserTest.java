@@ -143,6 +143,64 @@ public class FieldParserTest extends AbstractTestProcessor {
         launchTest();
     }
 
+    @Test
+    public void should_parse_packed_float_array() throws Exception {
+        setExec(aptUtils -> {
+            final FieldParser fieldParser = new FieldParser(aptUtils);
+            final String className = TestEntityForCodecs.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final EntityParsingContext entityContext = new EntityParsingContext(typeElement, ClassName.get(TestEntityForCodecs.class), strategy, new GlobalParsingContext());
+
+            // @Packed private float[] packedFloatArray;
+            VariableElement elm = findFieldInType(typeElement, "packedFloatArray");
+
+            FieldMetaSignature parsingResult = fieldParser.parse(elm, entityContext);
+
+            assertThat(parsingResult.targetType.toString()).isEqualTo(java.nio.ByteBuffer.class.getCanonicalName());
+            assertThat(parsingResult.buildPropertyAsField().toString().trim().replaceAll("\n", ""))
+                    .isEqualTo(readCodeLineFromFile("expected_code/field_parser/should_parse_packed_float_array.txt"));
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_parse_packed_long_array_with_delta_varint_encoding() throws Exception {
+        setExec(aptUtils -> {
+            final FieldParser fieldParser = new FieldParser(aptUtils);
+            final String className = TestEntityForCodecs.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final EntityParsingContext entityContext = new EntityParsingContext(typeElement, ClassName.get(TestEntityForCodecs.class), strategy, new GlobalParsingContext());
+
+            // @Packed(Packed.Encoding.DELTA_VARINT) private long[] packedLongArray;
+            VariableElement elm = findFieldInType(typeElement, "packedLongArray");
+
+            FieldMetaSignature parsingResult = fieldParser.parse(elm, entityContext);
+
+            assertThat(parsingResult.targetType.toString()).isEqualTo(java.nio.ByteBuffer.class.getCanonicalName());
+            assertThat(parsingResult.buildPropertyAsField().toString().trim().replaceAll("\n", ""))
+                    .isEqualTo(readCodeLineFromFile("expected_code/field_parser/should_parse_packed_long_array_with_delta_varint_encoding.txt"));
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_fail_parsing_packed_double_array_with_varint_encoding() throws Exception {
+        setExec(aptUtils -> {
+            final FieldParser fieldParser = new FieldParser(aptUtils);
+            final String className = TestEntityForCodecs.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+            final EntityParsingContext entityContext = new EntityParsingContext(typeElement, ClassName.get(TestEntityForCodecs.class), strategy, new GlobalParsingContext());
+
+            // @Packed(Packed.Encoding.VARINT) private double[] invalidPackedDoubleArray;
+            VariableElement elm = findFieldInType(typeElement, "invalidPackedDoubleArray");
+
+            fieldParser.parse(elm, entityContext);
+        });
+        failTestWithMessage("Encoding 'VARINT' of @Packed field 'invalidPackedDoubleArray' of class " +
+                "'info.archinnov.achilles.internals.sample_classes.parser.field.TestEntityForCodecs' " +
+                "is only allowed for int[] and long[] arrays");
+    }
+
     @Test
     public void should_parse_enumerated_type() throws Exception {
         setExec(aptUtils -> {
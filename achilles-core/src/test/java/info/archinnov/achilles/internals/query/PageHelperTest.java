@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.type.Page;
+
+public class PageHelperTest {
+
+    @Test
+    public void should_extract_only_available_rows() throws Exception {
+        //Given
+        final Row row1 = mock(Row.class), row2 = mock(Row.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        final PagingState pagingState = mock(PagingState.class);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(2);
+        when(resultSet.one()).thenReturn(row1, row2);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(executionInfo.getPagingState()).thenReturn(pagingState);
+
+        //When
+        final Page<Row> page = PageHelper.extractPage(resultSet, row -> row);
+
+        //Then
+        assertThat(page.getItems()).containsExactly(row1, row2);
+        assertThat(page.isLast()).isFalse();
+        assertThat(page.getPagingState().get()).isSameAs(pagingState);
+        verify(resultSet, times(2)).one();
+        verify(resultSet, never()).all();
+        verify(resultSet, never()).iterator();
+    }
+
+    @Test
+    public void should_flag_last_page_when_no_paging_state() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ExecutionInfo executionInfo = mock(ExecutionInfo.class);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+
+        //When
+        final Page<Row> page = PageHelper.extractPage(resultSet, row -> row);
+
+        //Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getPagingToken()).isNull();
+        verify(resultSet, never()).one();
+    }
+
+    @Test
+    public void should_prepare_page_on_statement() throws Exception {
+        //Given
+        final Statement statement = mock(Statement.class);
+        final PagingState pagingState = mock(PagingState.class);
+        final Options options = new Options();
+        options.setPagingState(Optional.of(pagingState));
+
+        //When
+        PageHelper.preparePage(statement, 50, options);
+
+        //Then
+        verify(statement).setFetchSize(50);
+        verify(statement).setPagingState(pagingState);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_preparing_page_with_negative_size() throws Exception {
+        PageHelper.preparePage(mock(Statement.class), 0, new Options());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.query.crud;
+
+import static info.archinnov.achilles.type.strategy.InsertStrategy.ALL_FIELDS;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+import info.archinnov.achilles.internals.runtime.DirtyTracker;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.ColumnUpdate;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UpdateWithOptionsTest {
+
+    @Mock
+    private AbstractEntityProperty<TestEntity> meta;
+
+    @Mock
+    private RuntimeEngine rte;
+
+    @Mock
+    private PreparedStatement ps;
+
+    @Mock
+    private BoundStatement bs;
+
+    @Mock
+    private SimpleProperty<TestEntity, Long, Long> idProperty;
+
+    @Mock
+    private SimpleProperty<TestEntity, String, String> valueProperty;
+
+    private final DirtyTracker dirtyTracker = new DirtyTracker(asList(TestEntity.class));
+
+    private final CompletableFuture<ResultSet> inFlight = new CompletableFuture<>();
+
+    @Before
+    public void setUp() {
+        Whitebox.setInternalState(idProperty, "fieldInfo", FieldInfo.of("id", "id"));
+        Whitebox.setInternalState(valueProperty, "fieldInfo", FieldInfo.of("value", "value"));
+        when(idProperty.encodeField(any(TestEntity.class))).thenAnswer(invocation -> ((TestEntity) invocation.getArguments()[0]).id);
+        when(valueProperty.encodeField(any(TestEntity.class))).thenAnswer(invocation -> ((TestEntity) invocation.getArguments()[0]).value);
+
+        final List<AbstractProperty<TestEntity, ?, ?>> partitionKeys = asList(idProperty);
+        final List<AbstractProperty<TestEntity, ?, ?>> normalColumns = asList(valueProperty);
+        Whitebox.setInternalState(meta, "entityClass", TestEntity.class);
+        Whitebox.setInternalState(meta, "entityLogger", LoggerFactory.getLogger(TestEntity.class));
+        Whitebox.setInternalState(meta, "staticTTL", Optional.empty());
+        Whitebox.setInternalState(meta, "partitionKeys", partitionKeys);
+        Whitebox.setInternalState(meta, "clusteringColumns", new ArrayList<>());
+        Whitebox.setInternalState(meta, "staticColumns", new ArrayList<>());
+        Whitebox.setInternalState(meta, "normalColumns", normalColumns);
+        Whitebox.setInternalState(meta, "counterColumns", new ArrayList<>());
+        Whitebox.setInternalState(meta, "allColumns", normalColumns);
+        when(meta.getKeyspace()).thenReturn(Optional.of("ks"));
+        when(meta.getTableOrViewName()).thenReturn("entity");
+        when(meta.insertStrategy()).thenReturn(ALL_FIELDS);
+
+        Whitebox.setInternalState(rte, "dirtyTracker", dirtyTracker);
+        when(rte.prepareDynamicQuery(any(RegularStatement.class))).thenReturn(ps);
+        when(rte.execute(any(StatementWrapper.class))).thenReturn(inFlight);
+        when(ps.bind()).thenReturn(bs);
+        when(bs.preparedStatement()).thenReturn(ps);
+        when(ps.getQueryString()).thenReturn("UPDATE ks.entity USING TTL :ttl SET value=:value WHERE id=:id");
+    }
+
+    @Test
+    public void should_snapshot_the_values_sent_rather_than_the_instance_on_completion() throws Exception {
+        //Given
+        final TestEntity entity = new TestEntity(10L, "sent");
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getExecutionInfo()).thenReturn(mock(ExecutionInfo.class));
+
+        final CompletableFuture<ExecutionInfo> result = new UpdateWithOptions<>(meta, rte, entity).executeAsyncWithStats();
+
+        //When
+        entity.value = "changed_while_in_flight";
+        inFlight.complete(resultSet);
+
+        //Then
+        assertThat(result.isDone()).isTrue();
+        final Map<String, Object> snapshot = dirtyTracker.getSnapshot(entity).get();
+        assertThat(snapshot.get("value")).isEqualTo("sent");
+
+        final List<ColumnUpdate> pendingUpdates = dirtyTracker.diff(meta, entity).get();
+        assertThat(pendingUpdates).hasSize(1);
+        assertThat(pendingUpdates.get(0).property).isSameAs(valueProperty);
+        assertThat(pendingUpdates.get(0).encodedValue).isEqualTo("changed_while_in_flight");
+    }
+
+    public static class TestEntity {
+        private final Long id;
+        private String value;
+
+        public TestEntity(Long id, String value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+}
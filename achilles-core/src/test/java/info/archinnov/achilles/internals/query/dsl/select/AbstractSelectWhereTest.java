@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.query.dsl.select;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+
+public class AbstractSelectWhereTest {
+
+    @Test
+    public void should_render_per_partition_limit_before_limit() throws Exception {
+        //Given
+        final Select.Where where = QueryBuilder.select().from("ks", "entity").where(eq("id", bindMarker("id")));
+        where.limit(bindMarker("lim"));
+        final TestSelectWhere select = new TestSelectWhere(where, asList(10L, 5));
+
+        //When
+        select.perPartitionLimit = Optional.of(2);
+
+        //Then
+        assertThat(select.getStatementAsString())
+                .isEqualTo("SELECT * FROM ks.entity WHERE id=:id PER PARTITION LIMIT :perPartitionLim LIMIT :lim;");
+        assertThat(select.getBoundValues()).containsExactly(10L, 2, 5);
+        assertThat(select.getEncodedBoundValues()).containsExactly(10L, 2, 5);
+    }
+
+    @Test
+    public void should_render_per_partition_limit_without_limit() throws Exception {
+        //Given
+        final Select.Where where = QueryBuilder.select().from("ks", "entity").where(eq("id", bindMarker("id")));
+        final TestSelectWhere select = new TestSelectWhere(where, asList(10L));
+
+        //When
+        select.perPartitionLimit = Optional.of(2);
+
+        //Then
+        assertThat(select.getStatementAsString())
+                .isEqualTo("SELECT * FROM ks.entity WHERE id=:id PER PARTITION LIMIT :perPartitionLim;");
+        assertThat(select.getBoundValues()).containsExactly(10L, 2);
+    }
+
+    @Test
+    public void should_not_change_statement_without_per_partition_limit() throws Exception {
+        //Given
+        final Select.Where where = QueryBuilder.select().from("ks", "entity").where(eq("id", bindMarker("id")));
+        where.limit(bindMarker("lim"));
+
+        //When
+        final TestSelectWhere select = new TestSelectWhere(where, asList(10L, 5));
+
+        //Then
+        assertThat(select.getStatementAsString()).isEqualTo(where.getQueryString());
+        assertThat(select.getBoundValues()).containsExactly(10L, 5);
+    }
+
+    private static class TestSelectWhere extends AbstractSelectWhere<TestSelectWhere, String> {
+
+        private final Options options = new Options();
+        private final List<Object> values;
+
+        TestSelectWhere(Select.Where where, List<Object> values) {
+            super(where);
+            this.values = new ArrayList<>(values);
+        }
+
+        @Override
+        protected List<Object> getBoundValuesInternal() {
+            return values;
+        }
+
+        @Override
+        protected List<Object> getEncodedValuesInternal() {
+            return values;
+        }
+
+        @Override
+        protected AbstractEntityProperty<String> getMetaInternal() {
+            return null;
+        }
+
+        @Override
+        protected Class<String> getEntityClass() {
+            return String.class;
+        }
+
+        @Override
+        protected RuntimeEngine getRte() {
+            return null;
+        }
+
+        @Override
+        protected TestSelectWhere getThis() {
+            return this;
+        }
+
+        @Override
+        protected Options getOptions() {
+            return options;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+
+import info.archinnov.achilles.exception.AchillesConcurrencyLimitException;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final List<CompletableFuture<String>> executions = new ArrayList<>();
+
+    @Test
+    public void should_queue_statement_when_limit_reached_and_run_it_on_release() throws Exception {
+        //Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 10, 10_000L, 10);
+
+        //When
+        final CompletableFuture<String> first = limiter.execute(String.class, this::newExecution);
+        final CompletableFuture<String> second = limiter.execute(String.class, this::newExecution);
+
+        //Then
+        assertThat(executions).hasSize(1);
+        assertThat(limiter.getInFlightCount()).isEqualTo(1);
+        assertThat(limiter.getQueuedCount()).isEqualTo(1);
+
+        executions.get(0).complete("first");
+        assertThat(first.get()).isEqualTo("first");
+        assertThat(executions).hasSize(2);
+        assertThat(limiter.getQueuedCount()).isEqualTo(0);
+
+        executions.get(1).complete("second");
+        assertThat(second.get()).isEqualTo("second");
+        assertThat(limiter.getInFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_drain_synchronously_completed_statements_without_growing_the_stack() throws Exception {
+        //Given
+        final int queuedStatements = 1000;
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 1, 10_000L, queuedStatements);
+        final CompletableFuture<String> first = limiter.execute(String.class, this::newExecution);
+        final List<Integer> stackDepths = new ArrayList<>();
+        final List<CompletableFuture<String>> queued = new ArrayList<>();
+        for (int i = 0; i < queuedStatements; i++) {
+            queued.add(limiter.execute(String.class, () -> {
+                stackDepths.add(Thread.currentThread().getStackTrace().length);
+                return CompletableFuture.completedFuture("done");
+            }));
+        }
+        assertThat(limiter.getQueuedCount()).isEqualTo(queuedStatements);
+
+        //When
+        executions.get(0).complete("first");
+
+        //Then
+        assertThat(first.get()).isEqualTo("first");
+        for (CompletableFuture<String> future : queued) {
+            assertThat(future.get()).isEqualTo("done");
+        }
+        assertThat(stackDepths).hasSize(queuedStatements);
+        assertThat(stackDepths.get(queuedStatements - 1)).isEqualTo(stackDepths.get(0));
+        assertThat(limiter.getQueuedCount()).isEqualTo(0);
+        assertThat(limiter.getInFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_shed_statement_when_queue_is_full() throws Exception {
+        //Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 10, 10_000L, 1);
+        limiter.execute(String.class, this::newExecution);
+        limiter.execute(String.class, this::newExecution);
+
+        //When
+        final CompletableFuture<String> shed = limiter.execute(String.class, this::newExecution);
+
+        //Then
+        assertThat(shed.isCompletedExceptionally()).isTrue();
+        try {
+            shed.get();
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(AchillesConcurrencyLimitException.class);
+        }
+        assertThat(executions).hasSize(1);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_decrease_limit_on_timeout_and_increase_it_on_fast_statement() throws Exception {
+        //Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 5, 100, 10_000L, 10);
+
+        //When
+        limiter.execute(Integer.class, this::newExecution);
+        executions.get(0).completeExceptionally(new OperationTimedOutException(new InetSocketAddress("127.0.0.1", 9042), "timeout"));
+
+        //Then
+        assertThat(limiter.getGlobalLimit()).isEqualTo(18);
+        assertThat(limiter.getEntityLimit(Integer.class)).isEqualTo(18);
+        assertThat(limiter.getEntityLimit(Long.class)).isEqualTo(20);
+
+        //When
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(Integer.class, this::newExecution);
+            executions.get(i + 1).complete("fast");
+        }
+
+        //Then
+        assertThat(limiter.getGlobalLimit()).isEqualTo(19);
+    }
+
+    @Test
+    public void should_not_hold_back_other_entities_when_queued_entity_is_at_its_limit() throws Exception {
+        //Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 1, 10, 10_000L, 10);
+        for (int i = 0; i < 3; i++) {
+            limiter.execute(Long.class, this::newExecution);
+            executions.get(i).complete("fast");
+        }
+        assertThat(limiter.getGlobalLimit()).isEqualTo(3);
+        assertThat(limiter.getEntityLimit(Integer.class)).isEqualTo(2);
+        limiter.execute(Integer.class, this::newExecution);
+        limiter.execute(Integer.class, this::newExecution);
+        limiter.execute(Integer.class, this::newExecution);
+
+        //When
+        final CompletableFuture<String> other = limiter.execute(String.class, this::newExecution);
+
+        //Then
+        assertThat(executions).hasSize(6);
+        assertThat(limiter.getInFlightCount()).isEqualTo(3);
+        assertThat(limiter.getQueuedCount()).isEqualTo(1);
+        executions.get(5).complete("other");
+        assertThat(other.get()).isEqualTo("other");
+    }
+
+    @Test
+    public void should_decrease_limit_once_per_latency_window() throws Exception {
+        //Given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 5, 100, 10_000L, 10);
+        final OperationTimedOutException timeout = new OperationTimedOutException(new InetSocketAddress("127.0.0.1", 9042), "timeout");
+        for (int i = 0; i < 3; i++) {
+            limiter.execute(Integer.class, this::newExecution);
+        }
+
+        //When
+        executions.forEach(execution -> execution.completeExceptionally(timeout));
+
+        //Then
+        assertThat(limiter.getGlobalLimit()).isEqualTo(18);
+        assertThat(limiter.getEntityLimit(Integer.class)).isEqualTo(18);
+
+        //When
+        limiter.execute(Integer.class, this::newExecution);
+        executions.get(3).completeExceptionally(timeout);
+
+        //Then
+        assertThat(limiter.getGlobalLimit()).isEqualTo(16);
+    }
+
+    private CompletableFuture<String> newExecution() {
+        final CompletableFuture<String> execution = new CompletableFuture<>();
+        executions.add(execution);
+        return execution;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+public class AdaptiveFetchSizerTest {
+
+    private static final String QUERY = "SELECT * FROM ks.table WHERE id=:id";
+
+    private final AdaptiveFetchSizer fetchSizer = new AdaptiveFetchSizer(true, 100_000, 10, 5000);
+
+    @Test
+    public void should_bound_computed_fetch_size() throws Exception {
+        assertThat(fetchSizer.computeFetchSize(1_000)).isEqualTo(100);
+        assertThat(fetchSizer.computeFetchSize(1_000_000)).isEqualTo(10);
+        assertThat(fetchSizer.computeFetchSize(1)).isEqualTo(5000);
+    }
+
+    @Test
+    public void should_sample_rows_and_apply_fetch_size() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+        final Row row = mock(Row.class, RETURNS_DEEP_STUBS);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(50);
+        when(resultSet.one()).thenReturn(row);
+        when(row.getColumnDefinitions().size()).thenReturn(2);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(200));
+        when(row.getBytesUnsafe(1)).thenReturn(ByteBuffer.allocate(800));
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.preparedStatement().getQueryString()).thenReturn(QUERY);
+
+        //When
+        final ResultSet sampled = fetchSizer.sample(QUERY, resultSet);
+        fetchSizer.applyFetchSize(bs);
+
+        //Then
+        assertThat(sampled.one()).isSameAs(row);
+        assertThat(fetchSizer.getAverageRowBytes(QUERY).get()).isEqualTo(1000.0);
+        assertThat(fetchSizer.getFetchSize(QUERY).get()).isEqualTo(100);
+        assertThat(fetchSizer.getFetchSizes()).containsEntry(QUERY, 100);
+        verify(bs).setFetchSize(100);
+    }
+
+    @Test
+    public void should_fetch_more_results_of_sampled_result_set() throws Exception {
+        //Given
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+        final Row row = mock(Row.class, RETURNS_DEEP_STUBS);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(1);
+        when(resultSet.one()).thenReturn(row, (Row) null);
+        when(resultSet.fetchMoreResults()).thenReturn(Futures.immediateFuture(resultSet));
+        final ResultSet sampled = fetchSizer.sample(QUERY, resultSet);
+
+        //When
+        final ResultSet fetched = sampled.fetchMoreResults().get();
+
+        //Then
+        assertThat(fetched).isSameAs(sampled);
+        assertThat(fetched.one()).isSameAs(row);
+        verify(resultSet).fetchMoreResults();
+    }
+
+    @Test
+    public void should_not_adapt_statement_with_explicit_fetch_size() throws Exception {
+        //Given
+        final StatementWrapper wrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+        when(wrapper.getOperationType()).thenReturn(OperationType.SELECT);
+        when(wrapper.getBoundStatement().getFetchSize()).thenReturn(500);
+
+        //When
+        final boolean adaptive = fetchSizer.isAdaptive(wrapper);
+
+        //Then
+        assertThat(adaptive).isFalse();
+    }
+}
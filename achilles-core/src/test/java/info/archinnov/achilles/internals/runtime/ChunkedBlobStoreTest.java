@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.type.Empty;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedBlobStoreTest {
+
+    @Mock
+    private ChunkedBlobStore store;
+
+    private UUID generation = UUIDs.timeBased();
+
+    @Test
+    public void should_run_operations_in_windows_and_keep_index_order() throws Exception {
+        //Given
+        final List<CompletableFuture<String>> futures = new ArrayList<>();
+        final AtomicInteger started = new AtomicInteger(0);
+
+        //When
+        final CompletableFuture<List<String>> results = ChunkedBlobStore.inWindows(5, 2, index -> {
+            started.incrementAndGet();
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+
+        //Then
+        assertThat(started.get()).isEqualTo(2);
+        futures.get(1).complete("1");
+        futures.get(0).complete("0");
+        assertThat(started.get()).isEqualTo(4);
+        futures.get(3).complete("3");
+        futures.get(2).complete("2");
+        futures.get(4).complete("4");
+        assertThat(results.get()).containsExactly("0", "1", "2", "3", "4");
+    }
+
+    @Test
+    public void should_write_full_chunks_then_metadata_on_close() throws Exception {
+        //Given
+        final ResultSet rs = mock(ResultSet.class);
+        when(store.writeChunk(eq("blob"), eq(generation), anyInt(), any(ByteBuffer.class))).thenReturn(CompletableFuture.completedFuture(rs));
+        when(store.switchGeneration("blob", generation, 3, 10L)).thenReturn(CompletableFuture.completedFuture(Empty.INSTANCE));
+        final ArgumentCaptor<ByteBuffer> chunkCaptor = ArgumentCaptor.forClass(ByteBuffer.class);
+
+        //When
+        try (OutputStream outputStream = new ChunkedBlobOutputStream(store, "blob", generation, 4, 2)) {
+            outputStream.write(new byte[]{0, 1, 2, 3, 4, 5});
+            outputStream.write(6);
+            outputStream.write(new byte[]{7, 8, 9});
+        }
+
+        //Then
+        verify(store).writeChunk(eq("blob"), eq(generation), eq(0), chunkCaptor.capture());
+        verify(store).writeChunk(eq("blob"), eq(generation), eq(1), chunkCaptor.capture());
+        verify(store).writeChunk(eq("blob"), eq(generation), eq(2), chunkCaptor.capture());
+        verify(store).switchGeneration("blob", generation, 3, 10L);
+        final List<ByteBuffer> writtenChunks = chunkCaptor.getAllValues();
+        assertThat(toBytes(writtenChunks.get(0))).isEqualTo(new byte[]{0, 1, 2, 3});
+        assertThat(toBytes(writtenChunks.get(1))).isEqualTo(new byte[]{4, 5, 6, 7});
+        assertThat(toBytes(writtenChunks.get(2))).isEqualTo(new byte[]{8, 9});
+    }
+
+    @Test
+    public void should_stream_chunks_with_read_ahead() throws Exception {
+        //Given
+        final List<CompletableFuture<ByteBuffer>> chunks = Arrays.asList(
+                CompletableFuture.completedFuture(ByteBuffer.wrap(new byte[]{0, 1, 2})),
+                CompletableFuture.completedFuture(ByteBuffer.wrap(new byte[]{3, 4, 5})),
+                CompletableFuture.completedFuture(ByteBuffer.wrap(new byte[]{6})));
+        when(store.readChunk(eq("blob"), eq(generation), anyInt())).thenAnswer(invocation -> chunks.get((Integer) invocation.getArguments()[2]));
+
+        //When
+        final InputStream inputStream = new ChunkedBlobInputStream(store, "blob", generation, 3, 1);
+
+        //Then
+        verify(store).readChunk("blob", generation, 0);
+        verify(store).readChunk("blob", generation, 1);
+        verify(store, never()).readChunk("blob", generation, 2);
+
+        assertThat(inputStream.read()).isEqualTo(0);
+        verify(store, never()).readChunk("blob", generation, 2);
+
+        final byte[] buffer = new byte[3];
+        assertThat(inputStream.read(buffer, 0, 2)).isEqualTo(2);
+        verify(store, never()).readChunk("blob", generation, 2);
+        assertThat(inputStream.read()).isEqualTo(3);
+        verify(store).readChunk("blob", generation, 2);
+
+        final ByteArrayOutputStream remaining = new ByteArrayOutputStream();
+        int read;
+        while ((read = inputStream.read(buffer, 0, buffer.length)) != -1) {
+            remaining.write(buffer, 0, read);
+        }
+        assertThat(remaining.toByteArray()).isEqualTo(new byte[]{4, 5, 6});
+    }
+
+    @Test
+    public void should_report_failed_chunk_write() throws Exception {
+        //Given
+        final CompletableFuture<ResultSet> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("write timeout"));
+        when(store.writeChunk(eq("blob"), eq(generation), anyInt(), any(ByteBuffer.class))).thenReturn(failed);
+        final OutputStream outputStream = new ChunkedBlobOutputStream(store, "blob", generation, 2, 1);
+
+        //When
+        outputStream.write(new byte[]{0, 1});
+        Throwable thrown = null;
+        try {
+            outputStream.close();
+        } catch (Exception e) {
+            thrown = e;
+        }
+
+        //Then
+        assertThat(thrown).hasMessage("Cannot write a chunk of blob 'blob'");
+        verify(store, never()).switchGeneration(anyString(), any(UUID.class), anyInt(), anyLong());
+    }
+
+    @Test
+    public void should_delete_older_generations_once_switched_to_new_one() throws Exception {
+        //Given
+        final ResultSet rs = mock(ResultSet.class);
+        final Row metadata = mock(Row.class);
+        when(metadata.getUUID(ChunkedBlobStore.CURRENT_GENERATION)).thenReturn(generation);
+        when(store.writeMetadata("blob", generation, 3, 10L)).thenReturn(CompletableFuture.completedFuture(rs));
+        when(store.readMetadata("blob")).thenReturn(CompletableFuture.completedFuture(Optional.of(metadata)));
+        when(store.deleteGenerations(eq("blob"), eq(generation), anyBoolean())).thenReturn(CompletableFuture.completedFuture(rs));
+        when(store.switchGeneration("blob", generation, 3, 10L)).thenCallRealMethod();
+
+        //When
+        store.switchGeneration("blob", generation, 3, 10L).get();
+
+        //Then
+        verify(store).writeMetadata("blob", generation, 3, 10L);
+        verify(store).deleteGenerations("blob", generation, true);
+        verify(store, never()).deleteGenerations("blob", generation, false);
+    }
+
+    @Test
+    public void should_delete_chunks_of_superseded_generation() throws Exception {
+        //Given
+        final ResultSet rs = mock(ResultSet.class);
+        final Row metadata = mock(Row.class);
+        when(metadata.getUUID(ChunkedBlobStore.CURRENT_GENERATION)).thenReturn(UUIDs.timeBased());
+        when(store.writeMetadata("blob", generation, 3, 10L)).thenReturn(CompletableFuture.completedFuture(rs));
+        when(store.readMetadata("blob")).thenReturn(CompletableFuture.completedFuture(Optional.of(metadata)));
+        when(store.deleteGenerations(eq("blob"), eq(generation), anyBoolean())).thenReturn(CompletableFuture.completedFuture(rs));
+        when(store.switchGeneration("blob", generation, 3, 10L)).thenCallRealMethod();
+
+        //When
+        store.switchGeneration("blob", generation, 3, 10L).get();
+
+        //Then
+        verify(store).deleteGenerations("blob", generation, false);
+        verify(store, never()).deleteGenerations("blob", generation, true);
+    }
+
+    @Test
+    public void should_convert_generation_to_write_timestamp_in_micros() throws Exception {
+        //Given
+        final long before = System.currentTimeMillis();
+        final UUID timeUUID = UUIDs.timeBased();
+        final long after = System.currentTimeMillis();
+
+        //When
+        final long micros = ChunkedBlobStore.toMicros(timeUUID);
+
+        //Then
+        assertThat(micros / 1000).isEqualTo(UUIDs.unixTimestamp(timeUUID));
+        assertThat(micros).isBetween(before * 1000, after * 1000 + 999);
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
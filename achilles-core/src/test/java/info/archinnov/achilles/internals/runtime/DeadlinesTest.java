@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.exception.AchillesDeadlineExceededException;
+import info.archinnov.achilles.internals.options.Options;
+
+public class DeadlinesTest {
+
+    @Test
+    public void should_fail_and_cancel_future_when_deadline_passes() throws Exception {
+        //Given
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        //When
+        final CompletableFuture<String> result = Deadlines.enforce(future, Instant.now().plusMillis(20), "SELECT * FROM table");
+
+        //Then
+        try {
+            result.get(1, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(AchillesDeadlineExceededException.class);
+        }
+        assertThat(result.isCompletedExceptionally()).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void should_complete_with_future_result_before_deadline() throws Exception {
+        //Given
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final CompletableFuture<String> result = Deadlines.enforce(future, Instant.now().plusSeconds(10), "SELECT * FROM table");
+
+        //When
+        future.complete("value");
+
+        //Then
+        assertThat(result.get()).isEqualTo("value");
+    }
+
+    @Test
+    public void should_remove_deadline_timer_from_scheduler_queue_on_completion() throws Exception {
+        //Given
+        final int queuedTasksBefore = BatchingScheduler.getQueuedTasksCount();
+
+        //When
+        for (int i = 0; i < 100; i++) {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            Deadlines.enforce(future, Instant.now().plusSeconds(3600), "SELECT * FROM table");
+            future.complete("value");
+        }
+
+        //Then
+        assertThat(BatchingScheduler.getQueuedTasksCount()).isLessThanOrEqualTo(queuedTasksBefore);
+    }
+
+    @Test
+    public void should_set_read_timeout_to_the_earliest_of_timeout_and_deadline() throws Exception {
+        //Given
+        final Options options = new Options();
+        final Statement statement = mock(Statement.class);
+        final Instant deadline = Instant.now().plusSeconds(60);
+        options.setDeadline(Optional.of(deadline));
+        options.setTimeout(Optional.of(Duration.ofSeconds(2)));
+
+        //When
+        final Optional<Instant> resolved = options.applyDeadline(statement);
+
+        //Then
+        final ArgumentCaptor<Integer> readTimeout = ArgumentCaptor.forClass(Integer.class);
+        assertThat(resolved.get().isBefore(deadline)).isTrue();
+        verify(statement).setReadTimeoutMillis(readTimeout.capture());
+        assertThat(readTimeout.getValue()).isBetween(1000, 2000);
+    }
+}
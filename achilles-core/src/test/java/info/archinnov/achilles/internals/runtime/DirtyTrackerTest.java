@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import info.archinnov.achilles.internals.metamodel.ListProperty;
+import info.archinnov.achilles.internals.metamodel.MapProperty;
+import info.archinnov.achilles.internals.metamodel.SetProperty;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.ColumnUpdate;
+import info.archinnov.achilles.internals.runtime.DirtyTracker.UpdateKind;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DirtyTrackerTest {
+
+    @Test
+    public void should_append_to_list_when_old_list_is_prefix() throws Exception {
+        //Given
+        final ListProperty<?, ?, ?> property = mock(ListProperty.class);
+
+        //When
+        final ColumnUpdate appended = DirtyTracker.diffColumn(property, Arrays.asList("a", "b"), Arrays.asList("a", "b", "c"));
+        final ColumnUpdate replaced = DirtyTracker.diffColumn(property, Arrays.asList("a", "b"), Arrays.asList("b", "c"));
+
+        //Then
+        assertThat(appended.kind).isEqualTo(UpdateKind.APPEND);
+        assertThat(appended.encodedValue).isEqualTo(Arrays.asList("c"));
+        assertThat(replaced.kind).isEqualTo(UpdateKind.SET);
+        assertThat(replaced.encodedValue).isEqualTo(Arrays.asList("b", "c"));
+    }
+
+    @Test
+    public void should_add_or_remove_set_elements() throws Exception {
+        //Given
+        final SetProperty<?, ?, ?> property = mock(SetProperty.class);
+
+        //When
+        final ColumnUpdate added = DirtyTracker.diffColumn(property, Sets.newHashSet(1, 2), Sets.newHashSet(1, 2, 3));
+        final ColumnUpdate removed = DirtyTracker.diffColumn(property, Sets.newHashSet(1, 2), Sets.newHashSet(2));
+        final ColumnUpdate replaced = DirtyTracker.diffColumn(property, Sets.newHashSet(1, 2), Sets.newHashSet(2, 3));
+
+        //Then
+        assertThat(added.kind).isEqualTo(UpdateKind.ADD);
+        assertThat(added.encodedValue).isEqualTo(Sets.newHashSet(3));
+        assertThat(removed.kind).isEqualTo(UpdateKind.REMOVE);
+        assertThat(removed.encodedValue).isEqualTo(Sets.newHashSet(1));
+        assertThat(replaced.kind).isEqualTo(UpdateKind.SET);
+    }
+
+    @Test
+    public void should_put_changed_map_entries_unless_keys_are_removed() throws Exception {
+        //Given
+        final MapProperty<?, ?, ?, ?, ?> property = mock(MapProperty.class);
+
+        //When
+        final ColumnUpdate put = DirtyTracker.diffColumn(property, ImmutableMap.of(1, "a", 2, "b"),
+                ImmutableMap.of(1, "a", 2, "c", 3, "d"));
+        final ColumnUpdate replaced = DirtyTracker.diffColumn(property, ImmutableMap.of(1, "a", 2, "b"),
+                ImmutableMap.of(1, "a"));
+
+        //Then
+        assertThat(put.kind).isEqualTo(UpdateKind.PUT);
+        assertThat(put.encodedValue).isEqualTo(ImmutableMap.of(2, "c", 3, "d"));
+        assertThat(replaced.kind).isEqualTo(UpdateKind.SET);
+        assertThat(replaced.encodedValue).isEqualTo(ImmutableMap.of(1, "a"));
+    }
+
+    @Test
+    public void should_deep_copy_mutable_encoded_values() throws Exception {
+        //Given
+        final byte[] bytes = new byte[]{1, 2, 3};
+        final Date date = new Date(1000L);
+        final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+        final List<Object> list = new ArrayList<>(Arrays.asList(ByteBuffer.wrap(bytes), date));
+
+        //When
+        final Object bufferCopy = DirtyTracker.copyOf(wrapped);
+        final Object dateCopy = DirtyTracker.copyOf(date);
+        final Object listCopy = DirtyTracker.copyOf(list);
+        bytes[0] = 9;
+        date.setTime(2000L);
+
+        //Then
+        assertThat(bufferCopy).isEqualTo(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        assertThat(bufferCopy).isNotEqualTo(wrapped);
+        assertThat(dateCopy).isEqualTo(new Date(1000L));
+        assertThat(listCopy).isEqualTo(Arrays.asList(ByteBuffer.wrap(new byte[]{1, 2, 3}), new Date(1000L)));
+    }
+
+    @Test
+    public void should_not_diff_untracked_instance() throws Exception {
+        //Given
+        final DirtyTracker tracker = new DirtyTracker(Arrays.asList(String.class));
+
+        //When
+        final Optional<List<ColumnUpdate>> diff = tracker.diff(null, new Object());
+
+        //Then
+        assertThat(tracker.isEnabledFor(String.class)).isTrue();
+        assertThat(tracker.isEnabledFor(Integer.class)).isFalse();
+        assertThat(diff.isPresent()).isFalse();
+        assertThat(tracker.getTrackedCount()).isEqualTo(0L);
+    }
+}
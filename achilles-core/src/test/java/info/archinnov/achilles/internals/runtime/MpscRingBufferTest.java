@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void should_drain_elements_in_order() throws Exception {
+        //Given
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<>(4);
+        final List<String> drained = new ArrayList<>();
+
+        //When
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+        final int count = buffer.drain(drained::add);
+
+        //Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly("a", "b", "c");
+        assertThat(buffer.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_reject_elements_when_full() throws Exception {
+        //Given
+        final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        final List<Integer> drained = new ArrayList<>();
+
+        //When
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        final boolean rejected = !buffer.offer(4);
+        buffer.drain(drained::add);
+
+        //Then
+        assertThat(buffer.getCapacity()).isEqualTo(4);
+        assertThat(rejected).isTrue();
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+        assertThat(buffer.offer(5)).isTrue();
+    }
+}
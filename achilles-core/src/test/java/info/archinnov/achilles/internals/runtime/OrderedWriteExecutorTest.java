@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.strategy.WriteOrderingStrategy;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OrderedWriteExecutorTest {
+
+    private final Session session = mock(Session.class, RETURNS_DEEP_STUBS);
+    private final OrderedWriteExecutor orderedExecutor = new OrderedWriteExecutor(WriteOrderingStrategy.PARTITION_KEY, session);
+    private final List<StatementWrapper> sentWrites = new ArrayList<>();
+    private final List<CompletableFuture<ResultSet>> executions = new ArrayList<>();
+
+    @Test
+    public void should_send_write_on_same_partition_after_previous_write_completes() throws Exception {
+        //Given
+        final StatementWrapper first = buildWrapper(10L);
+        final StatementWrapper second = buildWrapper(10L);
+        final ResultSet resultSet = mock(ResultSet.class);
+
+        //When
+        final CompletableFuture<ResultSet> firstWrite = orderedExecutor.execute(first, this::send);
+        final CompletableFuture<ResultSet> secondWrite = orderedExecutor.execute(second, this::send);
+
+        //Then
+        assertThat(sentWrites).containsExactly(first);
+
+        executions.get(0).complete(resultSet);
+        assertThat(firstWrite.get()).isSameAs(resultSet);
+        assertThat(sentWrites).containsExactly(first, second);
+
+        executions.get(1).complete(resultSet);
+        assertThat(secondWrite.get()).isSameAs(resultSet);
+        assertThat(orderedExecutor.getInFlightKeysCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_send_next_write_even_if_previous_write_failed() throws Exception {
+        //Given
+        final StatementWrapper first = buildWrapper(10L);
+        final StatementWrapper second = buildWrapper(10L);
+
+        //When
+        final CompletableFuture<ResultSet> firstWrite = orderedExecutor.execute(first, this::send);
+        orderedExecutor.execute(second, this::send);
+        executions.get(0).completeExceptionally(new RuntimeException("write failure"));
+
+        //Then
+        assertThat(firstWrite.isCompletedExceptionally()).isTrue();
+        assertThat(sentWrites).containsExactly(first, second);
+    }
+
+    @Test
+    public void should_send_writes_on_distinct_partitions_in_parallel() throws Exception {
+        //Given
+        final StatementWrapper first = buildWrapper(10L);
+        final StatementWrapper second = buildWrapper(11L);
+
+        //When
+        orderedExecutor.execute(first, this::send);
+        orderedExecutor.execute(second, this::send);
+
+        //Then
+        assertThat(sentWrites).containsExactly(first, second);
+        assertThat(orderedExecutor.getInFlightKeysCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_order_partition_delete_with_row_writes_of_same_partition() throws Exception {
+        //Given
+        final OrderedWriteExecutor primaryKeyExecutor = new OrderedWriteExecutor(WriteOrderingStrategy.PRIMARY_KEY, session);
+        final StatementWrapper firstRow = buildWrapper(10L, 1);
+        final StatementWrapper secondRow = buildWrapper(10L, 2);
+        final StatementWrapper partitionDelete = buildWrapper(10L, null);
+        final StatementWrapper rowAfterDelete = buildWrapper(10L, 3);
+
+        //When
+        primaryKeyExecutor.execute(firstRow, this::send);
+        primaryKeyExecutor.execute(secondRow, this::send);
+        primaryKeyExecutor.execute(partitionDelete, this::send);
+        primaryKeyExecutor.execute(rowAfterDelete, this::send);
+
+        //Then
+        assertThat(sentWrites).containsExactly(firstRow, secondRow);
+
+        executions.get(0).complete(mock(ResultSet.class));
+        assertThat(sentWrites).containsExactly(firstRow, secondRow);
+
+        executions.get(1).complete(mock(ResultSet.class));
+        assertThat(sentWrites).containsExactly(firstRow, secondRow, partitionDelete);
+
+        executions.get(2).complete(mock(ResultSet.class));
+        assertThat(sentWrites).containsExactly(firstRow, secondRow, partitionDelete, rowAfterDelete);
+
+        executions.get(3).complete(mock(ResultSet.class));
+        assertThat(primaryKeyExecutor.getInFlightKeysCount()).isEqualTo(0);
+    }
+
+    private CompletableFuture<ResultSet> send(StatementWrapper wrapper) {
+        final CompletableFuture<ResultSet> execution = new CompletableFuture<>();
+        sentWrites.add(wrapper);
+        executions.add(execution);
+        return execution;
+    }
+
+    private StatementWrapper buildWrapper(long partition) {
+        return buildWrapper(partition, null);
+    }
+
+    private StatementWrapper buildWrapper(long partition, Integer clustering) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class);
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        final AbstractProperty<?, ?, ?> clusteringColumn = mock(AbstractProperty.class);
+        final FieldInfo<?, ?> fieldInfo = mock(FieldInfo.class);
+        Whitebox.setInternalState(fieldInfo, "cqlColumn", "clust");
+        Whitebox.setInternalState(clusteringColumn, "fieldInfo", fieldInfo);
+        when(clusteringColumn.getDataType()).thenReturn(DataType.cint());
+        Whitebox.setInternalState(meta, "clusteringColumns", singletonList(clusteringColumn));
+        Whitebox.setInternalState(meta, "staticColumns", emptyList());
+        if (clustering != null) {
+            when(bs.preparedStatement().getVariables().contains("clust")).thenReturn(true);
+            when(bs.preparedStatement().getVariables().getType("clust")).thenReturn(DataType.cint());
+            when(bs.getBytesUnsafe("clust")).thenReturn(ByteBuffer.allocate(4).putInt(0, clustering));
+        }
+        when(bs.getRoutingKey(any(), any())).thenReturn(ByteBuffer.allocate(8).putLong(0, partition));
+        when(bs.getKeyspace()).thenReturn("ks");
+        when(wrapper.getBoundStatement()).thenReturn(bs);
+        when(wrapper.getOperationType()).thenReturn(OperationType.INSERT);
+        doReturn(meta).when(wrapper).getEntityProperty();
+        return wrapper;
+    }
+}
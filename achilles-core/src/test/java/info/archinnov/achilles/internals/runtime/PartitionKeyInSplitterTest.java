@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+public class PartitionKeyInSplitterTest {
+
+    private final Session session = mock(Session.class, RETURNS_DEEP_STUBS);
+
+    @Test
+    public void should_split_partition_key_in_into_distinct_single_partition_statements() throws Exception {
+        //Given
+        final AbstractEntityProperty<?> meta = mockMeta();
+        final PreparedStatement ps = mockPreparedStatement("SELECT * FROM ks.entity WHERE id IN :id");
+        final BoundStatement bs1 = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        final BoundStatement bs2 = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(ps.bind(Matchers.<Object>anyVararg())).thenReturn(bs1, bs2);
+        when(session.getCluster().getConfiguration().getProtocolOptions().getProtocolVersion()).thenReturn(ProtocolVersion.V4);
+        when(session.getCluster().getConfiguration().getCodecRegistry()).thenReturn(new CodecRegistry());
+        final PartitionKeyInSplitter splitter = new PartitionKeyInSplitter(singletonList(String.class), 2, session);
+        final Options options = new Options();
+        options.setIdempotent(Optional.of(true));
+
+        //When
+        final List<StatementWrapper> wrappers = splitter.split(meta, ps,
+                new Object[]{asList(10L, 20L, 10L)}, new Object[]{asList(10L, 20L, 10L)}, options);
+
+        //Then
+        assertThat(splitter.isEnabledFor(meta, options)).isTrue();
+        assertThat(wrappers).hasSize(2);
+        assertThat(wrappers.get(0).getBoundValues()).containsExactly(singletonList(10L));
+        assertThat(wrappers.get(1).getBoundValues()).containsExactly(singletonList(20L));
+        verify(bs1).setRoutingKey(TypeCodec.bigint().serialize(10L, ProtocolVersion.V4));
+        verify(bs2).setRoutingKey(TypeCodec.bigint().serialize(20L, ProtocolVersion.V4));
+    }
+
+    @Test
+    public void should_not_split_statement_with_global_limit() throws Exception {
+        //Given
+        final AbstractEntityProperty<?> meta = mockMeta();
+        final PreparedStatement ps = mockPreparedStatement("SELECT * FROM ks.entity WHERE id IN :id LIMIT 10");
+        final PartitionKeyInSplitter splitter = new PartitionKeyInSplitter(singletonList(String.class), 2, session);
+
+        //When
+        final List<StatementWrapper> wrappers = splitter.split(meta, ps,
+                new Object[]{asList(10L, 20L)}, new Object[]{asList(10L, 20L)}, new Options());
+
+        //Then
+        assertThat(wrappers).isEmpty();
+    }
+
+    @Test
+    public void should_execute_with_bounded_concurrency_and_chain_results_in_order() throws Exception {
+        //Given
+        final PartitionKeyInSplitter splitter = new PartitionKeyInSplitter(singletonList(String.class), 1, session);
+        final StatementWrapper wrapper1 = mock(StatementWrapper.class);
+        final StatementWrapper wrapper2 = mock(StatementWrapper.class);
+        final CompletableFuture<ResultSet> future1 = new CompletableFuture<>();
+        final CompletableFuture<ResultSet> future2 = new CompletableFuture<>();
+        final Row row1 = mock(Row.class);
+        final Row row2 = mock(Row.class);
+        final ResultSet rs1 = mockResultSet(row1);
+        final ResultSet rs2 = mockResultSet(row2);
+        final List<StatementWrapper> executed = new ArrayList<>();
+
+        //When
+        final CompletableFuture<ResultSet> result = splitter.execute(asList(wrapper1, wrapper2), wrapper -> {
+            executed.add(wrapper);
+            return wrapper == wrapper1 ? future1 : future2;
+        });
+        final int executedBeforeFirstCompletion = executed.size();
+        future1.complete(rs1);
+        future2.complete(rs2);
+
+        //Then
+        assertThat(executedBeforeFirstCompletion).isEqualTo(1);
+        assertThat(executed).containsExactly(wrapper1, wrapper2);
+        assertThat(result.get().all()).containsExactly(row1, row2);
+        assertThat(splitter.getSinglePartitionQueriesCount()).isEqualTo(2L);
+    }
+
+    private AbstractEntityProperty<?> mockMeta() {
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        final AbstractProperty<?, ?, ?> partitionKey = mock(AbstractProperty.class);
+        when(partitionKey.getColumnForSelect()).thenReturn("id");
+        Whitebox.setInternalState(partitionKey, "fieldName", "id");
+        Whitebox.setInternalState(meta, "partitionKeys", singletonList(partitionKey));
+        Whitebox.setInternalState(meta, "entityClass", String.class);
+        Whitebox.setInternalState(meta, "entityLogger", LoggerFactory.getLogger(String.class));
+        return meta;
+    }
+
+    private PreparedStatement mockPreparedStatement(String queryString) {
+        final PreparedStatement ps = mock(PreparedStatement.class, RETURNS_DEEP_STUBS);
+        when(ps.getQueryString()).thenReturn(queryString);
+        when(ps.getVariables().size()).thenReturn(1);
+        when(ps.getVariables().getName(0)).thenReturn("id");
+        when(ps.getVariables().getType(0)).thenReturn(DataType.list(DataType.bigint()));
+        return ps;
+    }
+
+    private ResultSet mockResultSet(Row row) {
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.isExhausted()).thenReturn(false, true);
+        when(resultSet.one()).thenReturn(row);
+        return resultSet;
+    }
+}
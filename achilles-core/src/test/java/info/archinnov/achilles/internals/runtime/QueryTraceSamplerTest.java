@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+public class QueryTraceSamplerTest {
+
+    private static final String QUERY = "SELECT * FROM ks.table WHERE id=:id";
+
+    @Test
+    public void should_trace_next_executions_after_a_slow_one() throws Exception {
+        //Given
+        final QueryTraceSampler sampler = new QueryTraceSampler(0, new HashMap<>(), new HashMap<>(), 10L, 2, 10);
+        final StatementWrapper wrapper = mockWrapper(false);
+
+        //When
+        sampler.record(wrapper, TimeUnit.MILLISECONDS.toNanos(50), null);
+        sampler.maybeEnableTracing(wrapper);
+        sampler.maybeEnableTracing(wrapper);
+        sampler.maybeEnableTracing(wrapper);
+
+        //Then
+        verify(wrapper.getBoundStatement(), times(2)).enableTracing();
+        assertThat(sampler.getTriggeredCount()).isEqualTo(2L);
+        assertThat(sampler.getSampledCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_keep_slowest_traced_executions() throws Exception {
+        //Given
+        final QueryTraceSampler sampler = new QueryTraceSampler(1.0, new HashMap<>(), new HashMap<>(), 0L, 0, 2, Runnable::run);
+        final StatementWrapper wrapper = mockWrapper(true);
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+        when(resultSet.getExecutionInfo().getQueryTrace()).thenReturn(null);
+
+        //When
+        sampler.record(wrapper, TimeUnit.MILLISECONDS.toNanos(5), resultSet);
+        sampler.record(wrapper, TimeUnit.MILLISECONDS.toNanos(20), resultSet);
+        sampler.record(wrapper, TimeUnit.MILLISECONDS.toNanos(10), resultSet);
+
+        //Then
+        final List<SlowQuery> slowQueries = sampler.getSlowQueries();
+        assertThat(slowQueries).extracting(SlowQuery::getLatencyInMicros).containsExactly(20_000L, 10_000L);
+        assertThat(slowQueries.get(0).getQueryString()).isEqualTo(QUERY);
+        assertThat(sampler.getReport().getMaxLatencyInMicros()).isEqualTo(20_000L);
+        assertThat(sampler.getReport().getEntries()).hasSize(2);
+    }
+
+    @Test
+    public void should_drop_trace_when_trace_retrieval_is_saturated() throws Exception {
+        //Given
+        final QueryTraceSampler sampler = new QueryTraceSampler(1.0, new HashMap<>(), new HashMap<>(), 0L, 0, 2,
+                task -> {
+                    throw new RejectedExecutionException();
+                });
+        final StatementWrapper wrapper = mockWrapper(true);
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+
+        //When
+        sampler.record(wrapper, TimeUnit.MILLISECONDS.toNanos(5), resultSet);
+
+        //Then
+        assertThat(sampler.getSlowQueries()).isEmpty();
+    }
+
+    @Test
+    public void should_compute_time_spent_per_stage() throws Exception {
+        //Given
+        final InetAddress coordinator = InetAddress.getByName("127.0.0.1");
+        final InetAddress replica = InetAddress.getByName("127.0.0.2");
+        final List<QueryTrace.Event> events = asList(
+                event(coordinator, 0, "Native-Transport-Requests-1"),
+                event(coordinator, 100, "SharedPool-Worker-2"),
+                event(coordinator, 400, "SharedPool-Worker-2"),
+                event(replica, 0, "MessagingService-Incoming-/127.0.0.1"),
+                event(replica, 50, "ReadStage:3"),
+                event(replica, 250, "ReadStage:3"));
+
+        //When
+        final Map<String, Long> stageDurations = QueryTraceSampler.computeStageDurations(events);
+
+        //Then
+        assertThat(stageDurations)
+                .containsEntry("Native-Transport-Requests", 100L)
+                .containsEntry("SharedPool-Worker", 300L)
+                .containsEntry("MessagingService-Incoming-/127.0.0.1", 50L)
+                .containsEntry("ReadStage", 200L)
+                .hasSize(4);
+    }
+
+    private StatementWrapper mockWrapper(boolean tracing) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.preparedStatement().getQueryString()).thenReturn(QUERY);
+        when(bs.isTracing()).thenReturn(tracing);
+        when(wrapper.getBoundStatement()).thenReturn(bs);
+        when(wrapper.getOperationType()).thenReturn(OperationType.SELECT);
+        return wrapper;
+    }
+
+    private QueryTrace.Event event(InetAddress source, int elapsedMicros, String threadName) {
+        final QueryTrace.Event event = mock(QueryTrace.Event.class);
+        when(event.getSource()).thenReturn(source);
+        when(event.getSourceElapsedMicros()).thenReturn(elapsedMicros);
+        when(event.getThreadName()).thenReturn(threadName);
+        return event;
+    }
+}
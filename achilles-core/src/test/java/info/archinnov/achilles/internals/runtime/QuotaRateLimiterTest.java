@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+
+import info.archinnov.achilles.exception.AchillesRateLimitException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+import info.archinnov.achilles.type.quota.RateLimitQuota;
+
+public class QuotaRateLimiterTest {
+
+    @Test
+    public void should_allow_burst_then_space_permits() throws Exception {
+        //Given
+        final QuotaRateLimiter.TokenBucket bucket = new QuotaRateLimiter.TokenBucket(RateLimitQuota.perSecond(10).withBurst(2));
+        final long now = System.nanoTime();
+
+        //When
+        final boolean first = bucket.tryAcquire(now);
+        final boolean second = bucket.tryAcquire(now);
+        final boolean third = bucket.tryAcquire(now);
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(bucket.waitTime(now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100))).isTrue();
+        assertThat(bucket.waitTime(now + TimeUnit.MILLISECONDS.toNanos(100))).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void should_only_consume_permits_of_matching_quotas() throws Exception {
+        //Given
+        final QuotaRateLimiter rateLimiter = new QuotaRateLimiter(Arrays.asList(
+                RateLimitQuota.perSecond(1).forEntity(String.class).forOperation(QuotaOperation.WRITE).forTenant("backfill")));
+
+        //When
+        tryAcquire(rateLimiter, String.class, QuotaOperation.WRITE, "backfill");
+
+        //Then
+        assertThat(tryAcquire(rateLimiter, String.class, QuotaOperation.WRITE, "online")).isEqualTo(0L);
+        assertThat(tryAcquire(rateLimiter, String.class, QuotaOperation.READ, "backfill")).isEqualTo(0L);
+        assertThat(tryAcquire(rateLimiter, Long.class, QuotaOperation.WRITE, "backfill")).isEqualTo(0L);
+        assertThat(tryAcquire(rateLimiter, String.class, QuotaOperation.WRITE, "backfill")).isGreaterThan(0L);
+    }
+
+    @Test
+    public void should_not_consume_permits_of_other_quotas_while_waiting() throws Exception {
+        //Given
+        final RateLimitQuota entityQuota = RateLimitQuota.perSecond(1).forEntity(String.class);
+        final RateLimitQuota globalQuota = RateLimitQuota.perSecond(1);
+        final QuotaRateLimiter rateLimiter = new QuotaRateLimiter(Arrays.asList(entityQuota, globalQuota));
+        final List<QuotaRateLimiter.TokenBucket> stringBuckets = rateLimiter.matchingBuckets(String.class, QuotaOperation.WRITE, "ks");
+        final long now = System.nanoTime();
+        stringBuckets.get(0).tryAcquire(now);
+
+        //When
+        final long waitNanos = QuotaRateLimiter.tryAcquire(stringBuckets, now);
+
+        //Then
+        assertThat(waitNanos).isGreaterThan(0L);
+        assertThat(stringBuckets.get(1).waitTime(now)).isEqualTo(0L);
+        assertThat(tryAcquire(rateLimiter, Long.class, QuotaOperation.WRITE, "ks")).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_classify_statements_by_operation() throws Exception {
+        assertThat(QuotaRateLimiter.toQuotaOperation(buildWrapper(OperationType.SELECT, "SELECT * FROM ks.user WHERE id=:id")))
+                .isEqualTo(QuotaOperation.READ);
+        assertThat(QuotaRateLimiter.toQuotaOperation(buildWrapper(OperationType.SELECT, "SELECT * FROM ks.user")))
+                .isEqualTo(QuotaOperation.SCAN);
+        assertThat(QuotaRateLimiter.toQuotaOperation(buildWrapper(OperationType.SELECT, "SELECT * FROM ks.user WHERE token(id)>:start")))
+                .isEqualTo(QuotaOperation.SCAN);
+        assertThat(QuotaRateLimiter.toQuotaOperation(buildWrapper(OperationType.INSERT, "INSERT INTO ks.user(id) VALUES(:id)")))
+                .isEqualTo(QuotaOperation.WRITE);
+        assertThat(QuotaRateLimiter.toQuotaOperation(buildWrapper(OperationType.INSERT, "INSERT INTO ks.user(id) VALUES(:id) IF NOT EXISTS")))
+                .isEqualTo(QuotaOperation.LWT);
+    }
+
+    @Test
+    public void should_delay_execution_when_quota_is_exhausted() throws Exception {
+        //Given
+        final QuotaRateLimiter rateLimiter = new QuotaRateLimiter(Arrays.asList(RateLimitQuota.perSecond(20).withBurst(1)));
+        final StatementWrapper wrapper = buildWrapper(OperationType.INSERT, "INSERT INTO ks.user(id) VALUES(:id)");
+        final AtomicInteger executions = new AtomicInteger(0);
+
+        //When
+        final CompletableFuture<Integer> first = rateLimiter.execute(wrapper, () -> CompletableFuture.completedFuture(executions.incrementAndGet()));
+        final CompletableFuture<Integer> second = rateLimiter.execute(wrapper, () -> CompletableFuture.completedFuture(executions.incrementAndGet()));
+
+        //Then
+        assertThat(first.isDone()).isTrue();
+        assertThat(second.isDone()).isFalse();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(rateLimiter.getThrottledCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_reject_statement_waiting_longer_than_max_wait() throws Exception {
+        //Given
+        final QuotaRateLimiter rateLimiter = new QuotaRateLimiter(Arrays.asList(RateLimitQuota.perSecond(1).withBurst(1).withMaxWaitInMs(100)));
+        final StatementWrapper wrapper = buildWrapper(OperationType.INSERT, "INSERT INTO ks.user(id) VALUES(:id)");
+        final AtomicInteger executions = new AtomicInteger(0);
+        rateLimiter.execute(wrapper, () -> CompletableFuture.completedFuture(executions.incrementAndGet()));
+
+        //When
+        final CompletableFuture<Integer> rejected = rateLimiter.execute(wrapper, () -> CompletableFuture.completedFuture(executions.incrementAndGet()));
+
+        //Then
+        assertThat(rejected.isCompletedExceptionally()).isTrue();
+        try {
+            rejected.get();
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(AchillesRateLimitException.class);
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(rateLimiter.getRejectedCount()).isEqualTo(1L);
+    }
+
+    private static long tryAcquire(QuotaRateLimiter rateLimiter, Class<?> entityClass, QuotaOperation operation, String tenant) {
+        return QuotaRateLimiter.tryAcquire(rateLimiter.matchingBuckets(entityClass, operation, tenant), System.nanoTime());
+    }
+
+    private StatementWrapper buildWrapper(OperationType operationType, String queryString) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class);
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.preparedStatement().getQueryString()).thenReturn(queryString);
+        when(bs.getKeyspace()).thenReturn("ks");
+        when(wrapper.getOperationType()).thenReturn(operationType);
+        when(wrapper.getBoundStatement()).thenReturn(bs);
+        doReturn(mock(AbstractEntityProperty.class)).when(wrapper).getEntityProperty();
+        return wrapper;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReadCoalescerTest {
+
+    private final ReadCoalescer coalescer = new ReadCoalescer(Arrays.asList(String.class));
+
+    @Test
+    public void should_share_in_flight_read_for_same_key() throws Exception {
+        //Given
+        final AtomicInteger readCount = new AtomicInteger(0);
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> cqlRead = new CompletableFuture<>();
+        final Tuple2<Row, ExecutionInfo> result = Tuple2.of(mock(Row.class), mock(ExecutionInfo.class));
+
+        //When
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> first = coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.ONE, () -> {
+            readCount.incrementAndGet();
+            return cqlRead;
+        });
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> second = coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.ONE, () -> {
+            readCount.incrementAndGet();
+            return cqlRead;
+        });
+        cqlRead.complete(result);
+
+        //Then
+        assertThat(readCount.get()).isEqualTo(1);
+        assertThat(first.get()).isSameAs(result);
+        assertThat(second.get()).isSameAs(result);
+        assertThat(coalescer.getIssuedReadsCount()).isEqualTo(1L);
+        assertThat(coalescer.getCoalescedReadsCount()).isEqualTo(1L);
+        assertThat(coalescer.getInFlightReadsCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_not_share_read_for_different_consistency_level() throws Exception {
+        //Given
+        final AtomicInteger readCount = new AtomicInteger(0);
+
+        //When
+        coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.ONE, () -> {
+            readCount.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.QUORUM, () -> {
+            readCount.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        //Then
+        assertThat(readCount.get()).isEqualTo(2);
+        assertThat(coalescer.getCoalescedReadsCount()).isEqualTo(0L);
+        assertThat(coalescer.getInFlightReadsCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_issue_new_read_after_completion() throws Exception {
+        //Given
+        final AtomicInteger readCount = new AtomicInteger(0);
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> failedRead = new CompletableFuture<>();
+        failedRead.completeExceptionally(new RuntimeException("timeout"));
+
+        //When
+        final CompletableFuture<Tuple2<Row, ExecutionInfo>> first = coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.ONE, () -> {
+            readCount.incrementAndGet();
+            return failedRead;
+        });
+        coalescer.coalesce(String.class, new Object[]{10L}, ConsistencyLevel.ONE, () -> {
+            readCount.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        //Then
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(readCount.get()).isEqualTo(2);
+        assertThat(coalescer.isEnabledFor(String.class)).isTrue();
+        assertThat(coalescer.isEnabledFor(Long.class)).isFalse();
+    }
+}
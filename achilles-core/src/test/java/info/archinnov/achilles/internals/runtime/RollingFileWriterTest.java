@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class RollingFileWriterTest {
+
+    @Test
+    public void should_roll_file_when_exceeding_max_size() throws Exception {
+        //Given
+        final Path directory = Files.createTempDirectory("achilles-rolling");
+        final Path file = directory.resolve("slow.log");
+        final RollingFileWriter writer = new RollingFileWriter(file.toString(), 10, 2);
+
+        //When
+        writer.writeLine("line-1");
+        writer.writeLine("line-2");
+        writer.writeLine("line-3");
+        writer.writeLine("line-4");
+        writer.close();
+
+        //Then
+        assertThat(Files.readAllLines(file, UTF_8)).containsExactly("line-4");
+        assertThat(Files.readAllLines(directory.resolve("slow.log.1"), UTF_8)).containsExactly("line-3");
+        assertThat(Files.readAllLines(directory.resolve("slow.log.2"), UTF_8)).containsExactly("line-2");
+        assertThat(Files.exists(directory.resolve("slow.log.3"))).isFalse();
+    }
+}
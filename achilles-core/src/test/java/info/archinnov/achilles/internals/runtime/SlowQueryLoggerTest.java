@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.type.quota.QuotaOperation;
+
+public class SlowQueryLoggerTest {
+
+    private static final String QUERY = "SELECT * FROM ks.table WHERE id=:id";
+
+    @Test
+    public void should_write_slow_executions_to_file() throws Exception {
+        //Given
+        final Path file = Files.createTempDirectory("achilles-slow-log").resolve("slow.log");
+        final SlowQueryLogger logger = new SlowQueryLogger(10L, new HashMap<>(), new HashMap<>(), file.toString(), 1024 * 1024, 2, 16);
+        final StatementWrapper wrapper = mockWrapper(new Object[]{10L, ByteBuffer.wrap(new byte[32])});
+        final ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(3);
+        when(resultSet.getExecutionInfo().getQueriedHost()).thenReturn(null);
+
+        //When
+        logger.record(wrapper, TimeUnit.MILLISECONDS.toNanos(5), resultSet, null);
+        logger.record(wrapper, TimeUnit.MILLISECONDS.toNanos(20), resultSet, null);
+        logger.close();
+
+        //Then
+        final List<String> lines = Files.readAllLines(file, UTF_8);
+        assertThat(lines).hasSize(1);
+        final Map<?, ?> record = new ObjectMapper().readValue(lines.get(0), Map.class);
+        assertThat(record.get("query")).isEqualTo(QUERY);
+        assertThat(record.get("operation")).isEqualTo("READ");
+        assertThat(record.get("latencyInMicros")).isEqualTo(20_000);
+        assertThat(record.get("consistencyLevel")).isEqualTo("LOCAL_QUORUM");
+        assertThat(record.get("rowsReturned")).isEqualTo(3);
+        assertThat((String) record.get("boundValues")).startsWith("[10, 0x00000000000000000000000000000000... (32)");
+        assertThat(logger.getLoggedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_use_operation_threshold_over_default_one() throws Exception {
+        //Given
+        final Map<QuotaOperation, Long> operationThresholds = new HashMap<>();
+        operationThresholds.put(QuotaOperation.READ, 100L);
+        final SlowQueryLogger logger = new SlowQueryLogger(10L, new HashMap<>(), operationThresholds, "unused.log", 1024, 1, 16);
+        final StatementWrapper wrapper = mockWrapper(new Object[0]);
+
+        //When
+        final long threshold = logger.thresholdInMsFor(wrapper);
+        logger.record(wrapper, TimeUnit.MILLISECONDS.toNanos(50), null, null);
+        logger.close();
+
+        //Then
+        assertThat(threshold).isEqualTo(100L);
+        assertThat(logger.getLoggedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_drop_records_when_buffer_is_full() throws Exception {
+        //Given
+        // No writer thread is started for a disabled logger, records stay in the buffer
+        final SlowQueryLogger logger = spy(new SlowQueryLogger(0L, new HashMap<>(), new HashMap<>(), "unused.log", 1024, 1, 2));
+        doReturn(1L).when(logger).thresholdInMsFor(any(StatementWrapper.class));
+        final StatementWrapper wrapper = mockWrapper(new Object[0]);
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            logger.record(wrapper, TimeUnit.MILLISECONDS.toNanos(5), null, new RuntimeException("timeout"));
+        }
+
+        //Then
+        assertThat(logger.getLoggedCount()).isEqualTo(2L);
+        assertThat(logger.getDroppedCount()).isEqualTo(1L);
+        assertThat(logger.getPendingCount()).isEqualTo(2);
+    }
+
+    private StatementWrapper mockWrapper(Object[] boundValues) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class, RETURNS_DEEP_STUBS);
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        when(bs.preparedStatement().getQueryString()).thenReturn(QUERY);
+        when(bs.getConsistencyLevel()).thenReturn(ConsistencyLevel.LOCAL_QUORUM);
+        when(wrapper.getBoundStatement()).thenReturn(bs);
+        when(wrapper.getBoundValues()).thenReturn(boundValues);
+        when(wrapper.getOperationType()).thenReturn(OperationType.SELECT);
+        return wrapper;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteBatcherTest {
+
+    private final Session session = mock(Session.class, RETURNS_DEEP_STUBS);
+    private final List<Statement> executedStatements = new ArrayList<>();
+    private final List<CompletableFuture<ResultSet>> executions = new ArrayList<>();
+
+    private final WriteBatcher batcher = new WriteBatcher(true, 2, 60_000L, session, statement -> {
+        final CompletableFuture<ResultSet> execution = new CompletableFuture<>();
+        executedStatements.add(statement);
+        executions.add(execution);
+        return execution;
+    });
+
+    @Test
+    public void should_batch_writes_for_same_partition() throws Exception {
+        //Given
+        final StatementWrapper first = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 1, false);
+        final StatementWrapper second = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 2, false);
+        final ResultSet resultSet = mock(ResultSet.class);
+
+        //When
+        final CompletableFuture<ResultSet> firstFuture = batcher.submit(first);
+        final CompletableFuture<ResultSet> secondFuture = batcher.submit(second);
+        executions.get(0).complete(resultSet);
+
+        //Then
+        assertThat(executedStatements).hasSize(1);
+        assertThat(executedStatements.get(0)).isInstanceOf(BatchStatement.class);
+        assertThat(((BatchStatement) executedStatements.get(0)).size()).isEqualTo(2);
+        assertThat(firstFuture.get()).isSameAs(resultSet);
+        assertThat(secondFuture.get()).isSameAs(resultSet);
+        assertThat(batcher.getBatchedStatementsCount()).isEqualTo(2L);
+        assertThat(batcher.getIssuedBatchesCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_retry_idempotent_members_on_batch_failure() throws Exception {
+        //Given
+        final StatementWrapper idempotent = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 1, true);
+        final StatementWrapper nonIdempotent = buildWrapper("UPDATE table SET list=list+? WHERE id=? AND clust=?", 10L, 2, false);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final RuntimeException batchFailure = new RuntimeException("batch failure");
+
+        //When
+        final CompletableFuture<ResultSet> idempotentFuture = batcher.submit(idempotent);
+        final CompletableFuture<ResultSet> nonIdempotentFuture = batcher.submit(nonIdempotent);
+        executions.get(0).completeExceptionally(batchFailure);
+        executions.get(1).complete(resultSet);
+
+        //Then
+        assertThat(executedStatements).hasSize(2);
+        assertThat(executedStatements.get(1)).isSameAs(idempotent.getBoundStatement());
+        assertThat(idempotentFuture.get()).isSameAs(resultSet);
+        assertThat(nonIdempotentFuture.isCompletedExceptionally()).isTrue();
+        try {
+            nonIdempotentFuture.get();
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isSameAs(batchFailure);
+        }
+        assertThat(batcher.getRetriedStatementsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_not_batch_lwt_nor_select() throws Exception {
+        //Given
+        final StatementWrapper lwt = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?) IF NOT EXISTS", 10L, 1, false);
+        final StatementWrapper select = buildWrapper("SELECT * FROM table WHERE id=?", 10L, 1, false);
+        when(select.getOperationType()).thenReturn(OperationType.SELECT);
+
+        //When
+        //Then
+        assertThat(batcher.isBatchable(lwt)).isFalse();
+        assertThat(batcher.isBatchable(select)).isFalse();
+    }
+
+    @Test
+    public void should_only_batch_updates_on_counter_tables() throws Exception {
+        //Given
+        final StatementWrapper increment = buildWrapper("UPDATE table SET count=count+? WHERE id=? AND clust=?", 10L, 1, false);
+        final StatementWrapper delete = buildWrapper("DELETE FROM table WHERE id=? AND clust=?", 10L, 1, false);
+        when(increment.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(delete.getOperationType()).thenReturn(OperationType.DELETE);
+        when(increment.getEntityProperty().isCounter()).thenReturn(true);
+        when(delete.getEntityProperty().isCounter()).thenReturn(true);
+
+        //When
+        //Then
+        assertThat(batcher.isBatchable(increment)).isTrue();
+        assertThat(batcher.isBatchable(delete)).isFalse();
+    }
+
+    @Test
+    public void should_not_batch_writes_on_same_row() throws Exception {
+        //Given
+        final StatementWrapper insert = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 1, false);
+        final StatementWrapper delete = buildWrapper("DELETE FROM table WHERE id=? AND clust=?", 10L, 1, false);
+        final StatementWrapper otherRow = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 2, false);
+
+        //When
+        batcher.submit(insert);
+        batcher.submit(delete);
+        batcher.submit(otherRow);
+
+        //Then
+        assertThat(executedStatements).hasSize(2);
+        assertThat(executedStatements.get(0)).isSameAs(insert.getBoundStatement());
+        assertThat(executedStatements.get(1)).isInstanceOf(BatchStatement.class);
+        assertThat(((BatchStatement) executedStatements.get(1)).getStatements())
+                .containsExactly(delete.getBoundStatement(), otherRow.getBoundStatement());
+    }
+
+    @Test
+    public void should_not_batch_partition_scoped_write_with_row_writes() throws Exception {
+        //Given
+        final StatementWrapper insert = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 1, false);
+        final StatementWrapper partitionDelete = buildWrapper("DELETE FROM table WHERE id=?", 10L, null, false);
+        final StatementWrapper otherRow = buildWrapper("INSERT INTO table(id,clust,value) VALUES (?,?,?)", 10L, 2, false);
+
+        //When
+        batcher.submit(insert);
+        batcher.submit(partitionDelete);
+        batcher.submit(otherRow);
+
+        //Then
+        assertThat(executedStatements).containsExactly(insert.getBoundStatement(), partitionDelete.getBoundStatement());
+    }
+
+    private StatementWrapper buildWrapper(String query, long partition, Integer clustering, boolean idempotent) {
+        final StatementWrapper wrapper = mock(StatementWrapper.class);
+        final BoundStatement bs = mock(BoundStatement.class, RETURNS_DEEP_STUBS);
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        final AbstractProperty<?, ?, ?> clusteringColumn = mock(AbstractProperty.class);
+        final FieldInfo<?, ?> fieldInfo = mock(FieldInfo.class);
+        Whitebox.setInternalState(fieldInfo, "cqlColumn", "clust");
+        Whitebox.setInternalState(clusteringColumn, "fieldInfo", fieldInfo);
+        when(clusteringColumn.getDataType()).thenReturn(DataType.cint());
+        Whitebox.setInternalState(meta, "clusteringColumns", singletonList(clusteringColumn));
+        Whitebox.setInternalState(meta, "staticColumns", emptyList());
+        if (clustering != null) {
+            when(bs.preparedStatement().getVariables().contains("clust")).thenReturn(true);
+            when(bs.preparedStatement().getVariables().getType("clust")).thenReturn(DataType.cint());
+            when(bs.getBytesUnsafe("clust")).thenReturn(ByteBuffer.allocate(4).putInt(0, clustering));
+        }
+        when(bs.preparedStatement().getQueryString()).thenReturn(query);
+        when(bs.getRoutingKey(any(), any())).thenReturn(ByteBuffer.allocate(8).putLong(0, partition));
+        when(bs.getKeyspace()).thenReturn("ks");
+        when(bs.getConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        when(bs.getDefaultTimestamp()).thenReturn(Long.MIN_VALUE);
+        when(bs.getOutgoingPayload()).thenReturn(null);
+        when(bs.getRetryPolicy()).thenReturn(null);
+        when(bs.isIdempotent()).thenReturn(idempotent);
+        when(wrapper.getBoundStatement()).thenReturn(bs);
+        when(wrapper.getOperationType()).thenReturn(OperationType.INSERT);
+        doReturn(meta).when(wrapper).getEntityProperty();
+        return wrapper;
+    }
+}
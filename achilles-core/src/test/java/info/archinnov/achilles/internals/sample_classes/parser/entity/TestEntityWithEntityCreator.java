@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.sample_classes.parser.entity;
+
+import info.archinnov.achilles.annotations.*;
+import info.archinnov.achilles.internals.sample_classes.APUnitTest;
+
+@APUnitTest
+@Table
+public class TestEntityWithEntityCreator {
+
+    @PartitionKey
+    private final Long id;
+
+    @Column
+    private final int count;
+
+    @Column
+    private final String value;
+
+    @Column
+    private String comment;
+
+    @EntityCreator
+    public TestEntityWithEntityCreator(Long id, int count, String value) {
+        this.id = id;
+        this.count = count;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
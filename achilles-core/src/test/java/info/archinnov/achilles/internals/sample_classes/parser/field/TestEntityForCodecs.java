@@ -59,6 +59,15 @@ public class TestEntityForCodecs {
 
     private Byte[] objectByteArray;
 
+    @Packed
+    private float[] packedFloatArray;
+
+    @Packed(Packed.Encoding.DELTA_VARINT)
+    private long[] packedLongArray;
+
+    @Packed(Packed.Encoding.VARINT)
+    private double[] invalidPackedDoubleArray;
+
     @Codec(value = IntToStringCodec.class)
     private Integer integer;
 
@@ -269,6 +278,30 @@ public class TestEntityForCodecs {
         this.objectByteArray = objectByteArray;
     }
 
+    public float[] getPackedFloatArray() {
+        return packedFloatArray;
+    }
+
+    public void setPackedFloatArray(float[] packedFloatArray) {
+        this.packedFloatArray = packedFloatArray;
+    }
+
+    public long[] getPackedLongArray() {
+        return packedLongArray;
+    }
+
+    public void setPackedLongArray(long[] packedLongArray) {
+        this.packedLongArray = packedLongArray;
+    }
+
+    public double[] getInvalidPackedDoubleArray() {
+        return invalidPackedDoubleArray;
+    }
+
+    public void setInvalidPackedDoubleArray(double[] invalidPackedDoubleArray) {
+        this.invalidPackedDoubleArray = invalidPackedDoubleArray;
+    }
+
 //    public Integer getInteger() {
 //        return integer;
 //    }
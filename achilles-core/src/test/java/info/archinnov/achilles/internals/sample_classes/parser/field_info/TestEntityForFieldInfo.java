@@ -86,6 +86,14 @@ public class TestEntityForFieldInfo {
     @Column
     private String normal;
 
+    @Column
+    @Lazy
+    private String lazyCol;
+
+    @PartitionKey
+    @Lazy
+    private Long lazyPartition;
+
     @Column
     @Frozen
     private TestUDT udt;
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.statements;
+
+import static info.archinnov.achilles.internals.statements.IdempotenceInference.infer;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class IdempotenceInferenceTest {
+
+    @Test
+    public void should_infer_select_insert_and_delete_as_idempotent() throws Exception {
+        assertThat(infer(OperationType.SELECT, emptyList(), emptyList(), "select * from ks.table where id=:id")).isTrue();
+        assertThat(infer(OperationType.INSERT, emptyList(), asList("list"), "insert into ks.table (id,list) values (:id,:list)")).isTrue();
+        assertThat(infer(OperationType.DELETE, emptyList(), asList("list"), "delete from ks.table where id=:id")).isTrue();
+        assertThat(infer(OperationType.UPDATE, emptyList(), asList("list"), "update ks.table set set=set+:set,list=list-:list where id=:id")).isTrue();
+    }
+
+    @Test
+    public void should_infer_lwt_and_non_deterministic_functions_as_non_idempotent() throws Exception {
+        assertThat(infer(OperationType.INSERT, emptyList(), emptyList(), "insert into ks.table (id,value) values (:id,:value) if not exists")).isFalse();
+        assertThat(infer(OperationType.UPDATE, emptyList(), emptyList(), "update ks.table set value=:value where id=:id if value=:expected")).isFalse();
+        assertThat(infer(OperationType.INSERT, emptyList(), emptyList(), "insert into ks.table (id,date) values (:id,now())")).isFalse();
+    }
+
+    @Test
+    public void should_infer_counter_increments_and_list_appends_as_non_idempotent() throws Exception {
+        assertThat(infer(OperationType.UPDATE, asList("count"), emptyList(), "update ks.table set count=count+:count where id=:id")).isFalse();
+        assertThat(infer(OperationType.UPDATE, asList("count"), emptyList(), "update ks.table set count=count-1 where id=:id")).isFalse();
+        assertThat(infer(OperationType.UPDATE, emptyList(), asList("list"), "update ks.table set list=list+:list where id=:id")).isFalse();
+        assertThat(infer(OperationType.UPDATE, emptyList(), asList("list"), "update ks.table set list=:list+list where id=:id")).isFalse();
+        assertThat(infer(OperationType.DELETE, emptyList(), asList("list"), "delete list[:index] from ks.table where id=:id")).isFalse();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static com.datastax.driver.core.ProtocolVersion.V4;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.utils.UUIDs;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ClusteringColumnInfo;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+
+public class ClusteringRowComparatorTest {
+
+    @Test
+    public void should_compare_values_like_cassandra() throws Exception {
+        final UUID earlier = UUIDs.startOf(1000L);
+        final UUID later = UUIDs.endOf(2000L);
+
+        assertThat(compare(TypeCodec.bigint(), -1L, 2L)).isNegative();
+        assertThat(compare(TypeCodec.cint(), 300, 2)).isPositive();
+        assertThat(compare(TypeCodec.timeUUID(), earlier, later)).isNegative();
+        assertThat(compare(TypeCodec.blob(), ByteBuffer.wrap(new byte[]{(byte) 0xFF}), ByteBuffer.wrap(new byte[]{0x01}))).isPositive();
+        assertThat(compare(TypeCodec.varchar(), "\uFFFF", "\uD83D\uDE00")).isNegative();
+        assertThat(compare(TypeCodec.varint(), BigInteger.valueOf(-1000), BigInteger.TEN)).isNegative();
+        assertThat(compare(TypeCodec.decimal(), new BigDecimal("1.50"), new BigDecimal("1.5"))).isZero();
+        assertThat(ClusteringRowComparator.compareValues(DataType.text(), null, TypeCodec.varchar().serialize("a", V4))).isNegative();
+    }
+
+    @Test
+    public void should_compare_uuids_by_version_then_as_unsigned_bytes() throws Exception {
+        final UUID highBit = new UUID(0x8000000000004000L, 0x8000000000000000L);
+        final UUID lowBit = new UUID(0x0000000000004000L, 0x8000000000000000L);
+        final UUID timeBased = UUIDs.timeBased();
+
+        assertThat(highBit.compareTo(lowBit)).isNegative();
+        assertThat(compare(TypeCodec.uuid(), highBit, lowBit)).isPositive();
+        assertThat(compare(TypeCodec.uuid(), timeBased, lowBit)).isNegative();
+    }
+
+    @Test
+    public void should_compare_tuples_component_by_component() throws Exception {
+        //Given
+        final TupleType tupleType = TupleType.of(V4, CodecRegistry.DEFAULT_INSTANCE, DataType.cint(), DataType.text());
+        final TypeCodec<TupleValue> codec = TypeCodec.tuple(tupleType);
+
+        //When
+        final int byFirstComponent = compare(codec, tupleType.newValue(2, "b"), tupleType.newValue(10, "a"));
+        final int bySecondComponent = compare(codec, tupleType.newValue(1, null), tupleType.newValue(1, "a"));
+
+        //Then
+        assertThat(byFirstComponent).isNegative();
+        assertThat(bySecondComponent).isNegative();
+    }
+
+    @Test
+    public void should_reject_merge_when_clustering_column_is_not_selected() throws Exception {
+        //Given
+        final ClusteringRowComparator comparator = new ClusteringRowComparator(mockMeta(), "SELECT * FROM ks.entity WHERE id IN :id");
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ColumnDefinitions columnDefinitions = mock(ColumnDefinitions.class);
+        when(resultSet.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(columnDefinitions.contains("date")).thenReturn(true);
+        when(columnDefinitions.contains("rank")).thenReturn(false);
+
+        //When
+        Throwable thrown = null;
+        try {
+            comparator.validateColumnsSelected(resultSet);
+        } catch (AchillesException e) {
+            thrown = e;
+        }
+
+        //Then
+        assertThat(thrown).hasMessage("Cannot merge the results by clustering order because the clustering column 'rank' is not selected");
+    }
+
+    @Test
+    public void should_follow_clustering_order_of_each_column() throws Exception {
+        //Given
+        final AbstractEntityProperty<?> meta = mockMeta();
+        final ClusteringRowComparator comparator = new ClusteringRowComparator(meta, "SELECT * FROM ks.entity WHERE id IN :id");
+
+        //When
+        final int sameDateHigherRank = comparator.compare(row(1, 10), row(1, 20));
+        final int higherDate = comparator.compare(row(1, 10), row(2, 10));
+
+        //Then
+        assertThat(sameDateHigherRank).isPositive();
+        assertThat(higherDate).isNegative();
+    }
+
+    @Test
+    public void should_reverse_order_when_order_by_is_reversed() throws Exception {
+        //Given
+        final AbstractEntityProperty<?> meta = mockMeta();
+        final ClusteringRowComparator comparator = new ClusteringRowComparator(meta,
+                "SELECT * FROM ks.entity WHERE id IN :id ORDER BY date DESC");
+
+        //When
+        final int sameDateHigherRank = comparator.compare(row(1, 10), row(1, 20));
+        final int higherDate = comparator.compare(row(1, 10), row(2, 10));
+
+        //Then
+        assertThat(sameDateHigherRank).isNegative();
+        assertThat(higherDate).isPositive();
+    }
+
+    private AbstractEntityProperty<?> mockMeta() {
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        Whitebox.setInternalState(meta, "clusteringColumns",
+                asList(clusteringColumn("date", ClusteringOrder.ASC), clusteringColumn("rank", ClusteringOrder.DESC)));
+        return meta;
+    }
+
+    private AbstractProperty<?, ?, ?> clusteringColumn(String name, ClusteringOrder clusteringOrder) {
+        final AbstractProperty<?, ?, ?> property = mock(AbstractProperty.class);
+        final FieldInfo<?, ?> fieldInfo = mock(FieldInfo.class);
+        Whitebox.setInternalState(fieldInfo, "columnInfo", new ClusteringColumnInfo(1, false, clusteringOrder));
+        Whitebox.setInternalState(property, "fieldInfo", fieldInfo);
+        when(property.getColumnForSelect()).thenReturn(name);
+        return property;
+    }
+
+    private Row row(int date, int rank) {
+        final Row row = mock(Row.class);
+        final ColumnDefinitions columnDefinitions = mock(ColumnDefinitions.class);
+        when(columnDefinitions.getType(anyString())).thenReturn(DataType.cint());
+        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(row.getBytesUnsafe("date")).thenReturn(TypeCodec.cint().serialize(date, V4));
+        when(row.getBytesUnsafe("rank")).thenReturn(TypeCodec.cint().serialize(rank, V4));
+        return row;
+    }
+
+    private static <T> int compare(TypeCodec<T> codec, T left, T right) {
+        return ClusteringRowComparator.compareValues(codec.getCqlType(), codec.serialize(left, V4), codec.serialize(right, V4));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.options.Options;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+
+public class EntityIteratorWrapperTest {
+
+    @Test
+    public void should_stop_iterating_once_limit_is_reached() throws Exception {
+        //Given
+        final Row row1 = mock(Row.class), row2 = mock(Row.class);
+        @SuppressWarnings("unchecked")
+        final Iterator<Row> rows = mock(Iterator.class);
+        when(rows.hasNext()).thenReturn(true);
+        when(rows.next()).thenReturn(row1, row2);
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.iterator()).thenReturn(rows);
+        final StatementWrapper statementWrapper = mock(StatementWrapper.class);
+        when(statementWrapper.logTrace(resultSet)).thenReturn(resultSet);
+        @SuppressWarnings("unchecked")
+        final AbstractEntityProperty<String> meta = mock(AbstractEntityProperty.class);
+        when(meta.createEntityFrom(row1)).thenReturn("entity1");
+        when(meta.createEntityFrom(row2)).thenReturn("entity2");
+
+        //When
+        final EntityIteratorWrapper<String> iterator = new EntityIteratorWrapper<>(
+                CompletableFuture.completedFuture(resultSet), meta, statementWrapper, new Options(), 2);
+
+        //Then
+        assertThat(iterator).containsExactly("entity1", "entity2");
+        assertThat(iterator.hasNext()).isFalse();
+        verify(rows, times(2)).next();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Comparator;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+public class MergedResultSetTest {
+
+    private final Comparator<Row> byValue = (left, right) -> Integer.compare(left.getInt("value"), right.getInt("value"));
+
+    @Test
+    public void should_merge_sorted_result_sets() throws Exception {
+        //Given
+        final Row row1 = row(1), row2 = row(2), row3 = row(3), row4 = row(3), row5 = row(5);
+        final ResultSet first = resultSet(row1, row3, row5);
+        final ResultSet second = resultSet(row2, row4);
+
+        //When
+        final MergedResultSet merged = new MergedResultSet(asList(first, second), byValue, 0);
+
+        //Then
+        assertThat(merged.all()).containsExactly(row1, row2, row3, row4, row5);
+        assertThat(merged.isExhausted()).isTrue();
+    }
+
+    @Test
+    public void should_stop_pulling_rows_once_limit_is_reached() throws Exception {
+        //Given
+        final Row row1 = row(1), row2 = row(2), row3 = row(3), row4 = row(4);
+        final ResultSet first = resultSet(row1, row3);
+        final ResultSet second = resultSet(row2, row4);
+
+        //When
+        final MergedResultSet merged = new MergedResultSet(asList(first, second), byValue, 2);
+
+        //Then
+        assertThat(merged.all()).containsExactly(row1, row2);
+        assertThat(merged.isFullyFetched()).isTrue();
+        verify(first, times(2)).one();
+        verify(second, times(1)).one();
+    }
+
+    private Row row(int value) {
+        final Row row = mock(Row.class);
+        when(row.getInt("value")).thenReturn(value);
+        return row;
+    }
+
+    private ResultSet resultSet(Row... rows) {
+        final ResultSet resultSet = mock(ResultSet.class);
+        final Row[] nextRows = new Row[rows.length];
+        System.arraycopy(rows, 1, nextRows, 0, rows.length - 1);
+        when(resultSet.one()).thenReturn(rows[0], nextRows);
+        return resultSet;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LoggerHelperTest {
+
+    @Test
+    public void should_replace_byte_buffer_by_hex_string_without_moving_position() throws Exception {
+        //Given
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0, 1, 2, 3});
+        buffer.position(2);
+
+        //When
+        final List<Object> values = LoggerHelper.replaceByteBuffersByHexString(buffer, "text");
+
+        //Then
+        assertThat(values).containsExactly("0x0203", "text");
+        assertThat(buffer.position()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_truncate_long_byte_buffer() throws Exception {
+        //Given
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[20]);
+
+        //When
+        final List<Object> values = LoggerHelper.replaceByteBuffersByHexString(buffer);
+
+        //Then
+        assertThat(values).containsExactly("0x00000000000000000000000000000000... (20)");
+        assertThat(buffer.remaining()).isEqualTo(20);
+    }
+}
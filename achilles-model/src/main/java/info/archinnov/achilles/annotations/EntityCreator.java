@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+
+ * Annotation to mark the <strong>constructor</strong> or <strong>static factory method</strong> Achilles should use
+ * to instantiate an <strong>immutable</strong> entity or UDT class. Examples:
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Table
+ * public class User {
+
+ * {@literal @}PartitionKey
+ * private final Long id;
+
+ * {@literal @}Column
+ * private final String login;
+
+ * <strong>{@literal @}EntityCreator</strong>
+ * public User(Long id, String login) {
+ * this.id = id;
+ * this.login = login;
+ * }
+
+ * public Long getId() {...}
+ * public String getLogin() {...}
+ * }
+
+ * </code></pre>
+
+ * All columns are decoded first and the creator is invoked <strong>once</strong> with the decoded values.
+ * Fields that are set by the creator do not need a setter. Fields that are not among the creator parameters
+ * still need a setter and are set after the creator call.
+ * <br/>
+ * Features writing into already created instances, like {@link Lazy} columns loaded on demand, also need a setter.
+ * Using them on a field only set by the creator is rejected at compile time.
+ * <br/>
+ * By default, each parameter is mapped to the field having the <strong>same name</strong>. If the parameter
+ * names are not available (class compiled without <em>-parameters</em>) or differ from the field names,
+ * list the target field names in the parameters order:
+
+ * <pre class="code"><code class="java">
+
+ * <strong>{@literal @}EntityCreator({"id", "login"})</strong>
+ * public static User of(Long userId, String userLogin) {
+ * return new User(userId, userLogin);
+ * }
+ * </code></pre>
+ * </p>
+ * If a column is not selected (or null) and the matching parameter is a primitive type, the Java default value
+ * (0, false ...) is passed to the creator
+ *
+ * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Achilles-Annotations#entitycreator" target="_blank">@EntityCreator</a>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD})
+@Documented
+public @interface EntityCreator {
+
+    /**
+     * (<strong>Optional</strong>) Target field names, in the creator parameters order.
+     * Defaults to the creator parameter names
+     */
+    String[] value() default {};
+}
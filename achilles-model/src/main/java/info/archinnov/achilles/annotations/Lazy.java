@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Define a <strong>lazy</strong> column. A lazy column is not fetched by <em>crud().findById(...)</em>
+ * nor by <em>dsl().select().allColumns_FromBaseTable()</em>, it is loaded on demand with
+ * <em>manager.loadLazy(...)</em>
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Table
+ * public class Document {
+
+ * {@literal @}PartitionKey
+ * private Long id;
+
+ * {@literal @}Column
+ * private String title;
+
+ * {@literal @}Column
+ * <strong>{@literal @}Lazy</strong>
+ * private ByteBuffer content;
+ * }
+
+ * // Load the content of a list of documents with as few queries as possible
+ * manager.loadLazy(documents, Document_AchillesMeta.content);
+ * </code></pre>
+ * <br/>
+ * A lazy column whose value is <strong>null</strong> is left unset by <em>crud().insert(...)</em> and
+ * <em>crud().update(...)</em>, so that saving back an entity whose lazy columns have not been loaded
+ * does not erase their stored value. To delete the value of a lazy column, use the update DSL
+ * <br/>
+ * <br/>
+ * Only normal and static columns can be lazy. A lazy field of an entity having an {@link EntityCreator}
+ * should have a setter, since it is loaded into an existing instance
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Lazy {
+}
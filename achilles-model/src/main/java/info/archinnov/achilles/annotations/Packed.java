@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Store a numeric array column as a single <strong>blob</strong> instead of a CQL list.
+ * Supported field types are <strong>float[]</strong>, <strong>double[]</strong>, <strong>int[]</strong> and <strong>long[]</strong>
+
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Column
+ * <strong>{@literal @}Packed</strong>
+ * private float[] embedding;
+
+ * {@literal @}Column
+ * <strong>{@literal @}Packed(Encoding.DELTA_VARINT)</strong>
+ * private long[] sortedTimestamps;
+ * </code></pre>
+ * <br/>
+ * A packed column is read and written as a whole, it cannot be appended to nor indexed per element
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Packed {
+
+    /**
+     * (<strong>Optional</strong>) The encoding of the elements. Default value is <strong>Encoding.PLAIN</strong>:
+     * each element is written with its fixed size in little-endian order.
+     * <br/>
+     * <br/>
+     * <strong>int[]</strong> and <strong>long[]</strong> arrays can be encoded with <strong>Encoding.VARINT</strong>,
+     * small values then take fewer bytes, or with <strong>Encoding.DELTA_VARINT</strong> where the difference with
+     * the previous element is encoded instead of the element itself, well suited for sorted sequences
+     */
+    Encoding value() default Encoding.PLAIN;
+
+    enum Encoding {
+        PLAIN, VARINT, DELTA_VARINT
+    }
+}
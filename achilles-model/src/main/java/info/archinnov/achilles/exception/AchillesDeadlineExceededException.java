@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.exception;
+
+/**
+ * Raised when a statement did not complete before the deadline or timeout
+ * set with <em>withDeadline()</em> or <em>withTimeout()</em>
+ */
+public class AchillesDeadlineExceededException extends AchillesException {
+    private static final long serialVersionUID = 1L;
+
+    public AchillesDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PagingState;
+
+/**
+ * A single page of results, as returned by the Cassandra server for one request.
+ * <br/>
+ * The page contains only the rows of this request, no further page is fetched.
+ * To fetch the next page, pass the paging token back to the same query:
+ * <pre class="code"><code class="java">
+ * Page&lt;User&gt; page = manager.dsl()
+ *     .select()
+ *     .allColumns_FromBaseTable()
+ *     .where()
+ *     .id().Eq(id)
+ *     .withPagingToken(pagingTokenFromRequest)
+ *     .getPage(50);
+ *
+ * String nextPagingToken = page.getPagingToken(); // null if page.isLast()
+ * </code></pre>
+ * The paging token is the safe string form of the driver {@link com.datastax.driver.core.PagingState},
+ * it can be sent to clients and is checked against the query when it is passed back
+ */
+public class Page<T> implements Iterable<T> {
+
+    private final List<T> items;
+    private final Optional<PagingState> pagingState;
+    private final ExecutionInfo executionInfo;
+
+    public Page(List<T> items, Optional<PagingState> pagingState, ExecutionInfo executionInfo) {
+        this.items = items;
+        this.pagingState = pagingState;
+        this.executionInfo = executionInfo;
+    }
+
+    /**
+     * @return the items of this page
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return the paging state to fetch the next page, empty if this page is the last one
+     */
+    public Optional<PagingState> getPagingState() {
+        return pagingState;
+    }
+
+    /**
+     * @return the serialized paging token to fetch the next page, <strong>null</strong> if this page is the last one
+     */
+    public String getPagingToken() {
+        return pagingState.map(PagingState::toString).orElse(null);
+    }
+
+    /**
+     * @return whether there is no more page to fetch after this one
+     */
+    public boolean isLast() {
+        return !pagingState.isPresent();
+    }
+
+    public ExecutionInfo getExecutionInfo() {
+        return executionInfo;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return items.iterator();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("Page{");
+        sb.append("items=").append(items);
+        sb.append(", pagingToken=").append(getPagingToken());
+        sb.append('}');
+        return sb.toString();
+    }
+}
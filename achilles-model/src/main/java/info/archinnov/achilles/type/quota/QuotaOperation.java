@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.quota;
+
+/**
+ * Category of operation a {@link info.archinnov.achilles.type.quota.RateLimitQuota} or a tracing sample rate applies to. Available values are :
+ * <ul>
+ * <li>{@code READ}: SELECT statements restricted on the partition key</li>
+ * <li>{@code WRITE}: INSERT, UPDATE and DELETE statements, except lightweight transactions</li>
+ * <li>{@code LWT}: INSERT, UPDATE and DELETE statements with an <em>IF</em> condition</li>
+ * <li>{@code SCAN}: SELECT statements without WHERE clause or restricted on the token function</li>
+ * </ul>
+ */
+public enum QuotaOperation {
+    READ, WRITE, LWT, SCAN;
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.quota;
+
+import static java.lang.String.format;
+
+import java.util.Objects;
+
+/**
+ * Token bucket quota on the statements executed by <strong>Achilles</strong>.
+ * <br/>
+ * A quota is defined by a rate of permits per second and can be restricted to an entity class,
+ * an operation category and/or a tenant, the tenant being the keyspace name resolved by the
+ * {@link info.archinnov.achilles.type.SchemaNameProvider}. Unrestricted dimensions match any statement
+ * and all matching statements share the same bucket.
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * // At most 500 writes/sec on User entity for the "backfill" tenant, with bursts of 1000 writes
+ * RateLimitQuota.perSecond(500)
+ *     .forEntity(User.class)
+ *     .forOperation(QuotaOperation.WRITE)
+ *     .forTenant("backfill")
+ *     .withBurst(1000)
+ *     .withMaxWaitInMs(2000);
+ * </code></pre>
+ * <br/>
+ * Statements exceeding a quota are delayed asynchronously until a permit is available. A statement that would
+ * wait longer than the max wait of a matching quota is rejected with an
+ * {@link info.archinnov.achilles.exception.AchillesRateLimitException}
+ */
+public class RateLimitQuota {
+
+    public static final long DEFAULT_MAX_WAIT_IN_MS = 1000L;
+
+    private final double permitsPerSecond;
+    private final long burst;
+    private final Class<?> entityClass;
+    private final QuotaOperation operation;
+    private final String tenant;
+    private final long maxWaitInMs;
+
+    private RateLimitQuota(double permitsPerSecond, long burst, Class<?> entityClass, QuotaOperation operation, String tenant,
+                           long maxWaitInMs) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException(format("The rate limit quota permits per second should be strictly positive, got %s", permitsPerSecond));
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException(format("The rate limit quota burst should be strictly positive, got %s", burst));
+        }
+        if (maxWaitInMs < 0) {
+            throw new IllegalArgumentException(format("The rate limit quota max wait should be positive, got %s", maxWaitInMs));
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.entityClass = entityClass;
+        this.operation = operation;
+        this.tenant = tenant;
+        this.maxWaitInMs = maxWaitInMs;
+    }
+
+    /**
+     * Create a quota of <em>permitsPerSecond</em> statements per second, matching all statements.
+     * The default burst is 1 second worth of permits
+     */
+    public static RateLimitQuota perSecond(double permitsPerSecond) {
+        return new RateLimitQuota(permitsPerSecond, Math.max(1L, (long) permitsPerSecond), null, null, null, DEFAULT_MAX_WAIT_IN_MS);
+    }
+
+    /**
+     * Restrict this quota to statements on the given entity class
+     */
+    public RateLimitQuota forEntity(Class<?> entityClass) {
+        return new RateLimitQuota(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    /**
+     * Restrict this quota to the given operation category
+     */
+    public RateLimitQuota forOperation(QuotaOperation operation) {
+        return new RateLimitQuota(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    /**
+     * Restrict this quota to statements on the given keyspace
+     */
+    public RateLimitQuota forTenant(String tenant) {
+        return new RateLimitQuota(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    /**
+     * Define the maximum number of permits that can be accumulated while idle
+     */
+    public RateLimitQuota withBurst(long burst) {
+        return new RateLimitQuota(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    /**
+     * Define how long a statement may wait for a permit of this quota before being rejected.
+     * The default max wait is 1 second
+     */
+    public RateLimitQuota withMaxWaitInMs(long maxWaitInMs) {
+        return new RateLimitQuota(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public QuotaOperation getOperation() {
+        return operation;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public long getMaxWaitInMs() {
+        return maxWaitInMs;
+    }
+
+    /**
+     * Whether this quota applies to a statement with the given entity class, operation and tenant
+     */
+    public boolean matches(Class<?> entityClass, QuotaOperation operation, String tenant) {
+        return (this.entityClass == null || this.entityClass.equals(entityClass))
+                && (this.operation == null || this.operation == operation)
+                && (this.tenant == null || this.tenant.equals(tenant));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RateLimitQuota that = (RateLimitQuota) o;
+        return Double.compare(that.permitsPerSecond, permitsPerSecond) == 0 &&
+                burst == that.burst &&
+                maxWaitInMs == that.maxWaitInMs &&
+                Objects.equals(entityClass, that.entityClass) &&
+                operation == that.operation &&
+                Objects.equals(tenant, that.tenant);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(permitsPerSecond, burst, entityClass, operation, tenant, maxWaitInMs);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitQuota{" +
+                "permitsPerSecond=" + permitsPerSecond +
+                ", burst=" + burst +
+                ", entityClass=" + entityClass +
+                ", operation=" + operation +
+                ", tenant='" + tenant + '\'' +
+                ", maxWaitInMs=" + maxWaitInMs +
+                '}';
+    }
+}
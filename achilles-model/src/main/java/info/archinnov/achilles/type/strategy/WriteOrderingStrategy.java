@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.type.strategy;
+
+/**
+ * Define the ordering guarantee of asynchronous writes. Available values are :
+ * <ul>
+ * <li>{@code info.archinnov.achilles.type.strategy.WriteOrderingStrategy.NONE}: writes are sent as soon as they are executed</li>
+ * <li>{@code info.archinnov.achilles.type.strategy.WriteOrderingStrategy.PARTITION_KEY}: writes on the same partition
+ * are sent one after the other, in execution order</li>
+ * <li>{@code info.archinnov.achilles.type.strategy.WriteOrderingStrategy.PRIMARY_KEY}: writes on the same primary key
+ * are sent one after the other, in execution order. Partition-level writes (partition deletes, static columns,
+ * range deletes) are ordered with all the writes of their partition</li>
+ * </ul>
+ * <br/>
+ * Writes on unrelated keys are always sent in parallel.
+ * <br/>
+ * Default value = {@code info.archinnov.achilles.type.strategy.WriteOrderingStrategy.NONE}
+ */
+public enum WriteOrderingStrategy {
+    NONE, PARTITION_KEY, PRIMARY_KEY;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.entities;
+
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.Packed;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+
+@Table(table = "entity_with_packed_arrays")
+public class EntityWithPackedArrays {
+
+    @PartitionKey
+    private Long id;
+
+    @Column
+    @Packed
+    private float[] embedding;
+
+    @Column
+    @Packed(Packed.Encoding.DELTA_VARINT)
+    private long[] timestamps;
+
+    @Column
+    @Packed(Packed.Encoding.VARINT)
+    private int[] counts;
+
+    public EntityWithPackedArrays() {
+    }
+
+    public EntityWithPackedArrays(Long id, float[] embedding, long[] timestamps, int[] counts) {
+        this.id = id;
+        this.embedding = embedding;
+        this.timestamps = timestamps;
+        this.counts = counts;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public float[] getEmbedding() {
+        return embedding;
+    }
+
+    public void setEmbedding(float[] embedding) {
+        this.embedding = embedding;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public void setTimestamps(long[] timestamps) {
+        this.timestamps = timestamps;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+}
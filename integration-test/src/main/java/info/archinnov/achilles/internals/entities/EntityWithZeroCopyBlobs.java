@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.entities;
+
+import java.nio.ByteBuffer;
+
+import info.archinnov.achilles.annotations.Codec;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.PartitionKey;
+import info.archinnov.achilles.annotations.Table;
+import info.archinnov.achilles.internals.codec.ReadOnlyByteBufferCodec;
+import info.archinnov.achilles.internals.codec.ZeroCopyByteArrayCodec;
+
+@Table(table = "entity_with_zero_copy_blobs")
+public class EntityWithZeroCopyBlobs {
+
+    @PartitionKey
+    private Long id;
+
+    @Column
+    @Codec(ZeroCopyByteArrayCodec.class)
+    private byte[] content;
+
+    @Column
+    @Codec(ReadOnlyByteBufferCodec.class)
+    private ByteBuffer buffer;
+
+    public EntityWithZeroCopyBlobs() {
+    }
+
+    public EntityWithZeroCopyBlobs(Long id, byte[] content, ByteBuffer buffer) {
+        this.id = id;
+        this.content = content;
+        this.buffer = buffer;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public void setBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+}
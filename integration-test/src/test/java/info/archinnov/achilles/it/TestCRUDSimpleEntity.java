@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -32,6 +33,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -43,6 +45,7 @@ import com.datastax.driver.core.policies.DowngradingConsistencyRetryPolicy;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 
+import info.archinnov.achilles.exception.AchillesDeadlineExceededException;
 import info.archinnov.achilles.generated.ManagerFactory;
 import info.archinnov.achilles.generated.ManagerFactoryBuilder;
 import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
@@ -62,6 +65,9 @@ import info.archinnov.achilles.type.tuples.Tuple2;
 @RunWith(MockitoJUnitRunner.class)
 public class TestCRUDSimpleEntity {
 
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
     @Rule
     public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
             .forJunit()
@@ -702,6 +708,54 @@ public class TestCRUDSimpleEntity {
         assertThat(delete.generateAndGetBoundStatement().preparedStatement().getQueryString()).isEqualTo(expectedQuery);
     }
 
+    @Test
+    public void should_fail_insert_once_deadline_has_passed() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleEntity entity = new SimpleEntity(id, new Date(), "value");
+
+        //When
+        exception.expect(AchillesDeadlineExceededException.class);
+
+        manager.crud()
+                .insert(entity)
+                .withDeadline(Instant.now().minusSeconds(1))
+                .execute();
+    }
+
+    @Test
+    public void should_fail_update_once_deadline_has_passed() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final SimpleEntity entity = new SimpleEntity(id, new Date(), "value");
+        manager.crud().insert(entity).execute();
+        entity.setValue("new_value");
+
+        //When
+        exception.expect(AchillesDeadlineExceededException.class);
+
+        manager.crud()
+                .update(entity)
+                .withDeadline(Instant.now().minusSeconds(1))
+                .execute();
+    }
+
+    @Test
+    public void should_fail_delete_once_deadline_has_passed() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_single_row.cql", ImmutableMap.of("id", id, "table", "simple"));
+
+        //When
+        exception.expect(AchillesDeadlineExceededException.class);
+
+        manager.crud()
+                .deleteById(id, date)
+                .withDeadline(Instant.now().minusSeconds(1))
+                .execute();
+    }
+
     private Date buildDateKey() throws ParseException {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.runtime.ChunkedBlobStore;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestChunkedBlobStore {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withChunkedBlobChunkSizeInBytes(1024)
+                    .withChunkedBlobWriteConcurrency(3)
+                    .withChunkedBlobReadAheadChunks(2)
+                    .build());
+
+    private ChunkedBlobStore store = resource.getManagerFactory().chunkedBlobStore(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME, "chunked_blobs");
+
+    @Test
+    public void should_write_and_read_blob_as_streams() throws Exception {
+        //Given
+        final String blobId = UUID.randomUUID().toString();
+        final byte[] payload = RandomUtils.nextBytes(10 * 1024 + 17);
+
+        //When
+        try (OutputStream outputStream = store.openOutputStream(blobId)) {
+            outputStream.write(payload, 0, 100);
+            outputStream.write(payload, 100, payload.length - 100);
+        }
+
+        //Then
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream inputStream = store.openInputStream(blobId).get()) {
+            final byte[] buffer = new byte[700];
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                read.write(buffer, 0, count);
+            }
+        }
+        assertThat(read.toByteArray()).isEqualTo(payload);
+        assertThat(store.size(blobId).get()).isEqualTo((long) payload.length);
+    }
+
+    @Test
+    public void should_write_async_and_read_blob_at_once() throws Exception {
+        //Given
+        final String blobId = UUID.randomUUID().toString();
+        final byte[] payload = RandomUtils.nextBytes(3 * 1024);
+
+        //When
+        store.writeAsync(blobId, ByteBuffer.wrap(payload)).get();
+
+        //Then
+        final Optional<byte[]> read = store.read(blobId);
+        assertThat(read.isPresent()).isTrue();
+        assertThat(read.get()).isEqualTo(payload);
+    }
+
+    @Test
+    public void should_rewrite_blob_with_fewer_chunks() throws Exception {
+        //Given
+        final String blobId = UUID.randomUUID().toString();
+        store.write(blobId, RandomUtils.nextBytes(5 * 1024));
+        final byte[] payload = RandomUtils.nextBytes(1024 + 10);
+
+        //When
+        store.write(blobId, payload);
+
+        //Then
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream inputStream = store.openInputStream(blobId).get()) {
+            final byte[] buffer = new byte[700];
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                read.write(buffer, 0, count);
+            }
+        }
+        assertThat(read.toByteArray()).isEqualTo(payload);
+        assertThat(store.read(blobId).get()).isEqualTo(payload);
+        assertThat(store.size(blobId).get()).isEqualTo((long) payload.length);
+
+        final long chunkRows = resource.getNativeSession()
+                .execute("SELECT chunk_index FROM " + DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME + ".chunked_blobs WHERE blob_id = ?", blobId)
+                .all().stream().filter(row -> !row.isNull("chunk_index")).count();
+        assertThat(chunkRows).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_delete_blob() throws Exception {
+        //Given
+        final String blobId = UUID.randomUUID().toString();
+        store.write(blobId, RandomUtils.nextBytes(2048));
+
+        //When
+        store.delete(blobId);
+
+        //Then
+        assertThat(store.openInputStream(blobId).isPresent()).isFalse();
+        assertThat(store.size(blobId).isPresent()).isFalse();
+    }
+}
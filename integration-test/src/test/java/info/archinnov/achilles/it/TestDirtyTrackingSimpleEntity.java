@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.google.common.collect.Sets;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestDirtyTrackingSimpleEntity {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .withDirtyTrackingForEntities(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_update_only_changed_columns() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final SimpleEntity entity = new SimpleEntity(id, date, "value");
+        entity.setConsistencyList(Arrays.asList(ConsistencyLevel.ONE));
+        entity.setSimpleSet(Sets.newHashSet(1.0d, 2.0d));
+        manager.crud().insert(entity).execute();
+
+        final SimpleEntity loaded = manager.crud().findById(id, date).get();
+        final ArrayList<ConsistencyLevel> consistencyList = new ArrayList<>(loaded.getConsistencyList());
+        consistencyList.add(ConsistencyLevel.QUORUM);
+        loaded.setConsistencyList(consistencyList);
+        final HashSet<Double> simpleSet = new HashSet<>(loaded.getSimpleSet());
+        simpleSet.remove(1.0d);
+        loaded.setSimpleSet(simpleSet);
+
+        //When
+        final String statement = manager.crud().update(loaded).getStatementAsString();
+        manager.crud().update(loaded).execute();
+
+        //Then
+        assertThat(statement).doesNotContain("value=");
+        assertThat(statement).contains("consistencylist=consistencylist+:consistencylist");
+        assertThat(statement).contains("simpleset=simpleset-:simpleset");
+
+        final Row row = session.execute("SELECT * FROM simple WHERE id = " + id).one();
+        assertThat(row.getString("value")).isEqualTo("value");
+        assertThat(row.getList("consistencylist", String.class)).containsExactly("ONE", "QUORUM");
+        assertThat(row.getSet("simpleset", Double.class)).containsOnly(2.0d);
+        assertThat(resource.getManagerFactory().getDirtyTracker().getTrackedCount()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    public void should_update_all_columns_of_untracked_instance() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        manager.crud().insert(new SimpleEntity(id, date, "value")).execute();
+
+        //When
+        manager.crud().update(new SimpleEntity(id, date, "new_value")).execute();
+
+        //Then
+        final Row row = session.execute("SELECT value FROM simple WHERE id = " + id).one();
+        assertThat(row.getString("value")).isEqualTo("new_value");
+    }
+}
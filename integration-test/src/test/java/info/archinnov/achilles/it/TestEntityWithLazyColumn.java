@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithLazyColumn_Manager;
+import info.archinnov.achilles.generated.meta.entity.EntityWithLazyColumn_AchillesMeta;
+import info.archinnov.achilles.internals.entities.EntityWithLazyColumn;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityWithLazyColumn {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithLazyColumn.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithLazyColumn.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private EntityWithLazyColumn_Manager manager = resource.getManagerFactory().forEntityWithLazyColumn();
+
+    @Test
+    public void should_not_fetch_lazy_column_on_find() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithLazyColumn(id, 1, "title", "content")).execute();
+
+        //When
+        final EntityWithLazyColumn found = manager.crud().findById(id, 1).get();
+        final List<EntityWithLazyColumn> selected = manager.dsl().select().allColumns_FromBaseTable().where().id_Eq(id).getList();
+
+        //Then
+        assertThat(found.getTitle()).isEqualTo("title");
+        assertThat(found.getContent()).isNull();
+        assertThat(selected).hasSize(1);
+        assertThat(selected.get(0).getContent()).isNull();
+    }
+
+    @Test
+    public void should_load_lazy_column_on_demand() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithLazyColumn(id, 1, "title1", "content1")).execute();
+        manager.crud().insert(new EntityWithLazyColumn(id, 2, "title2", "content2")).execute();
+        final EntityWithLazyColumn first = manager.crud().findById(id, 1).get();
+        final EntityWithLazyColumn second = manager.crud().findById(id, 2).get();
+
+        //When
+        manager.loadLazy(Arrays.asList(first, second), EntityWithLazyColumn_AchillesMeta.content);
+
+        //Then
+        assertThat(first.getContent()).isEqualTo("content1");
+        assertThat(second.getContent()).isEqualTo("content2");
+    }
+
+    @Test
+    public void should_keep_lazy_column_on_full_update() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithLazyColumn(id, 1, "title", "content")).execute();
+        final EntityWithLazyColumn found = manager.crud().findById(id, 1).get();
+        found.setTitle("new_title");
+
+        //When
+        manager.crud().update(found).execute();
+        manager.loadLazy(found);
+
+        //Then
+        assertThat(found.getTitle()).isEqualTo("new_title");
+        assertThat(found.getContent()).isEqualTo("content");
+    }
+
+    @Test
+    public void should_keep_lazy_column_on_insert_of_found_entity() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new EntityWithLazyColumn(id, 1, "title", "content")).execute();
+        final EntityWithLazyColumn found = manager.crud().findById(id, 1).get();
+        found.setTitle("new_title");
+
+        //When
+        manager.crud().insert(found).withInsertStrategy(InsertStrategy.ALL_FIELDS).execute();
+        final EntityWithLazyColumn reloaded = manager.crud().findById(id, 1).get();
+        manager.loadLazy(reloaded, EntityWithLazyColumn_AchillesMeta.content);
+
+        //Then
+        assertThat(reloaded.getTitle()).isEqualTo("new_title");
+        assertThat(reloaded.getContent()).isEqualTo("content");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithPackedArrays_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithPackedArrays;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityWithPackedArrays {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithPackedArrays.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithPackedArrays.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithPackedArrays_Manager manager = resource.getManagerFactory().forEntityWithPackedArrays();
+
+    @Test
+    public void should_insert_and_find_packed_arrays() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final float[] embedding = new float[1024];
+        for (int i = 0; i < embedding.length; i++) {
+            embedding[i] = RandomUtils.nextFloat(0f, 1f);
+        }
+        final long[] timestamps = new long[]{1460000000000L, 1460000000100L, 1460000000250L};
+        final int[] counts = new int[]{3, -1, 70000};
+
+        //When
+        manager.crud().insert(new EntityWithPackedArrays(id, embedding, timestamps, counts)).execute();
+
+        //Then
+        final EntityWithPackedArrays found = manager.crud().findById(id).get();
+        assertThat(found.getEmbedding()).isEqualTo(embedding);
+        assertThat(found.getTimestamps()).isEqualTo(timestamps);
+        assertThat(found.getCounts()).isEqualTo(counts);
+
+        final Row row = session.execute("SELECT embedding FROM entity_with_packed_arrays WHERE id = " + id).one();
+        final ByteBuffer blob = row.getBytes("embedding");
+        assertThat(blob.remaining()).isEqualTo(4 * 1024);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithZeroCopyBlobs_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithZeroCopyBlobs;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityWithZeroCopyBlobs {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithZeroCopyBlobs.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithZeroCopyBlobs.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private EntityWithZeroCopyBlobs_Manager manager = resource.getManagerFactory().forEntityWithZeroCopyBlobs();
+
+    @Test
+    public void should_insert_and_find_zero_copy_blobs() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final byte[] content = RandomUtils.nextBytes(1024);
+        final byte[] buffer = RandomUtils.nextBytes(64);
+
+        //When
+        manager.crud().insert(new EntityWithZeroCopyBlobs(id, content, ByteBuffer.wrap(buffer))).execute();
+
+        //Then
+        final EntityWithZeroCopyBlobs found = manager.crud().findById(id).get();
+        assertThat(found.getContent()).isEqualTo(content);
+        assertThat(found.getBuffer().isReadOnly()).isTrue();
+        final byte[] readBuffer = new byte[found.getBuffer().remaining()];
+        found.getBuffer().duplicate().get(readBuffer);
+        assertThat(readBuffer).isEqualTo(buffer);
+    }
+}
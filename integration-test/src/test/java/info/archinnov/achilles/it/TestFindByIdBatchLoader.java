@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithClusteringColumns_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithClusteringColumns;
+import info.archinnov.achilles.internals.runtime.FindByIdBatchLoader;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestFindByIdBatchLoader {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithClusteringColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithClusteringColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private EntityWithClusteringColumns_Manager manager = resource.getManagerFactory().forEntityWithClusteringColumns();
+
+    @Test
+    public void should_batch_find_by_id_grouped_by_partition() throws Exception {
+        //Given
+        final long id1 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long id2 = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = new UUID(0L, 0L);
+        final Date date1 = new Date(1000L);
+        final Date date2 = new Date(2000L);
+        final Date date3 = new Date(3000L);
+
+        manager.crud().insert(entity(id1, uuid, date1, "val1")).execute();
+        manager.crud().insert(entity(id1, uuid, date2, "val2")).execute();
+        manager.crud().insert(entity(id2, uuid, date1, "val3")).execute();
+
+        final FindByIdBatchLoader<EntityWithClusteringColumns> batchLoader = manager.batchLoader(100, 1000L);
+
+        //When
+        final CompletableFuture<EntityWithClusteringColumns> future1 = batchLoader.load(id1, uuid, date1);
+        final CompletableFuture<EntityWithClusteringColumns> future2 = batchLoader.load(id1, uuid, date2);
+        final CompletableFuture<EntityWithClusteringColumns> future3 = batchLoader.load(id1, uuid, date3);
+        final CompletableFuture<EntityWithClusteringColumns> future4 = batchLoader.load(id2, uuid, date1);
+        final CompletableFuture<EntityWithClusteringColumns> future5 = batchLoader.load(id1, uuid, date1);
+        batchLoader.dispatch();
+
+        //Then
+        assertThat(future1.get().getValue()).isEqualTo("val1");
+        assertThat(future2.get().getValue()).isEqualTo("val2");
+        assertThat(future3.get()).isNull();
+        assertThat(future4.get().getValue()).isEqualTo("val3");
+        assertThat(future5.get().getValue()).isEqualTo("val1");
+        assertThat(future5.get()).isNotSameAs(future1.get());
+        assertThat(batchLoader.getLoadsCount()).isEqualTo(5L);
+        assertThat(batchLoader.getQueriesCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_dispatch_batch_when_max_size_reached() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final UUID uuid = new UUID(0L, 0L);
+        final Date date = new Date(1000L);
+
+        manager.crud().insert(entity(id, uuid, date, "val")).execute();
+
+        final FindByIdBatchLoader<EntityWithClusteringColumns> batchLoader = manager.batchLoader(1, 60_000L);
+
+        //When
+        final EntityWithClusteringColumns actual = batchLoader.load(id, uuid, date).get();
+
+        //Then
+        assertThat(actual.getValue()).isEqualTo("val");
+        assertThat(batchLoader.getQueriesCount()).isEqualTo(1L);
+    }
+
+    private EntityWithClusteringColumns entity(long id, UUID uuid, Date date, String value) {
+        final EntityWithClusteringColumns entity = new EntityWithClusteringColumns();
+        entity.setId(id);
+        entity.setUuid(uuid);
+        entity.setDate(date);
+        entity.setValue(value);
+        return entity;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Cluster;
+
+import info.archinnov.achilles.configuration.ConfigurationParameters;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.generated.GeneratedBeanFactory;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.type.factory.BeanFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestGeneratedBeanFactory {
+
+    @Test
+    public void should_use_generated_bean_factory_by_default() throws Exception {
+        //Given
+        final Cluster cluster = buildCluster();
+
+        //When
+        final ManagerFactory managerFactory = ManagerFactoryBuilder
+                .builder(cluster)
+                .withManagedEntityClasses(SimpleEntity.class)
+                .doForceSchemaCreation(true)
+                .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .build();
+
+        //Then
+        assertThat(getConfigContext(managerFactory).getDefaultBeanFactory()).isInstanceOf(GeneratedBeanFactory.class);
+        assertThat(insertAndFind(managerFactory).getValue()).isEqualTo("bean_factory");
+    }
+
+    @Test
+    public void should_use_provided_bean_factory_over_generated_one() throws Exception {
+        //Given
+        final Cluster cluster = buildCluster();
+        final AtomicInteger instantiations = new AtomicInteger(0);
+        final BeanFactory providedFactory = new BeanFactory() {
+            @Override
+            public <T> T newInstance(Class<T> clazz) {
+                instantiations.incrementAndGet();
+                try {
+                    return clazz.newInstance();
+                } catch (InstantiationException | IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        final Map<ConfigurationParameters, Object> configMap = new HashMap<>();
+        configMap.put(ConfigurationParameters.MANAGED_ENTITIES, asList(SimpleEntity.class));
+        configMap.put(ConfigurationParameters.FORCE_SCHEMA_GENERATION, true);
+        configMap.put(ConfigurationParameters.KEYSPACE_NAME, DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME);
+        configMap.put(ConfigurationParameters.DEFAULT_BEAN_FACTORY, providedFactory);
+
+        //When
+        final ManagerFactory managerFactory = ManagerFactoryBuilder.builder(cluster).build(cluster, configMap);
+
+        //Then
+        assertThat(getConfigContext(managerFactory).getDefaultBeanFactory()).isSameAs(providedFactory);
+        assertThat(insertAndFind(managerFactory).getValue()).isEqualTo("bean_factory");
+        assertThat(instantiations.get()).isGreaterThan(0);
+    }
+
+    private static Cluster buildCluster() {
+        return CassandraEmbeddedServerBuilder
+                .builder()
+                .useUnsafeCassandraDeamon()
+                .withScript("functions/createFunctions.cql")
+                .buildNativeCluster();
+    }
+
+    private static SimpleEntity insertAndFind(ManagerFactory managerFactory) {
+        final Long id = RandomUtils.nextLong(0, Long.MAX_VALUE);
+        final Date date = new Date();
+        managerFactory.forSimpleEntity().crud().insert(new SimpleEntity(id, date, "bean_factory")).execute();
+        return managerFactory.forSimpleEntity().crud().findById(id, date).get();
+    }
+
+    private static ConfigurationContext getConfigContext(ManagerFactory managerFactory) {
+        return (ConfigurationContext) Whitebox.getInternalState(managerFactory, "configContext");
+    }
+}